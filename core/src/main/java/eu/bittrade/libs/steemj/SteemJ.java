@@ -147,7 +147,15 @@ public class SteemJ {
     private static final String NO_DEFAULT_ACCOUNT_ERROR_MESSAGE = "You try to use a simplified operation without having a default account configured in SteemJConfig. Please configure a default account or use another method.";
     private static final String MARKDOWN = "markdown";
 
-    private static CommunicationHandler communicationHandler;
+    /** The handler used to send requests to the configured nodes. */
+    private final CommunicationHandler communicationHandler;
+    /** The configuration used by this instance. */
+    private final SteemJConfig config;
+    /**
+     * The handler for the global configuration, which is only used by the
+     * deprecated static methods.
+     */
+    private static CommunicationHandler globalCommunicationHandler;
 
     /**
      * Initialize the SteemJ.
@@ -168,7 +176,83 @@ public class SteemJ {
      *             </ul>
      */
     public SteemJ() throws SteemCommunicationException, SteemResponseException {
-        this.communicationHandler = new CommunicationHandler();
+        this.config = SteemJConfig.getInstance();
+        this.communicationHandler = new CommunicationHandler(this.config);
+    }
+
+    /**
+     * Initialize a SteemJ instance which is independent from the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * An immutable {@link SteemJConfig#snapshot() snapshot} of the given
+     * <code>config</code> is used, so later changes to <code>config</code> do
+     * not affect this instance. Multiple instances created this way do not
+     * share any connections and can use different nodes, timeouts, chain ids
+     * and private keys.
+     * 
+     * <b>Notice:</b> Some parts of SteemJ still use the global configuration:
+     * The asset symbol checks of {@link Operation#validate(List)
+     * Operation#validate(List)}, the decoding of public keys and the
+     * deprecated static {@link #getConfig()} and
+     * {@link #getLiquidityQueue(AccountName, int)} methods.
+     * 
+     * @param config
+     *            The configuration to use.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public SteemJ(SteemJConfig config) throws SteemCommunicationException, SteemResponseException {
+        this.config = config.snapshot();
+        this.communicationHandler = new CommunicationHandler(this.config);
+    }
+
+    /**
+     * Get the configuration used by this instance.
+     * 
+     * @return The configuration used by this instance.
+     */
+    public SteemJConfig getSteemJConfig() {
+        return config;
+    }
+
+    /**
+     * @return The communication handler for the global
+     *         {@link SteemJConfig#getInstance() configuration}. It is created
+     *         on the first call and whenever the global configuration has been
+     *         replaced.
+     * @throws SteemCommunicationException
+     *             If the handler could not be created.
+     */
+    private static synchronized CommunicationHandler getGlobalCommunicationHandler()
+            throws SteemCommunicationException {
+        SteemJConfig globalConfig = SteemJConfig.getInstance();
+        if (globalCommunicationHandler == null || globalCommunicationHandler.getConfig() != globalConfig) {
+            globalCommunicationHandler = new CommunicationHandler(globalConfig);
+        }
+
+        return globalCommunicationHandler;
+    }
+
+    /**
+     * Get the {@link CommunicationHandler} used by this instance. It can be
+     * used to call the plugin APIs (e.g. {@link BlockApi}) directly.
+     * 
+     * @return The {@link CommunicationHandler} used by this instance.
+     */
+    public CommunicationHandler getCommunicationHandler() {
+        return communicationHandler;
     }
 
     // #########################################################################
@@ -1133,42 +1217,20 @@ public class SteemJ {
     }
 
     /**
-     * Use the Steem API to receive the HEX representation of a signed
-     * transaction.
+     * Get the HEX representation of a signed transaction. The HEX
+     * representation is calculated locally and is equal to the one returned by
+     * the <code>get_transaction_hex</code> method of a Steem Node (see
+     * {@link SignedTransaction#getTransactionHex()}).
      * 
      * @param signedTransaction
      *            The signed Transaction object you want to receive the HEX
      *            representation for.
      * @return The HEX representation.
-     * @throws SteemCommunicationException
-     *             <ul>
-     *             <li>If the server was not able to answer the request in the
-     *             given time (see
-     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
-     *             setResponseTimeout}).</li>
-     *             <li>If there is a connection problem.</li>
-     *             </ul>
-     * @throws SteemResponseException
-     *             <ul>
-     *             <li>If the SteemJ is unable to transform the JSON response
-     *             into a Java object.</li>
-     *             <li>If the Server returned an error object.</li>
-     *             </ul>
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
      */
-    public String getTransactionHex(SignedTransaction signedTransaction)
-            throws SteemCommunicationException, SteemResponseException {
-        /*
-         * JsonRPCRequest requestObject = new JsonRPCRequest();
-         * requestObject.setApiMethod(RequestMethod.GET_TRANSACTION_HEX);
-         * requestObject.setSteemApi(SteemApiType.DATABASE_API);
-         * 
-         * Object[] parameters = { signedTransaction };
-         * requestObject.setAdditionalParameters(parameters);
-         * 
-         * return communicationHandler.performRequest(requestObject,
-         * String.class).get(0);
-         */
-        return null;
+    public String getTransactionHex(SignedTransaction signedTransaction) throws SteemInvalidTransactionException {
+        return signedTransaction.getTransactionHex();
     }
 
     /**
@@ -1425,6 +1487,7 @@ public class SteemJ {
      *             into a Java object.</li>
      *             <li>If the Server returned an error object.</li>
      *             </ul>
+     * @see eu.bittrade.libs.steemj.chain.AuthorityVerifier
      */
     public boolean verifyAuthority(SignedTransaction signedTransaction)
             throws SteemCommunicationException, SteemResponseException {
@@ -2296,12 +2359,12 @@ public class SteemJ {
      */
     public void vote(AccountName postOrCommentAuthor, Permlink postOrCommentPermlink, short percentage)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(
                     "Using the upVote method without providing an account requires to have a default account configured.");
         }
 
-        this.vote(SteemJConfig.getInstance().getDefaultAccount(), postOrCommentAuthor, postOrCommentPermlink,
+        this.vote(config.getDefaultAccount(), postOrCommentAuthor, postOrCommentPermlink,
                 percentage);
     }
 
@@ -2376,9 +2439,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -2437,11 +2500,11 @@ public class SteemJ {
      */
     public void cancelVote(AccountName postOrCommentAuthor, Permlink postOrCommentPermlink)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(
                     "Using the cancelVote method without providing an account requires to have a default account configured.");
         }
-        cancelVote(SteemJConfig.getInstance().getDefaultAccount(), postOrCommentAuthor, postOrCommentPermlink);
+        cancelVote(config.getDefaultAccount(), postOrCommentAuthor, postOrCommentPermlink);
     }
 
     /**
@@ -2498,9 +2561,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -2551,11 +2614,11 @@ public class SteemJ {
      */
     public void follow(AccountName accountToFollow)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        follow(SteemJConfig.getInstance().getDefaultAccount(), accountToFollow);
+        follow(config.getDefaultAccount(), accountToFollow);
     }
 
     /**
@@ -2607,9 +2670,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -2660,11 +2723,11 @@ public class SteemJ {
      */
     public void unfollow(AccountName accountToUnfollow)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        unfollow(SteemJConfig.getInstance().getDefaultAccount(), accountToUnfollow);
+        unfollow(config.getDefaultAccount(), accountToUnfollow);
     }
 
     /**
@@ -2717,9 +2780,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -2773,11 +2836,11 @@ public class SteemJ {
      */
     public void reblog(AccountName authorOfThePostToReblog, Permlink permlinkOfThePostToReblog)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        reblog(SteemJConfig.getInstance().getDefaultAccount(), authorOfThePostToReblog, permlinkOfThePostToReblog);
+        reblog(config.getDefaultAccount(), authorOfThePostToReblog, permlinkOfThePostToReblog);
     }
 
     /**
@@ -2833,9 +2896,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -2897,7 +2960,7 @@ public class SteemJ {
      */
     public CommentOperation createPost(String title, String content, String[] tags)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
@@ -2977,9 +3040,9 @@ public class SteemJ {
 
         CommentOptionsOperation commentOptionsOperation;
         // Only add a BeneficiaryRouteType if it makes sense.
-        if (SteemJConfig.getInstance().getSteemJWeight() > 0) {
+        if (config.getSteemJWeight() > 0) {
             BeneficiaryRouteType beneficiaryRouteType = new BeneficiaryRouteType(SteemJConfig.getSteemJAccount(),
-                    SteemJConfig.getInstance().getSteemJWeight());
+                    config.getSteemJWeight());
 
             ArrayList<BeneficiaryRouteType> beneficiaryRouteTypes = new ArrayList<>();
             beneficiaryRouteTypes.add(beneficiaryRouteType);
@@ -3002,9 +3065,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
 
@@ -3072,7 +3135,7 @@ public class SteemJ {
     public CommentOperation createComment(AccountName authorOfThePostOrCommentToReplyTo,
             Permlink permlinkOfThePostOrCommentToReplyTo, String content, String[] tags)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
@@ -3156,9 +3219,9 @@ public class SteemJ {
 
         CommentOptionsOperation commentOptionsOperation;
         // Only add a BeneficiaryRouteType if it makes sense.
-        if (SteemJConfig.getInstance().getSteemJWeight() > 0) {
+        if (config.getSteemJWeight() > 0) {
             BeneficiaryRouteType beneficiaryRouteType = new BeneficiaryRouteType(SteemJConfig.getSteemJAccount(),
-                    SteemJConfig.getInstance().getSteemJWeight());
+                    config.getSteemJWeight());
 
             ArrayList<BeneficiaryRouteType> beneficiaryRouteTypes = new ArrayList<>();
             beneficiaryRouteTypes.add(beneficiaryRouteType);
@@ -3181,9 +3244,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
 
@@ -3255,7 +3318,7 @@ public class SteemJ {
      */
     public CommentOperation updatePost(Permlink permlinkOfThePostToUpdate, String title, String content, String[] tags)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
@@ -3335,9 +3398,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
 
@@ -3413,7 +3476,7 @@ public class SteemJ {
     public CommentOperation updateComment(AccountName parentAuthor, Permlink parentPermlink,
             Permlink originalPermlinkOfTheCommentToUpdate, String content, String[] tags)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
@@ -3492,9 +3555,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
 
@@ -3551,11 +3614,11 @@ public class SteemJ {
      */
     public void deletePostOrComment(Permlink postOrCommentPermlink)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        deletePostOrComment(SteemJConfig.getInstance().getDefaultAccount(), postOrCommentPermlink);
+        deletePostOrComment(config.getDefaultAccount(), postOrCommentPermlink);
     }
 
     /**
@@ -3606,9 +3669,9 @@ public class SteemJ {
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
 
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+                null, config);
 
-        signedTransaction.sign();
+        signedTransaction.sign(config);
 
         this.broadcastTransaction(signedTransaction);
     }
@@ -3671,11 +3734,11 @@ public class SteemJ {
      */
     public TransferOperation transfer(AccountName to, LegacyAsset amount, String memo)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        return transfer(SteemJConfig.getInstance().getDefaultAccount(), to, amount, memo);
+        return transfer(config.getDefaultAccount(), to, amount, memo);
     }
 
     /**
@@ -3730,8 +3793,8 @@ public class SteemJ {
         operations.add(transferOperation);
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
-        signedTransaction.sign();
+                null, config);
+        signedTransaction.sign(config);
         this.broadcastTransaction(signedTransaction);
         return transferOperation;
     }
@@ -3776,11 +3839,11 @@ public class SteemJ {
      */
     public ClaimRewardBalanceOperation claimRewards()
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        return claimRewards(SteemJConfig.getInstance().getDefaultAccount());
+        return claimRewards(config.getDefaultAccount());
     }
 
     /**
@@ -3831,8 +3894,8 @@ public class SteemJ {
             operations.add(claimOperation);
             DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
             SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                    null);
-            signedTransaction.sign();
+                    null, config);
+            signedTransaction.sign(config);
             this.broadcastTransaction(signedTransaction);
         }
 
@@ -3872,11 +3935,11 @@ public class SteemJ {
      */
     public void delegateVestingShares(AccountName delegatee, LegacyAsset vestingShares)
             throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
-        if (SteemJConfig.getInstance().getDefaultAccount().isEmpty()) {
+        if (config.getDefaultAccount().isEmpty()) {
             throw new InvalidParameterException(NO_DEFAULT_ACCOUNT_ERROR_MESSAGE);
         }
 
-        delegateVestingShares(SteemJConfig.getInstance().getDefaultAccount(), delegatee, vestingShares);
+        delegateVestingShares(config.getDefaultAccount(), delegatee, vestingShares);
     }
 
     /**
@@ -3917,11 +3980,34 @@ public class SteemJ {
         operations.add(delegateVestingSharesOperation);
         DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
         SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
-        signedTransaction.sign();
+                null, config);
+        signedTransaction.sign(config);
         this.broadcastTransaction(signedTransaction);
     }
 
+	/**
+	 * Get the configuration of the node this instance is connected to.
+	 * 
+	 * @return The steem configuration.
+	 * @throws SteemCommunicationException
+	 *             <ul>
+	 *             <li>If the server was not able to answer the request in the given
+	 *             time (see
+	 *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+	 *             setResponseTimeout}).</li>
+	 *             <li>If there is a connection problem.</li>
+	 *             </ul>
+	 * @throws SteemResponseException
+	 *             <ul>
+	 *             <li>If the SteemJ is unable to transform the JSON response into a
+	 *             Java object.</li>
+	 *             <li>If the Server returned an error object.</li>
+	 *             </ul>
+	 */
+	public Config getChainConfig() throws SteemCommunicationException, SteemResponseException {
+		return requestConfig(communicationHandler);
+	}
+
 	/**
 	 * Get the configuration.
 	 * 
@@ -3940,14 +4026,72 @@ public class SteemJ {
 	 *             Java object.</li>
 	 *             <li>If the Server returned an error object.</li>
 	 *             </ul>
+	 * @deprecated This method is static and therefore uses the nodes of the
+	 *             global {@link SteemJConfig#getInstance() configuration}
+	 *             instead of the ones of a SteemJ instance. Use
+	 *             {@link #getChainConfig()} instead.
 	 */
+	@Deprecated
 	public static Config getConfig() throws SteemCommunicationException, SteemResponseException {
+		return requestConfig(getGlobalCommunicationHandler());
+	}
+
+	/**
+	 * @param communicationHandler
+	 *            The handler to send the request with.
+	 * @return The steem configuration.
+	 * @throws SteemCommunicationException
+	 *             <ul>
+	 *             <li>If the server was not able to answer the request in the given
+	 *             time (see
+	 *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+	 *             setResponseTimeout}).</li>
+	 *             <li>If there is a connection problem.</li>
+	 *             </ul>
+	 * @throws SteemResponseException
+	 *             <ul>
+	 *             <li>If the SteemJ is unable to transform the JSON response into a
+	 *             Java object.</li>
+	 *             <li>If the Server returned an error object.</li>
+	 *             </ul>
+	 */
+	private static Config requestConfig(CommunicationHandler communicationHandler)
+			throws SteemCommunicationException, SteemResponseException {
 		String[] parameters = {};
 		JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, RequestMethod.GET_CONFIG, parameters);
 
 		return communicationHandler.performRequest(requestObject, Config.class).get(0);
 	}
 
+	/**
+	 * Get the liquidity queue for a specified account from the node this
+	 * instance is connected to.
+	 * 
+	 * @param accoutName
+	 *            The name of the account you want to request the queue entries for.
+	 * @param limit
+	 *            Number of results.
+	 * @return A list of liquidity queue entries.
+	 * @throws SteemCommunicationException
+	 *             <ul>
+	 *             <li>If the server was not able to answer the request in the given
+	 *             time (see
+	 *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+	 *             setResponseTimeout}).</li>
+	 *             <li>If there is a connection problem.</li>
+	 *             </ul>
+	 * @throws SteemResponseException
+	 *             <ul>
+	 *             <li>If the SteemJ is unable to transform the JSON response into a
+	 *             Java object.</li>
+	 *             <li>If the Server returned an error object.</li>
+	 *             </ul>
+	 */
+	public List<LiquidityBalance> getAccountLiquidityQueue(AccountName accoutName, int limit)
+			throws SteemCommunicationException, SteemResponseException {
+		return requestLiquidityQueue(communicationHandler, accoutName, limit);
+	}
+
 	/**
 	 * Get the liquidity queue for a specified account.
 	 * 
@@ -3970,8 +4114,41 @@ public class SteemJ {
 	 *             Java object.</li>
 	 *             <li>If the Server returned an error object.</li>
 	 *             </ul>
+	 * @deprecated This method is static and therefore uses the nodes of the
+	 *             global {@link SteemJConfig#getInstance() configuration}
+	 *             instead of the ones of a SteemJ instance. Use
+	 *             {@link #getAccountLiquidityQueue(AccountName, int)} instead.
 	 */
+	@Deprecated
 	public static List<LiquidityBalance> getLiquidityQueue(AccountName accoutName, int limit) throws SteemCommunicationException, SteemResponseException {
+		return requestLiquidityQueue(getGlobalCommunicationHandler(), accoutName, limit);
+	}
+
+	/**
+	 * @param communicationHandler
+	 *            The handler to send the request with.
+	 * @param accoutName
+	 *            The name of the account you want to request the queue entries for.
+	 * @param limit
+	 *            Number of results.
+	 * @return A list of liquidity queue entries.
+	 * @throws SteemCommunicationException
+	 *             <ul>
+	 *             <li>If the server was not able to answer the request in the given
+	 *             time (see
+	 *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+	 *             setResponseTimeout}).</li>
+	 *             <li>If there is a connection problem.</li>
+	 *             </ul>
+	 * @throws SteemResponseException
+	 *             <ul>
+	 *             <li>If the SteemJ is unable to transform the JSON response into a
+	 *             Java object.</li>
+	 *             <li>If the Server returned an error object.</li>
+	 *             </ul>
+	 */
+	private static List<LiquidityBalance> requestLiquidityQueue(CommunicationHandler communicationHandler,
+			AccountName accoutName, int limit) throws SteemCommunicationException, SteemResponseException {
 		Object[] parameters = { accoutName.getName(), String.valueOf(limit) };
 		JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, RequestMethod.GET_LIQUIDITY_QUEUE, parameters);
 		return communicationHandler.performRequest(requestObject, LiquidityBalance.class);
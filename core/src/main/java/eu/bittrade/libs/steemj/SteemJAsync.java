@@ -0,0 +1,433 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.plugins.apis.follow.enums.FollowType;
+import eu.bittrade.libs.steemj.plugins.apis.follow.models.FollowApiObject;
+import eu.bittrade.libs.steemj.plugins.apis.follow.models.FollowCountApiObject;
+import eu.bittrade.libs.steemj.plugins.apis.network.broadcast.models.BroadcastTransactionSynchronousReturn;
+import eu.bittrade.libs.steemj.plugins.apis.tags.enums.DiscussionSortType;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.Discussion;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.DiscussionQuery;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.VoteState;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.BlockHeader;
+
+/**
+ * This class provides an asynchronous variant of the {@link SteemJ} API.
+ * 
+ * Instead of blocking the calling thread, all methods return a
+ * {@link CompletableFuture} which is completed once the Steem Node has
+ * answered. In case of an error, the future is completed exceptionally with
+ * the exception the corresponding {@link SteemJ} method would have thrown
+ * (e.g. a {@link SteemCommunicationException}).
+ * 
+ * The requests are executed by a bounded {@link ExecutorService}. By default,
+ * the number of threads matches the
+ * {@link SteemJConfig#getMaxConnectionsPerRoute() maximum number of
+ * connections per endpoint}, so that every thread can use its own connection.
+ * 
+ * <p>
+ * Example:<br>
+ * <code>steemJAsync.call(steemJ -&gt; steemJ.getBlock(1L))</code><br>
+ * <code>steemJAsync.callApi(handler -&gt; BlockApi.getBlock(handler, args))</code>
+ * </p>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SteemJAsync implements Closeable {
+    /** The blocking API used to perform the requests. */
+    private final SteemJ steemJ;
+    /** The executor service used to perform the requests. */
+    private final ExecutorService executorService;
+    /**
+     * Define if the <code>executorService</code> has been created by this
+     * instance and should therefore be shut down when this instance is closed.
+     */
+    private final boolean shutdownExecutorServiceOnClose;
+
+    /**
+     * Initialize a new {@link SteemJAsync} instance using a new {@link SteemJ}
+     * instance and the default executor service.
+     * 
+     * @throws SteemCommunicationException
+     *             If no connection to the Steem Node could be established.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    public SteemJAsync() throws SteemCommunicationException, SteemResponseException {
+        this(new SteemJ());
+    }
+
+    /**
+     * Initialize a new {@link SteemJAsync} instance that wraps the given
+     * <code>steemJ</code> instance and uses the default executor service.
+     * 
+     * @param steemJ
+     *            The {@link SteemJ} instance used to perform the requests.
+     */
+    public SteemJAsync(SteemJ steemJ) {
+        this(steemJ, createDefaultExecutorService(steemJ.getSteemJConfig()), true);
+    }
+
+    /**
+     * Initialize a new {@link SteemJAsync} instance that wraps the given
+     * <code>steemJ</code> instance and uses the given
+     * <code>executorService</code> to perform the requests. The
+     * <code>executorService</code> will not be shut down when this instance
+     * is closed.
+     * 
+     * @param steemJ
+     *            The {@link SteemJ} instance used to perform the requests.
+     * @param executorService
+     *            The executor service used to perform the requests.
+     */
+    public SteemJAsync(SteemJ steemJ, ExecutorService executorService) {
+        this(steemJ, executorService, false);
+    }
+
+    /**
+     * Internal constructor.
+     * 
+     * @param steemJ
+     *            The {@link SteemJ} instance used to perform the requests.
+     * @param executorService
+     *            The executor service used to perform the requests.
+     * @param shutdownExecutorServiceOnClose
+     *            Define if the <code>executorService</code> should be shut
+     *            down when this instance is closed.
+     */
+    private SteemJAsync(SteemJ steemJ, ExecutorService executorService, boolean shutdownExecutorServiceOnClose) {
+        this.steemJ = steemJ;
+        this.executorService = executorService;
+        this.shutdownExecutorServiceOnClose = shutdownExecutorServiceOnClose;
+    }
+
+    /**
+     * Create the executor service used if none has been provided.
+     * 
+     * @param config
+     *            The configuration of the wrapped {@link SteemJ} instance.
+     * @return A new executor service with a fixed number of daemon threads.
+     */
+    private static ExecutorService createDefaultExecutorService(SteemJConfig config) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(config.getMaxConnectionsPerRoute(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "steemj-async-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * Get the blocking {@link SteemJ} instance wrapped by this instance.
+     * 
+     * @return The wrapped {@link SteemJ} instance.
+     */
+    public SteemJ getSteemJ() {
+        return steemJ;
+    }
+
+    /**
+     * Asynchronously call any method of the wrapped {@link SteemJ} instance.
+     * 
+     * @param call
+     *            The call to perform (e.g.
+     *            <code>steemJ -&gt; steemJ.getBlock(1L)</code>).
+     * @param <T>
+     *            The type of the result.
+     * @return A future which is completed with the result of the
+     *         <code>call</code>.
+     */
+    public <T> CompletableFuture<T> call(final SteemJCall<T> call) {
+        return callApi(communicationHandler -> call.call(steemJ));
+    }
+
+    /**
+     * Asynchronously call any of the plugin APIs (e.g.
+     * {@link eu.bittrade.libs.steemj.plugins.apis.block.BlockApi BlockApi})
+     * using the {@link CommunicationHandler} of the wrapped {@link SteemJ}
+     * instance.
+     * 
+     * @param call
+     *            The call to perform (e.g.
+     *            <code>handler -&gt; BlockApi.getBlock(handler, args)</code>).
+     * @param <T>
+     *            The type of the result.
+     * @return A future which is completed with the result of the
+     *         <code>call</code>.
+     */
+    public <T> CompletableFuture<T> callApi(final ApiCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call(steemJ.getCommunicationHandler());
+            } catch (SteemCommunicationException | SteemResponseException | SteemInvalidTransactionException e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+    }
+
+    // #########################################################################
+    // ## ACCOUNT HISTORY API ##################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of {@link SteemJ#getOpsInBlock(long, boolean)}.
+     * 
+     * @param blockNumber
+     *            Height of the block whose generated virtual operations should
+     *            be returned.
+     * @param onlyVirtual
+     *            Define if only virtual operations should be returned
+     *            (<code>true</code>) or not (<code>false</code>).
+     * @return A future which is completed with the operations.
+     */
+    public CompletableFuture<List<AppliedOperation>> getOpsInBlock(long blockNumber, boolean onlyVirtual) {
+        return call(steemJ -> steemJ.getOpsInBlock(blockNumber, onlyVirtual));
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link SteemJ#getAccountHistory(AccountName, ULong, UInteger)}.
+     * 
+     * @param accountName
+     *            The user name of the account.
+     * @param start
+     *            The starting point.
+     * @param limit
+     *            The maximum number of entries.
+     * @return A future which is completed with the activities.
+     */
+    public CompletableFuture<Map<UInteger, AppliedOperation>> getAccountHistory(AccountName accountName, ULong start,
+            UInteger limit) {
+        return call(steemJ -> steemJ.getAccountHistory(accountName, start, limit));
+    }
+
+    // #########################################################################
+    // ## BLOCK API ############################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of {@link SteemJ#getBlock(long)}.
+     * 
+     * @param blockNumber
+     *            Height of the block to be returned.
+     * @return A future which is completed with the block.
+     */
+    public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+        return call(steemJ -> steemJ.getBlock(blockNumber));
+    }
+
+    /**
+     * Asynchronous variant of {@link SteemJ#getBlockHeader(long)}.
+     * 
+     * @param blockNumber
+     *            Height of the block to be returned.
+     * @return A future which is completed with the block header.
+     */
+    public CompletableFuture<Optional<BlockHeader>> getBlockHeader(long blockNumber) {
+        return call(steemJ -> steemJ.getBlockHeader(blockNumber));
+    }
+
+    // #########################################################################
+    // ## NETWORK BROADCAST API ################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of
+     * {@link SteemJ#broadcastTransactionSynchronous(SignedTransaction)}.
+     * 
+     * @param transaction
+     *            The {@link SignedTransaction} object to broadcast.
+     * @return A future which is completed once the transaction has been
+     *         applied.
+     */
+    public CompletableFuture<BroadcastTransactionSynchronousReturn> broadcastTransactionSynchronous(
+            SignedTransaction transaction) {
+        return call(steemJ -> steemJ.broadcastTransactionSynchronous(transaction));
+    }
+
+    // #########################################################################
+    // ## DATABASE API #########################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of {@link SteemJ#getDynamicGlobalProperties()}.
+     * 
+     * @return A future which is completed with the dynamic global properties.
+     */
+    public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+        return call(SteemJ::getDynamicGlobalProperties);
+    }
+
+    // #########################################################################
+    // ## TAGS API #############################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of
+     * {@link SteemJ#getActiveVotes(AccountName, Permlink)}.
+     * 
+     * @param author
+     *            The author of the post or comment.
+     * @param permlink
+     *            The permlink of the post or comment.
+     * @return A future which is completed with the votes.
+     */
+    public CompletableFuture<List<VoteState>> getActiveVotes(AccountName author, Permlink permlink) {
+        return call(steemJ -> steemJ.getActiveVotes(author, permlink));
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link SteemJ#getDiscussionsBy(DiscussionQuery, DiscussionSortType)}.
+     * 
+     * @param discussionQuery
+     *            The query used to select discussions.
+     * @param sortBy
+     *            The way the discussions should be sorted.
+     * @return A future which is completed with the discussions.
+     */
+    public CompletableFuture<List<Discussion>> getDiscussionsBy(DiscussionQuery discussionQuery,
+            DiscussionSortType sortBy) {
+        return call(steemJ -> steemJ.getDiscussionsBy(discussionQuery, sortBy));
+    }
+
+    // #########################################################################
+    // ## FOLLOW API ###########################################################
+    // #########################################################################
+
+    /**
+     * Asynchronous variant of
+     * {@link SteemJ#getFollowers(AccountName, AccountName, FollowType, UInteger)}.
+     * 
+     * @param following
+     *            The account for which the followers should be returned.
+     * @param startFollower
+     *            The first follower that should be returned.
+     * @param type
+     *            The follow type.
+     * @param limit
+     *            The maximum number of followers to return.
+     * @return A future which is completed with the followers.
+     */
+    public CompletableFuture<List<FollowApiObject>> getFollowers(AccountName following, AccountName startFollower,
+            FollowType type, UInteger limit) {
+        return call(steemJ -> steemJ.getFollowers(following, startFollower, type, limit));
+    }
+
+    /**
+     * Asynchronous variant of {@link SteemJ#getFollowCount(AccountName)}.
+     * 
+     * @param account
+     *            The account to get the number of followers for.
+     * @return A future which is completed with the follow count.
+     */
+    public CompletableFuture<FollowCountApiObject> getFollowCount(AccountName account) {
+        return call(steemJ -> steemJ.getFollowCount(account));
+    }
+
+    /**
+     * Shut down the executor service, if it has been created by this instance.
+     * Requests that have already been submitted will still be performed.
+     */
+    @Override
+    public void close() {
+        if (shutdownExecutorServiceOnClose) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * A call to a method of a {@link SteemJ} instance.
+     * 
+     * @param <T>
+     *            The type of the result.
+     */
+    @FunctionalInterface
+    public interface SteemJCall<T> {
+        /**
+         * Perform the call.
+         * 
+         * @param steemJ
+         *            The {@link SteemJ} instance to use.
+         * @return The result of the call.
+         * @throws SteemCommunicationException
+         *             If there is a connection problem.
+         * @throws SteemResponseException
+         *             If the Server returned an error object.
+         * @throws SteemInvalidTransactionException
+         *             If a transaction could not be signed or broadcasted.
+         */
+        T call(SteemJ steemJ)
+                throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException;
+    }
+
+    /**
+     * A call to one of the plugin APIs.
+     * 
+     * @param <T>
+     *            The type of the result.
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        /**
+         * Perform the call.
+         * 
+         * @param communicationHandler
+         *            The {@link CommunicationHandler} to use.
+         * @return The result of the call.
+         * @throws SteemCommunicationException
+         *             If there is a connection problem.
+         * @throws SteemResponseException
+         *             If the Server returned an error object.
+         * @throws SteemInvalidTransactionException
+         *             If a transaction could not be signed or broadcasted.
+         */
+        T call(CommunicationHandler communicationHandler)
+                throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException;
+    }
+}
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
@@ -31,7 +29,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.Validatable;
 import eu.bittrade.libs.steemj.protocol.AccountName;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a Steem "beneficiary_route_type" object
@@ -116,16 +114,9 @@ public class BeneficiaryRouteType implements ByteTransformable, Validatable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedBeneficiaryRouteType = new ByteArrayOutputStream()) {
-            serializedBeneficiaryRouteType.write(this.getAccount().toByteArray());
-            serializedBeneficiaryRouteType.write(SteemJUtils.transformShortToByteArray(this.getWeight()));
-
-            return serializedBeneficiaryRouteType.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getAccount());
+        sink.writeShort(this.getWeight());
     }
 
     @Override
@@ -32,4 +32,12 @@ public class BlockId extends Ripemd160 {
     public BlockId(String hashValue) {
         super(hashValue);
     }
+
+    /**
+     * @param hashValue
+     *            The ripemd160 hash in its decoded byte representation.
+     */
+    public BlockId(byte[] hashValue) {
+        super(hashValue);
+    }
 }
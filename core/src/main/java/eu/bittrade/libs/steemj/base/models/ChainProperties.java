@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -28,7 +26,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "chain_properties" object.
@@ -140,17 +138,10 @@ public class ChainProperties implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedChainProperties = new ByteArrayOutputStream()) {
-            serializedChainProperties.write(this.getAccountCreationFee().toByteArray());
-            serializedChainProperties.write(SteemJUtils.transformIntToByteArray((int) this.getMaximumBlockSize()));
-            serializedChainProperties.write(SteemJUtils.transformShortToByteArray(this.getSdbInterestRate()));
-
-            return serializedChainProperties.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getAccountCreationFee());
+        sink.writeInt((int) this.getMaximumBlockSize());
+        sink.writeShort(this.getSdbInterestRate());
     }
 
     @Override
@@ -33,4 +33,12 @@ public class Checksum extends Ripemd160 {
     public Checksum(String hashValue) {
         super(hashValue);
     }
+
+    /**
+     * @param hashValue
+     *            The ripemd160 hash in its decoded byte representation.
+     */
+    public Checksum(byte[] hashValue) {
+        super(hashValue);
+    }
 }
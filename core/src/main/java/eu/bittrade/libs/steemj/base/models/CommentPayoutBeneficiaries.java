@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
@@ -29,7 +27,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import eu.bittrade.libs.steemj.enums.CommentOptionsExtensionsType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a Steem "comment_payout_beneficiaries" object
@@ -57,22 +55,13 @@ public class CommentPayoutBeneficiaries extends CommentOptionsExtension {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCommentPayoutBeneficiaries = new ByteArrayOutputStream()) {
-            serializedCommentPayoutBeneficiaries.write(SteemJUtils.transformIntToVarIntByteArray(
-                    CommentOptionsExtensionsType.COMMENT_PAYOUT_BENEFICIARIES.ordinal()));
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(CommentOptionsExtensionsType.COMMENT_PAYOUT_BENEFICIARIES.ordinal());
 
-            serializedCommentPayoutBeneficiaries
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getBeneficiaries().size()));
+        sink.writeVarInt(this.getBeneficiaries().size());
 
-            for (BeneficiaryRouteType beneficiaryRouteType : this.getBeneficiaries()) {
-                serializedCommentPayoutBeneficiaries.write(beneficiaryRouteType.toByteArray());
-            }
-
-            return serializedCommentPayoutBeneficiaries.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+        for (BeneficiaryRouteType beneficiaryRouteType : this.getBeneficiaries()) {
+            sink.write(beneficiaryRouteType);
         }
     }
 
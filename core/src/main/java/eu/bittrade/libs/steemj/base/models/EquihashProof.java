@@ -0,0 +1,124 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.base.models.deserializer.Sha256HashDeserializer;
+import eu.bittrade.libs.steemj.base.models.serializer.Sha256HashSerializer;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
+
+/**
+ * This class represents the Steem "equihash::proof" object.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class EquihashProof implements ByteTransformable {
+    // Original type is "uint32_t".
+    @JsonProperty("n")
+    private long n;
+    // Original type is "uint32_t".
+    @JsonProperty("k")
+    private long k;
+    @JsonProperty("seed")
+    @JsonSerialize(using = Sha256HashSerializer.class)
+    @JsonDeserialize(using = Sha256HashDeserializer.class)
+    private Sha256Hash seed;
+    // Original type is "std::vector<uint32_t>".
+    @JsonProperty("inputs")
+    private List<Long> inputs;
+
+    /**
+     * This constructor is used by Jackson.
+     */
+    public EquihashProof() {
+        this.inputs = new ArrayList<>();
+    }
+
+    /**
+     * Create a new equihash proof.
+     * 
+     * @param n
+     *            The equihash parameter n.
+     * @param k
+     *            The equihash parameter k.
+     * @param seed
+     *            The seed.
+     * @param inputs
+     *            The solution.
+     */
+    public EquihashProof(long n, long k, Sha256Hash seed, List<Long> inputs) {
+        this.n = n;
+        this.k = k;
+        this.seed = seed;
+        this.inputs = inputs;
+    }
+
+    /**
+     * @return The equihash parameter n.
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * @return The equihash parameter k.
+     */
+    public long getK() {
+        return k;
+    }
+
+    /**
+     * @return The seed.
+     */
+    public Sha256Hash getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The solution.
+     */
+    public List<Long> getInputs() {
+        return inputs;
+    }
+
+    @Override
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeInt((int) this.getN());
+        sink.writeInt((int) this.getK());
+        sink.writeBytes(this.getSeed().getBytes());
+        sink.writeVarInt(this.getInputs().size());
+        for (long input : this.getInputs()) {
+            sink.writeInt((int) input);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
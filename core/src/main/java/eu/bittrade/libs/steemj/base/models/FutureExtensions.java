@@ -16,9 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -26,6 +23,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import eu.bittrade.libs.steemj.base.models.serializer.FutureExtensionsSerializer;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a "future_extensions_type" object which has no member
@@ -36,16 +34,9 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 @JsonSerialize(using = FutureExtensionsSerializer.class)
 public class FutureExtensions implements ByteTransformable {
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedFutureExtensions = new ByteArrayOutputStream()) {
-            byte[] extension = { 0x00 };
-            serializedFutureExtensions.write(extension);
-
-            return serializedFutureExtensions.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        byte[] extension = { 0x00 };
+        sink.writeBytes(extension);
     }
 
     @Override
@@ -16,9 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.IOException;
-
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -29,6 +26,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.HardforkVersion;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the Steem "hardfork_version_vote"
@@ -95,15 +93,8 @@ public class HardforkVersionVote extends BlockHeaderExtensions {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedHardforkVersionVoteExtension = new ByteArrayOutputStream()) {
-            serializedHardforkVersionVoteExtension.write(this.getHfVersion().toByteArray());
-            serializedHardforkVersionVoteExtension.write(this.getHfTime().toByteArray());
-
-            return serializedHardforkVersionVoteExtension.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getHfVersion());
+        sink.write(this.getHfTime());
     }
 }
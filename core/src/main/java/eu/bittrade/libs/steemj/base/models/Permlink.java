@@ -25,7 +25,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a "permlink". Steem defines "permlinks" as Strings,
@@ -101,8 +101,8 @@ public class Permlink implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        return SteemJUtils.transformStringToVarIntByteArray(this.getLink());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeString(this.getLink());
     }
 
     @Override
@@ -17,12 +17,19 @@
 package eu.bittrade.libs.steemj.base.models;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.base.models.deserializer.Sha256HashDeserializer;
+import eu.bittrade.libs.steemj.base.models.serializer.Sha256HashSerializer;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "pow" object.
@@ -34,12 +41,16 @@ public class Pow implements ByteTransformable {
     private PublicKey worker;
     // Original type is "digest_type" which is a "fc:sha256" object.
     @JsonProperty("input")
+    @JsonSerialize(using = Sha256HashSerializer.class)
+    @JsonDeserialize(using = Sha256HashDeserializer.class)
     private Sha256Hash input;
     // TODO: signature_type signature;
     @JsonProperty("signature")
     private String signature;
     // Original type is "digest_type" which is a "fc:sha256" object.
     @JsonProperty("work")
+    @JsonSerialize(using = Sha256HashSerializer.class)
+    @JsonDeserialize(using = Sha256HashDeserializer.class)
     private Sha256Hash work;
 
     public Pow() {
@@ -49,6 +60,26 @@ public class Pow implements ByteTransformable {
     public Pow(ECKey privateKey, Sha256Hash input) {
     }
 
+    /**
+     * Create a proof of work from its already known parts, e.g. when decoding
+     * a historical block.
+     * 
+     * @param worker
+     *            The public key of the worker.
+     * @param input
+     *            The input of the work.
+     * @param signature
+     *            The compact signature of the input as a hex String.
+     * @param work
+     *            The result of the work.
+     */
+    public Pow(PublicKey worker, Sha256Hash input, String signature, Sha256Hash work) {
+        this.worker = worker;
+        this.input = input;
+        this.signature = signature;
+        this.work = work;
+    }
+
     public PublicKey getWorker() {
         return worker;
     }
@@ -66,8 +97,16 @@ public class Pow implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        // TODO Auto-generated method stub
-        return null;
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getWorker());
+        sink.writeBytes(this.getInput().getBytes());
+
+        byte[] signatureBytes = CryptoUtils.HEX.decode(this.getSignature());
+        if (signatureBytes.length != SignedBlockHeader.SIGNATURE_LENGTH) {
+            throw new SteemInvalidTransactionException("The signature has " + signatureBytes.length + " instead of "
+                    + SignedBlockHeader.SIGNATURE_LENGTH + " bytes.");
+        }
+        sink.writeBytes(signatureBytes);
+        sink.writeBytes(this.getWork().getBytes());
     }
 }
@@ -0,0 +1,80 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.util.ByteSink;
+
+/**
+ * This class represents the Steem "pow2" object.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class Pow2 extends Pow2Work {
+    @JsonProperty("input")
+    private Pow2Input input;
+    // Original type is "uint32_t".
+    @JsonProperty("pow_summary")
+    private long powSummary;
+
+    /**
+     * This constructor is used by Jackson.
+     */
+    public Pow2() {
+
+    }
+
+    /**
+     * Create a new pow2 work.
+     * 
+     * @param input
+     *            The input of the work.
+     * @param powSummary
+     *            The summary of the work.
+     */
+    public Pow2(Pow2Input input, long powSummary) {
+        this.input = input;
+        this.powSummary = powSummary;
+    }
+
+    /**
+     * @return The input of the work.
+     */
+    public Pow2Input getInput() {
+        return input;
+    }
+
+    /**
+     * @return The summary of the work.
+     */
+    public long getPowSummary() {
+        return powSummary;
+    }
+
+    @Override
+    public int getTypeId() {
+        return POW2_ID;
+    }
+
+    @Override
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getInput());
+        sink.writeInt((int) this.getPowSummary());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.joou.ULong;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
+
+/**
+ * This class represents the Steem "pow2_input" object.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class Pow2Input implements ByteTransformable {
+    @JsonProperty("worker_account")
+    private AccountName workerAccount;
+    @JsonProperty("prev_block")
+    private BlockId prevBlock;
+    @JsonProperty("nonce")
+    private ULong nonce;
+
+    /**
+     * This constructor is used by Jackson.
+     */
+    public Pow2Input() {
+
+    }
+
+    /**
+     * Create a new pow2 input.
+     * 
+     * @param workerAccount
+     *            The account of the miner.
+     * @param prevBlock
+     *            The id of the block the work is based on.
+     * @param nonce
+     *            The nonce.
+     */
+    public Pow2Input(AccountName workerAccount, BlockId prevBlock, ULong nonce) {
+        this.workerAccount = workerAccount;
+        this.prevBlock = prevBlock;
+        this.nonce = nonce;
+    }
+
+    /**
+     * @return The account of the miner.
+     */
+    public AccountName getWorkerAccount() {
+        return workerAccount;
+    }
+
+    /**
+     * @return The id of the block the work is based on.
+     */
+    public BlockId getPrevBlock() {
+        return prevBlock;
+    }
+
+    /**
+     * @return The nonce.
+     */
+    public ULong getNonce() {
+        return nonce;
+    }
+
+    @Override
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getWorkerAccount());
+        sink.write(this.getPrevBlock());
+        sink.writeLong(this.getNonce().longValue());
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
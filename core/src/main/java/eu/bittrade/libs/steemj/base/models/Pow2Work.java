@@ -0,0 +1,55 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+
+/**
+ * This class is used as a Java implementation of the Steem "pow2_work" variant
+ * that can contain a:
+ * <ul>
+ * <li>pow2</li>
+ * <li>equihash_pow</li>
+ * </ul>
+ * 
+ * The used type is indicated by an id, which is the first field in a JSON
+ * response and which is written in front of the work in its binary
+ * representation.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public abstract class Pow2Work implements ByteTransformable {
+    /** The id of a {@link Pow2} work. */
+    public static final int POW2_ID = 0;
+    /** The id of an {@link EquihashPow} work. */
+    public static final int EQUIHASH_POW_ID = 1;
+
+    /**
+     * @return The id of this work type.
+     */
+    @JsonIgnore
+    public abstract int getTypeId();
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
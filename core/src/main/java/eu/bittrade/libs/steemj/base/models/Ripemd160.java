@@ -25,6 +25,7 @@ import org.joou.UInteger;
 import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is a wrapper for ripemd160 hashes.
@@ -49,6 +50,16 @@ public abstract class Ripemd160 implements ByteTransformable, Serializable {
         this.setHashValue(hashValue);
     }
 
+    /**
+     * Create a new wrapper for the given ripemd160 hash.
+     * 
+     * @param hashValue
+     *            The hash to wrap in its decoded byte representation.
+     */
+    public Ripemd160(byte[] hashValue) {
+        this.setHashValue(hashValue);
+    }
+
     /**
      * Convert the first four bytes of the hash into a number.
      * 
@@ -90,8 +101,8 @@ public abstract class Ripemd160 implements ByteTransformable, Serializable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        return this.hashValue;
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeBytes(this.hashValue);
     }
 
     @Override
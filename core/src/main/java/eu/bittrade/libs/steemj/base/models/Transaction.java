@@ -123,10 +123,32 @@ public class Transaction implements Serializable {
      *            (see {@link #setExtensions(List)}).
      */
     public Transaction(BlockId blockId, List<Operation> operations, List<FutureExtensions> extensions) {
+        this(blockId, operations, extensions, SteemJConfig.getInstance());
+    }
+
+    /**
+     * Like {@link #Transaction(BlockId, List, List)}, but uses the maximum
+     * expiration date offset of the given <code>config</code> instead of the
+     * one of the global {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * @param blockId
+     *            The block reference (see {@link #setRefBlockNum(UShort)} and
+     *            {@link #setRefBlockPrefix(UInteger)}).
+     * @param operations
+     *            A list of operations to process within this Transaction (see
+     *            {@link #setOperations(List)}).
+     * @param extensions
+     *            Extensions are currently not supported and will be ignored
+     *            (see {@link #setExtensions(List)}).
+     * @param config
+     *            The configuration to use.
+     */
+    public Transaction(BlockId blockId, List<Operation> operations, List<FutureExtensions> extensions,
+            SteemJConfig config) {
         this.setRefBlockNum(UShort.valueOf(blockId.getNumberFromHash() & 0xffff));
         this.setRefBlockPrefix(blockId.getHashValue());
-        this.setExpirationDate(new TimePointSec(
-                System.currentTimeMillis() + SteemJConfig.getInstance().getMaximumExpirationDateOffset() - 60000L));
+        this.setExpirationDate(
+                new TimePointSec(System.currentTimeMillis() + config.getMaximumExpirationDateOffset() - 60000L));
         this.setOperations(operations);
         this.setExtensions(extensions);
     }
@@ -193,6 +215,7 @@ public class Transaction implements Serializable {
      */
     public void setExtensions(List<FutureExtensions> extensions) {
         this.extensions = extensions;
+        this.invalidateCachedValues();
     }
 
     /**
@@ -209,6 +232,7 @@ public class Transaction implements Serializable {
         }
 
         this.operations = operations;
+        this.invalidateCachedValues();
     }
 
     /**
@@ -222,6 +246,7 @@ public class Transaction implements Serializable {
      */
     public void setRefBlockNum(UShort refBlockNum) {
         this.refBlockNum = refBlockNum;
+        this.invalidateCachedValues();
     }
 
     /**
@@ -234,6 +259,7 @@ public class Transaction implements Serializable {
      */
     public void setRefBlockPrefix(UInteger refBlockPrefix) {
         this.refBlockPrefix = refBlockPrefix;
+        this.invalidateCachedValues();
     }
 
     /**
@@ -247,6 +273,7 @@ public class Transaction implements Serializable {
      */
     public void setRefBlockPrefix(String refBlockPrefix) {
         this.refBlockPrefix = UInteger.valueOf(CryptoUtils.readUint32(CryptoUtils.HEX.decode(refBlockPrefix), 4));
+        this.invalidateCachedValues();
     }
 
     /**
@@ -255,7 +282,9 @@ public class Transaction implements Serializable {
      * given time, the transaction will not be accepted. <b>Notice</b> that this
      * method will return the latest possible expiration date if no other time
      * has been configured using the {@link #setExpirationDate(TimePointSec)
-     * setExpirationDate(TimePointSec)} method.
+     * setExpirationDate(TimePointSec)} method. In this case, the maximum
+     * expiration date offset of the global {@link SteemJConfig#getInstance()
+     * configuration} is used.
      * 
      * @return The expiration date.
      */
@@ -280,6 +309,16 @@ public class Transaction implements Serializable {
      */
     public void setExpirationDate(TimePointSec expirationDate) {
         this.expirationDate = expirationDate;
+        this.invalidateCachedValues();
+    }
+
+    /**
+     * This method is called whenever a field of this transaction has been
+     * changed through one of its setters, so that sub classes can drop values
+     * they have derived from the previous state.
+     */
+    protected void invalidateCachedValues() {
+        // Nothing is cached by a plain transaction.
     }
 
     /**
@@ -309,8 +348,26 @@ public class Transaction implements Serializable {
      *             In case a field does not fulfill the requirements.
      */
     public void validate() throws SteemInvalidTransactionException {
+        validate(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Like {@link #validate()}, but uses the maximum expiration date offset of
+     * the given <code>config</code> instead of the one of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * <b>Notice:</b> The operations are still validated against the global
+     * configuration (e.g. their asset symbols), as
+     * {@link Operation#validate(List)} does not receive a configuration.
+     * 
+     * @param config
+     *            The configuration to use.
+     * @throws SteemInvalidTransactionException
+     *             In case a field does not fulfill the requirements.
+     */
+    public void validate(SteemJConfig config) throws SteemInvalidTransactionException {
         if (this.getExpirationDate().getDateTimeAsTimestamp() > (new Timestamp(System.currentTimeMillis())).getTime()
-                + SteemJConfig.getInstance().getMaximumExpirationDateOffset()) {
+                + config.getMaximumExpirationDateOffset()) {
             LOGGER.warn("The configured expiration date for this transaction is to far "
                     + "in the future and may not be accepted by the Steem node.");
         } else if (this.getExpirationDate().getDateTimeAsTimestamp() < (new Timestamp(System.currentTimeMillis()))
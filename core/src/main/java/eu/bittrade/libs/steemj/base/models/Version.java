@@ -16,11 +16,8 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
-import org.apache.commons.io.output.ByteArrayOutputStream;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
@@ -28,7 +25,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the Steem "version" object.
@@ -103,15 +100,8 @@ public class Version extends BlockHeaderExtensions {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedVersion = new ByteArrayOutputStream()) {
-            serializedVersion.write(SteemJUtils.transformIntToByteArray(versionNumber));
-
-            return serializedVersion.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the version object into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeInt(versionNumber);
     }
 
     @Override
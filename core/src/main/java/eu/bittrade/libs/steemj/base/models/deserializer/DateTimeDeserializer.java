@@ -0,0 +1,56 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.deserializer;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import eu.bittrade.libs.steemj.util.SteemJUtils;
+
+/**
+ * Deserializes a {@link Date} provided in the date time pattern of the Steem
+ * blockchain (e.g. "2016-08-08T12:24:17"). In contrast to a shared
+ * {@link java.text.SimpleDateFormat}, this deserializer can be used by
+ * multiple threads at the same time.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class DateTimeDeserializer extends JsonDeserializer<Date> {
+    @Override
+    public Date deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        JsonToken currentToken = jsonParser.currentToken();
+        if (JsonToken.VALUE_STRING.equals(currentToken)) {
+            try {
+                return new Date(SteemJUtils.transformStringToTimestamp(jsonParser.getText()));
+            } catch (ParseException e) {
+                return (Date) deserializationContext.handleWeirdStringValue(Date.class, jsonParser.getText(),
+                        "Expected a date in the format of the Steem blockchain: %s", e.getMessage());
+            }
+        } else if (JsonToken.VALUE_NUMBER_INT.equals(currentToken)) {
+            return new Date(jsonParser.getLongValue());
+        }
+
+        return (Date) deserializationContext.handleUnexpectedToken(Date.class, jsonParser);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.deserializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import eu.bittrade.libs.steemj.base.models.EquihashPow;
+import eu.bittrade.libs.steemj.base.models.Pow2;
+import eu.bittrade.libs.steemj.base.models.Pow2Work;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+
+/**
+ * This class is used to deserialize the "pow2_work" variant that can contain a:
+ * <ul>
+ * <li>pow2</li>
+ * <li>equihash_pow</li>
+ * </ul>
+ * 
+ * A response can look like this:
+ * <p>
+ * <code>[0,{"input":{"worker_account":"steemj","prev_block":"...","nonce":"42"},"pow_summary":3817912690}]</code>
+ * </p>
+ * While the first element of the array is the ID of the type (see
+ * {@link BlockHeaderExtensionsDeserializer} for the reason why this is done
+ * manually).
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class Pow2WorkDeserializer extends JsonDeserializer<Pow2Work> {
+    @Override
+    public Pow2Work deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        JsonNode node = jsonParser.readValueAsTree();
+
+        if (node == null || node.size() != 2 || !node.get(0).isInt()) {
+            throw new IllegalArgumentException("The received JSON does not has the required structure.");
+        }
+
+        int typeId = node.get(0).asInt();
+        switch (typeId) {
+        case Pow2Work.POW2_ID:
+            return CommunicationHandler.getObjectMapper().treeToValue(node.get(1), Pow2.class);
+        case Pow2Work.EQUIHASH_POW_ID:
+            return CommunicationHandler.getObjectMapper().treeToValue(node.get(1), EquihashPow.class);
+        default:
+            throw new IllegalArgumentException("Unknown work type id '" + typeId + "'.");
+        }
+    }
+}
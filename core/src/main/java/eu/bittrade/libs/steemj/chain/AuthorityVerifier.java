@@ -0,0 +1,395 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import eu.bittrade.libs.steemj.base.models.Account;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * This class verifies the signatures of {@link SignedTransaction
+ * SignedTransactions} without asking a Steem node. It follows the rules of the
+ * <code>verify_authority</code> method of the Steem node: The public keys are
+ * recovered from the signatures and the weighted {@link Authority} of each
+ * required account is evaluated, including the authorities of other accounts
+ * up to a depth of two. Signatures that are not required to satisfy the
+ * authorities are treated as an error.
+ * 
+ * The authorities of all involved accounts need to be added to this verifier
+ * before, e.g. from the results of
+ * {@link eu.bittrade.libs.steemj.SteemJ#getAccounts(List) getAccounts}. This
+ * class is thread safe, so the same instance can verify many transactions in
+ * parallel while the cached authorities are updated.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class AuthorityVerifier {
+    /** The maximum depth of nested account authorities. */
+    private static final int MAX_SIG_CHECK_DEPTH = 2;
+
+    private final String chainId;
+    private final Charset encodingCharset;
+    private final ForkJoinPool verificationPool;
+    private final Map<AccountName, EnumMap<PrivateKeyType, Authority>> accountAuthorities = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new verifier which uses the chain id and the encoding charset of
+     * the global {@link SteemJConfig#getInstance() configuration} and the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public AuthorityVerifier() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Create a new verifier which uses the chain id and the encoding charset of
+     * the given <code>config</code> and the {@link ForkJoinPool#commonPool()
+     * common pool}.
+     * 
+     * @param config
+     *            The configuration which provides the chain id and the
+     *            encoding charset.
+     */
+    public AuthorityVerifier(SteemJConfig config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new verifier.
+     * 
+     * @param config
+     *            The configuration which provides the chain id and the
+     *            encoding charset.
+     * @param verificationPool
+     *            The pool used to verify multiple transactions.
+     */
+    public AuthorityVerifier(SteemJConfig config, ForkJoinPool verificationPool) {
+        this.chainId = config.getChainId();
+        this.encodingCharset = config.getEncodingCharset();
+        this.verificationPool = verificationPool;
+    }
+
+    /**
+     * Add or replace the authorities of the given <code>account</code>.
+     * 
+     * @param account
+     *            The account as returned by the Steem node.
+     */
+    public void addAccount(Account account) {
+        addAccountAuthorities(account.getName(), account.getOwner(), account.getActive(), account.getPosting());
+    }
+
+    /**
+     * Add or replace the authorities of the account with the given
+     * <code>accountName</code>.
+     * 
+     * @param accountName
+     *            The name of the account.
+     * @param owner
+     *            The owner authority of the account.
+     * @param active
+     *            The active authority of the account.
+     * @param posting
+     *            The posting authority of the account.
+     */
+    public void addAccountAuthorities(AccountName accountName, Authority owner, Authority active,
+            Authority posting) {
+        EnumMap<PrivateKeyType, Authority> authorities = new EnumMap<>(PrivateKeyType.class);
+        authorities.put(PrivateKeyType.OWNER, owner);
+        authorities.put(PrivateKeyType.ACTIVE, active);
+        authorities.put(PrivateKeyType.POSTING, posting);
+        accountAuthorities.put(accountName, authorities);
+    }
+
+    /**
+     * Remove the authorities of the account with the given
+     * <code>accountName</code>, e.g. after the account has been updated.
+     * 
+     * @param accountName
+     *            The name of the account.
+     */
+    public void removeAccount(AccountName accountName) {
+        accountAuthorities.remove(accountName);
+    }
+
+    /**
+     * Verify that the given transaction has been signed by all required
+     * authorities and does not contain unnecessary signatures.
+     * 
+     * @param signedTransaction
+     *            The transaction to verify.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction is not signed correctly or if the
+     *             authorities of a required account are unknown. The message
+     *             describes the problem.
+     */
+    public void verifyAuthority(SignedTransaction signedTransaction) throws SteemInvalidTransactionException {
+        Map<SignatureObject, PrivateKeyType> requiredAuthorities = signedTransaction.getRequiredAuthorities();
+
+        boolean isPostingKeyRequired = requiredAuthorities.containsValue(PrivateKeyType.POSTING);
+        if (isPostingKeyRequired && (requiredAuthorities.containsValue(PrivateKeyType.ACTIVE)
+                || requiredAuthorities.containsValue(PrivateKeyType.OWNER)
+                || requiredAuthorities.containsValue(PrivateKeyType.OTHER))) {
+            throw new SteemInvalidTransactionException(
+                    "Steem does not allow to process Operation requiring a POSTING key together with "
+                            + "Operations requiring an ACTIVE or OWNER key.");
+        }
+
+        SignState signState = new SignState(signedTransaction.getSignatureKeys(chainId, encodingCharset),
+                isPostingKeyRequired ? PrivateKeyType.POSTING : PrivateKeyType.ACTIVE);
+
+        for (Entry<SignatureObject, PrivateKeyType> requiredAuthority : requiredAuthorities.entrySet()) {
+            if (requiredAuthority.getKey() instanceof Authority) {
+                if (!signState.checkAuthority((Authority) requiredAuthority.getKey(), 0)) {
+                    throw new SteemInvalidTransactionException("Missing authority for a required authority.");
+                }
+            } else if (requiredAuthority.getKey() instanceof AccountName) {
+                AccountName accountName = (AccountName) requiredAuthority.getKey();
+                if (!isAccountAuthoritySatisfied(signState, accountName, requiredAuthority.getValue())) {
+                    throw new SteemInvalidTransactionException("Missing " + requiredAuthority.getValue()
+                            + " authority of the account " + accountName.getName() + ".");
+                }
+            } else {
+                throw new SteemInvalidTransactionException(
+                        "Unknown SigningObject type " + requiredAuthority.getKey() + ".");
+            }
+        }
+
+        if (signState.hasUnusedSignatureKeys()) {
+            throw new SteemInvalidTransactionException("Irrelevant signature included.");
+        }
+    }
+
+    /**
+     * Verify all given transactions in parallel (see
+     * {@link #verifyAuthority(SignedTransaction)}).
+     * 
+     * @param signedTransactions
+     *            The transactions to verify.
+     * @return The result for each transaction in the order of the
+     *         <code>signedTransactions</code>: <code>true</code> if the
+     *         transaction is signed correctly, otherwise <code>false</code>.
+     * @throws SteemInvalidTransactionException
+     *             If the current thread has been interrupted.
+     */
+    public List<Boolean> verifyAuthorities(List<SignedTransaction> signedTransactions)
+            throws SteemInvalidTransactionException {
+        List<ForkJoinTask<Boolean>> verificationTasks = new ArrayList<>(signedTransactions.size());
+        for (SignedTransaction signedTransaction : signedTransactions) {
+            verificationTasks.add(verificationPool.submit(() -> {
+                try {
+                    verifyAuthority(signedTransaction);
+                    return true;
+                } catch (SteemInvalidTransactionException e) {
+                    return false;
+                }
+            }));
+        }
+
+        List<Boolean> results = new ArrayList<>(signedTransactions.size());
+        for (ForkJoinTask<Boolean> verificationTask : verificationTasks) {
+            try {
+                results.add(verificationTask.get());
+            } catch (ExecutionException e) {
+                results.add(false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SteemInvalidTransactionException("Interrupted while verifying the transactions.", e);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Check if the signatures satisfy the given authority level of an account.
+     * Like on the Steem node, a higher authority level is accepted as well.
+     * 
+     * @param signState
+     *            The recovered signature keys.
+     * @param accountName
+     *            The account to check.
+     * @param privateKeyType
+     *            The required authority level.
+     * @return <code>true</code> if the authority is satisfied.
+     * @throws SteemInvalidTransactionException
+     *             If the authorities of a required account are unknown.
+     */
+    private boolean isAccountAuthoritySatisfied(SignState signState, AccountName accountName,
+            PrivateKeyType privateKeyType) throws SteemInvalidTransactionException {
+        switch (privateKeyType) {
+        case POSTING:
+            return signState.checkAuthority(accountName)
+                    || signState.checkAuthority(getAuthority(accountName, PrivateKeyType.ACTIVE), 0)
+                    || signState.checkAuthority(getAuthority(accountName, PrivateKeyType.OWNER), 0);
+        case ACTIVE:
+            return signState.checkAuthority(accountName)
+                    || signState.checkAuthority(getAuthority(accountName, PrivateKeyType.OWNER), 0);
+        case OWNER:
+            return signState.checkAuthority(getAuthority(accountName, PrivateKeyType.OWNER), 0);
+        default:
+            throw new SteemInvalidTransactionException(
+                    "The authority type " + privateKeyType + " can not be verified for accounts.");
+        }
+    }
+
+    /**
+     * Get a cached authority.
+     * 
+     * @param accountName
+     *            The account to get the authority for.
+     * @param privateKeyType
+     *            The authority level.
+     * @return The authority.
+     * @throws SteemInvalidTransactionException
+     *             If the authorities of the account are unknown.
+     */
+    private Authority getAuthority(AccountName accountName, PrivateKeyType privateKeyType)
+            throws SteemInvalidTransactionException {
+        EnumMap<PrivateKeyType, Authority> authorities = accountAuthorities.get(accountName);
+        if (authorities == null || authorities.get(privateKeyType) == null) {
+            throw new SteemInvalidTransactionException("The " + privateKeyType + " authority of the account "
+                    + accountName.getName() + " is unknown.");
+        }
+
+        return authorities.get(privateKeyType);
+    }
+
+    /**
+     * @param publicKey
+     *            The key to transform.
+     * @return The compressed form of the key, which can be used for lookups.
+     */
+    private static ByteBuffer toLookupKey(PublicKey publicKey) {
+        return ByteBuffer.wrap(publicKey.getPublicKey().getPubKeyPoint().getEncoded(true));
+    }
+
+    /**
+     * The state of a single verification, which is the java version of the
+     * <code>sign_state</code> of the Steem node.
+     */
+    private class SignState {
+        private final Set<ByteBuffer> signatureKeys = new HashSet<>();
+        private final Set<ByteBuffer> usedSignatureKeys = new HashSet<>();
+        private final Set<AccountName> approvedAccounts = new HashSet<>();
+        private final PrivateKeyType accountAuthorityType;
+
+        /**
+         * @param signatureKeys
+         *            The keys recovered from the signatures.
+         * @param accountAuthorityType
+         *            The authority level used for accounts, which is
+         *            {@link PrivateKeyType#POSTING} for posting transactions
+         *            and {@link PrivateKeyType#ACTIVE} for all others.
+         */
+        private SignState(Set<PublicKey> signatureKeys, PrivateKeyType accountAuthorityType) {
+            for (PublicKey signatureKey : signatureKeys) {
+                this.signatureKeys.add(toLookupKey(signatureKey));
+            }
+            this.accountAuthorityType = accountAuthorityType;
+        }
+
+        /**
+         * @param accountName
+         *            The account to check.
+         * @return <code>true</code> if the signatures satisfy the active or
+         *         posting authority of the account.
+         * @throws SteemInvalidTransactionException
+         *             If the authorities of a required account are unknown.
+         */
+        private boolean checkAuthority(AccountName accountName) throws SteemInvalidTransactionException {
+            if (approvedAccounts.contains(accountName)) {
+                return true;
+            }
+
+            if (checkAuthority(getAuthority(accountName, accountAuthorityType), 0)) {
+                approvedAccounts.add(accountName);
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @param authority
+         *            The authority to check.
+         * @param depth
+         *            The current depth of nested account authorities.
+         * @return <code>true</code> if the weight of the signing keys and
+         *         accounts reaches the threshold of the authority.
+         * @throws SteemInvalidTransactionException
+         *             If the authorities of a required account are unknown.
+         */
+        private boolean checkAuthority(Authority authority, int depth) throws SteemInvalidTransactionException {
+            long totalWeight = 0;
+            for (Entry<PublicKey, Integer> keyAuth : authority.getKeyAuths().entrySet()) {
+                ByteBuffer lookupKey = toLookupKey(keyAuth.getKey());
+                if (signatureKeys.contains(lookupKey)) {
+                    usedSignatureKeys.add(lookupKey);
+                    totalWeight += keyAuth.getValue();
+                    if (totalWeight >= authority.getWeightThreshold()) {
+                        return true;
+                    }
+                }
+            }
+
+            for (Entry<AccountName, Integer> accountAuth : authority.getAccountAuths().entrySet()) {
+                if (!approvedAccounts.contains(accountAuth.getKey())) {
+                    if (depth == MAX_SIG_CHECK_DEPTH || !checkAuthority(
+                            getAuthority(accountAuth.getKey(), accountAuthorityType), depth + 1)) {
+                        continue;
+                    }
+                    approvedAccounts.add(accountAuth.getKey());
+                }
+
+                totalWeight += accountAuth.getValue();
+                if (totalWeight >= authority.getWeightThreshold()) {
+                    return true;
+                }
+            }
+
+            return totalWeight >= authority.getWeightThreshold();
+        }
+
+        /**
+         * @return <code>true</code> if at least one signature has not been
+         *         required to satisfy the checked authorities.
+         */
+        private boolean hasUnusedSignatureKeys() {
+            return usedSignatureKeys.size() < signatureKeys.size();
+        }
+    }
+}
@@ -16,14 +16,23 @@
  */
 package eu.bittrade.libs.steemj.chain;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
@@ -42,6 +51,7 @@ import eu.bittrade.crypto.core.Sha256Hash;
 import eu.bittrade.libs.steemj.base.models.BlockId;
 import eu.bittrade.libs.steemj.base.models.FutureExtensions;
 import eu.bittrade.libs.steemj.base.models.Transaction;
+import eu.bittrade.libs.steemj.configuration.PrivateKeyStorage;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
@@ -51,8 +61,10 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a Steem "signed_transaction" object.
@@ -63,7 +75,19 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
     private static final long serialVersionUID = 4821422578657270330L;
     private static final Logger LOGGER = LoggerFactory.getLogger(SignedTransaction.class);
 
+    private static final List<ValidationType> NO_VALIDATIONS = Collections
+            .singletonList(ValidationType.SKIP_VALIDATION);
+    private static final int TRANSACTION_ID_LENGTH = 20;
+
     protected transient List<String> signatures;
+    private transient volatile TransactionId transactionId;
+    private transient volatile String transactionHex;
+    /**
+     * The encoding charset of the configuration this transaction has been
+     * created or signed with, or null to use the one of the global
+     * configuration.
+     */
+    private transient volatile Charset encodingCharset;
 
     /**
      * This constructor is only used to create the POJO from a JSON response.
@@ -127,6 +151,31 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
         this.signatures = new ArrayList<>();
     }
 
+    /**
+     * Like {@link #SignedTransaction(BlockId, List, List)}, but uses the
+     * maximum expiration date offset and the encoding charset of the given
+     * <code>config</code> instead of the ones of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * @param blockId
+     *            The block reference (see {@link #setRefBlockNum(UShort)} and
+     *            {@link #setRefBlockPrefix(UInteger)}).
+     * @param operations
+     *            A list of operations to process within this Transaction (see
+     *            {@link #setOperations(List)}).
+     * @param extensions
+     *            Extensions are currently not supported and will be ignored
+     *            (see {@link #setExtensions(List)}).
+     * @param config
+     *            The configuration to use.
+     */
+    public SignedTransaction(BlockId blockId, List<Operation> operations, List<FutureExtensions> extensions,
+            SteemJConfig config) {
+        super(blockId, operations, extensions, config);
+        this.signatures = new ArrayList<>();
+        this.encodingCharset = config.getEncodingCharset();
+    }
+
     /**
      * Get the signatures for this transaction.
      * 
@@ -137,6 +186,113 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
         return this.signatures;
     }
 
+    /**
+     * Get the id of this transaction, which is the SHA-256 hash of the
+     * serialized transaction without the chain id and the signatures,
+     * truncated to its first 20 bytes. The id is calculated locally and
+     * cached, so it can be requested as often as needed without serializing
+     * the transaction again.
+     * 
+     * The transaction is serialized using the encoding charset of the
+     * configuration it has been created or {@link #sign(SteemJConfig) signed}
+     * with, or the one of the global configuration.
+     * 
+     * <b>Notice</b> that the cached id is only invalidated if this transaction
+     * is changed through its setters or by {@link #sign() signing} it. If an
+     * operation of this transaction is modified in place, the id is not
+     * updated.
+     * 
+     * @return The id of this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    @JsonIgnore
+    public TransactionId getTransactionId() throws SteemInvalidTransactionException {
+        TransactionId id = this.transactionId;
+        if (id == null) {
+            ByteSink sink = new ByteSink(getEncodingCharset());
+            writeTo(sink, null, NO_VALIDATIONS);
+            id = new TransactionId(
+                    Arrays.copyOf(Sha256Hash.hash(sink.getBuffer(), 0, sink.size()), TRANSACTION_ID_LENGTH));
+            this.transactionId = id;
+        }
+
+        return id;
+    }
+
+    /**
+     * Get the HEX representation of this transaction including its signatures,
+     * like it would be returned by the <code>get_transaction_hex</code> method
+     * of a Steem node. The HEX representation is calculated locally and cached
+     * under the same conditions as the {@link #getTransactionId() transaction
+     * id}.
+     * 
+     * @return The HEX representation of this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    @JsonIgnore
+    public String getTransactionHex() throws SteemInvalidTransactionException {
+        String hex = this.transactionHex;
+        if (hex == null) {
+            ByteSink sink = writeSignedTo(new ByteSink(getEncodingCharset()));
+            hex = CryptoUtils.HEX.encode(sink.getBuffer(), 0, sink.size());
+            this.transactionHex = hex;
+        }
+
+        return hex;
+    }
+
+    /**
+     * Get the binary representation of this transaction including its
+     * signatures, but without the chain id. This is the format returned by
+     * {@link #getTransactionHex()} and can be read again using
+     * {@link TransactionDecoder#decodeSignedTransaction(byte[])}.
+     * 
+     * @return The binary representation of this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    public byte[] toSignedByteArray() throws SteemInvalidTransactionException {
+        return writeSignedTo(new ByteSink(getEncodingCharset())).toByteArray();
+    }
+
+    /**
+     * Append the transaction without the chain id, followed by its signatures,
+     * to the given <code>sink</code>.
+     * 
+     * @param sink
+     *            The sink to append to.
+     * @return The given sink.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    public ByteSink writeSignedTo(ByteSink sink) throws SteemInvalidTransactionException {
+        writeTo(sink, null, NO_VALIDATIONS);
+        List<String> transactionSignatures = this.signatures == null ? new ArrayList<String>() : this.signatures;
+        sink.writeVarInt(transactionSignatures.size());
+        for (String signature : transactionSignatures) {
+            sink.writeBytes(CryptoUtils.HEX.decode(signature));
+        }
+        return sink;
+    }
+
+    /**
+     * @return The encoding charset of the configuration this transaction has
+     *         been created or signed with, or the one of the global
+     *         {@link SteemJConfig#getInstance() configuration}.
+     */
+    private Charset getEncodingCharset() {
+        Charset charset = this.encodingCharset;
+        return charset == null ? SteemJConfig.getInstance().getEncodingCharset() : charset;
+    }
+
+    @Override
+    protected void invalidateCachedValues() {
+        this.transactionId = null;
+        this.transactionHex = null;
+    }
+
     /**
      * Verify that the signature is canonical.
      * 
@@ -146,9 +302,9 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      * 
      * @param signature
      *            A single signature in its byte representation.
-     * @return True if the signature is canonical or false if not.
+     * @return True if the signature is not canonical or false if it is.
      */
-    private boolean isCanonical(byte[] signature) {
+    private boolean isNonCanonical(byte[] signature) {
         return ((signature[0] & 0x80) != 0) || (signature[0] == 0) || ((signature[1] & 0x80) != 0)
                 || ((signature[32] & 0x80) != 0) || (signature[32] == 0) || ((signature[33] & 0x80) != 0);
     }
@@ -162,7 +318,45 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      *             If the transaction can not be signed.
      */
     public void sign() throws SteemInvalidTransactionException {
-        sign(SteemJConfig.getInstance().getChainId());
+        sign(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Like {@link #sign() sign()}, but uses the chain id, the private keys,
+     * the validation settings, the maximum expiration date offset and the
+     * encoding charset of the given <code>config</code> instead of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * <b>Notice:</b> The validation of the single operations (e.g. their asset
+     * symbols) still uses the global configuration.
+     * 
+     * @param config
+     *            The configuration to use.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    public void sign(SteemJConfig config) throws SteemInvalidTransactionException {
+        sign(config, null);
+    }
+
+    /**
+     * Like {@link #sign(SteemJConfig) sign(SteemJConfig)}, but creates the
+     * signatures for the different required keys in parallel using the given
+     * <code>signingPool</code>. The resulting signatures are identical to the
+     * ones created by {@link #sign(SteemJConfig) sign(SteemJConfig)} and are
+     * added in the same order.
+     * 
+     * @param config
+     *            The configuration to use.
+     * @param signingPool
+     *            The pool used to sign with multiple keys in parallel or
+     *            <code>null</code> to sign on the calling thread.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    public void sign(SteemJConfig config, @Nullable ForkJoinPool signingPool)
+            throws SteemInvalidTransactionException {
+        sign(config.getChainId(), config, signingPool);
     }
 
     /**
@@ -176,33 +370,114 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      *             If the transaction can not be signed.
      */
     public void sign(String chainId) throws SteemInvalidTransactionException {
-        if (!SteemJConfig.getInstance().getValidationsToSkip().contains(ValidationType.SKIP_VALIDATION)) {
-            this.validate();
+        sign(chainId, SteemJConfig.getInstance(), null);
+    }
+
+    /**
+     * Sign this transaction.
+     * 
+     * @param chainId
+     *            The chain id that should be used during signing.
+     * @param config
+     *            The configuration providing the private keys, the validations
+     *            to skip, the maximum expiration date offset and the encoding
+     *            charset.
+     * @param signingPool
+     *            The pool used to sign with multiple keys in parallel or
+     *            <code>null</code> to sign on the calling thread.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    private void sign(String chainId, SteemJConfig config, @Nullable ForkJoinPool signingPool)
+            throws SteemInvalidTransactionException {
+        List<ValidationType> validationsToSkip = config.getValidationsToSkip();
+        if (!validationsToSkip.contains(ValidationType.SKIP_VALIDATION)) {
+            this.validate(config);
         }
 
-        for (ECKey requiredPrivateKey : getRequiredSignatureKeys()) {
-            boolean isCanonical = false;
+        List<ECKey> requiredPrivateKeys = getRequiredSignatureKeys(config.getPrivateKeyStorage());
 
-            Sha256Hash messageAsHash;
-            while (!isCanonical) {
-                try {
-                    messageAsHash = Sha256Hash.of(this.toByteArray(chainId));
-                } catch (SteemInvalidTransactionException e) {
-                    throw new SteemInvalidTransactionException(
-                            "The required encoding is not supported by your platform.", e);
-                }
+        // Serialize the transaction only once. If one of the signatures is not
+        // canonical, only the expiration date is changed in the serialized
+        // transaction and all keys sign the new version again.
+        this.encodingCharset = config.getEncodingCharset();
+        ByteSink sink = new ByteSink(config.getEncodingCharset());
+        int expirationDatePosition = writeTo(sink, chainId, validationsToSkip);
+        MessageDigest digest = Sha256Hash.newDigest();
+        List<String> canonicalSignatures = new ArrayList<>(requiredPrivateKeys.size());
 
-                String signature = requiredPrivateKey.signMessage(messageAsHash);
-                byte[] signatureAsByteArray = Base64.decode(signature);
+        while (true) {
+            digest.update(sink.getBuffer(), 0, sink.size());
+            Sha256Hash messageAsHash = toSha256Hash(digest.digest());
 
-                if (isCanonical(signatureAsByteArray)) {
-                    this.getExpirationDate().setDateTime(this.getExpirationDate().getDateTimeAsTimestamp() + 1);
-                } else {
-                    isCanonical = true;
-                    this.signatures.add(CryptoUtils.HEX.encode(signatureAsByteArray));
+            canonicalSignatures.clear();
+            for (byte[] signatureAsByteArray : createSignatures(requiredPrivateKeys, messageAsHash, signingPool)) {
+                if (isNonCanonical(signatureAsByteArray)) {
+                    break;
                 }
+                canonicalSignatures.add(CryptoUtils.HEX.encode(signatureAsByteArray));
+            }
+
+            if (canonicalSignatures.size() == requiredPrivateKeys.size()) {
+                this.signatures.addAll(canonicalSignatures);
+                this.invalidateCachedValues();
+                return;
             }
+
+            this.getExpirationDate().setDateTime(this.getExpirationDate().getDateTimeAsTimestamp() + 1000);
+            sink.setInt(expirationDatePosition, this.getExpirationDate().getDateTimeAsInt());
+        }
+    }
+
+    /**
+     * Sign the given <code>messageAsHash</code> with all
+     * <code>privateKeys</code>.
+     * 
+     * @param privateKeys
+     *            The keys to sign with.
+     * @param messageAsHash
+     *            The hash to sign.
+     * @param signingPool
+     *            The pool used to sign with multiple keys in parallel or
+     *            <code>null</code> to sign on the calling thread.
+     * @return The signatures in the order of the <code>privateKeys</code>.
+     */
+    private static List<byte[]> createSignatures(List<ECKey> privateKeys, Sha256Hash messageAsHash,
+            @Nullable ForkJoinPool signingPool) {
+        List<byte[]> signatures = new ArrayList<>(privateKeys.size());
+        if (signingPool == null || privateKeys.size() < 2) {
+            for (ECKey privateKey : privateKeys) {
+                signatures.add(Base64.decode(privateKey.signMessage(messageAsHash)));
+            }
+            return signatures;
+        }
+
+        List<ForkJoinTask<byte[]>> signingTasks = new ArrayList<>(privateKeys.size());
+        for (ECKey privateKey : privateKeys) {
+            signingTasks.add(signingPool.submit(() -> Base64.decode(privateKey.signMessage(messageAsHash))));
+        }
+        for (ForkJoinTask<byte[]> signingTask : signingTasks) {
+            signatures.add(signingTask.join());
+        }
+        return signatures;
+    }
+
+    /**
+     * Wrap the given SHA-256 digest.
+     * 
+     * @param digest
+     *            The digest to wrap.
+     * @return The digest as a {@link Sha256Hash} object.
+     */
+    private static Sha256Hash toSha256Hash(byte[] digest) {
+        // Sha256Hash only allows to wrap raw bytes in reversed order.
+        for (int i = 0; i < digest.length / 2; i++) {
+            byte swap = digest[i];
+            digest[i] = digest[digest.length - 1 - i];
+            digest[digest.length - 1 - i] = swap;
         }
+
+        return Sha256Hash.wrapReversed(digest);
     }
 
     /**
@@ -213,58 +488,196 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      */
     @JsonIgnore
 	public List<ECKey> getRequiredSignatureKeys() throws SteemInvalidTransactionException {
-        List<ECKey> requiredSignatures = new ArrayList<>();
+        return getRequiredSignatureKeys(SteemJConfig.getInstance().getPrivateKeyStorage());
+    }
+
+    /**
+     * Like {@link #getRequiredSignatureKeys()}, but fetches the keys from the
+     * given <code>privateKeyStorage</code>.
+     * 
+     * @param privateKeyStorage
+     *            The storage to fetch the required private keys from.
+     * @return The list of private keys required to sign this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the required private key is not present in the
+     *             <code>privateKeyStorage</code>.
+     */
+    public List<ECKey> getRequiredSignatureKeys(PrivateKeyStorage privateKeyStorage)
+            throws SteemInvalidTransactionException {
+        Set<ECKey> requiredSignatures = new LinkedHashSet<>();
         Map<SignatureObject, PrivateKeyType> requiredAuthorities = getRequiredAuthorities();
 
         for (Entry<SignatureObject, PrivateKeyType> requiredAuthority : requiredAuthorities.entrySet()) {
             if (requiredAuthority.getKey() instanceof AccountName) {
-                requiredSignatures = getRequiredSignatureKeyForAccount(requiredSignatures,
-                        (AccountName) requiredAuthority.getKey(), requiredAuthority.getValue());
+                requiredSignatures.add(getRequiredSignatureKeyForAccount(privateKeyStorage,
+                        (AccountName) requiredAuthority.getKey(), requiredAuthority.getValue()));
             } else if (requiredAuthority.getKey() instanceof Authority) {
-                // TODO: Support authorities.
+                requiredSignatures.addAll(
+                        getRequiredSignatureKeysForAuthority(privateKeyStorage, (Authority) requiredAuthority.getKey()));
             } else {
                 LOGGER.warn("Unknown SigningObject type {}", requiredAuthority.getKey());
             }
         }
 
-        return requiredSignatures;
+        return new ArrayList<>(requiredSignatures);
+    }
+
+    /**
+     * Fetch private keys from the <code>privateKeyStorage</code> which match the
+     * key authorities of the given <code>authority</code> until their weight
+     * reaches its threshold.
+     * 
+     * @param privateKeyStorage
+     *            The storage to fetch the private keys from.
+     * @param authority
+     *            The authority to satisfy.
+     * @return The private keys required to satisfy the authority.
+     * @throws SteemInvalidTransactionException
+     *             If the <code>privateKeyStorage</code> does not contain
+     *             enough keys to satisfy the authority.
+     */
+    private List<ECKey> getRequiredSignatureKeysForAuthority(PrivateKeyStorage privateKeyStorage,
+            Authority authority) throws SteemInvalidTransactionException {
+        List<ECKey> privateKeys = new ArrayList<>();
+        long totalWeight = 0;
+        for (Entry<PublicKey, Integer> keyAuth : authority.getKeyAuths().entrySet()) {
+            if (totalWeight >= authority.getWeightThreshold()) {
+                break;
+            }
+
+            ECKey privateKey = privateKeyStorage.getKeyForPublicKey(keyAuth.getKey());
+            if (privateKey != null) {
+                privateKeys.add(privateKey);
+                totalWeight += keyAuth.getValue();
+            }
+        }
+
+        if (totalWeight < authority.getWeightThreshold()) {
+            throw new SteemInvalidTransactionException(
+                    "Could not find enough private keys to satisfy the required authority.");
+        }
+
+        return privateKeys;
+    }
+
+    /**
+     * Recover the public keys which created the signatures of this
+     * transaction. The transaction is serialized using the encoding charset of
+     * the configuration it has been created or signed with.
+     * 
+     * @param chainId
+     *            The chain id the transaction has been signed for.
+     * @return The public keys in the order of the signatures.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid or if the same key signed the
+     *             transaction twice.
+     */
+    public Set<PublicKey> getSignatureKeys(String chainId) throws SteemInvalidTransactionException {
+        return getSignatureKeys(chainId, getEncodingCharset());
+    }
+
+    /**
+     * Like {@link #getSignatureKeys(String)}, but serializes the transaction
+     * using the given <code>encodingCharset</code>, e.g. the one of the
+     * configuration of the verifying client.
+     * 
+     * @param chainId
+     *            The chain id the transaction has been signed for.
+     * @param encodingCharset
+     *            The charset used to encode Strings.
+     * @return The public keys in the order of the signatures.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid or if the same key signed the
+     *             transaction twice.
+     */
+    public Set<PublicKey> getSignatureKeys(String chainId, Charset encodingCharset)
+            throws SteemInvalidTransactionException {
+        ByteSink sink = new ByteSink(encodingCharset);
+        writeTo(sink, chainId, NO_VALIDATIONS);
+        Sha256Hash messageAsHash = toSha256Hash(Sha256Hash.hash(sink.getBuffer(), 0, sink.size()));
+
+        Set<PublicKey> signatureKeys = new LinkedHashSet<>();
+        for (String signature : this.getSignatures()) {
+            if (!signatureKeys.add(new PublicKey(recoverPublicKey(CryptoUtils.HEX.decode(signature), messageAsHash)))) {
+                throw new SteemInvalidTransactionException("Duplicate signature detected.");
+            }
+        }
+
+        return signatureKeys;
+    }
+
+    /**
+     * Recover the public key from a compact signature as created by
+     * {@link ECKey#signMessage(Sha256Hash)}.
+     * 
+     * @param signature
+     *            The signature in its byte representation.
+     * @param messageAsHash
+     *            The signed hash.
+     * @return The public key in its compressed form.
+     * @throws SteemInvalidTransactionException
+     *             If no public key can be recovered from the signature.
+     */
+    private static ECKey recoverPublicKey(byte[] signature, Sha256Hash messageAsHash)
+            throws SteemInvalidTransactionException {
+        if (signature.length != 65) {
+            throw new SteemInvalidTransactionException("A signature must be 65 bytes long.");
+        }
+
+        int header = signature[0] & 0xFF;
+        if (header < 27 || header > 34) {
+            throw new SteemInvalidTransactionException("The signature has an invalid header byte " + header + ".");
+        }
+
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 1, 33));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 33, 65));
+        ECKey publicKey;
+        try {
+            publicKey = ECKey.recoverFromSignature((header - 27) & 3, new ECKey.ECDSASignature(r, s), messageAsHash,
+                    true);
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("The signature is not valid.", e);
+        }
+
+        if (publicKey == null) {
+            throw new SteemInvalidTransactionException("Could not recover a public key from the signature.");
+        }
+
+        return publicKey;
+    }
+
+    /**
+     * Overridden to make the required authorities available to the
+     * {@link AuthorityVerifier}.
+     */
+    @Override
+    protected Map<SignatureObject, PrivateKeyType> getRequiredAuthorities() {
+        return super.getRequiredAuthorities();
     }
 
     /**
      * Fetch the requested private key for the given <code>accountName</code>
-     * from the {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}
-     * and merge it into the <code>requiredSignatures</code> list.
+     * from the {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}.
      * 
-     * @param requiredSignatures
-     *            A list of already fetched keys. This list is used to make sure
-     *            that a key is not added twice.
+     * @param privateKeyStorage
+     *            The storage to fetch the private key from.
      * @param accountName
      *            The account name to fetch the key for.
      * @param privateKeyType
      *            The key type to fetch.
-     * @return The <code>requiredSignatures</code> including the
-     *         <code>privateKeyType</code> for <code>accountName</code>.
+     * @return The <code>privateKeyType</code> for <code>accountName</code>.
      * @throws SteemInvalidTransactionException
      *             If the required private key is not present in the
      *             {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}.
      */
-    private List<ECKey> getRequiredSignatureKeyForAccount(List<ECKey> requiredSignatures, AccountName accountName,
+    private ECKey getRequiredSignatureKeyForAccount(PrivateKeyStorage privateKeyStorage, AccountName accountName,
             PrivateKeyType privateKeyType) throws SteemInvalidTransactionException {
-        ECKey privateKey;
-
         try {
-            privateKey = SteemJConfig.getInstance().getPrivateKeyStorage().getKeyForAccount(privateKeyType,
-                    accountName);
+            return privateKeyStorage.getKeyForAccount(privateKeyType, accountName);
         } catch (InvalidParameterException ipe) {
             throw new SteemInvalidTransactionException(
                     "Could not find private " + privateKeyType + " key for the user " + accountName.getName() + ".");
         }
-
-        if (!requiredSignatures.contains(privateKey)) {
-            requiredSignatures.add(privateKey);
-        }
-
-        return requiredSignatures;
     }
 
     /**
@@ -295,35 +708,76 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      *             If the transaction can not be signed.
      */
     public byte[] toByteArray(String chainId) throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedTransaction = new ByteArrayOutputStream()) {
-            if (chainId != null && !chainId.isEmpty()) {
-                serializedTransaction.write(CryptoUtils.HEX.decode(chainId));
-            }
-            serializedTransaction.write(SteemJUtils.transformShortToByteArray(this.getRefBlockNum().shortValue()));
-            serializedTransaction.write(SteemJUtils.transformIntToByteArray(this.getRefBlockPrefix().intValue()));
-            serializedTransaction.write(this.getExpirationDate().toByteArray());
-
-            serializedTransaction.write(SteemJUtils.transformLongToVarIntByteArray(this.getOperations().size()));
-            for (Operation operation : this.getOperations()) {
-                /*
-                 * Validate all Operations
-                 * 
-                 * TODO: Add a validation method to the Transaction Object?
-                 */
-                operation.validate(SteemJConfig.getInstance().getValidationsToSkip());
-                serializedTransaction.write(operation.toByteArray());
-            }
+        return toByteArray(chainId, SteemJConfig.getInstance().getValidationsToSkip());
+    }
 
-            serializedTransaction.write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedTransaction.write(futureExtensions.toByteArray());
-            }
+    /**
+     * Like {@link #toByteArray(String) toByteArray(String)}, but allows to
+     * define the validations that should be skipped.
+     * 
+     * @param chainId
+     *            The HEX representation of the chain Id you want to use for
+     *            this transaction.
+     * @param validationsToSkip
+     *            The validations that should be skipped.
+     * @return The serialized transaction object.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    private byte[] toByteArray(String chainId, List<ValidationType> validationsToSkip)
+            throws SteemInvalidTransactionException {
+        ByteSink sink = new ByteSink(getEncodingCharset());
+        writeTo(sink, chainId, validationsToSkip);
+        return sink.toByteArray();
+    }
 
-            return serializedTransaction.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the transaction into a byte array.", e);
+    @Override
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        writeTo(sink, SteemJConfig.getInstance().getChainId(), SteemJConfig.getInstance().getValidationsToSkip());
+    }
+
+    /**
+     * Append the byte representation of this transaction to the given
+     * <code>sink</code>. All operations are written directly to the sink.
+     * 
+     * @param sink
+     *            The sink to write to.
+     * @param chainId
+     *            The HEX representation of the chain Id you want to use for
+     *            this transaction.
+     * @param validationsToSkip
+     *            The validations that should be skipped.
+     * @return The position of the expiration date within the sink.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    private int writeTo(ByteSink sink, String chainId, List<ValidationType> validationsToSkip)
+            throws SteemInvalidTransactionException {
+        if (chainId != null && !chainId.isEmpty()) {
+            sink.writeBytes(CryptoUtils.HEX.decode(chainId));
+        }
+        sink.writeShort(this.getRefBlockNum().shortValue());
+        sink.writeInt(this.getRefBlockPrefix().intValue());
+        int expirationDatePosition = sink.size();
+        sink.write(this.getExpirationDate());
+
+        sink.writeVarInt(this.getOperations().size());
+        for (Operation operation : this.getOperations()) {
+            /*
+             * Validate all Operations
+             * 
+             * TODO: Add a validation method to the Transaction Object?
+             */
+            operation.validate(validationsToSkip);
+            sink.write(operation);
         }
+
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
+        }
+
+        return expirationDatePosition;
     }
 
     @Override
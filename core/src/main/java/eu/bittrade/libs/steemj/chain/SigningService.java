@@ -0,0 +1,131 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+
+/**
+ * This service signs a large number of independent {@link SignedTransaction
+ * SignedTransactions} in parallel, e.g. for bots that need to broadcast
+ * thousands of transfers at once. Transactions that require multiple keys are
+ * additionally signed with all keys in parallel.
+ * 
+ * As Steem signatures are deterministic, the created signatures do not depend
+ * on the number of threads or on the order in which the transactions are
+ * processed.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SigningService {
+    private final SteemJConfig config;
+    private final ForkJoinPool signingPool;
+
+    /**
+     * Create a new service which uses the global
+     * {@link SteemJConfig#getInstance() configuration} and the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public SigningService() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Create a new service which uses the given <code>config</code> and the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     * 
+     * @param config
+     *            The configuration which provides the chain id, the private
+     *            keys and the validation settings.
+     */
+    public SigningService(SteemJConfig config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new service.
+     * 
+     * @param config
+     *            The configuration which provides the chain id, the private
+     *            keys and the validation settings.
+     * @param signingPool
+     *            The pool used to sign the transactions.
+     */
+    public SigningService(SteemJConfig config, ForkJoinPool signingPool) {
+        this.config = config;
+        this.signingPool = signingPool;
+    }
+
+    /**
+     * Sign a single transaction and create the signatures for its required
+     * keys in parallel.
+     * 
+     * @param signedTransaction
+     *            The transaction to sign.
+     * @return The signed transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    public SignedTransaction sign(SignedTransaction signedTransaction) throws SteemInvalidTransactionException {
+        signedTransaction.sign(config, signingPool);
+        return signedTransaction;
+    }
+
+    /**
+     * Sign all given transactions in parallel. This method returns after all
+     * transactions have been processed.
+     * 
+     * @param signedTransactions
+     *            The transactions to sign.
+     * @throws SteemInvalidTransactionException
+     *             If at least one transaction could not be signed. The
+     *             exception of the first failed transaction in the list is
+     *             thrown, while all other transactions are signed anyway.
+     */
+    public void signAll(List<SignedTransaction> signedTransactions) throws SteemInvalidTransactionException {
+        List<ForkJoinTask<SignedTransaction>> signingTasks = new ArrayList<>(signedTransactions.size());
+        for (SignedTransaction signedTransaction : signedTransactions) {
+            signingTasks.add(signingPool.submit(() -> sign(signedTransaction)));
+        }
+
+        SteemInvalidTransactionException firstException = null;
+        for (ForkJoinTask<SignedTransaction> signingTask : signingTasks) {
+            try {
+                signingTask.get();
+            } catch (ExecutionException e) {
+                if (firstException == null) {
+                    firstException = e.getCause() instanceof SteemInvalidTransactionException
+                            ? (SteemInvalidTransactionException) e.getCause()
+                            : new SteemInvalidTransactionException("Could not sign the transaction.", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SteemInvalidTransactionException("Interrupted while waiting for the signatures.", e);
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+}
@@ -0,0 +1,888 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.joou.UShort;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.base.models.BeneficiaryRouteType;
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.ChainProperties;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.CommentOptionsExtension;
+import eu.bittrade.libs.steemj.base.models.CommentPayoutBeneficiaries;
+import eu.bittrade.libs.steemj.base.models.EquihashPow;
+import eu.bittrade.libs.steemj.base.models.EquihashProof;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.base.models.HardforkVersionVote;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.base.models.Pow;
+import eu.bittrade.libs.steemj.base.models.Pow2;
+import eu.bittrade.libs.steemj.base.models.Pow2Input;
+import eu.bittrade.libs.steemj.base.models.Pow2Work;
+import eu.bittrade.libs.steemj.base.models.Version;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.CommentOptionsExtensionsType;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.BlockHeader;
+import eu.bittrade.libs.steemj.protocol.HardforkVersion;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlock;
+import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.AccountCreateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountCreateWithDelegationOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessProxyOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessVoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CancelTransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChallengeAuthorityOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChangeRecoveryAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ClaimAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ClaimRewardBalanceOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOptionsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ConvertOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CreateClaimedAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomBinaryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeclineVotingRightsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DelegateVestingSharesOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeleteCommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowApproveOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowDisputeOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowReleaseOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowTransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.FeedPublishOperation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCancelOperation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCreate2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCreateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.Pow2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ProveAuthorityOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RecoverAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ReportOverProductionOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RequestAccountRecoveryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.SetResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.SetWithdrawVestingRouteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferToSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferToVestingOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WithdrawVestingOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WitnessSetPropertiesOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WitnessUpdateOperation;
+import eu.bittrade.libs.steemj.util.ByteSource;
+
+/**
+ * This class reads the binary representation of transactions and operations,
+ * which is the format created by their <code>toByteArray</code> methods and
+ * returned by the <code>get_transaction_hex</code> method of a Steem node. This
+ * allows to store or ship transactions in their compact binary form instead of
+ * JSON. Signed blocks can be read as well (see
+ * {@link SignedBlock#writeTo(eu.bittrade.libs.steemj.util.ByteSink)}).
+ * 
+ * All operations that can be part of a transaction are supported. Virtual
+ * operations have no binary representation.
+ * 
+ * The binary form does not contain an address prefix, so decoded public keys
+ * use the one of the global {@link SteemJConfig#getInstance() configuration}.
+ * Strings are decoded using the charset of the given {@link ByteSource}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public final class TransactionDecoder {
+    private static final int SIGNATURE_LENGTH = SignedBlockHeader.SIGNATURE_LENGTH;
+    private static final int RIPEMD160_LENGTH = 20;
+    private static final int PUBLIC_KEY_LENGTH = 33;
+    private static final int ASSET_SYMBOL_LENGTH = 7;
+    private static final OperationType[] OPERATION_TYPES = OperationType.values();
+    private static final LegacyAssetSymbolType[] ASSET_SYMBOLS = LegacyAssetSymbolType.values();
+
+    /**
+     * Utility class - Do not use.
+     */
+    private TransactionDecoder() {
+        // Utility class - Do not use.
+    }
+
+    /**
+     * Read a signed transaction from its binary representation, which must not
+     * contain a chain id (see {@link SignedTransaction#toSignedByteArray()}).
+     * 
+     * @param serializedTransaction
+     *            The binary representation of the transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid transaction.
+     */
+    public static SignedTransaction decodeSignedTransaction(byte[] serializedTransaction)
+            throws SteemInvalidTransactionException {
+        return decodeSignedTransaction(ByteBuffer.wrap(serializedTransaction));
+    }
+
+    /**
+     * Like {@link #decodeSignedTransaction(byte[])}, but reads the remaining
+     * bytes of the given <code>buffer</code> in place. The position of the
+     * buffer is not changed.
+     * 
+     * @param serializedTransaction
+     *            The binary representation of the transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid transaction.
+     */
+    public static SignedTransaction decodeSignedTransaction(ByteBuffer serializedTransaction)
+            throws SteemInvalidTransactionException {
+        ByteSource source = new ByteSource(serializedTransaction);
+        SignedTransaction signedTransaction = readSignedTransaction(source);
+
+        if (source.remaining() != 0) {
+            throw new SteemInvalidTransactionException(
+                    "The transaction is followed by " + source.remaining() + " unexpected bytes.");
+        }
+
+        return signedTransaction;
+    }
+
+    /**
+     * Read a single operation from its binary representation (see
+     * {@link Operation#toByteArray()}).
+     * 
+     * @param serializedOperation
+     *            The binary representation of the operation.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid operation.
+     */
+    public static Operation decodeOperation(byte[] serializedOperation) throws SteemInvalidTransactionException {
+        ByteSource source = new ByteSource(serializedOperation);
+        Operation operation = readOperation(source);
+
+        if (source.remaining() != 0) {
+            throw new SteemInvalidTransactionException(
+                    "The operation is followed by " + source.remaining() + " unexpected bytes.");
+        }
+
+        return operation;
+    }
+
+    /**
+     * Read a signed transaction from the given <code>source</code>.
+     * 
+     * @param source
+     *            The source to read from.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid transaction.
+     */
+    public static SignedTransaction readSignedTransaction(ByteSource source)
+            throws SteemInvalidTransactionException {
+        UShort refBlockNum = UShort.valueOf(source.readShort() & 0xFFFF);
+        UInteger refBlockPrefix = UInteger.valueOf(source.readUnsignedInt());
+        TimePointSec expirationDate = readTimePointSec(source);
+
+        int numberOfOperations = source.readLength();
+        List<Operation> operations = new ArrayList<>(numberOfOperations);
+        for (int i = 0; i < numberOfOperations; i++) {
+            operations.add(readOperation(source));
+        }
+
+        List<FutureExtensions> extensions = readFutureExtensions(source);
+
+        SignedTransaction signedTransaction;
+        try {
+            signedTransaction = new SignedTransaction(refBlockNum, refBlockPrefix, expirationDate, operations,
+                    extensions);
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("The transaction is not valid.", e);
+        }
+
+        int numberOfSignatures = source.readLength();
+        for (int i = 0; i < numberOfSignatures; i++) {
+            signedTransaction.getSignatures().add(CryptoUtils.HEX.encode(source.readBytes(SIGNATURE_LENGTH)));
+        }
+
+        return signedTransaction;
+    }
+
+    /**
+     * Read a signed block from the given <code>source</code> into the given,
+     * empty <code>block</code>. The block is passed in, so that subclasses of
+     * {@link SignedBlock} can be filled as well.
+     * 
+     * @param source
+     *            The source to read from.
+     * @param block
+     *            The block to fill.
+     * @param <T>
+     *            The type of the block.
+     * @return The given block.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid block.
+     */
+    public static <T extends SignedBlock> T readSignedBlock(ByteSource source, T block)
+            throws SteemInvalidTransactionException {
+        readSignedBlockHeader(source, block);
+
+        int numberOfTransactions = source.readLength();
+        List<SignedTransaction> transactions = new ArrayList<>(numberOfTransactions);
+        for (int i = 0; i < numberOfTransactions; i++) {
+            transactions.add(readSignedTransaction(source));
+        }
+        block.setTransactions(transactions);
+
+        return block;
+    }
+
+    /**
+     * Read a signed block header from the given <code>source</code> into the
+     * given, empty <code>header</code>.
+     * 
+     * @param source
+     *            The source to read from.
+     * @param header
+     *            The header to fill.
+     * @param <T>
+     *            The type of the header.
+     * @return The given header.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid block header.
+     */
+    private static <T extends SignedBlockHeader> T readSignedBlockHeader(ByteSource source, T header)
+            throws SteemInvalidTransactionException {
+        header.setPrevious(new BlockId(source.readBytes(RIPEMD160_LENGTH)));
+        header.setTimestamp(readTimePointSec(source));
+        header.setWitness(readAccountName(source));
+        header.setTransactionMerkleRoot(new Checksum(source.readBytes(RIPEMD160_LENGTH)));
+
+        int numberOfExtensions = source.readLength();
+        List<BlockHeaderExtensions> extensions = new ArrayList<>(numberOfExtensions);
+        for (int i = 0; i < numberOfExtensions; i++) {
+            long extensionId = source.readVarInt();
+            if (extensionId == BlockHeader.VOID_EXTENSION_ID) {
+                // Empty extensions are represented by null, like in JSON.
+                extensions.add(null);
+            } else if (extensionId == BlockHeader.VERSION_EXTENSION_ID) {
+                extensions.add(readVersion(source));
+            } else if (extensionId == BlockHeader.HARDFORK_VERSION_VOTE_EXTENSION_ID) {
+                extensions.add(new HardforkVersionVote(new HardforkVersion(readVersion(source)),
+                        readTimePointSec(source)));
+            } else {
+                throw new SteemInvalidTransactionException("Unknown block header extension id " + extensionId + ".");
+            }
+        }
+        header.setExtensions(extensions);
+
+        header.setWitnessSignature(CryptoUtils.HEX.encode(source.readBytes(SIGNATURE_LENGTH)));
+
+        return header;
+    }
+
+    /**
+     * Read a single operation from the given <code>source</code>.
+     * 
+     * @param source
+     *            The source to read from.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid operation.
+     */
+    public static Operation readOperation(ByteSource source) throws SteemInvalidTransactionException {
+        long operationId = source.readVarInt();
+        if (operationId < 0 || operationId >= OPERATION_TYPES.length) {
+            throw new SteemInvalidTransactionException("Unknown operation id " + operationId + ".");
+        }
+
+        try {
+            return readOperation(OPERATION_TYPES[(int) operationId], source);
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException(
+                    "The " + OPERATION_TYPES[(int) operationId].name() + " is not valid.", e);
+        }
+    }
+
+    /**
+     * Read the fields of an operation with the given type. The order of the
+     * fields is the same as in the <code>writeTo</code> method of the
+     * operation.
+     * 
+     * @param operationType
+     *            The type of the operation.
+     * @param source
+     *            The source to read from.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid operation.
+     */
+    private static Operation readOperation(OperationType operationType, ByteSource source)
+            throws SteemInvalidTransactionException {
+        switch (operationType) {
+        case VOTE_OPERATION:
+            return new VoteOperation(readAccountName(source), readAccountName(source), readPermlink(source),
+                    source.readShort());
+        case COMMENT_OPERATION:
+            return new CommentOperation(readAccountName(source), readPermlink(source), readAccountName(source),
+                    readPermlink(source), source.readString(), source.readString(), source.readString());
+        case TRANSFER_OPERATION:
+            return new TransferOperation(readAccountName(source), readAccountName(source), readAsset(source),
+                    source.readString());
+        case TRANSFER_TO_VESTING_OPERATION:
+            return new TransferToVestingOperation(readAccountName(source), readAccountName(source),
+                    readAsset(source));
+        case WITHDRAW_VESTING_OPERATION:
+            return new WithdrawVestingOperation(readAccountName(source), readAsset(source));
+        case LIMIT_ORDER_CREATE_OPERATION: {
+            AccountName owner = readAccountName(source);
+            UInteger orderId = UInteger.valueOf(source.readUnsignedInt());
+            LegacyAsset amountToSell = readAsset(source);
+            LegacyAsset minToReceive = readAsset(source);
+            boolean fillOrKill = source.readBoolean();
+            return new LimitOrderCreateOperation(owner, orderId, amountToSell, minToReceive, fillOrKill,
+                    readTimePointSec(source));
+        }
+        case LIMIT_ORDER_CANCEL_OPERATION:
+            return new LimitOrderCancelOperation(readAccountName(source), UInteger.valueOf(source.readUnsignedInt()));
+        case FEED_PUBLISH_OPERATION:
+            return new FeedPublishOperation(readAccountName(source), readPrice(source));
+        case CONVERT_OPERATION:
+            return new ConvertOperation(readAccountName(source), source.readUnsignedInt(), readAsset(source));
+        case ACCOUNT_CREATE_OPERATION: {
+            LegacyAsset fee = readAsset(source);
+            AccountName creator = readAccountName(source);
+            return new AccountCreateOperation(creator, fee, readAccountName(source), readAuthority(source),
+                    readAuthority(source), readAuthority(source), readPublicKey(source), source.readString());
+        }
+        case ACCOUNT_UPDATE_OPERATION:
+            // The authorities are optional and prefixed by a flag, as
+            // returned by the Steem node.
+            return new AccountUpdateOperation(readAccountName(source), readOptionalAuthority(source),
+                    readOptionalAuthority(source), readOptionalAuthority(source), readPublicKey(source),
+                    source.readString());
+        case POW_OPERATION: {
+            PowOperation powOperation = new PowOperation();
+            powOperation.setWorkerAccount(readAccountName(source));
+            powOperation.setBlockId(new Checksum(source.readBytes(RIPEMD160_LENGTH)));
+            powOperation.setNonce(ULong.valueOf(source.readLong()));
+            powOperation.setWork(readPow(source));
+            powOperation.setProperties(readChainProperties(source));
+            return powOperation;
+        }
+        case REPORT_OVER_PRODUCTION_OPERATION:
+            return new ReportOverProductionOperation(readAccountName(source),
+                    readSignedBlockHeader(source, new SignedBlockHeader()),
+                    readSignedBlockHeader(source, new SignedBlockHeader()));
+        case POW2_OPERATION: {
+            Pow2Operation pow2Operation = new Pow2Operation();
+            pow2Operation.setPow2Work(readPow2Work(source));
+            if (source.readBoolean()) {
+                pow2Operation.setNewOwnerPublicKey(readPublicKey(source));
+            }
+            pow2Operation.setProperties(readChainProperties(source));
+            return pow2Operation;
+        }
+        case WITNESS_UPDATE_OPERATION:
+            return new WitnessUpdateOperation(readAccountName(source), readUrl(source), readPublicKey(source),
+                    readChainProperties(source), readAsset(source));
+        case ACCOUNT_WITNESS_VOTE_OPERATION:
+            return new AccountWitnessVoteOperation(readAccountName(source), readAccountName(source),
+                    source.readBoolean());
+        case ACCOUNT_WITNESS_PROXY_OPERATION:
+            return new AccountWitnessProxyOperation(readAccountName(source), readAccountName(source));
+        case CUSTOM_OPERATION:
+            return new CustomOperation(readAccountNames(source), source.readShort(), readData(source));
+        case DELETE_COMMENT_OPERATION:
+            return new DeleteCommentOperation(readAccountName(source), readPermlink(source));
+        case CUSTOM_JSON_OPERATION:
+            return new CustomJsonOperation(readAccountNames(source), readAccountNames(source), source.readString(),
+                    source.readString());
+        case COMMENT_OPTIONS_OPERATION:
+            return new CommentOptionsOperation(readAccountName(source), readPermlink(source), readAsset(source),
+                    source.readShort() & 0xFFFF, source.readBoolean(), source.readBoolean(),
+                    readCommentOptionsExtensions(source));
+        case SET_WITHDRAW_VESTING_ROUTE_OPERATION:
+            return new SetWithdrawVestingRouteOperation(readAccountName(source), readAccountName(source),
+                    source.readShort() & 0xFFFF, source.readBoolean());
+        case LIMIT_ORDER_CREATE2_OPERATION: {
+            AccountName owner = readAccountName(source);
+            UInteger orderId = UInteger.valueOf(source.readUnsignedInt());
+            LegacyAsset amountToSell = readAsset(source);
+            Price exchangeRate = readPrice(source);
+            boolean fillOrKill = source.readBoolean();
+            return new LimitOrderCreate2Operation(owner, orderId, amountToSell, fillOrKill, exchangeRate,
+                    readTimePointSec(source));
+        }
+        case CHALLENGE_AUTHORITY_OPERATION:
+            return new ChallengeAuthorityOperation(readAccountName(source), readAccountName(source),
+                    source.readBoolean());
+        case PROVE_AUTHORITY_OPERATION:
+            return new ProveAuthorityOperation(readAccountName(source), source.readBoolean());
+        case REQUEST_ACCOUNT_RECOVERY_OPERATION:
+            return new RequestAccountRecoveryOperation(readAccountName(source), readAccountName(source),
+                    readAuthority(source), readFutureExtensions(source));
+        case RECOVER_ACCOUNT_OPERATION:
+            return new RecoverAccountOperation(readAccountName(source), readAuthority(source), readAuthority(source),
+                    readFutureExtensions(source));
+        case CHANGE_RECOVERY_ACCOUNT_OPERATION:
+            return new ChangeRecoveryAccountOperation(readAccountName(source), readAccountName(source),
+                    readFutureExtensions(source));
+        case ESCROW_TRANSFER_OPERATION: {
+            AccountName from = readAccountName(source);
+            AccountName to = readAccountName(source);
+            AccountName agent = readAccountName(source);
+            long escrowId = source.readUnsignedInt();
+            return new EscrowTransferOperation(from, to, agent, escrowId, readAsset(source), readAsset(source),
+                    readAsset(source), readTimePointSec(source), readTimePointSec(source), source.readString());
+        }
+        case ESCROW_DISPUTE_OPERATION: {
+            AccountName from = readAccountName(source);
+            AccountName to = readAccountName(source);
+            AccountName agent = readAccountName(source);
+            AccountName who = readAccountName(source);
+            return new EscrowDisputeOperation(from, to, agent, source.readUnsignedInt(), who);
+        }
+        case ESCROW_RELEASE_OPERATION: {
+            AccountName from = readAccountName(source);
+            AccountName to = readAccountName(source);
+            AccountName agent = readAccountName(source);
+            AccountName who = readAccountName(source);
+            AccountName receiver = readAccountName(source);
+            return new EscrowReleaseOperation(from, to, agent, source.readUnsignedInt(), who, receiver,
+                    readAsset(source), readAsset(source));
+        }
+        case ESCROW_APPROVE_OPERATION: {
+            AccountName from = readAccountName(source);
+            AccountName to = readAccountName(source);
+            AccountName agent = readAccountName(source);
+            AccountName who = readAccountName(source);
+            return new EscrowApproveOperation(from, to, agent, source.readUnsignedInt(), who, source.readBoolean());
+        }
+        case TRANSFER_TO_SAVINGS_OPERATION:
+            return new TransferToSavingsOperation(readAccountName(source), readAccountName(source), readAsset(source),
+                    source.readString());
+        case TRANSFER_FROM_SAVINGS_OPERATION: {
+            AccountName from = readAccountName(source);
+            long requestId = source.readUnsignedInt();
+            return new TransferFromSavingsOperation(from, readAccountName(source), readAsset(source), requestId,
+                    source.readString());
+        }
+        case CANCEL_TRANSFER_FROM_SAVINGS_OPERATION:
+            return new CancelTransferFromSavingsOperation(readAccountName(source), source.readUnsignedInt());
+        case CUSTOM_BINARY_OPERATION:
+            return new CustomBinaryOperation(readAccountNames(source), readAccountNames(source),
+                    readAccountNames(source), readAuthorities(source), source.readString(), readData(source));
+        case DECLINE_VOTING_RIGHTS_OPERATION:
+            return new DeclineVotingRightsOperation(readAccountName(source), source.readBoolean());
+        case RESET_ACCOUNT_OPERATION:
+            return new ResetAccountOperation(readAccountName(source), readAccountName(source),
+                    readAuthority(source));
+        case SET_RESET_ACCOUNT_OPERATION:
+            return new SetResetAccountOperation(readAccountName(source), readAccountName(source),
+                    readAccountName(source));
+        case CLAIM_REWARD_BALANCE_OPERATION:
+            return new ClaimRewardBalanceOperation(readAccountName(source), readAsset(source), readAsset(source),
+                    readAsset(source));
+        case DELEGATE_VESTING_SHARES_OPERATION:
+            return new DelegateVestingSharesOperation(readAccountName(source), readAccountName(source),
+                    readAsset(source));
+        case ACCOUNT_CREATE_WITH_DELEGATION_OPERATION: {
+            LegacyAsset fee = readAsset(source);
+            LegacyAsset delegation = readAsset(source);
+            AccountName creator = readAccountName(source);
+            return new AccountCreateWithDelegationOperation(creator, fee, readAccountName(source), delegation,
+                    readAuthority(source), readAuthority(source), readAuthority(source), readPublicKey(source),
+                    source.readString(), readFutureExtensions(source));
+        }
+        case CLAIM_ACCOUNT_OPERATION: {
+            AccountName creator = readAccountName(source);
+            return new ClaimAccountOperation(readAsset(source), creator, readFutureExtensions(source));
+        }
+        case CREATE_CLAIMED_ACCOUNT_OPERATION: {
+            LegacyAsset fee = readAsset(source);
+            AccountName creator = readAccountName(source);
+            return new CreateClaimedAccountOperation(creator, fee, readAccountName(source), readAuthority(source),
+                    readAuthority(source), readAuthority(source), readPublicKey(source), source.readString());
+        }
+        case WITNESS_SET_PROPERTIES_OPERATION:
+            return new WitnessSetPropertiesOperation(readAccountName(source), readUrl(source), readPublicKey(source),
+                    readChainProperties(source), readAsset(source), readFutureExtensions(source));
+        default:
+            throw new SteemInvalidTransactionException(
+                    "The transformation of a byte array into a " + operationType.name() + " is not supported yet.");
+        }
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded account name.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static AccountName readAccountName(ByteSource source) throws SteemInvalidTransactionException {
+        return new AccountName(source.readString());
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded list of account names.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static List<AccountName> readAccountNames(ByteSource source) throws SteemInvalidTransactionException {
+        int numberOfAccountNames = source.readLength();
+        List<AccountName> accountNames = new ArrayList<>(numberOfAccountNames);
+        for (int i = 0; i < numberOfAccountNames; i++) {
+            accountNames.add(readAccountName(source));
+        }
+        return accountNames;
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded permlink.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static Permlink readPermlink(ByteSource source) throws SteemInvalidTransactionException {
+        return new Permlink(source.readString());
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded point in time.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static TimePointSec readTimePointSec(ByteSource source) throws SteemInvalidTransactionException {
+        return new TimePointSec(source.readUnsignedInt() * 1000L);
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded version.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static Version readVersion(ByteSource source) throws SteemInvalidTransactionException {
+        int versionNumber = source.readInt();
+        return new Version(
+                (versionNumber >>> 24) + "." + ((versionNumber >>> 16) & 0xFF) + "." + (versionNumber & 0xFFFF));
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded asset.
+     * @throws SteemInvalidTransactionException
+     *             If the asset symbol is unknown.
+     */
+    private static LegacyAsset readAsset(ByteSource source) throws SteemInvalidTransactionException {
+        long amount = source.readLong();
+        byte precision = source.readByte();
+        byte[] symbolBytes = source.readBytes(ASSET_SYMBOL_LENGTH);
+
+        int symbolLength = 0;
+        while (symbolLength < ASSET_SYMBOL_LENGTH && symbolBytes[symbolLength] != 0) {
+            symbolLength++;
+        }
+        String symbol = new String(symbolBytes, 0, symbolLength, StandardCharsets.US_ASCII);
+
+        for (LegacyAssetSymbolType assetSymbol : ASSET_SYMBOLS) {
+            if (assetSymbol.name().equals(symbol)) {
+                LegacyAsset asset = new LegacyAsset(amount, assetSymbol);
+                if (asset.getPrecision() != precision) {
+                    throw new SteemInvalidTransactionException(
+                            "The precision " + precision + " does not match the asset symbol " + symbol + ".");
+                }
+                return asset;
+            }
+        }
+
+        throw new SteemInvalidTransactionException("Unknown asset symbol '" + symbol + "'.");
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded price.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid price.
+     */
+    private static Price readPrice(ByteSource source) throws SteemInvalidTransactionException {
+        return new Price(readAsset(source), readAsset(source));
+    }
+
+    /**
+     * Read a public key in its compressed form from the given
+     * <code>source</code>.
+     * 
+     * @param source
+     *            The source to read from.
+     * @return The decoded public key.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid public key.
+     */
+    public static PublicKey readPublicKey(ByteSource source) throws SteemInvalidTransactionException {
+        try {
+            return new PublicKey(ECKey.fromPublicOnly(source.readBytes(PUBLIC_KEY_LENGTH)));
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("The data is not a valid public key.", e);
+        }
+    }
+
+    /**
+     * Read an authority. The account and key authorities are kept in the order
+     * in which they have been serialized.
+     * 
+     * @param source
+     *            The source to read from.
+     * @return The decoded authority.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid authority.
+     */
+    private static Authority readAuthority(ByteSource source) throws SteemInvalidTransactionException {
+        Authority authority = new Authority();
+        authority.setWeightThreshold(source.readUnsignedInt());
+
+        int numberOfAccountAuths = source.readLength();
+        Map<AccountName, Integer> accountAuths = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfAccountAuths; i++) {
+            accountAuths.put(readAccountName(source), source.readShort() & 0xFFFF);
+        }
+        authority.setAccountAuths(accountAuths);
+
+        int numberOfKeyAuths = source.readLength();
+        Map<PublicKey, Integer> keyAuths = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfKeyAuths; i++) {
+            keyAuths.put(readPublicKey(source), source.readShort() & 0xFFFF);
+        }
+        authority.setKeyAuths(keyAuths);
+
+        return authority;
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded authority or <code>null</code> if it is not present.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid authority.
+     */
+    private static Authority readOptionalAuthority(ByteSource source) throws SteemInvalidTransactionException {
+        return source.readBoolean() ? readAuthority(source) : null;
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded list of authorities.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid authority.
+     */
+    private static List<Authority> readAuthorities(ByteSource source) throws SteemInvalidTransactionException {
+        int numberOfAuthorities = source.readLength();
+        List<Authority> authorities = new ArrayList<>(numberOfAuthorities);
+        for (int i = 0; i < numberOfAuthorities; i++) {
+            authorities.add(readAuthority(source));
+        }
+        return authorities;
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded chain properties.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not valid.
+     */
+    private static ChainProperties readChainProperties(ByteSource source) throws SteemInvalidTransactionException {
+        return new ChainProperties(readAsset(source), source.readUnsignedInt(), source.readShort() & 0xFFFF);
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded proof of work.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not valid.
+     */
+    private static Pow readPow(ByteSource source) throws SteemInvalidTransactionException {
+        PublicKey worker = readPublicKey(source);
+        Sha256Hash input = readSha256Hash(source);
+        String signature = CryptoUtils.HEX.encode(source.readBytes(SIGNATURE_LENGTH));
+        return new Pow(worker, input, signature, readSha256Hash(source));
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded "pow2_work" variant.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not valid.
+     */
+    private static Pow2Work readPow2Work(ByteSource source) throws SteemInvalidTransactionException {
+        long typeId = source.readVarInt();
+        if (typeId == Pow2Work.POW2_ID) {
+            return new Pow2(readPow2Input(source), source.readUnsignedInt());
+        } else if (typeId == Pow2Work.EQUIHASH_POW_ID) {
+            Pow2Input input = readPow2Input(source);
+            long n = source.readUnsignedInt();
+            long k = source.readUnsignedInt();
+            Sha256Hash seed = readSha256Hash(source);
+            int numberOfInputs = source.readLength();
+            List<Long> inputs = new ArrayList<>(numberOfInputs);
+            for (int i = 0; i < numberOfInputs; i++) {
+                inputs.add(source.readUnsignedInt());
+            }
+            return new EquihashPow(input, new EquihashProof(n, k, seed, inputs),
+                    new BlockId(source.readBytes(RIPEMD160_LENGTH)), source.readUnsignedInt());
+        }
+
+        throw new SteemInvalidTransactionException("Unknown work type id " + typeId + ".");
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded sha256 hash.
+     * @throws SteemInvalidTransactionException
+     *             If the source does not contain enough data.
+     */
+    private static Sha256Hash readSha256Hash(ByteSource source) throws SteemInvalidTransactionException {
+        return Sha256Hash.wrap(CryptoUtils.HEX.encode(source.readBytes(Sha256Hash.LENGTH)));
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded pow2 input.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not valid.
+     */
+    private static Pow2Input readPow2Input(ByteSource source) throws SteemInvalidTransactionException {
+        return new Pow2Input(readAccountName(source), new BlockId(source.readBytes(RIPEMD160_LENGTH)),
+                ULong.valueOf(source.readLong()));
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded URL.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid URL.
+     */
+    private static URL readUrl(ByteSource source) throws SteemInvalidTransactionException {
+        String url = source.readString();
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new SteemInvalidTransactionException("The URL '" + url + "' is not valid.", e);
+        }
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded binary data in its HEX representation.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private static String readData(ByteSource source) throws SteemInvalidTransactionException {
+        return CryptoUtils.HEX.encode(source.readBytes(source.readLength()));
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded extensions.
+     * @throws SteemInvalidTransactionException
+     *             If an extension is not supported.
+     */
+    private static List<FutureExtensions> readFutureExtensions(ByteSource source)
+            throws SteemInvalidTransactionException {
+        int numberOfExtensions = source.readLength();
+        List<FutureExtensions> extensions = new ArrayList<>(numberOfExtensions);
+        for (int i = 0; i < numberOfExtensions; i++) {
+            long extensionType = source.readVarInt();
+            if (extensionType != 0) {
+                throw new SteemInvalidTransactionException("Unknown extension type " + extensionType + ".");
+            }
+            extensions.add(new FutureExtensions());
+        }
+        return extensions;
+    }
+
+    /**
+     * @param source
+     *            The source to read from.
+     * @return The decoded comment options extensions.
+     * @throws SteemInvalidTransactionException
+     *             If an extension is not supported.
+     */
+    private static List<CommentOptionsExtension> readCommentOptionsExtensions(ByteSource source)
+            throws SteemInvalidTransactionException {
+        int numberOfExtensions = source.readLength();
+        List<CommentOptionsExtension> extensions = new ArrayList<>(numberOfExtensions);
+        for (int i = 0; i < numberOfExtensions; i++) {
+            long extensionType = source.readVarInt();
+            if (extensionType != CommentOptionsExtensionsType.COMMENT_PAYOUT_BENEFICIARIES.ordinal()) {
+                throw new SteemInvalidTransactionException(
+                        "Unknown comment options extension type " + extensionType + ".");
+            }
+
+            int numberOfBeneficiaries = source.readLength();
+            List<BeneficiaryRouteType> beneficiaries = new ArrayList<>(numberOfBeneficiaries);
+            for (int j = 0; j < numberOfBeneficiaries; j++) {
+                beneficiaries.add(new BeneficiaryRouteType(readAccountName(source), source.readShort()));
+            }
+
+            CommentPayoutBeneficiaries commentPayoutBeneficiaries = new CommentPayoutBeneficiaries();
+            commentPayoutBeneficiaries.setBeneficiaries(beneficiaries);
+            extensions.add(commentPayoutBeneficiaries);
+        }
+        return extensions;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Allows to abort the HTTP requests sent by a thread while it waits for the
+ * response. Interrupting the thread is not enough, as the blocking socket I/O
+ * of the HTTP client does not react to interrupts.
+ * 
+ * The handle is bound to the thread executing the attempts. The
+ * {@link HttpClient} registers each request it sends on that thread, so that
+ * {@link #abort()} can close the connection of the request in flight. Requests
+ * registered after the handle has been aborted are aborted immediately.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class AbortHandle {
+    /** The handle bound to the current thread. */
+    private static final ThreadLocal<AbortHandle> CURRENT = new ThreadLocal<>();
+
+    /** The request currently sent through this handle. */
+    private HttpUriRequest request;
+    /** Defines if this handle has been aborted. */
+    private boolean aborted;
+
+    /**
+     * Bind this handle to the current thread.
+     */
+    void bind() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Remove the handle bound to the current thread.
+     */
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return <code>true</code> if the handle bound to the current thread has
+     *         been aborted.
+     */
+    static boolean isCurrentAborted() {
+        AbortHandle handle = CURRENT.get();
+        return handle != null && handle.isAborted();
+    }
+
+    /**
+     * Register the given <code>request</code> with the handle bound to the
+     * current thread, if there is one.
+     * 
+     * @param request
+     *            The request which is about to be sent.
+     */
+    static void registerWithCurrent(HttpUriRequest request) {
+        AbortHandle handle = CURRENT.get();
+        if (handle != null) {
+            handle.register(request);
+        }
+    }
+
+    /**
+     * @param request
+     *            The request which is about to be sent.
+     */
+    private synchronized void register(HttpUriRequest request) {
+        this.request = request;
+        if (aborted) {
+            request.abort();
+        }
+    }
+
+    /**
+     * Abort the request in flight and all requests sent through this handle
+     * afterwards.
+     */
+    synchronized void abort() {
+        aborted = true;
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this handle has been aborted.
+     */
+    synchronized boolean isAborted() {
+        return aborted;
+    }
+}
@@ -18,6 +18,14 @@ package eu.bittrade.libs.steemj.communication;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
@@ -30,6 +38,8 @@ import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public abstract class AbstractClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractClient.class);
+
     /**
      * Use this method to send a <code>requestObject</code> to the
      * <code>endpointUri</code> and to receive an answer.
@@ -50,6 +60,110 @@ public abstract class AbstractClient {
     public abstract JsonRPCResponse invokeAndReadResponse(JsonRPCRequest requestObject, URI endpointUri,
             boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException;
 
+    /**
+     * Use this method to send a <code>requestObject</code> to the
+     * <code>endpointUri</code> and to transform the result of its answer into
+     * the given <code>resultType</code>.
+     * 
+     * @param requestObject
+     *            The object to send.
+     * @param resultType
+     *            The type to transform the result to.
+     * @param endpointUri
+     *            The endpoint to connect and send to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @param <T>
+     *            The type that should be returned.
+     * @return The result returned by the Steem Node transformed into a list
+     *         of <code>resultType</code> instances.
+     * @throws SteemCommunicationException
+     *             In case of communication problems.
+     * @throws SteemResponseException
+     *             If the node returned an error object or if the result could
+     *             not be transformed into the given <code>resultType</code>.
+     */
+    public <T> List<T> invokeAndReadResult(JsonRPCRequest requestObject, JavaType resultType, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        return invokeAndReadResult(requestObject, CommunicationHandler.getObjectMapper().readerFor(resultType),
+                endpointUri, sslVerificationDisabled);
+    }
+
+    /**
+     * Like {@link #invokeAndReadResult(JsonRPCRequest, JavaType, URI, boolean)},
+     * but the result is transformed using the given <code>resultReader</code>.
+     * 
+     * This default implementation transforms the response returned by
+     * {@link #invokeAndReadResponse(JsonRPCRequest, URI, boolean)}.
+     * Implementations should override this method if they are able to bind
+     * the result while reading the response.
+     * 
+     * @param requestObject
+     *            The object to send.
+     * @param resultReader
+     *            The reader used to transform the result into a list.
+     * @param endpointUri
+     *            The endpoint to connect and send to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @param <T>
+     *            The type that should be returned.
+     * @return The result returned by the Steem Node transformed into a list
+     *         of <code>T</code> instances.
+     * @throws SteemCommunicationException
+     *             In case of communication problems.
+     * @throws SteemResponseException
+     *             If the node returned an error object or if the result could
+     *             not be transformed.
+     */
+    public <T> List<T> invokeAndReadResult(JsonRPCRequest requestObject, ObjectReader resultReader, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        JsonRPCResponse response = invokeAndReadResponse(requestObject, endpointUri, sslVerificationDisabled);
+        LOGGER.debug("Received {} ", response);
+
+        if (response.isError()) {
+            throw response.handleError(requestObject.getId());
+        }
+
+        try {
+            return response.handleResult(resultReader, requestObject.getId());
+        } catch (IllegalArgumentException e) {
+            throw new SteemResponseException("Could not transform the result into the expected type.", e);
+        }
+    }
+
+    /**
+     * Use this method to send multiple <code>requestObjects</code> to the
+     * <code>endpointUri</code> and to receive their answers.
+     * 
+     * This default implementation sends the requests one after another.
+     * Implementations should override this method if they are able to send
+     * all requests at once (e.g. as a JSON-RPC 2.0 batch).
+     * 
+     * @param requestObjects
+     *            The objects to send.
+     * @param endpointUri
+     *            The endpoint to connect and send to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @return The responses returned by the Steem Node wrapped in
+     *         {@link JsonRPCResponse} objects. The order of the responses does
+     *         not need to match the order of the <code>requestObjects</code>.
+     * @throws SteemCommunicationException
+     *             In case of communication problems.
+     * @throws SteemResponseException
+     *             If the answer received from the node is no valid JSON.
+     */
+    public List<JsonRPCResponse> invokeAndReadResponses(List<JsonRPCRequest> requestObjects, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        List<JsonRPCResponse> responses = new ArrayList<>(requestObjects.size());
+        for (JsonRPCRequest requestObject : requestObjects) {
+            responses.add(invokeAndReadResponse(requestObject, endpointUri, sslVerificationDisabled));
+        }
+
+        return responses;
+    }
+
     /**
      * Use this method to close the connection of this client.
      * 
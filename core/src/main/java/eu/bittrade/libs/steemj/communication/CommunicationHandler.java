@@ -19,9 +19,21 @@ package eu.bittrade.libs.steemj.communication;
 import java.io.IOException;
 import java.net.URI;
 import java.security.InvalidParameterException;
-import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -31,9 +43,14 @@ import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import eu.bittrade.libs.steemj.base.models.deserializer.DateTimeDeserializer;
 import eu.bittrade.libs.steemj.base.models.serializer.BooleanSerializer;
+import eu.bittrade.libs.steemj.base.models.serializer.DateTimeSerializer;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchRequest;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchResult;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
@@ -42,6 +59,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
 import eu.bittrade.libs.steemj.exceptions.SteemTransformationException;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
 
 /**
  * This class handles the communication to the Steem web socket API.
@@ -56,29 +74,90 @@ public class CommunicationHandler {
      * objects.
      */
     private static ObjectMapper mapper = getObjectMapper();
-    /** A counter for failed connection tries. */
-    private int numberOfConnectionTries = 0;
+    /** The number of latencies required to calculate the hedging delay. */
+    private static final int MIN_HEDGING_SAMPLES = 20;
     /** The client used to send requests. */
-    private AbstractClient client;
+    private volatile AbstractClient client;
+    /** The configuration used by this handler. */
+    private final SteemJConfig config;
+    /** Chooses the endpoint for each attempt based on its health. */
+    private final EndpointSelector endpointSelector;
+    /** Limits the number of retries relative to the successful requests. */
+    private final RetryBudget retryBudget;
+    /** The number of retries performed by this handler. */
+    private final AtomicLong numberOfRetries = new AtomicLong();
+    /** The number of retries which have been sent to another endpoint. */
+    private final AtomicLong numberOfFailovers = new AtomicLong();
+    /** The latencies of all answered requests. */
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    /** The number of read requests which have been sent twice. */
+    private final AtomicLong numberOfHedgedRequests = new AtomicLong();
+    /** The threads used to send hedged requests. */
+    private volatile ExecutorService hedgingExecutorService;
 
     /**
-     * Initialize the Connection Handler.
+     * A single attempt to send a request to the given endpoint.
+     *
+     * @param <T>
+     *            The type of the result.
+     */
+    @FunctionalInterface
+    private interface Attempt<T> {
+        T invoke(Pair<URI, Boolean> endpoint) throws SteemCommunicationException, SteemResponseException;
+    }
+
+    /**
+     * Initialize the Connection Handler using the global
+     * {@link SteemJConfig#getInstance() configuration}.
      * 
      * @throws SteemCommunicationException
      *             If no connection to the Steem Node could be established.
      */
     public CommunicationHandler() throws SteemCommunicationException {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Initialize the Connection Handler using the given <code>config</code>.
+     * Handlers created with different configurations do not share any
+     * connections, so they can be used to talk to different nodes or chains in
+     * one process.
+     * 
+     * @param config
+     *            The configuration used by this handler.
+     * @throws SteemCommunicationException
+     *             If no connection to the Steem Node could be established.
+     */
+    public CommunicationHandler(SteemJConfig config) throws SteemCommunicationException {
+        this.config = config;
+        this.endpointSelector = new EndpointSelector(config);
+        this.retryBudget = new RetryBudget(config.getRetryPolicy().getRetryBudget(),
+                config.getRetryPolicy().getRetryBudgetRatio());
         // Create a new connection
         initializeNewClient();
     }
 
     /**
-     * Initialize a new <code>client</code> by selecting one of the configured
-     * endpoints.
+     * Get the configuration used by this handler.
+     * 
+     * @return The configuration used by this handler.
+     */
+    public SteemJConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Initialize a new <code>client</code> for the scheme of the configured
+     * endpoints. As every request is sent through this client, whichever
+     * endpoint is selected, all endpoints need to use the same protocol (HTTP
+     * or WebSocket).
      * 
      * @throws SteemCommunicationException
-     *             If no {@link AbstractClient} implementation for the given
-     *             schema is available.
+     *             If the current client connection could not be closed.
+     * @throws InvalidParameterException
+     *             If no {@link AbstractClient} implementation for the scheme
+     *             of an endpoint is available or if the endpoints mix HTTP and
+     *             WebSocket.
      */
     public void initializeNewClient() throws SteemCommunicationException {
         if (client != null) {
@@ -88,19 +167,48 @@ public class CommunicationHandler {
                 throw new SteemCommunicationException("Could not close the current client connection.", e);
             }
         }
-        // Get a new endpoint URI based on the number of retries.
-        Pair<URI, Boolean> endpoint = SteemJConfig.getInstance().getNextEndpointURI(numberOfConnectionTries);
+        Boolean httpEndpoints = null;
+        for (Pair<URI, Boolean> endpoint : config.getEndpointURIs()) {
+            boolean httpEndpoint = isHttpEndpoint(endpoint.getLeft());
+            if (httpEndpoints != null && httpEndpoints != httpEndpoint) {
+                throw new InvalidParameterException(
+                        "HTTP and WebSocket endpoints can't be mixed, but " + endpoint.getLeft() + " uses "
+                                + endpoint.getLeft().getScheme().toLowerCase() + ".");
+            }
+            httpEndpoints = httpEndpoint;
+        }
 
-        if (endpoint.getLeft().getScheme().toLowerCase().matches("(http){1}[s]?")) {
-            client = new HttpClient();
-        } else if (endpoint.getLeft().getScheme().toLowerCase().matches("(ws){1}[s]?")) {
-            client = new WebsocketClient();
+        if (httpEndpoints == null) {
+            throw new InvalidParameterException("At least one endpoint needs to be configured.");
+        } else if (httpEndpoints) {
+            client = new HttpClient(config);
         } else {
-            throw new InvalidParameterException("No client implementation for the following protocol available: "
-                    + endpoint.getLeft().getScheme().toLowerCase());
+            client = new WebsocketClient(config);
         }
     }
 
+    /**
+     * Check if the given <code>endpoint</code> uses HTTP or WebSocket.
+     * 
+     * @param endpoint
+     *            The endpoint to check.
+     * @return <code>true</code> for HTTP(S) endpoints and <code>false</code>
+     *         for WebSocket endpoints.
+     * @throws InvalidParameterException
+     *             If the scheme of the endpoint is not supported.
+     */
+    private static boolean isHttpEndpoint(URI endpoint) {
+        String scheme = endpoint.getScheme().toLowerCase();
+        if (scheme.matches("(http){1}[s]?")) {
+            return true;
+        } else if (scheme.matches("(ws){1}[s]?")) {
+            return false;
+        }
+
+        throw new InvalidParameterException(
+                "No client implementation for the following protocol available: " + scheme);
+    }
+
     /**
      * Perform a request to the web socket API whose response will automatically
      * get transformed into the given object.
@@ -127,27 +235,381 @@ public class CommunicationHandler {
      */
     public <T> List<T> performRequest(JsonRPCRequest requestObject, Class<T> targetClass)
             throws SteemCommunicationException, SteemResponseException {
-        try {
-            Pair<URI, Boolean> endpoint = SteemJConfig.getInstance().getNextEndpointURI(numberOfConnectionTries++);
-            JsonRPCResponse rawJsonResponse = client.invokeAndReadResponse(requestObject, endpoint.getLeft(),
+        JavaType expectedResultType = mapper.getTypeFactory().constructCollectionType(List.class, targetClass);
+
+        return performRequest(requestObject, mapper.readerFor(expectedResultType));
+    }
+
+    /**
+     * Like {@link #performRequest(JsonRPCRequest, Class)}, but the result is
+     * transformed using the given <code>resultReader</code>, which has to
+     * produce a list. This allows to pass attributes to custom deserializers
+     * of the result (see {@link ObjectReader#withAttribute(Object, Object)}).
+     * 
+     * @param requestObject
+     *            A request object that contains all needed parameters.
+     * @param resultReader
+     *            A reader created by the {@link #getObjectMapper() ObjectMapper}
+     *            of SteemJ that transforms the result into a list.
+     * @param <T>
+     *            The type that should be returned.
+     * @return The server response transformed into a list of given objects.
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object or if the response
+     *             could not be transformed.
+     */
+    public <T> List<T> performRequest(JsonRPCRequest requestObject, ObjectReader resultReader)
+            throws SteemCommunicationException, SteemResponseException {
+        AbstractClient currentClient = client;
+        Attempt<List<T>> attempt = endpoint -> {
+            List<T> result = currentClient.invokeAndReadResult(requestObject, resultReader, endpoint.getLeft(),
                     endpoint.getRight());
-            LOGGER.debug("Received {} ", rawJsonResponse);
-
-            if (rawJsonResponse.isError()) {
-                throw rawJsonResponse.handleError(requestObject.getId());
-            } else {
-                // HANDLE NORMAL RESPONSE
-                JavaType expectedResultType = mapper.getTypeFactory().constructCollectionType(List.class, targetClass);
-                return rawJsonResponse.handleResult(expectedResultType, requestObject.getId());
+            if (!result.isEmpty() && result.get(0) instanceof DynamicGlobalProperty) {
+                endpointSelector.reportHeadBlockNumber(endpoint.getLeft(),
+                        ((DynamicGlobalProperty) result.get(0)).getHeadBlockNumber().longValue());
+            }
+            return result;
+        };
+
+        if (config.getHedgingPercentile() > 0 && requestObject.isIdempotent() && currentClient instanceof HttpClient
+                && config.getEndpointURIs().size() > 1 && latencyRecorder.getCount() >= MIN_HEDGING_SAMPLES) {
+            return performHedgedRequest(attempt, latencyRecorder.getPercentile(config.getHedgingPercentile()));
+        }
+
+        return performWithRetries(requestObject.isIdempotent(), null, attempt);
+    }
+
+    /**
+     * Execute the given read <code>attempt</code> and send it to a second
+     * endpoint if the first endpoint did not answer within the
+     * <code>hedgeDelay</code>. The first successful answer is returned and the
+     * connection of the other request is closed (see {@link AbortHandle}), so
+     * that it does not occupy a thread and a pooled connection until its
+     * response arrives.
+     * 
+     * @param attempt
+     *            The request to execute.
+     * @param hedgeDelay
+     *            The time in nanoseconds to wait before the second request is
+     *            sent.
+     * @param <T>
+     *            The type of the result.
+     * @return The first successful result.
+     * @throws SteemCommunicationException
+     *             If both requests failed.
+     * @throws SteemResponseException
+     *             If the node returned an error object.
+     */
+    private <T> T performHedgedRequest(Attempt<T> attempt, long hedgeDelay)
+            throws SteemCommunicationException, SteemResponseException {
+        AtomicReference<URI> primaryEndpoint = new AtomicReference<>();
+        CompletionService<T> completionService = new ExecutorCompletionService<>(getHedgingExecutorService());
+        AbortHandle primaryAbortHandle = new AbortHandle();
+        Future<T> primaryRequest = completionService.submit(abortable(primaryAbortHandle,
+                () -> performWithRetries(true, null, endpoint -> {
+                    primaryEndpoint.set(endpoint.getLeft());
+                    return attempt.invoke(endpoint);
+                })));
+        AbortHandle hedgedAbortHandle = new AbortHandle();
+        Future<T> hedgedRequest = null;
+
+        try {
+            Future<T> firstRequest = completionService.poll(hedgeDelay, TimeUnit.NANOSECONDS);
+            if (firstRequest == null) {
+                LOGGER.debug("No answer after {} ms. Sending the request to another endpoint.",
+                        TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+                numberOfHedgedRequests.incrementAndGet();
+                hedgedRequest = completionService.submit(abortable(hedgedAbortHandle,
+                        () -> performWithRetries(true, primaryEndpoint.get(), attempt)));
+                firstRequest = completionService.take();
             }
-        } catch (SteemCommunicationException e) {
-            LOGGER.warn("The connection has been closed. Switching the endpoint and reconnecting.");
-            LOGGER.debug("For the following reason: ", e);
 
-            return performRequest(requestObject, targetClass);
+            try {
+                return firstRequest.get();
+            } catch (ExecutionException e) {
+                // Wait for the other request if the first one could not be
+                // transferred.
+                if (hedgedRequest == null || !(e.getCause() instanceof SteemCommunicationException)) {
+                    throw e;
+                }
+
+                LOGGER.debug("The first request failed. Waiting for the other one.", e.getCause());
+                try {
+                    return completionService.take().get();
+                } catch (ExecutionException secondException) {
+                    throw e;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SteemCommunicationException) {
+                throw (SteemCommunicationException) e.getCause();
+            } else if (e.getCause() instanceof SteemResponseException) {
+                throw (SteemResponseException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SteemCommunicationException("The request failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SteemCommunicationException("Interrupted while waiting for the response.", e);
+        } finally {
+            abort(primaryRequest, primaryAbortHandle);
+            if (hedgedRequest != null) {
+                abort(hedgedRequest, hedgedAbortHandle);
+            }
         }
     }
 
+    /**
+     * Wrap the given <code>task</code> so that the requests it sends can be
+     * aborted using the given <code>abortHandle</code>.
+     * 
+     * @param abortHandle
+     *            The handle used to abort the requests of the task.
+     * @param task
+     *            The task to wrap.
+     * @param <T>
+     *            The type of the result.
+     * @return The wrapped task.
+     */
+    private static <T> Callable<T> abortable(AbortHandle abortHandle, Callable<T> task) {
+        return () -> {
+            abortHandle.bind();
+            try {
+                return task.call();
+            } finally {
+                AbortHandle.unbind();
+            }
+        };
+    }
+
+    /**
+     * Abort the given <code>request</code> if it is still running by closing
+     * the connection it is waiting on.
+     * 
+     * @param request
+     *            The request to abort.
+     * @param abortHandle
+     *            The handle the requests of the task have been registered with.
+     */
+    private static void abort(Future<?> request, AbortHandle abortHandle) {
+        if (!request.isDone()) {
+            abortHandle.abort();
+            request.cancel(true);
+        }
+    }
+
+    /**
+     * Get the executor service used to send hedged requests, which is created
+     * on first use.
+     * 
+     * @return The executor service for hedged requests.
+     */
+    private ExecutorService getHedgingExecutorService() {
+        if (hedgingExecutorService == null) {
+            synchronized (this) {
+                if (hedgingExecutorService == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    hedgingExecutorService = Executors.newCachedThreadPool(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "steemj-hedging-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+
+        return hedgingExecutorService;
+    }
+
+    /**
+     * Send all requests of the given <code>batchRequest</code> at once. The
+     * responses are assigned to the {@link JsonRPCBatchResult
+     * JsonRPCBatchResults} returned by
+     * {@link JsonRPCBatchRequest#add(JsonRPCRequest, Class)}, so that an error
+     * returned for a single request does not affect the other requests of the
+     * batch.
+     * 
+     * If the batch can not be transferred, it is sent to the next configured
+     * endpoint as defined by the configured {@link RetryPolicy}. A batch is
+     * only treated as idempotent if all of its requests are idempotent.
+     * 
+     * @param batchRequest
+     *            The requests to send.
+     * @throws SteemCommunicationException
+     *             If the batch could not be transferred within the limits of
+     *             the configured {@link RetryPolicy}.
+     * @throws SteemResponseException
+     *             If the answer received from the node is no valid JSON.
+     */
+    public void performBatchRequest(JsonRPCBatchRequest batchRequest)
+            throws SteemCommunicationException, SteemResponseException {
+        if (batchRequest.isEmpty()) {
+            return;
+        }
+
+        boolean idempotent = true;
+        for (JsonRPCRequest request : batchRequest.getRequests()) {
+            idempotent &= request.isIdempotent();
+        }
+
+        List<JsonRPCResponse> rawJsonResponses = performWithRetries(idempotent, null,
+                endpoint -> client.invokeAndReadResponses(batchRequest.getRequests(), endpoint.getLeft(),
+                        endpoint.getRight()));
+        LOGGER.debug("Received {} responses for a batch of {} requests.", rawJsonResponses.size(),
+                batchRequest.size());
+
+        batchRequest.handleResponses(rawJsonResponses);
+    }
+
+    /**
+     * Execute the given <code>attempt</code> and repeat it on the next
+     * endpoint as long as it fails with a {@link SteemCommunicationException}
+     * and the configured {@link RetryPolicy} allows another attempt.
+     * 
+     * @param idempotent
+     *            Define if the request can safely be sent more than once.
+     * @param excludedEndpoint
+     *            An endpoint which should not be used for the first attempt or
+     *            <code>null</code>.
+     * @param attempt
+     *            The request to execute.
+     * @param <T>
+     *            The type of the result.
+     * @return The result of the first successful attempt.
+     * @throws SteemCommunicationException
+     *             The exception of the last attempt if no attempt succeeded.
+     * @throws SteemResponseException
+     *             If the node returned an error object.
+     */
+    private <T> T performWithRetries(boolean idempotent, URI excludedEndpoint, Attempt<T> attempt)
+            throws SteemCommunicationException, SteemResponseException {
+        RetryPolicy retryPolicy = config.getRetryPolicy();
+        int maxAttempts = retryPolicy.getMaxAttempts(idempotent);
+        long deadline = retryPolicy.getDeadline();
+        long startTime = System.nanoTime();
+        URI previousEndpoint = null;
+
+        for (int attemptNumber = 1;; attemptNumber++) {
+            Pair<URI, Boolean> endpoint = endpointSelector
+                    .select(previousEndpoint == null ? excludedEndpoint : previousEndpoint);
+            if (previousEndpoint != null && !previousEndpoint.equals(endpoint.getLeft())) {
+                numberOfFailovers.incrementAndGet();
+            }
+            previousEndpoint = endpoint.getLeft();
+
+            long attemptStartTime = System.nanoTime();
+            try {
+                T result = attempt.invoke(endpoint);
+                long latency = System.nanoTime() - attemptStartTime;
+                endpointSelector.onSuccess(endpoint.getLeft(), latency);
+                latencyRecorder.record(latency);
+                retryBudget.onSuccess();
+                return result;
+            } catch (SteemResponseException e) {
+                // The node is reachable, even if it could not handle the
+                // request.
+                long latency = System.nanoTime() - attemptStartTime;
+                endpointSelector.onSuccess(endpoint.getLeft(), latency);
+                latencyRecorder.record(latency);
+                throw e;
+            } catch (SteemCommunicationException e) {
+                if (AbortHandle.isCurrentAborted()) {
+                    // The request has been aborted as another endpoint has
+                    // already answered, which says nothing about this one.
+                    throw e;
+                }
+
+                endpointSelector.onFailure(endpoint.getLeft());
+                long delay = retryPolicy.getBackoffDelay(attemptNumber);
+                long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+                if (attemptNumber >= maxAttempts) {
+                    LOGGER.warn("Giving up after {} attempt(s).", attemptNumber);
+                    throw e;
+                } else if (deadline > 0 && elapsedTime + delay >= deadline) {
+                    LOGGER.warn("Giving up after {} attempt(s) as the deadline of {} ms has been reached.",
+                            attemptNumber, deadline);
+                    throw e;
+                } else if (!retryBudget.tryAcquire()) {
+                    LOGGER.warn("Giving up after {} attempt(s) as the retry budget has been exhausted.",
+                            attemptNumber);
+                    throw e;
+                }
+
+                LOGGER.warn("The request failed. Switching the endpoint and retrying in {} ms.", delay);
+                LOGGER.debug("For the following reason: ", e);
+                numberOfRetries.incrementAndGet();
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    throw new SteemCommunicationException("Interrupted while waiting for the next attempt.",
+                            interruptedException);
+                }
+            } finally {
+                // Do not block the endpoint if this attempt has been its probe
+                // but ended without a result.
+                endpointSelector.releaseProbe(endpoint.getLeft());
+            }
+        }
+    }
+
+    /**
+     * Get the selector which chooses the endpoint for each request based on
+     * the health of the configured endpoints.
+     * 
+     * @return The endpoint selector used by this handler.
+     */
+    public EndpointSelector getEndpointSelector() {
+        return endpointSelector;
+    }
+
+    /**
+     * Get the latencies of the requests answered through this handler, which
+     * can be used to monitor e.g. the p99 or p999 latency.
+     * 
+     * @return The latency recorder of this handler.
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Get the number of read requests which have been sent to a second
+     * endpoint because the first endpoint did not answer in time.
+     * 
+     * @return The total number of hedged requests.
+     */
+    public long getNumberOfHedgedRequests() {
+        return numberOfHedgedRequests.get();
+    }
+
+    /**
+     * Get the number of times a request has been repeated by this handler.
+     * 
+     * @return The total number of retries.
+     */
+    public long getNumberOfRetries() {
+        return numberOfRetries.get();
+    }
+
+    /**
+     * Get the number of times a retry has been sent to another endpoint than
+     * the previous attempt.
+     * 
+     * @return The total number of failovers.
+     */
+    public long getNumberOfFailovers() {
+        return numberOfFailovers.get();
+    }
+
     /**
      * Get a preconfigured Jackson Object Mapper instance.
      * 
@@ -157,10 +619,6 @@ public class CommunicationHandler {
         if (mapper == null) {
             mapper = new ObjectMapper();
 
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(SteemJConfig.getInstance().getDateTimePattern());
-            simpleDateFormat.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
-
-            mapper.setDateFormat(simpleDateFormat);
             mapper.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
             mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
 
@@ -182,6 +640,14 @@ public class CommunicationHandler {
             simpleModule.addSerializer(boolean.class, new BooleanSerializer());
 
             mapper.registerModule(simpleModule);
+
+            // Dates are handled by a thread safe serializer pair instead of a
+            // shared SimpleDateFormat instance.
+            SimpleModule dateTimeModule = new SimpleModule("DateTime", new Version(1, 0, 0, null, null, null));
+            dateTimeModule.addSerializer(Date.class, new DateTimeSerializer());
+            dateTimeModule.addDeserializer(Date.class, new DateTimeDeserializer());
+
+            mapper.registerModule(dateTimeModule);
         }
 
         return mapper;
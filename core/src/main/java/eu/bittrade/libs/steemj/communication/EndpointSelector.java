@@ -0,0 +1,357 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+
+/**
+ * This class chooses the endpoint a request is sent to. In contrast to a
+ * simple round robin, the selector keeps track of the health of each
+ * configured endpoint and prefers fast and up to date nodes.
+ * 
+ * For each endpoint, the selector tracks an exponentially weighted moving
+ * average (EWMA) of the latency and the error rate, as well as the number of
+ * blocks the endpoint is behind the highest head block seen on any endpoint.
+ * An endpoint which failed several times in a row is ejected for a cool-down
+ * period. After the cool-down, a single probe request is sent to it and the
+ * endpoint is taken back in if the probe succeeds.
+ * 
+ * To avoid reconnects of WebSocket clients, the selector sticks to the last
+ * selected endpoint as long as its score is not significantly worse than the
+ * score of the best endpoint.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class EndpointSelector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointSelector.class);
+
+    /** The weight of a new sample in the moving averages. */
+    private static final double EWMA_WEIGHT = 0.2;
+    /** The factor the error rate increases the latency score with. */
+    private static final double ERROR_PENALTY = 4.0;
+    /** The latency penalty in nanoseconds for each block of lag. */
+    private static final double LAG_PENALTY = TimeUnit.SECONDS.toNanos(1);
+    /** The number of blocks an endpoint may lag behind without penalty. */
+    private static final long TOLERATED_LAG = 2;
+    /** The last endpoint is kept as long as its score is within this factor. */
+    private static final double STICKINESS = 1.25;
+    /** The number of consecutive failures after which an endpoint is ejected. */
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    /** The maximum cool-down after repeated ejections. */
+    private static final long MAX_COOLDOWN = TimeUnit.MINUTES.toNanos(5);
+
+    private final SteemJConfig config;
+    private final long cooldown;
+    private final ConcurrentMap<URI, EndpointHealth> endpointHealth = new ConcurrentHashMap<>();
+    private volatile URI currentEndpoint;
+    private volatile long highestHeadBlockNumber;
+
+    /**
+     * Create a new selector for the endpoints of the given <code>config</code>
+     * using a cool-down of 10 seconds.
+     * 
+     * @param config
+     *            The configuration which provides the endpoints.
+     */
+    public EndpointSelector(SteemJConfig config) {
+        this(config, TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Create a new selector for the endpoints of the given
+     * <code>config</code>.
+     * 
+     * @param config
+     *            The configuration which provides the endpoints.
+     * @param cooldown
+     *            The time in milliseconds an endpoint is ejected after its
+     *            first series of failures. The time doubles with every
+     *            further ejection up to 5 minutes.
+     */
+    public EndpointSelector(SteemJConfig config, long cooldown) {
+        this.config = config;
+        this.cooldown = TimeUnit.MILLISECONDS.toNanos(cooldown);
+    }
+
+    /**
+     * Select the endpoint for the next attempt.
+     * 
+     * @param failedEndpoint
+     *            The endpoint the previous attempt of the same request failed
+     *            on, which is only selected again if there is no alternative,
+     *            or <code>null</code> for the first attempt.
+     * @return The selected endpoint.
+     */
+    public Pair<URI, Boolean> select(URI failedEndpoint) {
+        List<Pair<URI, Boolean>> endpoints = config.getEndpointURIs();
+        long now = System.nanoTime();
+
+        Pair<URI, Boolean> selectedEndpoint = null;
+        Pair<URI, Boolean> stickyEndpoint = null;
+        Pair<URI, Boolean> fallbackEndpoint = null;
+        double bestScore = Double.MAX_VALUE;
+        double stickyScore = Double.MAX_VALUE;
+        long earliestReturn = Long.MAX_VALUE;
+
+        for (Pair<URI, Boolean> endpoint : endpoints) {
+            EndpointHealth health = getHealth(endpoint.getLeft());
+
+            if (health.isEjected(now)) {
+                if (health.ejectedUntil - now < earliestReturn) {
+                    earliestReturn = health.ejectedUntil - now;
+                    fallbackEndpoint = endpoint;
+                }
+                continue;
+            } else if (health.tryClaimProbe(now)) {
+                LOGGER.debug("Probing {} after its cool-down.", endpoint.getLeft());
+                return endpoint;
+            } else if (health.isProbing() || (endpoint.getLeft().equals(failedEndpoint) && endpoints.size() > 1)) {
+                continue;
+            }
+
+            double score = health.getScore(highestHeadBlockNumber);
+            if (score < bestScore) {
+                bestScore = score;
+                selectedEndpoint = endpoint;
+            }
+            if (endpoint.getLeft().equals(currentEndpoint)) {
+                stickyScore = score;
+                stickyEndpoint = endpoint;
+            }
+        }
+
+        if (stickyEndpoint != null && stickyScore <= bestScore * STICKINESS) {
+            selectedEndpoint = stickyEndpoint;
+        } else if (selectedEndpoint == null) {
+            // All endpoints are ejected or have just failed, so use the one
+            // that will be available first.
+            selectedEndpoint = fallbackEndpoint != null ? fallbackEndpoint : endpoints.get(0);
+        }
+
+        currentEndpoint = selectedEndpoint.getLeft();
+        return selectedEndpoint;
+    }
+
+    /**
+     * Record a request that has been answered by the given
+     * <code>endpoint</code>.
+     * 
+     * @param endpoint
+     *            The endpoint that answered the request.
+     * @param latency
+     *            The time in nanoseconds the endpoint needed to answer.
+     */
+    public void onSuccess(URI endpoint, long latency) {
+        getHealth(endpoint).onSuccess(latency);
+    }
+
+    /**
+     * Record a request that could not be transferred to the given
+     * <code>endpoint</code>.
+     * 
+     * @param endpoint
+     *            The endpoint that failed.
+     */
+    public void onFailure(URI endpoint) {
+        EndpointHealth health = getHealth(endpoint);
+        long ejectedFor = health.onFailure(System.nanoTime());
+        if (ejectedFor > 0) {
+            LOGGER.warn("Ejecting {} for {} ms after repeated failures.", endpoint,
+                    TimeUnit.NANOSECONDS.toMillis(ejectedFor));
+        }
+    }
+
+    /**
+     * Release the probe of the given <code>endpoint</code> if it has been
+     * claimed by the current thread and the probe has neither been reported
+     * as a success nor as a failure, e.g. because the attempt has been
+     * aborted or failed with an unexpected exception. This has to be called
+     * after every attempt, as otherwise the endpoint would never be probed
+     * again.
+     * 
+     * @param endpoint
+     *            The endpoint used by the attempt.
+     */
+    public void releaseProbe(URI endpoint) {
+        getHealth(endpoint).releaseProbe();
+    }
+
+    /**
+     * Record the head block number reported by the given
+     * <code>endpoint</code>, which is used to detect nodes that are lagging
+     * behind.
+     * 
+     * @param endpoint
+     *            The endpoint that reported the head block number.
+     * @param headBlockNumber
+     *            The reported head block number.
+     */
+    public void reportHeadBlockNumber(URI endpoint, long headBlockNumber) {
+        getHealth(endpoint).headBlockNumber = headBlockNumber;
+        synchronized (this) {
+            if (headBlockNumber > highestHeadBlockNumber) {
+                highestHeadBlockNumber = headBlockNumber;
+            }
+        }
+    }
+
+    /**
+     * Check if the given <code>endpoint</code> is currently ejected.
+     * 
+     * @param endpoint
+     *            The endpoint to check.
+     * @return <code>true</code> if the endpoint is ejected, otherwise
+     *         <code>false</code>.
+     */
+    public boolean isEjected(URI endpoint) {
+        return getHealth(endpoint).isEjected(System.nanoTime());
+    }
+
+    /**
+     * Get the moving average of the latency of the given
+     * <code>endpoint</code>.
+     * 
+     * @param endpoint
+     *            The endpoint to get the latency for.
+     * @return The average latency in nanoseconds or <code>0</code> if the
+     *         endpoint has not answered any request yet.
+     */
+    public long getAverageLatency(URI endpoint) {
+        return (long) getHealth(endpoint).latency;
+    }
+
+    /**
+     * Get the moving average of the error rate of the given
+     * <code>endpoint</code>.
+     * 
+     * @param endpoint
+     *            The endpoint to get the error rate for.
+     * @return The error rate between <code>0</code> and <code>1</code>.
+     */
+    public double getErrorRate(URI endpoint) {
+        return getHealth(endpoint).errorRate;
+    }
+
+    /**
+     * Get the health information of the given <code>endpoint</code>.
+     * 
+     * @param endpoint
+     *            The endpoint.
+     * @return The health information.
+     */
+    private EndpointHealth getHealth(URI endpoint) {
+        return endpointHealth.computeIfAbsent(endpoint, uri -> new EndpointHealth());
+    }
+
+    /**
+     * The health information of a single endpoint. All state changes are
+     * synchronized on the instance.
+     */
+    private class EndpointHealth {
+        private double latency;
+        private double errorRate;
+        private volatile long headBlockNumber;
+        private int consecutiveFailures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean ejected;
+        private boolean probing;
+        /** The thread which sends the probe request. */
+        private Thread probingThread;
+
+        synchronized boolean isEjected(long now) {
+            return ejected && now < ejectedUntil;
+        }
+
+        synchronized boolean isProbing() {
+            return probing;
+        }
+
+        /**
+         * Claim the single probe request of an endpoint whose cool-down has
+         * elapsed.
+         */
+        synchronized boolean tryClaimProbe(long now) {
+            if (ejected && !probing && now >= ejectedUntil) {
+                probing = true;
+                probingThread = Thread.currentThread();
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Release the probe if it has been claimed by the current thread, so
+         * that the next selection can probe the endpoint again.
+         */
+        synchronized void releaseProbe() {
+            if (probing && probingThread == Thread.currentThread()) {
+                probing = false;
+                probingThread = null;
+            }
+        }
+
+        synchronized double getScore(long highestHeadBlockNumber) {
+            long lag = headBlockNumber == 0 ? 0 : highestHeadBlockNumber - headBlockNumber;
+            return latency * (1 + ERROR_PENALTY * errorRate) + Math.max(0, lag - TOLERATED_LAG) * LAG_PENALTY;
+        }
+
+        synchronized void onSuccess(long sample) {
+            latency = latency == 0 ? sample : latency + EWMA_WEIGHT * (sample - latency);
+            errorRate = errorRate * (1 - EWMA_WEIGHT);
+            consecutiveFailures = 0;
+            if (ejected) {
+                ejected = false;
+                probing = false;
+                probingThread = null;
+                ejections = 0;
+            }
+        }
+
+        /**
+         * @return The time in nanoseconds the endpoint has been ejected for or
+         *         <code>0</code> if it has not been ejected.
+         */
+        synchronized long onFailure(long now) {
+            errorRate = errorRate + EWMA_WEIGHT * (1 - errorRate);
+            consecutiveFailures++;
+
+            if (probing || (!ejected && consecutiveFailures >= MAX_CONSECUTIVE_FAILURES)) {
+                long duration = Math.min(MAX_COOLDOWN, cooldown << Math.min(ejections, 16));
+                ejected = true;
+                probing = false;
+                probingThread = null;
+                ejections++;
+                ejectedUntil = now + duration;
+                return duration;
+            }
+
+            return 0;
+        }
+    }
+}
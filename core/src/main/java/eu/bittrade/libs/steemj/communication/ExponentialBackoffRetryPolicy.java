@@ -0,0 +1,131 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The default {@link RetryPolicy} which waits exponentially longer between two
+ * attempts. A random jitter is added to each delay, so that clients which
+ * failed at the same time do not retry at the same time.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+    private final int maxAttempts;
+    private final int maxBroadcastAttempts;
+    private final long deadline;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final int retryBudget;
+    private final double retryBudgetRatio;
+
+    /**
+     * Create a new policy using the default values: Read requests are sent up
+     * to 5 times and broadcasts up to 2 times within 30 seconds. The backoff
+     * starts at 100 milliseconds and is limited to 5 seconds. The retry budget
+     * allows 10 retries and every successful request refills 0.1 tokens.
+     */
+    public ExponentialBackoffRetryPolicy() {
+        this(5, 2, 30000L, 100L, 5000L, 10, 0.1);
+    }
+
+    /**
+     * Create a new policy.
+     * 
+     * @param maxAttempts
+     *            The maximum number of attempts for idempotent requests.
+     * @param maxBroadcastAttempts
+     *            The maximum number of attempts for broadcasts. As the node
+     *            may have received a broadcast even if no response has been
+     *            received, this value should be kept low.
+     * @param deadline
+     *            The overall time in milliseconds a request may take or
+     *            <code>0</code> to disable the deadline.
+     * @param initialBackoff
+     *            The delay in milliseconds before the first retry.
+     * @param maxBackoff
+     *            The upper limit of the delay in milliseconds.
+     * @param retryBudget
+     *            The maximum number of tokens in the retry budget or
+     *            <code>0</code> to disable the budget.
+     * @param retryBudgetRatio
+     *            The number of tokens a successful request refills.
+     * @throws IllegalArgumentException
+     *             If one of the attempt limits is lower than 1 or one of the
+     *             other values is negative.
+     */
+    public ExponentialBackoffRetryPolicy(int maxAttempts, int maxBroadcastAttempts, long deadline,
+            long initialBackoff, long maxBackoff, int retryBudget, double retryBudgetRatio) {
+        if (maxAttempts < 1 || maxBroadcastAttempts < 1) {
+            throw new IllegalArgumentException("Each request needs to be sent at least once.");
+        } else if (deadline < 0 || initialBackoff < 0 || maxBackoff < initialBackoff || retryBudget < 0
+                || retryBudgetRatio < 0) {
+            throw new IllegalArgumentException("The deadline, backoff and budget values can't be negative.");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.maxBroadcastAttempts = maxBroadcastAttempts;
+        this.deadline = deadline;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retryBudget = retryBudget;
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    @Override
+    public int getMaxAttempts(boolean idempotent) {
+        return idempotent ? maxAttempts : maxBroadcastAttempts;
+    }
+
+    @Override
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The delay is chosen randomly between the half and the full exponential
+     * backoff of <code>initialBackoff * 2^(retry - 1)</code>, limited to
+     * <code>maxBackoff</code>.
+     */
+    @Override
+    public long getBackoffDelay(int retry) {
+        if (initialBackoff == 0) {
+            return 0;
+        }
+
+        long backoff = maxBackoff;
+        if (retry < 32) {
+            backoff = Math.min(maxBackoff, initialBackoff << Math.max(0, retry - 1));
+        }
+
+        long halfBackoff = backoff / 2;
+        return halfBackoff + ThreadLocalRandom.current().nextLong(backoff - halfBackoff + 1);
+    }
+
+    @Override
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    @Override
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+}
@@ -17,43 +17,164 @@
 package eu.bittrade.libs.steemj.communication;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContextBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
 import com.google.api.client.http.HttpResponse;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponseReader;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 
 /**
  * This class handles the communication to a Steem Node using the HTTP protocol.
  * 
+ * Connections are pooled per endpoint and kept alive between requests, so
+ * that subsequent requests to the same node do not need to perform a new
+ * TCP/TLS handshake.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class HttpClient extends AbstractClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClient.class);
 
+    /**
+     * The pooled transports of this client, stored by endpoint and SSL
+     * verification setting.
+     */
+    private final ConcurrentMap<Pair<URI, Boolean>, PooledTransport> transports = new ConcurrentHashMap<>();
+    /** The configuration used by this client. */
+    private final SteemJConfig config;
+
+    /**
+     * Initialize a new HTTP Client using the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     */
+    public HttpClient() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Initialize a new HTTP Client using the given <code>config</code>.
+     * 
+     * @param config
+     *            The configuration used by this client.
+     */
+    public HttpClient(SteemJConfig config) {
+        this.config = config;
+    }
+
     @Override
     public JsonRPCResponse invokeAndReadResponse(JsonRPCRequest requestObject, URI endpointUri,
             boolean sslVerificationDisabled) throws SteemCommunicationException {
-        try {
-            NetHttpTransport.Builder builder = new NetHttpTransport.Builder();
-            // Disable SSL verification if needed
-            if (sslVerificationDisabled && endpointUri.getScheme().equals("https")) {
-                builder.doNotValidateCertificate();
+        try (InputStream responsePayload = post(requestObject.toJson(), endpointUri, sslVerificationDisabled)) {
+            return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(responsePayload));
+        } catch (IOException e) {
+            throw new SteemCommunicationException("A problem occured while processing the request.", e);
+        }
+    }
+
+    @Override
+    public <T> List<T> invokeAndReadResult(JsonRPCRequest requestObject, ObjectReader resultReader, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        // Bind the result while reading from the connection instead of
+        // copying the whole response into a String and a JsonNode first.
+        try (JsonParser parser = CommunicationHandler.getObjectMapper().getFactory()
+                .createParser(post(requestObject.toJson(), endpointUri, sslVerificationDisabled))) {
+            return JsonRPCResponseReader.readResult(parser, resultReader, requestObject.getId());
+        } catch (IOException e) {
+            throw new SteemCommunicationException("A problem occured while processing the request.", e);
+        }
+    }
+
+    @Override
+    public List<JsonRPCResponse> invokeAndReadResponses(List<JsonRPCRequest> requestObjects, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException {
+        try (InputStream responsePayload = post(
+                CommunicationHandler.getObjectMapper().writeValueAsString(requestObjects), endpointUri,
+                sslVerificationDisabled)) {
+            JsonNode responses = CommunicationHandler.getObjectMapper().readTree(responsePayload);
+
+            List<JsonRPCResponse> jsonRPCResponses = new ArrayList<>(requestObjects.size());
+            if (responses.isArray()) {
+                for (JsonNode response : responses) {
+                    jsonRPCResponses.add(new JsonRPCResponse(response));
+                }
+            } else {
+                // The node may answer with a single error object in case the
+                // whole batch has been rejected.
+                jsonRPCResponses.add(new JsonRPCResponse(responses));
             }
 
-            String requestPayload = requestObject.toJson();
-            HttpRequest httpRequest = builder.build().createRequestFactory(new HttpClientRequestInitializer())
+            return jsonRPCResponses;
+        } catch (IOException e) {
+            throw new SteemCommunicationException("A problem occured while processing the request.", e);
+        }
+    }
+
+    /**
+     * Send the given <code>requestPayload</code> to the
+     * <code>endpointUri</code> and return the response payload.
+     * 
+     * The returned stream has to be closed by the caller after it has been
+     * read, so that the connection can be reused.
+     * 
+     * @param requestPayload
+     *            The JSON payload to send.
+     * @param endpointUri
+     *            The endpoint to send the payload to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @return The response payload.
+     * @throws SteemCommunicationException
+     *             In case of communication problems.
+     */
+    private InputStream post(String requestPayload, URI endpointUri, boolean sslVerificationDisabled)
+            throws SteemCommunicationException {
+        try {
+            HttpRequest httpRequest = getTransport(endpointUri, sslVerificationDisabled).getRequestFactory()
                     .buildPostRequest(new GenericUrl(endpointUri),
                             ByteArrayContent.fromString("application/json", requestPayload));
 
@@ -62,11 +183,14 @@ public class HttpClient extends AbstractClient {
             HttpResponse httpResponse = httpRequest.execute();
 
             int status = httpResponse.getStatusCode();
-            String responsePayload = httpResponse.parseAsString();
+            InputStream responsePayload = httpResponse.getContent();
 
             if (status >= 200 && status < 300 && responsePayload != null) {
-                return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(responsePayload));
+                return responsePayload;
             } else {
+                // Reading the whole content releases the connection back to
+                // the pool.
+                httpResponse.ignore();
                 throw new ClientProtocolException("Unexpected response status: " + status);
             }
 
@@ -76,8 +200,154 @@ public class HttpClient extends AbstractClient {
     }
 
     @Override
-    public void closeConnection() {
-        // A connection is used for exactly one request and closed afterwards.
-        // Due to that there is no need to close it here.
+    public void closeConnection() throws IOException {
+        for (Entry<Pair<URI, Boolean>, PooledTransport> transport : transports.entrySet()) {
+            if (transports.remove(transport.getKey(), transport.getValue())) {
+                LOGGER.debug("Closing connection pool for {}.", transport.getKey().getLeft());
+                transport.getValue().close();
+            }
+        }
+    }
+
+    /**
+     * Get the pooled transport for the given <code>endpointUri</code> or
+     * create a new one if there is no transport for this endpoint yet.
+     * 
+     * @param endpointUri
+     *            The endpoint to get the transport for.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @return The pooled transport for the given endpoint.
+     * @throws GeneralSecurityException
+     *             If the SSL context could not be created.
+     * @throws IOException
+     *             If a concurrently created transport could not be closed.
+     */
+    private PooledTransport getTransport(URI endpointUri, boolean sslVerificationDisabled)
+            throws GeneralSecurityException, IOException {
+        Pair<URI, Boolean> key = new ImmutablePair<>(endpointUri, sslVerificationDisabled);
+        PooledTransport transport = transports.get(key);
+
+        if (transport == null) {
+            PooledTransport newTransport = new PooledTransport(config,
+                    sslVerificationDisabled && "https".equals(endpointUri.getScheme()));
+            transport = transports.putIfAbsent(key, newTransport);
+
+            if (transport == null) {
+                LOGGER.debug("Created a new connection pool for {}.", endpointUri);
+                transport = newTransport;
+            } else {
+                // Another thread has been faster.
+                newTransport.close();
+            }
+        }
+
+        return transport;
+    }
+
+    /**
+     * A HTTP transport backed by a pool of keep-alive connections.
+     */
+    private static final class PooledTransport {
+        /** The pool all connections of this transport are leased from. */
+        private final PoolingHttpClientConnectionManager connectionManager;
+        /** The underlying Apache HTTP client. */
+        private final CloseableHttpClient httpClient;
+        /** The factory used to create requests using this transport. */
+        private final HttpRequestFactory requestFactory;
+
+        /**
+         * Create a new pooled transport based on the given
+         * <code>config</code>.
+         * 
+         * @param config
+         *            The configuration to use.
+         * @param sslVerificationDisabled
+         *            Define if the SSL verification should be disabled.
+         * @throws GeneralSecurityException
+         *             If the SSL context could not be created.
+         */
+        private PooledTransport(SteemJConfig config, boolean sslVerificationDisabled)
+                throws GeneralSecurityException {
+            SSLConnectionSocketFactory sslSocketFactory;
+            if (sslVerificationDisabled) {
+                SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, TrustAllStrategy.INSTANCE)
+                        .build();
+                sslSocketFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
+            } else {
+                sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+            }
+
+            final int idleTimeout = config.getIdleTimeout();
+            int maxConnectionsPerRoute = config.getMaxConnectionsPerRoute();
+
+            this.connectionManager = new PoolingHttpClientConnectionManager(
+                    RegistryBuilder.<ConnectionSocketFactory> create()
+                            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                            .register("https", sslSocketFactory).build());
+            // Each transport serves exactly one endpoint, so the whole pool
+            // can be used for a single route.
+            this.connectionManager.setMaxTotal(maxConnectionsPerRoute);
+            this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+            HttpClientBuilder httpClientBuilder = HttpClientBuilder.create().useSystemProperties()
+                    .setConnectionManager(this.connectionManager).disableAutomaticRetries()
+                    .disableRedirectHandling().addInterceptorFirst(new HttpRequestInterceptor() {
+                        @Override
+                        public void process(org.apache.http.HttpRequest request, HttpContext context) {
+                            // Allow to abort the request while waiting for the
+                            // response (see AbortHandle).
+                            if (request instanceof HttpRequestWrapper
+                                    && ((HttpRequestWrapper) request).getOriginal() instanceof HttpUriRequest) {
+                                AbortHandle.registerWithCurrent(
+                                        (HttpUriRequest) ((HttpRequestWrapper) request).getOriginal());
+                            }
+                        }
+                    });
+
+            // An idle timeout of 0 or less means that connections should never
+            // be closed due to inactivity.
+            if (idleTimeout > 0) {
+                httpClientBuilder.evictExpiredConnections().evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                        .setKeepAliveStrategy(new ConnectionKeepAliveStrategy() {
+                            @Override
+                            public long getKeepAliveDuration(org.apache.http.HttpResponse response,
+                                    HttpContext context) {
+                                long keepAliveDuration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                        .getKeepAliveDuration(response, context);
+                                if (keepAliveDuration <= 0 || keepAliveDuration > idleTimeout) {
+                                    return idleTimeout;
+                                }
+
+                                return keepAliveDuration;
+                            }
+                        });
+            }
+
+            this.httpClient = httpClientBuilder.build();
+            this.requestFactory = new ApacheHttpTransport(this.httpClient)
+                    .createRequestFactory(new HttpClientRequestInitializer(config));
+        }
+
+        /**
+         * @return The factory used to create requests using this transport.
+         */
+        private HttpRequestFactory getRequestFactory() {
+            return requestFactory;
+        }
+
+        /**
+         * Close all pooled connections of this transport.
+         * 
+         * @throws IOException
+         *             If the connections can't be closed.
+         */
+        private void close() throws IOException {
+            try {
+                httpClient.close();
+            } finally {
+                connectionManager.shutdown();
+            }
+        }
     }
 }
@@ -29,11 +29,32 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class HttpClientRequestInitializer implements HttpRequestInitializer {
+    /** The configuration providing the timeouts. */
+    private final SteemJConfig config;
+
+    /**
+     * Create a new {@link HttpClientRequestInitializer} using the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     */
+    public HttpClientRequestInitializer() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Create a new {@link HttpClientRequestInitializer} using the given
+     * <code>config</code>.
+     * 
+     * @param config
+     *            The configuration providing the timeouts.
+     */
+    public HttpClientRequestInitializer(SteemJConfig config) {
+        this.config = config;
+    }
 
     @Override
     public void initialize(HttpRequest request) throws IOException {
-        request.setConnectTimeout(SteemJConfig.getInstance().getIdleTimeout());
-        request.setReadTimeout(SteemJConfig.getInstance().getResponseTimeout());
+        request.setConnectTimeout(config.getIdleTimeout());
+        request.setReadTimeout(config.getResponseTimeout());
         request.setNumberOfRetries(0);
     }
 }
@@ -0,0 +1,154 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free latency histogram which is used to calculate percentiles like
+ * the p99 or p999 latency of the requests sent by a
+ * {@link CommunicationHandler}.
+ * 
+ * The latencies are stored with a resolution of one microsecond in buckets
+ * whose width grows with the value, so that each bucket covers at most 1/16th
+ * of its value. The reported percentiles are therefore accurate to about six
+ * percent.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class LatencyRecorder {
+    /** The number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 16;
+    /** The number of bits required to address a sub bucket. */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int NUMBER_OF_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Record a single latency.
+     * 
+     * @param latency
+     *            The latency in nanoseconds.
+     */
+    public void record(long latency) {
+        buckets.incrementAndGet(getBucketIndex(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latency))));
+        count.increment();
+    }
+
+    /**
+     * Get the number of recorded latencies.
+     * 
+     * @return The number of recorded latencies.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the latency the given <code>percentile</code> of all recorded
+     * latencies is lower or equal to. E.g. <code>getPercentile(99.9)</code>
+     * returns the p999 latency.
+     * 
+     * @param percentile
+     *            The percentile between <code>0</code> and <code>100</code>.
+     * @return The latency in nanoseconds or <code>0</code> if no latency has
+     *         been recorded yet.
+     * @throws IllegalArgumentException
+     *             If the percentile is not between <code>0</code> and
+     *             <code>100</code>.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile has to be between 0 and 100.");
+        }
+
+        long[] snapshot = new long[NUMBER_OF_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(getHighestValueOfBucket(i));
+            }
+        }
+
+        return TimeUnit.MICROSECONDS.toNanos(getHighestValueOfBucket(NUMBER_OF_BUCKETS - 1));
+    }
+
+    /**
+     * Remove all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+    }
+
+    /**
+     * Get the index of the bucket the given value belongs to.
+     * 
+     * @param value
+     *            The value in microseconds.
+     * @return The index of the bucket.
+     */
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Get the highest value that belongs to the bucket with the given
+     * <code>index</code>.
+     * 
+     * @param index
+     *            The index of the bucket.
+     * @return The highest value of the bucket in microseconds.
+     */
+    private static long getHighestValueOfBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        if (exponent >= Long.SIZE - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
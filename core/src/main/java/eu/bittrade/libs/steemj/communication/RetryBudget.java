@@ -0,0 +1,88 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket which limits the number of retries relative to the number of
+ * successful requests. The tokens are stored as thousandths to allow
+ * fractional refills without locking.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+class RetryBudget {
+    private static final long SCALE = 1000L;
+
+    private final long maxTokens;
+    private final long refill;
+    private final AtomicLong tokens;
+
+    /**
+     * Create a new, full retry budget.
+     * 
+     * @param maxTokens
+     *            The maximum number of tokens or <code>0</code> to allow an
+     *            unlimited number of retries.
+     * @param ratio
+     *            The number of tokens a successful request refills.
+     */
+    RetryBudget(int maxTokens, double ratio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.refill = Math.round(ratio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Refill the budget after a successful request.
+     */
+    void onSuccess() {
+        if (maxTokens == 0 || refill == 0) {
+            return;
+        }
+
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + refill)));
+    }
+
+    /**
+     * Try to take a token for a retry.
+     * 
+     * @return <code>true</code> if the retry is allowed, otherwise
+     *         <code>false</code>.
+     */
+    boolean tryAcquire() {
+        if (maxTokens == 0) {
+            return true;
+        }
+
+        long current;
+        do {
+            current = tokens.get();
+            if (current <= maxTokens / 2) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+
+/**
+ * A retry policy defines how often and how fast the
+ * {@link CommunicationHandler} repeats a request that could not be transferred
+ * to a node. Each repetition is sent to the next configured endpoint.
+ * 
+ * Implementations have to be thread safe, as a single policy is shared by all
+ * requests sent through a {@link CommunicationHandler}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public interface RetryPolicy {
+    /**
+     * Get the maximum number of attempts for a request, including the first
+     * one.
+     * 
+     * @param idempotent
+     *            <code>true</code> if the request can safely be sent multiple
+     *            times (see {@link JsonRPCRequest#isIdempotent()}),
+     *            <code>false</code> for broadcasts.
+     * @return The maximum number of attempts, which has to be at least 1.
+     */
+    int getMaxAttempts(boolean idempotent);
+
+    /**
+     * Get the overall time a request may take including all retries and
+     * backoff delays. No further attempt is started once the deadline has
+     * been reached.
+     * 
+     * @return The deadline in milliseconds or <code>0</code> if there is no
+     *         deadline.
+     */
+    long getDeadline();
+
+    /**
+     * Get the time to wait before the given retry is started.
+     * 
+     * @param retry
+     *            The number of the retry, starting with 1 for the first retry.
+     * @return The delay in milliseconds.
+     */
+    long getBackoffDelay(int retry);
+
+    /**
+     * Get the size of the retry budget. Every retry consumes one token and
+     * every successful request refills {@link #getRetryBudgetRatio()} tokens.
+     * Retries are only allowed as long as more than half of the tokens are
+     * available, so that a node which is down completely is not flooded with
+     * retries.
+     * 
+     * @return The maximum number of tokens or <code>0</code> to disable the
+     *         retry budget.
+     */
+    int getRetryBudget();
+
+    /**
+     * Get the number of tokens a successful request adds to the retry budget.
+     * 
+     * @return The number of tokens a successful request refills.
+     */
+    double getRetryBudgetRatio();
+}
@@ -18,6 +18,12 @@ package eu.bittrade.libs.steemj.communication;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -34,8 +40,12 @@ import org.glassfish.tyrus.client.SslEngineConfigurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponseReader;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
@@ -45,6 +55,14 @@ import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
  * This class handles the communication to a Steem Node using the WebSocket
  * protocol.
  * 
+ * The client is able to handle multiple requests at the same time: Each
+ * incoming response is routed to the thread waiting for it by its JSON-RPC
+ * id, so a single connection can carry any number of requests in flight.
+ * 
+ * A separate connection is kept for each endpoint, so sending a request to
+ * another endpoint, e.g. to retry a request or to probe an endpoint after its
+ * cool-down, does not affect the requests in flight on other connections.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class WebsocketClient extends AbstractClient {
@@ -52,119 +70,296 @@ public class WebsocketClient extends AbstractClient {
 
     /** The client. */
     private ClientManager client;
-    /** A {@link CountDownLatch} used to indicate that a message is expected. */
-    private CountDownLatch responseCountDownLatch;
-    /** The current session. */
-    private Session session;
+    /**
+     * The requests that have been sent, but not answered yet, stored by their
+     * id.
+     */
+    private final ConcurrentMap<Long, PendingResponse> pendingResponses = new ConcurrentHashMap<>();
+    /** The open sessions stored by the endpoint they are connected to. */
+    private final ConcurrentMap<URI, Session> sessions = new ConcurrentHashMap<>();
+    /** The session that has been opened most recently. */
+    private volatile Session session;
     /**
      * The {@link WebsocketEndpoint} instance that will handle the incoming
      * messages.
      */
     private WebsocketEndpoint websocketEndpoint;
-    /** The endpoint this client instance is currently connected to. */
-    private URI currentEndpointUri;
+    /** The configuration used by this client. */
+    private final SteemJConfig config;
 
     /**
-     * Initialize a new Websocket Client.
+     * Initialize a new Websocket Client using the global
+     * {@link SteemJConfig#getInstance() configuration}.
      */
     public WebsocketClient() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Initialize a new Websocket Client using the given <code>config</code>.
+     * 
+     * @param config
+     *            The configuration used by this client.
+     */
+    public WebsocketClient(SteemJConfig config) {
         // Initialize fields.
+        this.config = config;
         this.client = ClientManager.createClient();
 
-        this.client.setDefaultMaxSessionIdleTimeout(SteemJConfig.getInstance().getIdleTimeout());
-        this.client.getProperties().put(ClientProperties.RECONNECT_HANDLER, new WebsocketReconnectHandler());
+        this.client.setDefaultMaxSessionIdleTimeout(config.getIdleTimeout());
+        this.client.getProperties().put(ClientProperties.RECONNECT_HANDLER, new WebsocketReconnectHandler(config));
 
         this.websocketEndpoint = new WebsocketEndpoint(this);
-        this.responseCountDownLatch = new CountDownLatch(1);
     }
 
     @Override
     public JsonRPCResponse invokeAndReadResponse(JsonRPCRequest requestObject, URI endpointUri,
             boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
-        if (session == null || !session.isOpen() || currentEndpointUri == null
-                || !currentEndpointUri.equals(endpointUri)) {
-            connect(endpointUri, sslVerificationDisabled);
-            // "Save" the URI we are currently connected to.
-            currentEndpointUri = endpointUri;
+        try {
+            return toJsonRPCResponse(awaitResponse(send(requestObject, endpointUri, sslVerificationDisabled)));
+        } finally {
+            pendingResponses.remove(requestObject.getId());
+        }
+    }
+
+    @Override
+    public <T> List<T> invokeAndReadResult(JsonRPCRequest requestObject, ObjectReader resultReader, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        String response;
+        try {
+            response = awaitResponse(send(requestObject, endpointUri, sslVerificationDisabled));
+        } finally {
+            pendingResponses.remove(requestObject.getId());
+        }
+
+        // Bind the result directly instead of creating a JsonNode tree of the
+        // whole response first.
+        try (JsonParser parser = CommunicationHandler.getObjectMapper().getFactory().createParser(response)) {
+            return JsonRPCResponseReader.readResult(parser, resultReader, requestObject.getId());
+        } catch (IOException e) {
+            throw new SteemCommunicationException("Unable to parse the response.", e);
+        }
+    }
+
+    @Override
+    public List<JsonRPCResponse> invokeAndReadResponses(List<JsonRPCRequest> requestObjects, URI endpointUri,
+            boolean sslVerificationDisabled) throws SteemCommunicationException, SteemResponseException {
+        // As the responses are routed by their id, all requests can be sent
+        // before waiting for the first response.
+        List<PendingResponse> sentRequests = new ArrayList<>(requestObjects.size());
+        try {
+            for (JsonRPCRequest requestObject : requestObjects) {
+                sentRequests.add(send(requestObject, endpointUri, sslVerificationDisabled));
+            }
+
+            List<JsonRPCResponse> responses = new ArrayList<>(sentRequests.size());
+            for (PendingResponse pendingResponse : sentRequests) {
+                responses.add(toJsonRPCResponse(awaitResponse(pendingResponse)));
+            }
+
+            return responses;
+        } finally {
+            for (JsonRPCRequest requestObject : requestObjects) {
+                pendingResponses.remove(requestObject.getId());
+            }
         }
+    }
 
-        responseCountDownLatch = new CountDownLatch(1);
+    /**
+     * Send the given <code>requestObject</code> to the
+     * <code>endpointUri</code> and register it as waiting for its response.
+     * The session of the <code>endpointUri</code> is only opened if there is
+     * no open session yet, so the sessions of other endpoints stay untouched.
+     * 
+     * @param requestObject
+     *            The object to send.
+     * @param endpointUri
+     *            The endpoint to connect and send to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @return The {@link PendingResponse} that will receive the response.
+     * @throws SteemCommunicationException
+     *             If the request could not be sent.
+     */
+    private PendingResponse send(JsonRPCRequest requestObject, URI endpointUri, boolean sslVerificationDisabled)
+            throws SteemCommunicationException {
+        PendingResponse pendingResponse;
 
         try {
             String request = requestObject.toJson();
             LOGGER.debug("Sending {}.", request);
-            session.getBasicRemote().sendObject(request);
+
+            // The basic remote does not allow to send multiple messages at
+            // the same time, so only the sending itself is synchronized while
+            // waiting for the response happens in parallel.
+            synchronized (this) {
+                Session endpointSession = sessions.get(endpointUri);
+                if (endpointSession == null || !endpointSession.isOpen()) {
+                    endpointSession = connect(endpointUri, sslVerificationDisabled);
+                    sessions.put(endpointUri, endpointSession);
+                }
+
+                // Register the request together with its session, so only
+                // closing this session lets the request fail.
+                pendingResponse = new PendingResponse(endpointSession);
+                pendingResponses.put(requestObject.getId(), pendingResponse);
+                endpointSession.getBasicRemote().sendObject(request);
+            }
         } catch (IOException | EncodeException e) {
+            pendingResponses.remove(requestObject.getId());
             // Throw an Exception and let the CommunicationHandler handle the
             // reconnect to another node.
             throw new SteemCommunicationException("Could not transfer the data to the Steem Node. - Reconnecting.", e);
         }
 
+        return pendingResponse;
+    }
+
+    /**
+     * Wrap the given raw <code>response</code> into a {@link JsonRPCResponse}.
+     * 
+     * @param response
+     *            The raw response.
+     * @return The parsed response.
+     * @throws SteemCommunicationException
+     *             If the <code>response</code> is no valid JSON.
+     */
+    private JsonRPCResponse toJsonRPCResponse(String response) throws SteemCommunicationException {
+        try {
+            return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(response));
+        } catch (IOException e) {
+            throw new SteemCommunicationException("Unable to parse the response.", e);
+        }
+    }
+
+    /**
+     * Wait until the response for the given <code>pendingResponse</code> has
+     * been received.
+     * 
+     * @param pendingResponse
+     *            The request to wait for.
+     * @return The raw response.
+     * @throws SteemCommunicationException
+     *             If no response has been received in time or if the
+     *             connection has been closed while waiting.
+     */
+    private String awaitResponse(PendingResponse pendingResponse) throws SteemCommunicationException {
         try {
             // Wait until we received a response from the Server.
-            do {
-                if (SteemJConfig.getInstance().getResponseTimeout() == 0) {
-                    responseCountDownLatch.await();
-                } else {
-                    if (!responseCountDownLatch.await(SteemJConfig.getInstance().getResponseTimeout(),
-                            TimeUnit.MILLISECONDS)) {
-                        throw new SteemTimeoutException(
-                                "Timeout occured. The WebSocket server was not able to answer in "
-                                        + SteemJConfig.getInstance().getResponseTimeout() + " millisecond(s).");
-                    }
-                }
-            } while (websocketEndpoint.getLatestResponse() == null);
+            return pendingResponse.await(config.getResponseTimeout());
         } catch (InterruptedException e) {
             LOGGER.warn("Thread has been interrupted.", e);
             Thread.currentThread().interrupt();
+            throw new SteemCommunicationException("Interrupted while waiting for the response.", e);
         }
-
-        return websocketEndpoint.getLatestResponse();
     }
 
     @Override
     public void closeConnection() throws IOException {
-        if (session != null && session.isOpen()) {
-            LOGGER.debug("Closing existing session.");
-            session.close();
+        for (Session openSession : sessions.values()) {
+            sessions.values().remove(openSession);
+            if (openSession.isOpen()) {
+                LOGGER.debug("Closing existing session.");
+                openSession.close();
+            }
         }
     }
 
     /**
-     * Get the {@link CountDownLatch} used by this instance to change its
-     * counter.
+     * Hand over a response received from the Steem Node to the thread waiting
+     * for it.
+     * 
+     * @param id
+     *            The id of the request the <code>response</code> belongs to.
+     * @param response
+     *            The raw response to hand over. It is only parsed by the
+     *            waiting thread, which knows the expected result type.
+     * @return <code>true</code> if a request with the given <code>id</code>
+     *         was waiting for the <code>response</code>, otherwise
+     *         <code>false</code>.
+     */
+    protected boolean handleResponse(long id, String response) {
+        PendingResponse pendingResponse = pendingResponses.remove(id);
+
+        if (pendingResponse == null) {
+            return false;
+        }
+
+        pendingResponse.complete(response);
+        return true;
+    }
+
+    /**
+     * Let all requests that are still waiting for a response fail, e.g.
+     * because the connection has been closed.
+     * 
+     * @param cause
+     *            The reason why the requests failed.
+     */
+    protected void failPendingResponses(SteemCommunicationException cause) {
+        failPendingResponses(null, cause);
+    }
+
+    /**
+     * Let all requests that have been sent through the given
+     * <code>closedSession</code> and are still waiting for a response fail.
+     * The requests sent through the sessions of other endpoints are not
+     * affected.
      * 
-     * @return The {@link CountDownLatch} used by this instance.
+     * @param closedSession
+     *            The session that has been closed or <code>null</code> to let
+     *            the requests of all sessions fail.
+     * @param cause
+     *            The reason why the requests failed.
      */
-    protected CountDownLatch getResponseCountDownLatch() {
-        return this.responseCountDownLatch;
+    protected void failPendingResponses(Session closedSession, SteemCommunicationException cause) {
+        if (closedSession != null) {
+            sessions.values().removeAll(Collections.singleton(closedSession));
+        }
+
+        for (Map.Entry<Long, PendingResponse> pendingResponse : pendingResponses.entrySet()) {
+            if ((closedSession == null || pendingResponse.getValue().session == closedSession)
+                    && pendingResponses.remove(pendingResponse.getKey(), pendingResponse.getValue())) {
+                pendingResponse.getValue().fail(cause);
+            }
+        }
     }
 
     /**
-     * Get the current {@link Session}.
+     * Get the {@link Session} that has been opened most recently.
      * 
-     * @return The session used by this instance.
+     * @return The session opened most recently by this instance.
      */
     protected Session getSession() {
         return session;
     }
 
     /**
-     * Update the {@link Session} this instance should use.
+     * Register a {@link Session} that has been opened, e.g. by a reconnect.
      * 
      * @param session
      *            The session to set.
      */
     protected void setSession(Session session) {
         this.session = session;
+        if (session.getRequestURI() != null) {
+            sessions.put(session.getRequestURI(), session);
+        }
     }
 
     /**
      * This method establishes a new connection to the web socket Server.
+     * Already open sessions to other endpoints are kept.
      * 
+     * @param endpointURI
+     *            The endpoint to connect to.
+     * @param sslVerificationDisabled
+     *            Define if the SSL verification should be disabled.
+     * @return The new session.
      * @throws SteemCommunicationException
+     *             If the connection could not be established.
      */
-    private synchronized void connect(URI endpointURI, boolean sslVerificationDisabled)
+    private synchronized Session connect(URI endpointURI, boolean sslVerificationDisabled)
             throws SteemCommunicationException {
         // Tyrus expects a SSL connection if the SSL_ENGINE_CONFIGURATOR
         // property is present. This leads to a "connection failed" error when
@@ -182,20 +377,93 @@ public class WebsocketClient extends AbstractClient {
             });
 
             client.getProperties().put(ClientProperties.SSL_ENGINE_CONFIGURATOR, sslEngineConfigurator);
+        } else {
+            // The property may still be present from the connection to
+            // another endpoint.
+            client.getProperties().remove(ClientProperties.SSL_ENGINE_CONFIGURATOR);
         }
 
         try {
-            // Close the current session in case it is still open.
-            closeConnection();
-
             LOGGER.info("Connecting to {}.", endpointURI);
 
-            session = client.connectToServer(websocketEndpoint, SteemJConfig.getInstance().getClientEndpointConfig(),
+            Session newSession = client.connectToServer(websocketEndpoint, config.getClientEndpointConfig(),
                     endpointURI);
+            session = newSession;
+            return newSession;
         } catch (DeploymentException | IOException e) {
             // Throw an Exception and let the CommunicationHandler handle the
             // reconnect to another node.
             throw new SteemCommunicationException("Could not connect to the node - Trying to reconnect.", e);
         }
     }
+
+    /**
+     * A request that has been sent to the Steem Node and is waiting for its
+     * response.
+     */
+    private static final class PendingResponse {
+        /** The session the request has been sent through. */
+        private final Session session;
+        /** Used to indicate that the response has arrived. */
+        private final CountDownLatch responseCountDownLatch = new CountDownLatch(1);
+        /** The raw response, once it has arrived. */
+        private volatile String response;
+        /** The reason why no response will arrive. */
+        private volatile SteemCommunicationException failure;
+
+        /**
+         * @param session
+         *            The session the request has been sent through.
+         */
+        private PendingResponse(Session session) {
+            this.session = session;
+        }
+
+        /**
+         * @param response
+         *            The response that has been received.
+         */
+        private void complete(String response) {
+            this.response = response;
+            responseCountDownLatch.countDown();
+        }
+
+        /**
+         * @param failure
+         *            The reason why no response will arrive.
+         */
+        private void fail(SteemCommunicationException failure) {
+            this.failure = failure;
+            responseCountDownLatch.countDown();
+        }
+
+        /**
+         * Wait until the response has arrived.
+         * 
+         * @param responseTimeout
+         *            The maximum time to wait in milliseconds or
+         *            <code>0</code> to wait without a timeout.
+         * @return The raw response.
+         * @throws InterruptedException
+         *             If the thread has been interrupted while waiting.
+         * @throws SteemCommunicationException
+         *             If no response has been received in time or if the
+         *             connection has been closed in the meantime.
+         */
+        private String await(int responseTimeout)
+                throws InterruptedException, SteemCommunicationException {
+            if (responseTimeout == 0) {
+                responseCountDownLatch.await();
+            } else if (!responseCountDownLatch.await(responseTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SteemTimeoutException("Timeout occured. The WebSocket server was not able to answer in "
+                        + responseTimeout + " millisecond(s).");
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            return response;
+        }
+    }
 }
@@ -27,8 +27,8 @@ import javax.websocket.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
-import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponseReader;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 
 /**
  * This class handles a WebSocket connection.
@@ -38,8 +38,6 @@ import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 public class WebsocketEndpoint extends Endpoint implements MessageHandler.Whole<String> {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketEndpoint.class);
 
-    /** The latest response received from a Steem Node. */
-    private String latestResponse;
     /** The {@link WebsocketClient} whose session object should be updated. */
     private WebsocketClient websocketClient;
 
@@ -54,30 +52,14 @@ public class WebsocketEndpoint extends Endpoint implements MessageHandler.Whole<
         this.websocketClient = websocketClient;
     }
 
-    /**
-     * Pull the latest response.
-     * 
-     * @return In case a response has already been received a new
-     *         {@link JsonRPCResponse} instance that wraps the response,
-     *         otherwise the method will return <code>null</code>.
-     * @throws SteemResponseException
-     *             In case the response can not be parsed as a tree.
-     */
-    protected JsonRPCResponse getLatestResponse() throws SteemResponseException {
-        try {
-            if (latestResponse != null)
-                return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(latestResponse));
-
-            return null;
-        } catch (IOException e) {
-            throw new SteemResponseException("Unable to parse the response.", e);
-        }
-    }
-
     @Override
     public void onClose(Session session, CloseReason closeReason) {
         LOGGER.info("Connection has been closed (Code: {}, Reason: {}).", closeReason.getCloseCode(),
                 closeReason.getReasonPhrase());
+
+        this.websocketClient.failPendingResponses(session, new SteemCommunicationException(
+                "The connection has been closed before a response has been received (Code: "
+                        + closeReason.getCloseCode() + ", Reason: " + closeReason.getReasonPhrase() + ")."));
     }
 
     @Override
@@ -88,20 +70,26 @@ public class WebsocketEndpoint extends Endpoint implements MessageHandler.Whole<
     @Override
     public void onOpen(Session session, EndpointConfig config) {
         this.websocketClient.setSession(session);
-        this.websocketClient.getSession().addMessageHandler(this);
+        session.addMessageHandler(this);
 
         LOGGER.info("Connection has been established.");
     }
 
     @Override
     public void onMessage(String message) {
-        latestResponse = message;
-
-        if (this.websocketClient.getResponseCountDownLatch().getCount() > 0) {
-            this.websocketClient.getResponseCountDownLatch().countDown();
-        } else {
+        Long id;
+        try {
+            // Only the id is read here, the result is bound by the thread
+            // waiting for the response.
+            id = JsonRPCResponseReader.readId(message);
+        } catch (IOException e) {
             // Sadly it is not possible to throw an exception here, so the
             // only useful thing we can do is to log it.
+            LOGGER.error("Unable to parse the response.", e);
+            return;
+        }
+
+        if (id == null || !this.websocketClient.handleResponse(id, message)) {
             LOGGER.error("Received an unexpected message.");
         }
     }
@@ -32,12 +32,34 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 public class WebsocketReconnectHandler extends ReconnectHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketReconnectHandler.class);
 
+    /** The configuration providing the idle timeout. */
+    private final SteemJConfig config;
+
+    /**
+     * Create a new {@link WebsocketReconnectHandler} using the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     */
+    public WebsocketReconnectHandler() {
+        this(SteemJConfig.getInstance());
+    }
+
+    /**
+     * Create a new {@link WebsocketReconnectHandler} using the given
+     * <code>config</code>.
+     * 
+     * @param config
+     *            The configuration providing the idle timeout.
+     */
+    public WebsocketReconnectHandler(SteemJConfig config) {
+        this.config = config;
+    }
+
     @Override
     public boolean onDisconnect(CloseReason closeReason) {
         LOGGER.debug("The connection has been closed (Code: {}, Reason: {}).", closeReason.getCloseCode(),
                 closeReason.getReasonPhrase());
 
-        if (SteemJConfig.getInstance().getIdleTimeout() <= 0) {
+        if (config.getIdleTimeout() <= 0) {
             LOGGER.info(
                     "The connection has been closed, but SteemJ is configured to never close the conenction. Initiating reconnect.");
             return true;
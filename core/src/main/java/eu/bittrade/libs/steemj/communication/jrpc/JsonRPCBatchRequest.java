@@ -0,0 +1,167 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication.jrpc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+
+/**
+ * A collection of {@link JsonRPCRequest JsonRPCRequests} that will be sent to
+ * the node at once using a JSON-RPC 2.0 batch.
+ * 
+ * Example:
+ * 
+ * <pre>
+ * JsonRPCBatchRequest batchRequest = new JsonRPCBatchRequest();
+ * JsonRPCBatchResult&lt;GetBlockReturn&gt; block = batchRequest
+ *         .add(new JsonRPCRequest(SteemApiType.BLOCK_API, RequestMethod.GET_BLOCK, args), GetBlockReturn.class);
+ * communicationHandler.performBatchRequest(batchRequest);
+ * block.getResult();
+ * </pre>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class JsonRPCBatchRequest {
+    /** The results of this batch, stored by the id of their request. */
+    private final Map<Long, JsonRPCBatchResult<?>> results = new LinkedHashMap<>();
+
+    /**
+     * Add a request to this batch.
+     * 
+     * @param request
+     *            The request to add.
+     * @param targetClass
+     *            The type the response should be transformed to.
+     * @param <T>
+     *            The type that should be returned.
+     * @return The {@link JsonRPCBatchResult} that will hold the result of the
+     *         <code>request</code> once the batch has been performed.
+     * @throws IllegalArgumentException
+     *             If the <code>request</code> has already been added to this
+     *             batch.
+     */
+    public <T> JsonRPCBatchResult<T> add(JsonRPCRequest request, Class<T> targetClass) {
+        if (results.containsKey(request.getId())) {
+            throw new IllegalArgumentException("The batch already contains a request with the id " + request.getId()
+                    + ".");
+        }
+
+        JsonRPCBatchResult<T> result = new JsonRPCBatchResult<>(request, targetClass);
+        results.put(request.getId(), result);
+
+        return result;
+    }
+
+    /**
+     * Get the requests of this batch in the order they have been added.
+     * 
+     * @return The requests of this batch.
+     */
+    public List<JsonRPCRequest> getRequests() {
+        List<JsonRPCRequest> requests = new ArrayList<>(results.size());
+        for (JsonRPCBatchResult<?> result : results.values()) {
+            requests.add(result.getRequest());
+        }
+
+        return requests;
+    }
+
+    /**
+     * Get the results of this batch in the order their requests have been
+     * added.
+     * 
+     * @return The results of this batch.
+     */
+    public List<JsonRPCBatchResult<?>> getResults() {
+        return Collections.unmodifiableList(new ArrayList<>(results.values()));
+    }
+
+    /**
+     * Get the number of requests in this batch.
+     * 
+     * @return The number of requests in this batch.
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Check if this batch contains any requests.
+     * 
+     * @return <code>true</code> if no request has been added yet,
+     *         <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return results.isEmpty();
+    }
+
+    /**
+     * Assign the <code>responses</code> returned by the node to the results of
+     * this batch by their id. Results without a response are marked as failed.
+     * 
+     * <p>
+     * This method is called by the
+     * {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     * CommunicationHandler} after the batch has been sent.
+     * </p>
+     * 
+     * @param responses
+     *            The responses returned by the node in any order.
+     */
+    public void handleResponses(List<JsonRPCResponse> responses) {
+        Map<Long, JsonRPCBatchResult<?>> openResults = new LinkedHashMap<>(results);
+        // An error without an id belongs to the whole batch.
+        JsonRPCResponse batchError = null;
+
+        for (JsonRPCResponse response : responses) {
+            JsonNode idNode = response.getRawJsonResponse().get(JsonRPCResponse.ID_FIELD_NAME);
+
+            if (idNode == null || idNode.isNull()) {
+                if (response.isError()) {
+                    batchError = response;
+                }
+                continue;
+            }
+
+            JsonRPCBatchResult<?> result = openResults.remove(idNode.asLong());
+            if (result != null) {
+                result.complete(response);
+            }
+        }
+
+        for (JsonRPCBatchResult<?> result : openResults.values()) {
+            if (batchError != null) {
+                try {
+                    result.fail(batchError.handleError());
+                } catch (SteemCommunicationException e) {
+                    result.fail(e);
+                }
+            } else {
+                result.fail(new SteemCommunicationException(
+                        "The node did not return a response for the request with the id "
+                                + result.getRequest().getId() + "."));
+            }
+        }
+    }
+}
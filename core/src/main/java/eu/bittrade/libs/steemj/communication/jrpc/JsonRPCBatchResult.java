@@ -0,0 +1,162 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication.jrpc;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+
+/**
+ * The result of a single {@link JsonRPCRequest} that has been sent as a part
+ * of a {@link JsonRPCBatchRequest}.
+ * 
+ * As each request of a batch is answered independently, a
+ * {@link JsonRPCBatchResult} either holds the transformed result or the error
+ * returned for this specific request.
+ * 
+ * @param <T>
+ *            The type the result should be transformed to.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class JsonRPCBatchResult<T> {
+    /** The request this result belongs to. */
+    private final JsonRPCRequest request;
+    /** The type the response should be transformed to. */
+    private final Class<T> targetClass;
+    /** The transformed result. */
+    private List<T> result;
+    /** The error returned by the node for this request. */
+    private SteemResponseException responseException;
+    /** The reason why no valid response has been received. */
+    private SteemCommunicationException communicationException;
+
+    /**
+     * Create a new {@link JsonRPCBatchResult} instance.
+     * 
+     * @param request
+     *            The request this result belongs to.
+     * @param targetClass
+     *            The type the response should be transformed to.
+     */
+    JsonRPCBatchResult(JsonRPCRequest request, Class<T> targetClass) {
+        this.request = request;
+        this.targetClass = targetClass;
+    }
+
+    /**
+     * Get the request this result belongs to.
+     * 
+     * @return The request this result belongs to.
+     */
+    public JsonRPCRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Check if a response has been received and processed for the request of
+     * this result.
+     * 
+     * @return <code>true</code> if this result is complete,
+     *         <code>false</code> otherwise.
+     */
+    public boolean isDone() {
+        return result != null || isError();
+    }
+
+    /**
+     * Check if the node returned an error for this request or if its response
+     * could not be processed.
+     * 
+     * @return <code>true</code> if {@link #getResult()} will throw an
+     *         exception, <code>false</code> otherwise.
+     */
+    public boolean isError() {
+        return responseException != null || communicationException != null;
+    }
+
+    /**
+     * Get the response of the node transformed into a list of
+     * <code>T</code>.
+     * 
+     * @return The server response transformed into a list of given objects.
+     * @throws SteemCommunicationException
+     *             If no response has been received for this request or if the
+     *             response could not be transformed.
+     * @throws SteemResponseException
+     *             If the node returned an error object for this request.
+     */
+    public List<T> getResult() throws SteemCommunicationException, SteemResponseException {
+        if (responseException != null) {
+            throw responseException;
+        } else if (communicationException != null) {
+            throw communicationException;
+        } else if (result == null) {
+            throw new SteemCommunicationException("The batch containing this request has not been performed yet.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Process the <code>response</code> the node returned for the request of
+     * this result.
+     * 
+     * @param response
+     *            The response to process.
+     */
+    void complete(JsonRPCResponse response) {
+        try {
+            if (response.isError()) {
+                responseException = response.handleError(request.getId());
+            } else {
+                JavaType expectedResultType = CommunicationHandler.getObjectMapper().getTypeFactory()
+                        .constructCollectionType(List.class, targetClass);
+                result = response.handleResult(expectedResultType, request.getId());
+            }
+        } catch (SteemCommunicationException e) {
+            communicationException = e;
+        } catch (IllegalArgumentException e) {
+            communicationException = new SteemCommunicationException(
+                    "Could not transform the response into the expected type.", e);
+        }
+    }
+
+    /**
+     * Mark this result as failed.
+     * 
+     * @param responseException
+     *            The error returned by the node.
+     */
+    void fail(SteemResponseException responseException) {
+        this.responseException = responseException;
+    }
+
+    /**
+     * Mark this result as failed.
+     * 
+     * @param communicationException
+     *            The reason why no valid response has been received.
+     */
+    void fail(SteemCommunicationException communicationException) {
+        this.communicationException = communicationException;
+    }
+}
@@ -22,6 +22,7 @@ import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -45,6 +46,9 @@ public class JsonRPCRequest {
     /** The ID of this request. */
     private final long id = randomGenerator.nextLong();
     private String method;
+    /** Defines if this request can safely be sent more than once. */
+    @JsonIgnore
+    private final boolean idempotent;
     /**
      * The parameters of the request which should only be added in case there
      * are parameters at all.
@@ -73,6 +77,7 @@ public class JsonRPCRequest {
         }
         this.method = namespaceAndMethod + requestMethod.name().toLowerCase();
         this.params = params;
+        this.idempotent = !requestMethod.name().startsWith("BROADCAST_");
     }
 
     /**
@@ -111,6 +116,20 @@ public class JsonRPCRequest {
         return this.params;
     }
 
+    /**
+     * Check if this request can safely be sent more than once. This is the
+     * case for all requests that only read data. Broadcasts are not
+     * idempotent, because the node may have processed a broadcast although
+     * its response got lost.
+     * 
+     * @return <code>true</code> if the request only reads data, otherwise
+     *         <code>false</code>.
+     */
+    @JsonIgnore
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
     /**
      * Tramsform this request object into its JSON representation.
      *  
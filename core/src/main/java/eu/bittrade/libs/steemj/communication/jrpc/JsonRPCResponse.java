@@ -16,6 +16,7 @@
  */
 package eu.bittrade.libs.steemj.communication.jrpc;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
@@ -160,6 +162,24 @@ public class JsonRPCResponse {
      *             <code>type</code>.
      */
     public <T> List<T> handleResult(JavaType type, long id) throws SteemCommunicationException {
+        return handleResult(CommunicationHandler.getObjectMapper().readerFor(type), id);
+    }
+
+    /**
+     * Like {@link #handleResult(JavaType, long)}, but the JSON is transformed
+     * using the given <code>resultReader</code>.
+     * 
+     * @param resultReader
+     *            The reader used to transform the JSON into a list.
+     * @param id
+     *            The expected id of the response.
+     * @return A list of of <code>T</code> instances.
+     * @throws SteemCommunicationException
+     *             If the response does not contain the expected <code>id</code>.
+     * @throws IllegalArgumentException
+     *             If the response could not be transformed.
+     */
+    public <T> List<T> handleResult(ObjectReader resultReader, long id) throws SteemCommunicationException {
         if (isResponseValid()) {
             if (!isResult()) {
                 throw new SteemCommunicationException(
@@ -172,9 +192,13 @@ public class JsonRPCResponse {
                             "The id of this response does not match the expected id. This can cause an unexpected behavior.");
                 }
 
-                if (!isResultEmpty())
-                    return CommunicationHandler.getObjectMapper().convertValue(responseAsObject.get(RESULT_FIELD_NAME),
-                            type);
+                if (!isResultEmpty()) {
+                    try {
+                        return resultReader.readValue(responseAsObject.get(RESULT_FIELD_NAME));
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException(e.getMessage(), e);
+                    }
+                }
             }
         }
 
@@ -230,6 +254,24 @@ public class JsonRPCResponse {
         throw new SteemCommunicationException("Tried to generate a throwable out of a unexpected Json structure.");
     }
 
+    /**
+     * This method will try to generate a {@link SteemResponseException} based
+     * on the response without checking its <code>id</code>. This is required
+     * for errors that do not belong to a specific request, e.g. if a whole
+     * batch has been rejected.
+     * 
+     * @return A {@link SteemResponseException} based on the Json response.
+     * @throws SteemCommunicationException
+     *             If the response does not contain an error.
+     */
+    public SteemResponseException handleError() throws SteemCommunicationException {
+        if (isResponseValid() && isError()) {
+            return createThrowable(ObjectNode.class.cast(rawJsonResponse));
+        }
+
+        throw new SteemCommunicationException("Tried to generate a throwable out of a unexpected Json structure.");
+    }
+
     /**
      * Create a new {@link SteemResponseException} based on the Json response.
      * 
@@ -0,0 +1,220 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication.jrpc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+
+/**
+ * This class reads JSON-RPC responses token by token, so that the
+ * <code>result</code> field can be bound to the expected type directly,
+ * without creating an intermediate {@link JsonNode} tree of the whole
+ * response first.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public final class JsonRPCResponseReader {
+    /** Add a private constructor to hide the implicit public one. */
+    private JsonRPCResponseReader() {
+    }
+
+    /**
+     * Read a single JSON-RPC response from the given <code>parser</code> and
+     * transform its result into the given <code>type</code>.
+     * 
+     * @param parser
+     *            The parser to read the response from. It has to be created
+     *            by the {@link CommunicationHandler#getObjectMapper()
+     *            ObjectMapper} of SteemJ and should be positioned before the
+     *            response object.
+     * @param type
+     *            The type to transform the result to.
+     * @param expectedId
+     *            The expected id of the response.
+     * @param <T>
+     *            The type that should be returned.
+     * @return A list of <code>type</code> instances.
+     * @throws IOException
+     *             If the response could not be read.
+     * @throws SteemCommunicationException
+     *             If the response does not have the expected structure or
+     *             does not contain the expected <code>id</code>.
+     * @throws SteemResponseException
+     *             If the node returned an error object or if the result could
+     *             not be transformed into the given <code>type</code>.
+     */
+    public static <T> List<T> readResult(JsonParser parser, JavaType type, long expectedId)
+            throws IOException, SteemCommunicationException, SteemResponseException {
+        return readResult(parser, CommunicationHandler.getObjectMapper().readerFor(type), expectedId);
+    }
+
+    /**
+     * Like {@link #readResult(JsonParser, JavaType, long)}, but the result is
+     * bound using the given <code>resultReader</code>. This allows to pass
+     * additional attributes to the deserializers of the result (see
+     * {@link ObjectReader#withAttribute(Object, Object)}).
+     * 
+     * @param parser
+     *            The parser to read the response from. It has to be created
+     *            by the {@link CommunicationHandler#getObjectMapper()
+     *            ObjectMapper} of SteemJ and should be positioned before the
+     *            response object.
+     * @param resultReader
+     *            The reader used to transform the result into a list.
+     * @param expectedId
+     *            The expected id of the response.
+     * @param <T>
+     *            The type that should be returned.
+     * @return A list of <code>T</code> instances.
+     * @throws IOException
+     *             If the response could not be read.
+     * @throws SteemCommunicationException
+     *             If the response does not have the expected structure or
+     *             does not contain the expected <code>id</code>.
+     * @throws SteemResponseException
+     *             If the node returned an error object or if the result could
+     *             not be transformed.
+     */
+    public static <T> List<T> readResult(JsonParser parser, ObjectReader resultReader, long expectedId)
+            throws IOException, SteemCommunicationException, SteemResponseException {
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new SteemCommunicationException("The response is not an object.");
+        }
+
+        List<T> result = null;
+        boolean hasResult = false;
+        JsonNode error = null;
+        Long id = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if (JsonRPCResponse.RESULT_FIELD_NAME.equals(fieldName)) {
+                hasResult = true;
+                if (valueToken != JsonToken.VALUE_NULL) {
+                    try {
+                        result = resultReader.readValue(parser);
+                    } catch (JsonMappingException e) {
+                        throw new SteemResponseException("Could not transform the result into the expected type.", e);
+                    }
+                }
+            } else if (JsonRPCResponse.ID_FIELD_NAME.equals(fieldName)) {
+                id = readId(parser, valueToken);
+            } else if (JsonRPCResponse.ERROR_FIELD_NAME.equals(fieldName)) {
+                error = mapper.readTree(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (error != null && !error.isNull()) {
+            // Errors are rare and small, so the existing tree based handling
+            // is used to create the exception.
+            ObjectNode errorResponse = mapper.createObjectNode();
+            errorResponse.put(JsonRPCResponse.ID_FIELD_NAME, id);
+            errorResponse.set(JsonRPCResponse.ERROR_FIELD_NAME, error);
+            throw new JsonRPCResponse(errorResponse).handleError(expectedId);
+        } else if (!hasResult) {
+            throw new SteemCommunicationException(
+                    "The result does not contain the required " + JsonRPCResponse.RESULT_FIELD_NAME + " field.");
+        } else if (id == null || id != expectedId) {
+            throw new SteemCommunicationException(
+                    "The id of this response does not match the expected id. This can cause an unexpected behavior.");
+        }
+
+        return result == null ? new ArrayList<T>() : result;
+    }
+
+    /**
+     * Read the id of the JSON-RPC response stored in <code>message</code>
+     * without transforming the rest of the response.
+     * 
+     * @param message
+     *            The raw JSON response.
+     * @return The id of the response or <code>null</code> if the response has
+     *         no numeric id.
+     * @throws IOException
+     *             If the <code>message</code> is no valid JSON.
+     */
+    @Nullable
+    public static Long readId(String message) throws IOException {
+        try (JsonParser parser = CommunicationHandler.getObjectMapper().getFactory().createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+
+                if (JsonRPCResponse.ID_FIELD_NAME.equals(fieldName)) {
+                    return readId(parser, valueToken);
+                }
+
+                parser.skipChildren();
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Read the id the <code>parser</code> is currently positioned at.
+     * 
+     * @param parser
+     *            The parser to read from.
+     * @param valueToken
+     *            The current token.
+     * @return The id or <code>null</code> if it is not numeric.
+     * @throws IOException
+     *             If the value could not be read.
+     */
+    @Nullable
+    private static Long readId(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        } else if (valueToken == JsonToken.VALUE_STRING) {
+            try {
+                return Long.valueOf(parser.getText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -16,11 +16,18 @@
  */
 package eu.bittrade.libs.steemj.configuration;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
@@ -29,15 +36,27 @@ import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.base58.Sha256ChecksumProvider;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
 
 /**
  * This class is used to store the private keys of multiple users in a single
  * object.
  * 
+ * The keys are indexed by their account and their type, so a lookup does not
+ * depend on the number of stored keys. A reverse index allows to find the
+ * accounts and the private key belonging to a public key.
+ * 
+ * This class is thread safe. The keys of an account are kept in an
+ * {@link EnumMap} which is never modified once it has been published, but
+ * replaced as a whole. Threads signing transactions therefore never block, even
+ * while the keys are {@link #reload(Map) reloaded}.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class PrivateKeyStorage {
-    private HashMap<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> privateKeysPerAccounts = new HashMap<>();
+    private final ConcurrentHashMap<AccountName, EnumMap<PrivateKeyType, ECKey>> privateKeysPerAccounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ByteBuffer, Set<AccountName>> accountsPerPublicKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ByteBuffer, ECKey> privateKeysPerPublicKey = new ConcurrentHashMap<>();
 
     /**
      * Get a private key of the given private key type for the given account
@@ -52,32 +71,60 @@ public class PrivateKeyStorage {
      * @return The requested private key.
      */
     public ECKey getKeyForAccount(PrivateKeyType privateKeyType, AccountName accountName) {
-        List<ImmutablePair<PrivateKeyType, ECKey>> privateKeysForAccount = this.getPrivateKeysPerAccounts()
-                .get(accountName);
+        EnumMap<PrivateKeyType, ECKey> privateKeysForAccount = privateKeysPerAccounts.get(accountName);
+        ECKey privateKey = privateKeysForAccount == null ? null : privateKeysForAccount.get(privateKeyType);
 
-        if (privateKeysForAccount == null) {
+        if (privateKey == null) {
             throw new InvalidParameterException(privateKeyType.name() + " for the account '" + accountName
                     + "' has not been added to the PrivateKeyStore.");
         }
 
-        for (ImmutablePair<PrivateKeyType, ECKey> privateKey : privateKeysForAccount) {
-            if (privateKey != null && privateKey.getLeft().equals(privateKeyType)) {
-                return privateKey.getRight();
-            }
+        return privateKey;
+    }
+
+    /**
+     * Get the private key belonging to the given <code>publicKey</code>.
+     * 
+     * @param publicKey
+     *            The public key to request the private key for.
+     * @return The private key or <code>null</code> if it has not been added to
+     *         the key storage.
+     */
+    public ECKey getKeyForPublicKey(PublicKey publicKey) {
+        if (publicKey == null || publicKey.getPublicKey() == null) {
+            return null;
+        }
+
+        return privateKeysPerPublicKey.get(toPublicKeyId(publicKey.getPublicKey()));
+    }
+
+    /**
+     * Get the accounts for which the private key belonging to the given
+     * <code>publicKey</code> has been stored.
+     * 
+     * @param publicKey
+     *            The public key to search for.
+     * @return A list of account names, which is empty if the private key has
+     *         not been added to the key storage.
+     */
+    public List<AccountName> getAccountsForPublicKey(PublicKey publicKey) {
+        if (publicKey == null || publicKey.getPublicKey() == null) {
+            return new ArrayList<>();
         }
 
-        throw new InvalidParameterException(privateKeyType.name() + " for the account '" + accountName
-                + "' has not been added to the PrivateKeyStore.");
+        Set<AccountName> accounts = accountsPerPublicKey.get(toPublicKeyId(publicKey.getPublicKey()));
+        return accounts == null ? new ArrayList<AccountName>() : new ArrayList<>(accounts);
     }
 
     /**
-     * Add a new account to the key storage without providing private keys.
+     * Add a new account to the key storage without providing private keys. If
+     * the account already exists, all of its private keys are removed.
      * 
      * @param accountName
      *            The account to be added to the key storage.
      */
     public void addAccount(AccountName accountName) {
-        this.getPrivateKeysPerAccounts().put(accountName, new ArrayList<ImmutablePair<PrivateKeyType, ECKey>>());
+        replaceKeysOfAccount(accountName, new EnumMap<PrivateKeyType, ECKey>(PrivateKeyType.class));
     }
 
     /**
@@ -92,10 +139,7 @@ public class PrivateKeyStorage {
      *            The private keys to be added to the key storage.
      */
     public void addAccount(AccountName accountName, List<ImmutablePair<PrivateKeyType, String>> privateKeys) {
-        this.addAccount(accountName);
-        for (ImmutablePair<PrivateKeyType, String> privateKey : privateKeys) {
-            addPrivateKeyToAccount(accountName, privateKey);
-        }
+        replaceKeysOfAccount(accountName, convertWifsToECKeys(privateKeys));
     }
 
     /**
@@ -120,9 +164,24 @@ public class PrivateKeyStorage {
      *            The account to add the keys for.
      * @param privateKey
      *            The private key in its WIF representation and its type.
+     * @throws InvalidParameterException
+     *             If the account has not been added to the key storage.
      */
     public void addPrivateKeyToAccount(AccountName accountName, ImmutablePair<PrivateKeyType, String> privateKey) {
-        this.getPrivateKeysPerAccounts().get(accountName).add(convertWifToECKeyPair(privateKey));
+        ImmutablePair<PrivateKeyType, ECKey> privateKeyPair = convertWifToECKeyPair(privateKey);
+
+        EnumMap<PrivateKeyType, ECKey> updatedKeys = privateKeysPerAccounts.computeIfPresent(accountName,
+                (account, privateKeysForAccount) -> {
+                    EnumMap<PrivateKeyType, ECKey> newPrivateKeysForAccount = new EnumMap<>(privateKeysForAccount);
+                    newPrivateKeysForAccount.put(privateKeyPair.getLeft(), privateKeyPair.getRight());
+                    updateIndex(account, privateKeysForAccount, newPrivateKeysForAccount);
+                    return newPrivateKeysForAccount;
+                });
+
+        if (updatedKeys == null) {
+            throw new InvalidParameterException(
+                    "The account '" + accountName + "' has not been added to the PrivateKeyStore.");
+        }
     }
 
     /**
@@ -131,23 +190,78 @@ public class PrivateKeyStorage {
      *
      * @param accountName
      *            The account name to remove from the key store.
-     * @return The previous value associated with the <tt>account name</tt>, or
-     *         <tt>null</tt> if there was no mapping for the
-     *         <tt>account name</tt>. (A <tt>null</tt> return can also indicate
-     *         that the key previously associated <tt>null</tt> with
-     *         <tt>key</tt>.)
+     * @return The private keys previously stored for the
+     *         <tt>account name</tt>, or <tt>null</tt> if there was no mapping
+     *         for the <tt>account name</tt>.
      */
     public List<ImmutablePair<PrivateKeyType, ECKey>> removeAccount(AccountName accountName) {
-        return this.getPrivateKeysPerAccounts().remove(accountName);
+        EnumMap<PrivateKeyType, ECKey> removedKeys = replaceKeysOfAccount(accountName, null);
+
+        if (removedKeys == null) {
+            return null;
+        }
+
+        List<ImmutablePair<PrivateKeyType, ECKey>> removedKeyPairs = new ArrayList<>();
+        for (Entry<PrivateKeyType, ECKey> privateKey : removedKeys.entrySet()) {
+            removedKeyPairs.add(new ImmutablePair<>(privateKey.getKey(), privateKey.getValue()));
+        }
+
+        return removedKeyPairs;
     }
 
     /**
-     * Get the private key store.
+     * Replace all stored accounts and keys by the given ones, e.g. after the
+     * keys have been rotated. All keys are decoded before the key storage is
+     * modified, so an invalid key does not leave the storage in a partially
+     * updated state. Threads that are concurrently requesting keys are not
+     * blocked and receive either the old or the new keys of an account.
+     * 
+     * @param privateKeysPerAccount
+     *            The private keys in their WIF representation per account.
+     */
+    public void reload(Map<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysPerAccount) {
+        Map<AccountName, EnumMap<PrivateKeyType, ECKey>> decodedKeysPerAccount = new HashMap<>();
+        for (Entry<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysForAccount : privateKeysPerAccount
+                .entrySet()) {
+            decodedKeysPerAccount.put(privateKeysForAccount.getKey(),
+                    convertWifsToECKeys(privateKeysForAccount.getValue()));
+        }
+
+        for (Entry<AccountName, EnumMap<PrivateKeyType, ECKey>> decodedKeysForAccount : decodedKeysPerAccount
+                .entrySet()) {
+            replaceKeysOfAccount(decodedKeysForAccount.getKey(), decodedKeysForAccount.getValue());
+        }
+
+        for (AccountName accountName : getAccounts()) {
+            if (!decodedKeysPerAccount.containsKey(accountName)) {
+                replaceKeysOfAccount(accountName, null);
+            }
+        }
+    }
+
+    /**
+     * Get a read-only view of the private key store.
      * 
      * @return The private key store.
+     * @deprecated The key storage is no longer organized as lists of pairs.
+     *             Use {@link #getKeyForAccount(PrivateKeyType, AccountName)},
+     *             {@link #getAccounts()} or
+     *             {@link #getKeyForPublicKey(PublicKey)} instead.
      */
+    @Deprecated
     public Map<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> getPrivateKeysPerAccounts() {
-        return privateKeysPerAccounts;
+        Map<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> privateKeysPerAccountsAsPairs = new HashMap<>();
+        for (Entry<AccountName, EnumMap<PrivateKeyType, ECKey>> privateKeysForAccount : privateKeysPerAccounts
+                .entrySet()) {
+            List<ImmutablePair<PrivateKeyType, ECKey>> privateKeyPairs = new ArrayList<>();
+            for (Entry<PrivateKeyType, ECKey> privateKey : privateKeysForAccount.getValue().entrySet()) {
+                privateKeyPairs.add(new ImmutablePair<>(privateKey.getKey(), privateKey.getValue()));
+            }
+            privateKeysPerAccountsAsPairs.put(privateKeysForAccount.getKey(),
+                    Collections.unmodifiableList(privateKeyPairs));
+        }
+
+        return Collections.unmodifiableMap(privateKeysPerAccountsAsPairs);
     }
 
     /**
@@ -156,9 +270,105 @@ public class PrivateKeyStorage {
      * @return A list of account names for which private keys have been stored.
      */
     public List<AccountName> getAccounts() {
-        ArrayList<AccountName> storedAccounts = new ArrayList<>();
-        storedAccounts.addAll(this.getPrivateKeysPerAccounts().keySet());
-        return storedAccounts;
+        return new ArrayList<>(privateKeysPerAccounts.keySet());
+    }
+
+    /**
+     * Atomically replace the keys of an account and update the reverse index.
+     * 
+     * @param accountName
+     *            The account to replace the keys for.
+     * @param privateKeysForAccount
+     *            The new keys, which must not be modified afterwards, or
+     *            <code>null</code> to remove the account.
+     * @return The previous keys of the account or <code>null</code> if the
+     *         account did not exist.
+     */
+    private EnumMap<PrivateKeyType, ECKey> replaceKeysOfAccount(AccountName accountName,
+            EnumMap<PrivateKeyType, ECKey> privateKeysForAccount) {
+        List<EnumMap<PrivateKeyType, ECKey>> replacedKeys = new ArrayList<>(1);
+
+        privateKeysPerAccounts.compute(accountName, (account, oldPrivateKeysForAccount) -> {
+            replacedKeys.add(oldPrivateKeysForAccount);
+            updateIndex(account, oldPrivateKeysForAccount, privateKeysForAccount);
+            return privateKeysForAccount;
+        });
+
+        return replacedKeys.get(0);
+    }
+
+    /**
+     * Update the reverse index after the keys of an account have been changed.
+     * This method must only be called while the mapping of the account is
+     * locked.
+     * 
+     * @param accountName
+     *            The account whose keys have been changed.
+     * @param oldPrivateKeys
+     *            The previous keys of the account (may be <code>null</code>).
+     * @param newPrivateKeys
+     *            The new keys of the account (may be <code>null</code>).
+     */
+    private void updateIndex(AccountName accountName, EnumMap<PrivateKeyType, ECKey> oldPrivateKeys,
+            EnumMap<PrivateKeyType, ECKey> newPrivateKeys) {
+        Set<ECKey> removedKeys = oldPrivateKeys == null ? new HashSet<ECKey>()
+                : new HashSet<>(oldPrivateKeys.values());
+        if (newPrivateKeys != null) {
+            removedKeys.removeAll(newPrivateKeys.values());
+
+            for (ECKey privateKey : newPrivateKeys.values()) {
+                ByteBuffer publicKeyId = toPublicKeyId(privateKey);
+                accountsPerPublicKey.compute(publicKeyId, (id, accounts) -> {
+                    Set<AccountName> accountsForPublicKey = accounts == null ? ConcurrentHashMap.newKeySet()
+                            : accounts;
+                    accountsForPublicKey.add(accountName);
+                    privateKeysPerPublicKey.put(id, privateKey);
+                    return accountsForPublicKey;
+                });
+            }
+        }
+
+        for (ECKey privateKey : removedKeys) {
+            accountsPerPublicKey.computeIfPresent(toPublicKeyId(privateKey), (id, accounts) -> {
+                accounts.remove(accountName);
+                if (accounts.isEmpty()) {
+                    privateKeysPerPublicKey.remove(id);
+                    return null;
+                }
+                return accounts;
+            });
+        }
+    }
+
+    /**
+     * Create the key used by the reverse index, which is the compressed
+     * encoding of the public key. This way keys which have been imported in
+     * compressed and uncompressed form are treated equally.
+     * 
+     * @param key
+     *            The key to create the id for.
+     * @return The id of the key.
+     */
+    private static ByteBuffer toPublicKeyId(ECKey key) {
+        return ByteBuffer.wrap(key.getPubKeyPoint().getEncoded(true));
+    }
+
+    /**
+     * Internal method to convert a list of WIF private keys into an
+     * {@link EnumMap} of ECKey objects.
+     * 
+     * @param wifPrivateKeys
+     *            The key pairs to convert.
+     * @return The converted keys.
+     */
+    private EnumMap<PrivateKeyType, ECKey> convertWifsToECKeys(
+            List<ImmutablePair<PrivateKeyType, String>> wifPrivateKeys) {
+        EnumMap<PrivateKeyType, ECKey> privateKeys = new EnumMap<>(PrivateKeyType.class);
+        for (ImmutablePair<PrivateKeyType, String> wifPrivateKey : wifPrivateKeys) {
+            ImmutablePair<PrivateKeyType, ECKey> privateKey = convertWifToECKeyPair(wifPrivateKey);
+            privateKeys.put(privateKey.getLeft(), privateKey.getRight());
+        }
+        return privateKeys;
     }
 
     /**
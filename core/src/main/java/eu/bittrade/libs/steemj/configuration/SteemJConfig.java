@@ -22,6 +22,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
 
@@ -33,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.bittrade.libs.steemj.SteemJ;
+import eu.bittrade.libs.steemj.communication.ExponentialBackoffRetryPolicy;
+import eu.bittrade.libs.steemj.communication.RetryPolicy;
 import eu.bittrade.libs.steemj.enums.AddressPrefixType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.SynchronizationType;
@@ -45,7 +48,9 @@ import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
  * This class stores the configuration that is used for the communication to the
  * defined server.
  * 
- * The setters can be used to override the default values.
+ * The setters can be used to override the default values. Immutable snapshots
+ * created by {@link #snapshot()} throw an
+ * {@link UnsupportedOperationException} if one of their setters is called.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
@@ -92,6 +97,9 @@ public class SteemJConfig {
     private List<Pair<URI, Boolean>> endpointURIs;
     private int responseTimeout;
     private int idleTimeout;
+    private int maxConnectionsPerRoute;
+    private RetryPolicy retryPolicy;
+    private double hedgingPercentile;
     private String dateTimePattern;
     private long maximumExpirationDateOffset;
     private String timeZoneId;
@@ -108,11 +116,20 @@ public class SteemJConfig {
     private LegacyAssetSymbolType dollarSymbol;
     private LegacyAssetSymbolType tokenSymbol;
     private LegacyAssetSymbolType vestsSymbol;
+    /** Indicates that this instance is a snapshot which can't be changed. */
+    private final boolean immutable;
 
     /**
      * Default constructor that will set all default values.
+     * 
+     * In contrast to {@link #getInstance()}, this constructor creates an
+     * independent configuration which can be passed to
+     * {@link SteemJ#SteemJ(SteemJConfig)}. This allows to run multiple,
+     * isolated SteemJ instances with different settings in one process.
      */
-    private SteemJConfig() {
+    public SteemJConfig() {
+        this.immutable = false;
+
         this.clientEndpointConfig = ClientEndpointConfig.Builder.create().build();
 
         try {
@@ -124,6 +141,9 @@ public class SteemJConfig {
         }
         this.responseTimeout = 1000;
         this.idleTimeout = 60000;
+        this.maxConnectionsPerRoute = 20;
+        this.retryPolicy = new ExponentialBackoffRetryPolicy();
+        this.hedgingPercentile = 0;
         this.dateTimePattern = "yyyy-MM-dd'T'HH:mm:ss";
         this.apiUsername = new AccountName(System.getProperty("steemj.api.username", ""));
         this.apiPassword = System.getProperty("steemj.api.password", "").toCharArray();
@@ -156,6 +176,105 @@ public class SteemJConfig {
         }
     }
 
+    /**
+     * Create a copy of the given <code>steemJConfig</code>.
+     * 
+     * @param steemJConfig
+     *            The configuration to copy.
+     * @param immutable
+     *            Define if the setters of the copy should be disabled.
+     */
+    private SteemJConfig(SteemJConfig steemJConfig, boolean immutable) {
+        this.clientEndpointConfig = steemJConfig.clientEndpointConfig;
+        this.endpointURIs = new ArrayList<>(steemJConfig.endpointURIs);
+        this.responseTimeout = steemJConfig.responseTimeout;
+        this.idleTimeout = steemJConfig.idleTimeout;
+        this.maxConnectionsPerRoute = steemJConfig.maxConnectionsPerRoute;
+        this.retryPolicy = steemJConfig.retryPolicy;
+        this.hedgingPercentile = steemJConfig.hedgingPercentile;
+        this.dateTimePattern = steemJConfig.dateTimePattern;
+        this.maximumExpirationDateOffset = steemJConfig.maximumExpirationDateOffset;
+        this.timeZoneId = steemJConfig.timeZoneId;
+        this.apiUsername = steemJConfig.apiUsername;
+        this.apiPassword = steemJConfig.apiPassword == null ? null : steemJConfig.apiPassword.clone();
+        this.defaultAccount = steemJConfig.defaultAccount;
+        this.privateKeyStorage = steemJConfig.privateKeyStorage;
+        this.encodingCharset = steemJConfig.encodingCharset;
+        this.addressPrefix = steemJConfig.addressPrefix;
+        this.chainId = steemJConfig.chainId;
+        this.steemJWeight = steemJConfig.steemJWeight;
+        this.validationsToSkip = new ArrayList<>(steemJConfig.validationsToSkip);
+        this.synchronizationLevel = steemJConfig.synchronizationLevel;
+        this.dollarSymbol = steemJConfig.dollarSymbol;
+        this.tokenSymbol = steemJConfig.tokenSymbol;
+        this.vestsSymbol = steemJConfig.vestsSymbol;
+        this.immutable = immutable;
+
+        if (immutable) {
+            this.endpointURIs = Collections.unmodifiableList(this.endpointURIs);
+            this.validationsToSkip = Collections.unmodifiableList(this.validationsToSkip);
+        }
+    }
+
+    /**
+     * Create an immutable copy of this configuration. Changes made to this
+     * instance afterwards are not visible to the snapshot, so a SteemJ instance
+     * created with the snapshot is not affected by changes of the global
+     * configuration.
+     * 
+     * Please be aware that the {@link PrivateKeyStorage} is shared between this
+     * instance and the snapshot, so keys can still be added at runtime.
+     * 
+     * @return An immutable copy of this configuration.
+     */
+    public SteemJConfig snapshot() {
+        if (immutable) {
+            return this;
+        }
+
+        return new SteemJConfig(this, true);
+    }
+
+    /**
+     * Like {@link #snapshot()}, but the copy only contains the given
+     * endpoints. This allows to send requests to a specific endpoint, e.g. to
+     * spread a large number of requests across all configured endpoints.
+     * 
+     * @param endpointURIs
+     *            The endpoints of the copy.
+     * @return An immutable copy of this configuration using the given
+     *         endpoints.
+     */
+    public SteemJConfig snapshot(List<Pair<URI, Boolean>> endpointURIs) {
+        SteemJConfig snapshot = new SteemJConfig(this, true);
+        snapshot.endpointURIs = Collections.unmodifiableList(new ArrayList<>(endpointURIs));
+
+        return snapshot;
+    }
+
+    /**
+     * Check if this instance is an immutable snapshot created by
+     * {@link #snapshot()}.
+     * 
+     * @return <code>true</code> if the setters of this instance are disabled,
+     *         otherwise <code>false</code>.
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Make sure that this instance can be changed.
+     * 
+     * @throws UnsupportedOperationException
+     *             If this instance is an immutable snapshot.
+     */
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("This configuration is an immutable snapshot.");
+        }
+    }
+
     /**
      * Get the currently configured <code>synchronizationLevel</code>.
      * 
@@ -180,6 +299,7 @@ public class SteemJConfig {
      *            The synchronization level to set.
      */
     public void setSynchronizationLevel(SynchronizationType synchronizationLevel) {
+        checkMutable();
         this.synchronizationLevel = synchronizationLevel;
     }
 
@@ -317,6 +437,38 @@ public class SteemJConfig {
         return idleTimeout;
     }
 
+    /**
+     * Get the configured, maximum number of connections SteemJ will keep open
+     * to a single HTTP endpoint. Please be aware that this value is only used
+     * for HTTP endpoints.
+     * 
+     * @return The maximum number of pooled connections per endpoint.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Get the {@link RetryPolicy} which defines how often and how fast a
+     * request that could not be transferred is sent to the next endpoint.
+     * 
+     * @return The configured retry policy.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Get the latency percentile after which a read request is sent to a
+     * second endpoint.
+     * 
+     * @return The configured percentile or <code>0</code> if hedging is
+     *         disabled.
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
     /**
      * Get the currently configured time zone id.
      * 
@@ -363,6 +515,7 @@ public class SteemJConfig {
      *            The password to use.
      */
     public void setApiPassword(char[] apiPassword) {
+        checkMutable();
         this.apiPassword = apiPassword;
     }
 
@@ -374,6 +527,7 @@ public class SteemJConfig {
      *            The account name to use.
      */
     public void setApiUsername(AccountName apiUsername) {
+        checkMutable();
         this.apiUsername = apiUsername;
     }
 
@@ -385,6 +539,7 @@ public class SteemJConfig {
      *            The chain id to set.
      */
     public void setChainId(String chainId) {
+        checkMutable();
         this.chainId = chainId;
     }
 
@@ -395,6 +550,7 @@ public class SteemJConfig {
      *            The configuration of the client end point.
      */
     public void setClientEndpointConfig(ClientEndpointConfig clientEndpointConfig) {
+        checkMutable();
         this.clientEndpointConfig = clientEndpointConfig;
     }
 
@@ -409,6 +565,7 @@ public class SteemJConfig {
      *            "UTC").
      */
     public void setDateTime(String dateTimePattern, String timeZoneId) {
+        checkMutable();
         // Create a SimpleDateFormat instance to verify the pattern is valid.
         new SimpleDateFormat(dateTimePattern);
         this.dateTimePattern = dateTimePattern;
@@ -428,6 +585,7 @@ public class SteemJConfig {
      *            A Charset instance like StandardCharsets.UTF_8.
      */
     public void setEncodingCharset(Charset encodingCharset) {
+        checkMutable();
         this.encodingCharset = encodingCharset;
     }
 
@@ -448,6 +606,7 @@ public class SteemJConfig {
      *            The offset in milliseconds.
      */
     public void setMaximumExpirationDateOffset(long maximumExpirationDateOffset) {
+        checkMutable();
         this.maximumExpirationDateOffset = maximumExpirationDateOffset;
     }
 
@@ -459,6 +618,7 @@ public class SteemJConfig {
      *            The address prefix to set.
      */
     public void setAddressPrefix(AddressPrefixType addressPrefix) {
+        checkMutable();
         this.addressPrefix = addressPrefix;
     }
 
@@ -473,6 +633,7 @@ public class SteemJConfig {
      *             If the value of timeout is negative.
      */
     public void setResponseTimeout(int responseTimeout) {
+        checkMutable();
         if (responseTimeout < 0) {
             throw new IllegalArgumentException("The timeout has to be greater than 0. (0 will disable the timeout).");
         }
@@ -491,6 +652,7 @@ public class SteemJConfig {
      *            A list of validations SteemJ should not perform.
      */
     public void setValidationsToSkip(List<ValidationType> validationsToSkip) {
+        checkMutable();
         this.validationsToSkip = validationsToSkip;
     }
 
@@ -504,9 +666,77 @@ public class SteemJConfig {
      *            even when no activities are performed.
      */
     public void setIdleTimeout(int idleTimeout) {
+        checkMutable();
         this.idleTimeout = idleTimeout;
     }
 
+    /**
+     * Override the default, maximum number of connections SteemJ will keep
+     * open to a single HTTP endpoint. Connections are reused for subsequent
+     * requests (keep-alive) and closed after they have not been used for the
+     * configured {@link #setIdleTimeout(int) idleTimeout}.
+     * 
+     * This setting only takes effect for connection pools that are created
+     * after the value has been changed.
+     * 
+     * @param maxConnectionsPerRoute
+     *            The maximum number of pooled connections per endpoint.
+     * @throws IllegalArgumentException
+     *             If the value is not greater than 0.
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        checkMutable();
+        if (maxConnectionsPerRoute <= 0) {
+            throw new IllegalArgumentException("The maximum number of connections per route has to be greater than 0.");
+        }
+
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Override the default {@link RetryPolicy}. By default, an
+     * {@link ExponentialBackoffRetryPolicy} is used.
+     * 
+     * @param retryPolicy
+     *            The retry policy to use.
+     * @throws IllegalArgumentException
+     *             If the <code>retryPolicy</code> is null.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        checkMutable();
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("The retry policy can't be null.");
+        }
+
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Enable hedged requests: If a read request has not been answered within
+     * the given <code>hedgingPercentile</code> of the latencies measured so
+     * far (e.g. <code>95</code> for the p95 latency), the same request is sent
+     * to a second endpoint and the first answer is used. Broadcasts are never
+     * hedged.
+     * 
+     * Hedging requires at least two endpoints and is only supported for HTTP
+     * endpoints. It is disabled by default.
+     * 
+     * @param hedgingPercentile
+     *            The percentile between <code>0</code> and <code>100</code>
+     *            or <code>0</code> to disable hedging.
+     * @throws IllegalArgumentException
+     *             If the value is not between <code>0</code> and
+     *             <code>100</code>.
+     */
+    public void setHedgingPercentile(double hedgingPercentile) {
+        checkMutable();
+        if (hedgingPercentile < 0 || hedgingPercentile >= 100) {
+            throw new IllegalArgumentException("The percentile has to be between 0 and 100.");
+        }
+
+        this.hedgingPercentile = hedgingPercentile;
+    }
+
     /**
      * Override the currently configured <code>endpointURIs</code>.
      * 
@@ -514,6 +744,7 @@ public class SteemJConfig {
      *            A list of endpoints to connect to.
      */
     public void setEndpointURIs(List<Pair<URI, Boolean>> endpointURIs) {
+        checkMutable();
         this.endpointURIs = endpointURIs;
     }
 
@@ -545,6 +776,7 @@ public class SteemJConfig {
      *             If the <code>endpointURI</code> is null.
      */
     public void addEndpointURI(URI endpointURI, boolean sslVerificationDisabled) throws URISyntaxException {
+        checkMutable();
         if (endpointURI == null) {
             throw new URISyntaxException("endpointURI", "The endpointURI can't be null.");
         }
@@ -559,6 +791,7 @@ public class SteemJConfig {
      *            The account to set.
      */
     public void setDefaultAccount(AccountName defaultAccount) {
+        checkMutable();
         this.defaultAccount = defaultAccount;
     }
 
@@ -569,6 +802,7 @@ public class SteemJConfig {
      *            The beneficiary weight for SteemJ.
      */
     public void setSteemJWeight(short steemJWeight) {
+        checkMutable();
         this.steemJWeight = steemJWeight;
     }
 
@@ -601,6 +835,7 @@ public class SteemJConfig {
      *            The {@link LegacyAssetSymbolType} for dollars to set.
      */
     public void setDollarSymbol(LegacyAssetSymbolType dollarSymbol) {
+        checkMutable();
         this.dollarSymbol = dollarSymbol;
     }
 
@@ -624,6 +859,7 @@ public class SteemJConfig {
      *            The {@link LegacyAssetSymbolType} for tokens to set.
      */
     public void setTokenSymbol(LegacyAssetSymbolType tokenSymbol) {
+        checkMutable();
         this.tokenSymbol = tokenSymbol;
     }
 
@@ -645,6 +881,7 @@ public class SteemJConfig {
      *            The {@link LegacyAssetSymbolType} for VESTS to set.
      */
     public void setVestsSymbol(LegacyAssetSymbolType vestsSymbol) {
+        checkMutable();
         this.vestsSymbol = vestsSymbol;
     }
 
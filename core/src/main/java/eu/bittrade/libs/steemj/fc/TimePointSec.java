@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.fc;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.text.ParseException;
 import java.util.Date;
 
@@ -29,6 +27,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -82,7 +81,7 @@ public class TimePointSec implements ByteTransformable {
      */
     @JsonValue
     public String getDateTime() {
-        return SteemJUtils.transformDateToString(this.getDateTimeAsDate());
+        return SteemJUtils.transformTimestampToString(this.dateTime);
     }
 
     /**
@@ -144,15 +143,8 @@ public class TimePointSec implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedDateTime = new ByteArrayOutputStream()) {
-            serializedDateTime.write(SteemJUtils.transformIntToByteArray(this.getDateTimeAsInt()));
-
-            return serializedDateTime.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the model into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeInt(this.getDateTimeAsInt());
     }
 
     @Override
@@ -167,13 +159,24 @@ public class TimePointSec implements ByteTransformable {
         if (otherTimePointSec == null || !(otherTimePointSec instanceof TimePointSec))
             return false;
         TimePointSec other = (TimePointSec) otherTimePointSec;
-        return (this.getDateTime().equals(other.getDateTime()));
+        // Compare the seconds as only those are part of the String
+        // representation.
+        return this.getDateTimeAsSeconds() == other.getDateTimeAsSeconds();
     }
 
     @Override
     public int hashCode() {
         int hashCode = 1;
-        hashCode = 31 * hashCode + (this.getDateTime() == null ? 0 : this.getDateTime().hashCode());
+        hashCode = 31 * hashCode + Long.hashCode(this.getDateTimeAsSeconds());
         return hashCode;
     }
+
+    /**
+     * Get the date in seconds since the epoch.
+     * 
+     * @return The date in seconds.
+     */
+    private long getDateTimeAsSeconds() {
+        return Math.floorDiv(this.dateTime, 1000L);
+    }
 }
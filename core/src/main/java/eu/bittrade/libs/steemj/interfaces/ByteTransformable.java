@@ -17,11 +17,16 @@
 package eu.bittrade.libs.steemj.interfaces;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This interface is used to make sure each operation implements a method to get
  * its byte representation.
  * 
+ * Implementations append their bytes to a shared {@link ByteSink}, so that
+ * nested objects like account names or assets do not need to create their own
+ * byte arrays.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public interface ByteTransformable {
@@ -33,5 +38,21 @@ public interface ByteTransformable {
      *             If there was a problem while transforming the transaction
      *             into a byte array.
      */
-    byte[] toByteArray() throws SteemInvalidTransactionException;
+    default byte[] toByteArray() throws SteemInvalidTransactionException {
+        ByteSink sink = new ByteSink();
+        writeTo(sink);
+        return sink.toByteArray();
+    }
+
+    /**
+     * Append the byte representation of the operation to the given
+     * <code>sink</code>.
+     * 
+     * @param sink
+     *            The sink to write to.
+     * @throws SteemInvalidTransactionException
+     *             If there was a problem while transforming the transaction
+     *             into a byte array.
+     */
+    void writeTo(ByteSink sink) throws SteemInvalidTransactionException;
 }
@@ -27,6 +27,7 @@ import eu.bittrade.libs.steemj.plugins.apis.account.history.models.GetAccountHis
 import eu.bittrade.libs.steemj.plugins.apis.account.history.models.GetOpsInBlockArgs;
 import eu.bittrade.libs.steemj.plugins.apis.account.history.models.GetOpsInBlockReturn;
 import eu.bittrade.libs.steemj.protocol.AnnotatedSignedTransaction;
+import eu.bittrade.libs.steemj.streaming.OperationFilter;
 
 /**
  * This class implements the "account_history_api".
@@ -78,6 +79,47 @@ public class AccountHistoryApi {
         return communicationHandler.performRequest(requestObject, GetOpsInBlockReturn.class).get(0);
     }
 
+    /**
+     * Like {@link #getOpsInBlock(CommunicationHandler, GetOpsInBlockArgs)},
+     * but only the operations matching the given <code>operationFilter</code>
+     * are bound and returned. All other operations are skipped while the
+     * response is read.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param getOpsInBlockArgs
+     *            The block number and the type of operations to request.
+     * @param operationFilter
+     *            The operations to return.
+     * @return The matching operations of the block.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static GetOpsInBlockReturn getOpsInBlock(CommunicationHandler communicationHandler,
+            GetOpsInBlockArgs getOpsInBlockArgs, OperationFilter operationFilter)
+            throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.ACCOUNT_HISTORY_API,
+                RequestMethod.GET_OPS_IN_BLOCK, getOpsInBlockArgs);
+
+        return communicationHandler.<GetOpsInBlockReturn> performRequest(requestObject,
+                operationFilter.createResultReader(GetOpsInBlockReturn.class)).get(0);
+    }
+
     /**
      * Find a transaction by its <code>transactionId</code>.
      * 
@@ -60,6 +60,37 @@ public class AppliedOperation {
     private AppliedOperation() {
     }
 
+    /**
+     * Create a new applied operation for an operation which has been read
+     * from a block.
+     * 
+     * @param trxId
+     *            The id of the transaction containing the operation.
+     * @param block
+     *            The block number.
+     * @param trxInBlock
+     *            The position of the transaction in the block.
+     * @param opInTrx
+     *            The position of the operation in the transaction.
+     * @param virtualOp
+     *            The number of the virtual operation or <code>0</code> for
+     *            regular operations.
+     * @param timestamp
+     *            The time the block has been produced.
+     * @param op
+     *            The operation.
+     */
+    public AppliedOperation(TransactionId trxId, UInteger block, UInteger trxInBlock, UShort opInTrx, ULong virtualOp,
+            TimePointSec timestamp, Operation op) {
+        this.trxId = trxId;
+        this.block = block;
+        this.trxInBlock = trxInBlock;
+        this.opInTrx = opInTrx;
+        this.virtualOp = virtualOp;
+        this.timestamp = timestamp;
+        this.op = op;
+    }
+
     /**
      * Get the id of this transaction.
      * 
@@ -17,10 +17,14 @@
 package eu.bittrade.libs.steemj.plugins.apis.account.history.models;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.deserializer.FilteredAppliedOperationDeserializer;
 
 /**
  * This class implements the Steem "get_ops_in_block_return" object.
@@ -28,7 +32,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class GetOpsInBlockReturn {
-    @JsonProperty("ops")
     private List<AppliedOperation> operations;
 
     /**
@@ -40,7 +43,9 @@ public class GetOpsInBlockReturn {
 
     /**
      * Get the list of {@link AppliedOperation AppliedOperations} returned from
-     * the Steem Node.
+     * the Steem Node. If the request has been performed with an
+     * {@link eu.bittrade.libs.steemj.streaming.OperationFilter OperationFilter},
+     * the list only contains the matching operations.
      * 
      * @return A list of {@link AppliedOperation AppliedOperations}.
      */
@@ -48,6 +53,25 @@ public class GetOpsInBlockReturn {
         return operations;
     }
 
+    /**
+     * Set the list of {@link AppliedOperation AppliedOperations} returned from
+     * the Steem Node. Operations which have been skipped by an
+     * {@link eu.bittrade.libs.steemj.streaming.OperationFilter OperationFilter}
+     * are removed.
+     * 
+     * @param operations
+     *            The list of {@link AppliedOperation AppliedOperations}.
+     */
+    @JsonProperty("ops")
+    @JsonDeserialize(contentUsing = FilteredAppliedOperationDeserializer.class)
+    private void setOperations(List<AppliedOperation> operations) {
+        if (operations != null) {
+            operations.removeIf(Objects::isNull);
+        }
+
+        this.operations = operations;
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this);
@@ -0,0 +1,79 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.account.history.models.deserializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.streaming.FilteredOperationReader;
+import eu.bittrade.libs.steemj.streaming.OperationFilter;
+
+/**
+ * This deserializer checks the operation of an {@link AppliedOperation}
+ * against the {@link OperationFilter} of the current deserialization before
+ * anything is bound. Applied operations which do not match are skipped and
+ * returned as <code>null</code>. Without a filter, all applied operations are
+ * bound as usual.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class FilteredAppliedOperationDeserializer extends JsonDeserializer<AppliedOperation> {
+    /** The name of the field containing the operation. */
+    private static final String OPERATION_FIELD_NAME = "op";
+
+    @Override
+    public AppliedOperation deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        OperationFilter filter = FilteredOperationReader.getFilter(deserializationContext);
+        if (filter == null || jsonParser.getCurrentToken() != JsonToken.START_OBJECT) {
+            return deserializationContext.readValue(jsonParser, AppliedOperation.class);
+        }
+
+        TokenBuffer appliedOperation = new TokenBuffer(jsonParser, deserializationContext);
+        appliedOperation.writeStartObject();
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+
+            if (OPERATION_FIELD_NAME.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                TokenBuffer operation = FilteredOperationReader.bufferOperation(jsonParser, deserializationContext,
+                        filter);
+                if (operation == null) {
+                    FilteredOperationReader.skipRemainingFields(jsonParser);
+                    return null;
+                }
+
+                appliedOperation.writeFieldName(fieldName);
+                appliedOperation.copyCurrentStructure(operation.asParserOnFirstToken());
+            } else {
+                appliedOperation.writeFieldName(fieldName);
+                appliedOperation.copyCurrentStructure(jsonParser);
+            }
+        }
+
+        appliedOperation.writeEndObject();
+
+        return deserializationContext.readValue(appliedOperation.asParserOnFirstToken(), AppliedOperation.class);
+    }
+}
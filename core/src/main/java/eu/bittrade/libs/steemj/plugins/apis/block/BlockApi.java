@@ -16,7 +16,12 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.block;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchRequest;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchResult;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.enums.RequestMethod;
 import eu.bittrade.libs.steemj.enums.SteemApiType;
@@ -26,6 +31,9 @@ import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockArgs;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockHeaderArgs;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockHeaderReturn;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockReturn;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetFilteredBlockReturn;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetLazyBlockReturn;
+import eu.bittrade.libs.steemj.streaming.OperationFilter;
 
 /**
  * This class implements the "block_api".
@@ -109,4 +117,125 @@ public class BlockApi {
 
         return communicationHandler.performRequest(requestObject, GetBlockReturn.class).get(0);
     }
+
+    /**
+     * Like {@link #getBlock(CommunicationHandler, GetBlockArgs)}, but the
+     * transactions of the returned {@link LazyBlock} are only bound when they
+     * are accessed. This reduces the time and memory needed to process a block
+     * if only its header, its transaction ids or a few of its transactions
+     * are used.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param getBlockArgs
+     *            Height of the block to be returned.
+     * @return The referenced block.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static GetLazyBlockReturn getLazyBlock(CommunicationHandler communicationHandler,
+            GetBlockArgs getBlockArgs) throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.BLOCK_API, RequestMethod.GET_BLOCK,
+                getBlockArgs);
+
+        return communicationHandler.performRequest(requestObject, GetLazyBlockReturn.class).get(0);
+    }
+
+    /**
+     * Like {@link #getBlock(CommunicationHandler, GetBlockArgs)}, but only the
+     * operations matching the given <code>operationFilter</code> are bound.
+     * All other operations and most parts of the transactions are skipped
+     * while the response is read, so the time needed to process the block
+     * decreases with the number of matching operations.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param getBlockArgs
+     *            Height of the block to be returned.
+     * @param operationFilter
+     *            The operations to bind.
+     * @return The block containing the matching operations.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static GetFilteredBlockReturn getFilteredBlock(CommunicationHandler communicationHandler,
+            GetBlockArgs getBlockArgs, OperationFilter operationFilter)
+            throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.BLOCK_API, RequestMethod.GET_BLOCK,
+                getBlockArgs);
+
+        return communicationHandler.<GetFilteredBlockReturn> performRequest(requestObject,
+                operationFilter.createResultReader(GetFilteredBlockReturn.class)).get(0);
+    }
+
+    /**
+     * Like {@link #getBlock(CommunicationHandler, GetBlockArgs)}, but will
+     * request all blocks described by the given <code>getBlockArgs</code> using
+     * a single JSON-RPC batch.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param getBlockArgs
+     *            The heights of the blocks to be returned.
+     * @return One {@link JsonRPCBatchResult} per entry of
+     *         <code>getBlockArgs</code>, in the same order. Each result either
+     *         holds the requested block or the error returned for it.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             If the answer received from the node is no valid JSON.
+     */
+    public static List<JsonRPCBatchResult<GetBlockReturn>> getBlocks(CommunicationHandler communicationHandler,
+            List<GetBlockArgs> getBlockArgs) throws SteemCommunicationException, SteemResponseException {
+        JsonRPCBatchRequest batchRequest = new JsonRPCBatchRequest();
+        List<JsonRPCBatchResult<GetBlockReturn>> results = new ArrayList<>(getBlockArgs.size());
+
+        for (GetBlockArgs args : getBlockArgs) {
+            results.add(batchRequest.add(new JsonRPCRequest(SteemApiType.BLOCK_API, RequestMethod.GET_BLOCK, args),
+                    GetBlockReturn.class));
+        }
+
+        communicationHandler.performBatchRequest(batchRequest);
+
+        return results;
+    }
 }
@@ -43,12 +43,15 @@ public class ExtendedSignedBlock extends SignedBlock {
     private List<TransactionId> transactionIds;
 
     /**
-     * This object is only used to wrap the JSON response in a POJO, so
-     * therefore this class should not be instantiated.
+     * Create a new, empty block. Blocks are usually created from the JSON
+     * response of a Steem node, but can also be filled from their binary
+     * representation (see
+     * {@link eu.bittrade.libs.steemj.chain.TransactionDecoder#readSignedBlock(eu.bittrade.libs.steemj.util.ByteSource, eu.bittrade.libs.steemj.protocol.SignedBlock)
+     * TransactionDecoder#readSignedBlock}).
      * 
-     * Visibility set to protected as this is the parent class of {@link Block}.
+     * This is also the parent class of {@link Block}.
      */
-    protected ExtendedSignedBlock() {
+    public ExtendedSignedBlock() {
     }
 
     /**
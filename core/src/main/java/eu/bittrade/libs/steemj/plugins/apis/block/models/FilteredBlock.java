@@ -0,0 +1,63 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.block.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.deserializer.FilteredBlockDeserializer;
+
+/**
+ * A block which only contains the operations that matched the
+ * {@link eu.bittrade.libs.steemj.streaming.OperationFilter OperationFilter} of
+ * the request. Besides the operations, only the block id, the previous block
+ * id, the timestamp, the witness and the transaction ids are read, so
+ * {@link #getTransactions()} is always empty.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+@JsonDeserialize(using = FilteredBlockDeserializer.class)
+public class FilteredBlock extends ExtendedSignedBlock {
+    private final List<AppliedOperation> operations = new ArrayList<>();
+
+    /**
+     * Create a new, empty block. This object is usually created by the
+     * {@link FilteredBlockDeserializer}.
+     */
+    public FilteredBlock() {
+    }
+
+    /**
+     * Get the operations of this block which matched the filter in the order
+     * they appear in the block.
+     * 
+     * @return The matching operations.
+     */
+    public List<AppliedOperation> getOperations() {
+        return operations;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.block.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.deserializer.LazyBlockDeserializer;
+
+/**
+ * A block whose transactions are only bound when they are accessed for the
+ * first time. The block header, the block id, the signing key and the
+ * transaction ids are read immediately, while the transactions are kept in
+ * their raw JSON form until they are requested from the list returned by
+ * {@link #getTransactions()}. Reading the header or a single transaction of a
+ * large block therefore does not create the objects of all other transactions
+ * and operations.
+ * 
+ * All transactions share a single byte array, which is released once every
+ * transaction has been bound. This class is thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+@JsonDeserialize(using = LazyBlockDeserializer.class)
+public class LazyBlock extends ExtendedSignedBlock {
+    private byte[] rawTransactions = new byte[0];
+    private int[] endOffsets = new int[0];
+    private SignedTransaction[] boundTransactions = new SignedTransaction[0];
+    private int numberOfBoundTransactions;
+    private final List<SignedTransaction> lazyTransactions = new LazyTransactionList();
+
+    /**
+     * Create a new, empty block. This object is usually created by the
+     * {@link LazyBlockDeserializer}.
+     */
+    public LazyBlock() {
+    }
+
+    /**
+     * Set the transactions of this block in their raw JSON form. This method
+     * is usually called by the {@link LazyBlockDeserializer}.
+     * 
+     * @param rawTransactions
+     *            The UTF-8 encoded JSON of all transactions in the order they
+     *            appear in the block.
+     * @param endOffsets
+     *            The offset in <code>rawTransactions</code> at which each
+     *            transaction ends. Each transaction starts at the end of the
+     *            previous one.
+     */
+    public synchronized void setRawTransactions(byte[] rawTransactions, int[] endOffsets) {
+        this.rawTransactions = rawTransactions;
+        this.endOffsets = endOffsets;
+        this.boundTransactions = new SignedTransaction[endOffsets.length];
+        this.numberOfBoundTransactions = 0;
+    }
+
+    /**
+     * Get the transactions of this block. The returned list binds each
+     * transaction when it is accessed for the first time, so requesting its
+     * size or a single element does not bind the other transactions.
+     * 
+     * @return An unmodifiable list of the transactions processed in this block.
+     * @throws UncheckedIOException
+     *             If an accessed transaction could not be bound.
+     */
+    @Override
+    public List<SignedTransaction> getTransactions() {
+        return lazyTransactions;
+    }
+
+    /**
+     * Replace the transactions of this block by already bound transactions.
+     * 
+     * @param transactions
+     *            The list of transactions processed in this block.
+     */
+    @Override
+    public synchronized void setTransactions(List<SignedTransaction> transactions) {
+        this.rawTransactions = null;
+        this.endOffsets = new int[0];
+        this.boundTransactions = transactions.toArray(new SignedTransaction[0]);
+        this.numberOfBoundTransactions = boundTransactions.length;
+    }
+
+    /**
+     * Get the number of transactions which have been bound so far.
+     * 
+     * @return The number of bound transactions.
+     */
+    public synchronized int getNumberOfBoundTransactions() {
+        return numberOfBoundTransactions;
+    }
+
+    /**
+     * @return The number of transactions.
+     */
+    private synchronized int getNumberOfTransactions() {
+        return boundTransactions.length;
+    }
+
+    /**
+     * Get the transaction at the given <code>index</code> and bind it if this
+     * has not been done yet.
+     * 
+     * @param index
+     *            The position of the transaction in this block.
+     * @return The transaction.
+     * @throws UncheckedIOException
+     *             If the transaction could not be bound.
+     */
+    private synchronized SignedTransaction getTransaction(int index) {
+        if (boundTransactions[index] == null) {
+            int start = index == 0 ? 0 : endOffsets[index - 1];
+            try {
+                boundTransactions[index] = CommunicationHandler.getObjectMapper().readValue(rawTransactions, start,
+                        endOffsets[index] - start, SignedTransaction.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException("The transaction " + index + " could not be bound.", e);
+            }
+
+            numberOfBoundTransactions++;
+            if (numberOfBoundTransactions == boundTransactions.length) {
+                rawTransactions = null;
+            }
+        }
+
+        return boundTransactions[index];
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+
+    /**
+     * The list view on the transactions of this block.
+     */
+    private class LazyTransactionList extends AbstractList<SignedTransaction> {
+        @Override
+        public SignedTransaction get(int index) {
+            return getTransaction(index);
+        }
+
+        @Override
+        public int size() {
+            return getNumberOfTransactions();
+        }
+    }
+}
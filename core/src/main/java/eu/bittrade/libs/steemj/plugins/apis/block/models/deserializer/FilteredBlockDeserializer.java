@@ -0,0 +1,160 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.block.models.deserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.joou.UShort;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.FilteredBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.streaming.FilteredOperationReader;
+import eu.bittrade.libs.steemj.streaming.OperationFilter;
+
+/**
+ * This deserializer reads a block token by token and only binds the operations
+ * which match the {@link OperationFilter} of the current deserialization. All
+ * other parts of the transactions (e.g. signatures) are skipped. Without a
+ * filter, all operations are bound.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class FilteredBlockDeserializer extends JsonDeserializer<FilteredBlock> {
+    @Override
+    public FilteredBlock deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        if (jsonParser.getCurrentToken() != JsonToken.START_OBJECT) {
+            return (FilteredBlock) deserializationContext.handleUnexpectedToken(FilteredBlock.class, jsonParser);
+        }
+
+        OperationFilter filter = FilteredOperationReader.getFilter(deserializationContext);
+        FilteredBlock block = new FilteredBlock();
+        List<Operation> operations = new ArrayList<>();
+        List<int[]> positions = new ArrayList<>();
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+
+            switch (fieldName) {
+            case "previous":
+                block.setPrevious(deserializationContext.readValue(jsonParser, BlockId.class));
+                break;
+            case "timestamp":
+                block.setTimestamp(deserializationContext.readValue(jsonParser, TimePointSec.class));
+                break;
+            case "witness":
+                block.setWitness(deserializationContext.readValue(jsonParser, AccountName.class));
+                break;
+            case "block_id":
+                block.setBlockId(deserializationContext.readValue(jsonParser, BlockId.class));
+                break;
+            case "transaction_ids":
+                JavaType transactionIdsType = deserializationContext.getTypeFactory()
+                        .constructCollectionType(List.class, TransactionId.class);
+                block.setTransactionIds(deserializationContext.readValue(jsonParser, transactionIdsType));
+                break;
+            case "transactions":
+                readTransactions(jsonParser, deserializationContext, filter, operations, positions);
+                break;
+            default:
+                jsonParser.skipChildren();
+            }
+        }
+
+        long blockNumber = 0;
+        if (block.getBlockId() != null) {
+            blockNumber = Integer.toUnsignedLong(block.getBlockId().getNumberFromHash());
+        } else if (block.getPrevious() != null) {
+            blockNumber = Integer.toUnsignedLong(block.getPrevious().getNumberFromHash()) + 1;
+        }
+
+        List<TransactionId> transactionIds = block.getTransactionIds();
+        for (int i = 0; i < operations.size(); i++) {
+            int transactionIndex = positions.get(i)[0];
+            TransactionId transactionId = transactionIds != null && transactionIndex < transactionIds.size()
+                    ? transactionIds.get(transactionIndex) : null;
+            block.getOperations()
+                    .add(new AppliedOperation(transactionId, UInteger.valueOf(blockNumber),
+                            UInteger.valueOf(transactionIndex), UShort.valueOf(positions.get(i)[1]), ULong.valueOf(0),
+                            block.getTimestamp(), operations.get(i)));
+        }
+
+        return block;
+    }
+
+    /**
+     * Read the transactions array and collect the matching operations.
+     * 
+     * @param jsonParser
+     *            The parser positioned at the start of the array.
+     * @param deserializationContext
+     *            The current deserialization context.
+     * @param filter
+     *            The filter to apply or <code>null</code>.
+     * @param operations
+     *            The list to add the matching operations to.
+     * @param positions
+     *            The list to add the transaction and the operation index of
+     *            each matching operation to.
+     * @throws IOException
+     *             If the transactions could not be read.
+     */
+    private static void readTransactions(JsonParser jsonParser, DeserializationContext deserializationContext,
+            OperationFilter filter, List<Operation> operations, List<int[]> positions) throws IOException {
+        if (jsonParser.getCurrentToken() != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return;
+        }
+
+        for (int transactionIndex = 0; jsonParser.nextToken() == JsonToken.START_OBJECT; transactionIndex++) {
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = jsonParser.getCurrentName();
+                JsonToken valueToken = jsonParser.nextToken();
+
+                if (!"operations".equals(fieldName) || valueToken != JsonToken.START_ARRAY) {
+                    jsonParser.skipChildren();
+                    continue;
+                }
+
+                for (int operationIndex = 0; jsonParser.nextToken() != JsonToken.END_ARRAY; operationIndex++) {
+                    Operation operation = FilteredOperationReader.readOperation(jsonParser, deserializationContext,
+                            filter);
+                    if (operation != null) {
+                        operations.add(operation);
+                        positions.add(new int[] { transactionIndex, operationIndex });
+                    }
+                }
+            }
+        }
+    }
+}
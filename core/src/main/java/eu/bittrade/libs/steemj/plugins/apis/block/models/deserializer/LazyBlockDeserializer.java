@@ -0,0 +1,137 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.block.models.deserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.LazyBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+
+/**
+ * This deserializer binds all fields of a block except for its transactions,
+ * which are copied into a compact byte array, so that they can be bound by the
+ * {@link LazyBlock} when they are accessed.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class LazyBlockDeserializer extends JsonDeserializer<LazyBlock> {
+    @Override
+    public LazyBlock deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        if (jsonParser.getCurrentToken() != JsonToken.START_OBJECT) {
+            return (LazyBlock) deserializationContext.handleUnexpectedToken(LazyBlock.class, jsonParser);
+        }
+
+        LazyBlock block = new LazyBlock();
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+
+            switch (fieldName) {
+            case "previous":
+                block.setPrevious(deserializationContext.readValue(jsonParser, BlockId.class));
+                break;
+            case "timestamp":
+                block.setTimestamp(deserializationContext.readValue(jsonParser, TimePointSec.class));
+                break;
+            case "witness":
+                block.setWitness(deserializationContext.readValue(jsonParser, AccountName.class));
+                break;
+            case "transaction_merkle_root":
+                block.setTransactionMerkleRoot(deserializationContext.readValue(jsonParser, Checksum.class));
+                break;
+            case "extensions":
+                block.setExtensions(deserializationContext.readValue(jsonParser, deserializationContext
+                        .getTypeFactory().constructCollectionType(List.class, BlockHeaderExtensions.class)));
+                break;
+            case "witness_signature":
+                block.setWitnessSignature(jsonParser.getValueAsString());
+                break;
+            case "block_id":
+                block.setBlockId(deserializationContext.readValue(jsonParser, BlockId.class));
+                break;
+            case "signing_key":
+                block.setSigningKey(deserializationContext.readValue(jsonParser, PublicKey.class));
+                break;
+            case "transaction_ids":
+                block.setTransactionIds(deserializationContext.readValue(jsonParser, deserializationContext
+                        .getTypeFactory().constructCollectionType(List.class, TransactionId.class)));
+                break;
+            case "transactions":
+                copyTransactions(jsonParser, block);
+                break;
+            default:
+                jsonParser.skipChildren();
+            }
+        }
+
+        return block;
+    }
+
+    /**
+     * Copy the transactions array into the raw transactions of the given
+     * <code>block</code>.
+     * 
+     * @param jsonParser
+     *            The parser positioned at the start of the array.
+     * @param block
+     *            The block to store the transactions in.
+     * @throws IOException
+     *             If the transactions could not be read.
+     */
+    private static void copyTransactions(JsonParser jsonParser, LazyBlock block) throws IOException {
+        if (jsonParser.getCurrentToken() != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return;
+        }
+
+        ByteArrayBuilder rawTransactions = new ByteArrayBuilder();
+        List<Integer> endOffsets = new ArrayList<>();
+        try (JsonGenerator generator = CommunicationHandler.getObjectMapper().getFactory()
+                .createGenerator(rawTransactions).setRootValueSeparator(null)) {
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                generator.copyCurrentStructure(jsonParser);
+                generator.flush();
+                endOffsets.add(rawTransactions.size());
+            }
+        }
+
+        int[] endOffsetArray = new int[endOffsets.size()];
+        for (int i = 0; i < endOffsetArray.length; i++) {
+            endOffsetArray[i] = endOffsets.get(i);
+        }
+
+        block.setRawTransactions(rawTransactions.toByteArray(), endOffsetArray);
+    }
+}
@@ -853,6 +853,10 @@ public class DatabaseApi {
     }
 
     /**
+     * Request the HEX representation of a transaction from the node. As the
+     * HEX representation can be calculated locally, prefer
+     * {@link eu.bittrade.libs.steemj.chain.SignedTransaction#getTransactionHex()}
+     * to save the network round-trip.
      * 
      * @param communicationHandler
      * @param getTransactionHexArgs
@@ -26,7 +26,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem data type "account_name_type".
@@ -113,8 +113,8 @@ public class AccountName implements ByteTransformable, SignatureObject {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        return SteemJUtils.transformStringToVarIntByteArray(this.getName());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeString(this.getName());
     }
 
     @Override
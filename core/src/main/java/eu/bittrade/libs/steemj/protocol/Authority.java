@@ -16,12 +16,10 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -35,7 +33,7 @@ import eu.bittrade.libs.steemj.base.models.serializer.PublicKeyHashMapSerializer
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the Steem "authority" object.
@@ -138,28 +136,21 @@ public class Authority implements ByteTransformable, SignatureObject {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAuthority = new ByteArrayOutputStream()) {
-            serializedAuthority.write(SteemJUtils.transformIntToByteArray((int) this.getWeightThreshold()));
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeInt((int) this.getWeightThreshold());
 
-            serializedAuthority.write(SteemJUtils.transformLongToVarIntByteArray(this.getAccountAuths().size()));
+        sink.writeVarInt(this.getAccountAuths().size());
 
-            for (Entry<AccountName, Integer> accountAuth : this.getAccountAuths().entrySet()) {
-                serializedAuthority.write(accountAuth.getKey().toByteArray());
-                serializedAuthority.write(SteemJUtils.transformShortToByteArray(accountAuth.getValue()));
-            }
-
-            serializedAuthority.write(SteemJUtils.transformLongToVarIntByteArray(this.getKeyAuths().size()));
+        for (Entry<AccountName, Integer> accountAuth : this.getAccountAuths().entrySet()) {
+            sink.write(accountAuth.getKey());
+            sink.writeShort(accountAuth.getValue());
+        }
 
-            for (Entry<PublicKey, Integer> keyAuth : this.getKeyAuths().entrySet()) {
-                serializedAuthority.write(keyAuth.getKey().toByteArray());
-                serializedAuthority.write(SteemJUtils.transformShortToByteArray(keyAuth.getValue()));
-            }
+        sink.writeVarInt(this.getKeyAuths().size());
 
-            return serializedAuthority.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming an asset into a byte array.", e);
+        for (Entry<PublicKey, Integer> keyAuth : this.getKeyAuths().entrySet()) {
+            sink.write(keyAuth.getKey());
+            sink.writeShort(keyAuth.getValue());
         }
     }
 
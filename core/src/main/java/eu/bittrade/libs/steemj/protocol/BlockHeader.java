@@ -26,14 +26,24 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
 import eu.bittrade.libs.steemj.base.models.BlockId;
 import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.HardforkVersionVote;
+import eu.bittrade.libs.steemj.base.models.Version;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class BlockHeader implements ByteTransformable {
+    /** The type id of an empty block header extension. */
+    public static final int VOID_EXTENSION_ID = 0;
+    /** The type id of the {@link Version} block header extension. */
+    public static final int VERSION_EXTENSION_ID = 1;
+    /** The type id of the {@link HardforkVersionVote} block header extension. */
+    public static final int HARDFORK_VERSION_VOTE_EXTENSION_ID = 2;
+
     protected BlockId previous;
     protected TimePointSec timestamp;
     protected AccountName witness;
@@ -131,10 +141,27 @@ public class BlockHeader implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        // TODO Auto-generated method stub
-        // serializedRecoverAccountOperation
-        // .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-        return null;
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getPrevious());
+        sink.write(this.getTimestamp());
+        sink.write(this.getWitness());
+        sink.write(this.getTransactionMerkleRoot());
+
+        sink.writeVarInt(this.getExtensions().size());
+        for (BlockHeaderExtensions extension : this.getExtensions()) {
+            // The id of the extension type is followed by its content.
+            if (extension == null) {
+                sink.writeVarInt(VOID_EXTENSION_ID);
+            } else if (extension instanceof HardforkVersionVote) {
+                sink.writeVarInt(HARDFORK_VERSION_VOTE_EXTENSION_ID);
+                sink.write(extension);
+            } else if (extension instanceof Version) {
+                sink.writeVarInt(VERSION_EXTENSION_ID);
+                sink.write(extension);
+            } else {
+                throw new SteemInvalidTransactionException(
+                        "The block header extension " + extension.getClass().getSimpleName() + " is not supported.");
+            }
+        }
     }
 }
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.InvalidParameterException;
 
@@ -32,7 +30,7 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the <a href=
@@ -164,23 +162,15 @@ public class LegacyAsset implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAsset = new ByteArrayOutputStream()) {
-            serializedAsset.write(SteemJUtils.transformLongToByteArray(this.amount));
-            serializedAsset.write(SteemJUtils.transformByteToLittleEndian(this.precision));
-
-            serializedAsset
-                    .write(this.symbol.name().toUpperCase().getBytes(SteemJConfig.getInstance().getEncodingCharset()));
-            String filledAssetSymbol = this.symbol.name().toUpperCase();
-
-            for (int i = filledAssetSymbol.length(); i < 7; i++) {
-                serializedAsset.write(0x00);
-            }
-
-            return serializedAsset.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming an asset into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeLong(this.amount);
+        sink.writeByte(this.precision);
+
+        sink.writeBytes(this.symbol.name().toUpperCase().getBytes(SteemJConfig.getInstance().getEncodingCharset()));
+        String filledAssetSymbol = this.symbol.name().toUpperCase();
+
+        for (int i = filledAssetSymbol.length(); i < 7; i++) {
+            sink.writeByte(0x00);
         }
     }
 
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -27,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -169,16 +168,9 @@ public class Price implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedPriceObject = new ByteArrayOutputStream()) {
-            serializedPriceObject.write(this.getBase().toByteArray());
-            serializedPriceObject.write(this.getQuote().toByteArray());
-
-            return serializedPriceObject.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the object into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(this.getBase());
+        sink.write(this.getQuote());
     }
 
     @Override
@@ -25,6 +25,8 @@ import org.spongycastle.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Bytes;
 
 import eu.bittrade.crypto.core.AddressFormatException;
@@ -32,8 +34,10 @@ import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.base58.Base58;
 import eu.bittrade.libs.steemj.base.models.serializer.PublicKeySerializer;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.AddressPrefixType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the <a href=
@@ -47,9 +51,18 @@ public class PublicKey implements ByteTransformable {
     private static final Logger LOGGER = LoggerFactory.getLogger(PublicKey.class);
 
     private static final int CHECKSUM_BYTES = 4;
+    /**
+     * The number of parsed addresses to remember. Accounts and authorities
+     * usually contain the same keys again and again, so the expensive base58
+     * decoding and checksum calculation only needs to be done once per key.
+     */
+    private static final int MAXIMUM_NUMBER_OF_PARSED_KEYS = 20000;
+    private static final Cache<String, ECKey> PARSED_KEYS = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_NUMBER_OF_PARSED_KEYS).build();
 
     private ECKey publicKey;
     private String prefix;
+    private String address;
 
     /**
      * Create a new public key by providing an address as String.
@@ -74,31 +87,17 @@ public class PublicKey implements ByteTransformable {
                 this.setPublicKey(null);
             } else {
                 // We expect the first three chars to be the prefix (STM). The
-                // rest
-                // of the String contains the base58 encoded public key and its
-                // checksum.
+                // rest of the String contains the base58 encoded public key
+                // and its checksum.
                 this.prefix = address.substring(0, 3);
-                byte[] decodedAddress = Base58.decode(address.substring(3, address.length()));
-                // As sha256 is used for Bitcoin and ripemd160 for Steem, we
-                // can't
-                // use Bitcoinjs Base58.decodeChecked here and have to do all
-                // stuff
-                // on our own.
-                byte[] potentialPublicKey = Arrays.copyOfRange(decodedAddress, 0,
-                        decodedAddress.length - CHECKSUM_BYTES);
-                byte[] expectedChecksum = Arrays.copyOfRange(decodedAddress, decodedAddress.length - CHECKSUM_BYTES,
-                        decodedAddress.length);
-
-                byte[] actualChecksum = calculateChecksum(potentialPublicKey);
-
-                // And compare them.
-                for (int i = 0; i < expectedChecksum.length; i++) {
-                    if (expectedChecksum[i] != actualChecksum[i]) {
-                        throw new AddressFormatException("Checksum does not match.");
-                    }
+                ECKey parsedPublicKey = PARSED_KEYS.getIfPresent(address);
+                if (parsedPublicKey == null) {
+                    parsedPublicKey = parseAddress(address);
+                    PARSED_KEYS.put(address, parsedPublicKey);
                 }
 
-                this.setPublicKey(ECKey.fromPublicOnly(potentialPublicKey));
+                this.setPublicKey(parsedPublicKey);
+                this.address = address;
             }
         } else {
             LOGGER.warn(
@@ -107,6 +106,37 @@ public class PublicKey implements ByteTransformable {
         }
     }
 
+    /**
+     * Decode the given <code>address</code> and verify its checksum.
+     * 
+     * @param address
+     *            The address in its String representation.
+     * @return The public key.
+     * @throws AddressFormatException
+     *             If the input is not base 58 or the checksum does not
+     *             validate.
+     */
+    private static ECKey parseAddress(String address) {
+        byte[] decodedAddress = Base58.decode(address.substring(3, address.length()));
+        // As sha256 is used for Bitcoin and ripemd160 for Steem, we can't use
+        // Bitcoinjs Base58.decodeChecked here and have to do all stuff on our
+        // own.
+        byte[] potentialPublicKey = Arrays.copyOfRange(decodedAddress, 0, decodedAddress.length - CHECKSUM_BYTES);
+        byte[] expectedChecksum = Arrays.copyOfRange(decodedAddress, decodedAddress.length - CHECKSUM_BYTES,
+                decodedAddress.length);
+
+        byte[] actualChecksum = calculateChecksum(potentialPublicKey);
+
+        // And compare them.
+        for (int i = 0; i < expectedChecksum.length; i++) {
+            if (expectedChecksum[i] != actualChecksum[i]) {
+                throw new AddressFormatException("Checksum does not match.");
+            }
+        }
+
+        return ECKey.fromPublicOnly(potentialPublicKey);
+    }
+
     /**
      * Generate the actual checksum of a Steem public key.
      * 
@@ -114,7 +144,7 @@ public class PublicKey implements ByteTransformable {
      *            The public key.
      * @return The actual checksum of a Steem public key.
      */
-    private byte[] calculateChecksum(byte[] publicKey) {
+    private static byte[] calculateChecksum(byte[] publicKey) {
         RIPEMD160Digest ripemd160Digest = new RIPEMD160Digest();
         ripemd160Digest.update(publicKey, 0, publicKey.length);
         byte[] actualChecksum = new byte[ripemd160Digest.getDigestSize()];
@@ -130,8 +160,23 @@ public class PublicKey implements ByteTransformable {
      *            The public key.
      */
     public PublicKey(ECKey publicKey) {
+        this(publicKey, SteemJConfig.getInstance().getAddressPrefix());
+    }
+
+    /**
+     * Like {@link #PublicKey(ECKey)}, but uses the given
+     * <code>addressPrefix</code> instead of the one of the global
+     * {@link SteemJConfig#getInstance() configuration} when the address of
+     * the key is created.
+     * 
+     * @param publicKey
+     *            The public key.
+     * @param addressPrefix
+     *            The prefix of the address.
+     */
+    public PublicKey(ECKey publicKey, AddressPrefixType addressPrefix) {
         this.setPublicKey(publicKey);
-        this.prefix = SteemJConfig.getInstance().getAddressPrefix().toString().toUpperCase();
+        this.prefix = addressPrefix.toString().toUpperCase();
     }
 
     /**
@@ -141,14 +186,23 @@ public class PublicKey implements ByteTransformable {
      */
     @JsonIgnore
     public String getAddressFromPublicKey() {
+        String publicKeyAddress = this.address;
+        if (publicKeyAddress != null) {
+            return publicKeyAddress;
+        }
+
         try {
             // Recreate the address from the public key.
-            return this.prefix + Base58.encode(Bytes.concat(this.toByteArray(),
-                    Arrays.copyOfRange(calculateChecksum(this.toByteArray()), 0, CHECKSUM_BYTES)));
+            byte[] publicKeyAsByteArray = this.toByteArray();
+            publicKeyAddress = this.prefix + Base58.encode(Bytes.concat(publicKeyAsByteArray,
+                    Arrays.copyOfRange(calculateChecksum(publicKeyAsByteArray), 0, CHECKSUM_BYTES)));
         } catch (SteemInvalidTransactionException | NullPointerException e) {
             LOGGER.debug("An error occured while generating an address from a public key.", e);
             return "";
         }
+
+        this.address = publicKeyAddress;
+        return publicKeyAddress;
     }
 
     /**
@@ -172,11 +226,12 @@ public class PublicKey implements ByteTransformable {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
         if (this.getPublicKey().isCompressed()) {
-            return this.getPublicKey().getPubKey();
+            sink.writeBytes(this.getPublicKey().getPubKey());
         } else {
-            return ECKey.fromPublicOnly(ECKey.compressPoint(this.getPublicKey().getPubKeyPoint())).getPubKey();
+            sink.writeBytes(
+                    ECKey.fromPublicOnly(ECKey.compressPoint(this.getPublicKey().getPubKeyPoint())).getPubKey());
         }
     }
 
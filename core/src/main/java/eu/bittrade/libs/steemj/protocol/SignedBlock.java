@@ -16,6 +16,7 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -23,7 +24,9 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the Steem "signed_block" object.
@@ -51,6 +54,36 @@ public class SignedBlock extends SignedBlockHeader {
         return transactions;
     }
 
+    /**
+     * @param transactions
+     *            The list of transactions processed in this block.
+     */
+    public void setTransactions(List<SignedTransaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    /**
+     * Append the block header, followed by all transactions including their
+     * signatures, to the given <code>sink</code>. This is the binary format
+     * used by the Steem node to store blocks.
+     * 
+     * @param sink
+     *            The sink to append to.
+     * @throws SteemInvalidTransactionException
+     *             If the block contains a transaction which can not be
+     *             serialized.
+     */
+    @Override
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        super.writeTo(sink);
+
+        List<SignedTransaction> blockTransactions = getTransactions() == null ? new ArrayList<>() : getTransactions();
+        sink.writeVarInt(blockTransactions.size());
+        for (SignedTransaction transaction : blockTransactions) {
+            transaction.writeSignedTo(sink);
+        }
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this);
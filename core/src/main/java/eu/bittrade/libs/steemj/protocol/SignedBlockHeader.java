@@ -24,6 +24,7 @@ import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.crypto.core.ECKey.ECDSASignature;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class is the java implementation of the Steem "signed_block_header"
@@ -32,6 +33,9 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class SignedBlockHeader extends BlockHeader implements ByteTransformable {
+    /** The length of a compact witness signature in bytes. */
+    public static final int SIGNATURE_LENGTH = 65;
+
     @JsonProperty("witness_signature")
     protected String witnessSignature;
 
@@ -51,10 +55,15 @@ public class SignedBlockHeader extends BlockHeader implements ByteTransformable
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        super.toByteArray();
-        // TODO Auto-generated method stub
-        return null;
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        super.writeTo(sink);
+
+        byte[] signature = CryptoUtils.HEX.decode(witnessSignature);
+        if (signature.length != SIGNATURE_LENGTH) {
+            throw new SteemInvalidTransactionException(
+                    "The witness signature has " + signature.length + " instead of " + SIGNATURE_LENGTH + " bytes.");
+        }
+        sink.writeBytes(signature);
     }
 
     @Override
@@ -39,4 +39,14 @@ public class TransactionId extends Ripemd160 implements Serializable {
     public TransactionId(String hashValue) {
         super(hashValue);
     }
+
+    /**
+     * Create a new wrapper for the given ripemd160 hash.
+     * 
+     * @param hashValue
+     *            The hash to wrap in its decoded byte representation.
+     */
+    public TransactionId(byte[] hashValue) {
+        super(hashValue);
+    }
 }
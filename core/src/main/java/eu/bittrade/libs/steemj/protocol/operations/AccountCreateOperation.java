@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -31,7 +29,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "account_create_operation" object.
@@ -89,25 +87,16 @@ public class AccountCreateOperation extends AbstractAccountCreateOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAccountCreateOperation = new ByteArrayOutputStream()) {
-            serializedAccountCreateOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ACCOUNT_CREATE_OPERATION.getOrderId()));
-            serializedAccountCreateOperation.write(this.getFee().toByteArray());
-            serializedAccountCreateOperation.write(this.getCreator().toByteArray());
-            serializedAccountCreateOperation.write(this.getNewAccountName().toByteArray());
-            serializedAccountCreateOperation.write(this.getOwner().toByteArray());
-            serializedAccountCreateOperation.write(this.getActive().toByteArray());
-            serializedAccountCreateOperation.write(this.getPosting().toByteArray());
-            serializedAccountCreateOperation.write(this.getMemoKey().toByteArray());
-            serializedAccountCreateOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMetadata()));
-
-            return serializedAccountCreateOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ACCOUNT_CREATE_OPERATION.getOrderId());
+        sink.write(this.getFee());
+        sink.write(this.getCreator());
+        sink.write(this.getNewAccountName());
+        sink.write(this.getOwner());
+        sink.write(this.getActive());
+        sink.write(this.getPosting());
+        sink.write(this.getMemoKey());
+        sink.writeString(this.getJsonMetadata());
     }
 
     @Override
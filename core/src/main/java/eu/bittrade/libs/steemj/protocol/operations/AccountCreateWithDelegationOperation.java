@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +34,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -160,31 +159,21 @@ public class AccountCreateWithDelegationOperation extends AbstractAccountCreateO
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAccountCreateWithDelegationOperation = new ByteArrayOutputStream()) {
-            serializedAccountCreateWithDelegationOperation.write(SteemJUtils.transformIntToVarIntByteArray(
-                    OperationType.ACCOUNT_CREATE_WITH_DELEGATION_OPERATION.getOrderId()));
-            serializedAccountCreateWithDelegationOperation.write(this.getFee().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getDelegation().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getCreator().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getNewAccountName().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getOwner().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getActive().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getPosting().toByteArray());
-            serializedAccountCreateWithDelegationOperation.write(this.getMemoKey().toByteArray());
-            serializedAccountCreateWithDelegationOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMetadata()));
-
-            serializedAccountCreateWithDelegationOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedAccountCreateWithDelegationOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedAccountCreateWithDelegationOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ACCOUNT_CREATE_WITH_DELEGATION_OPERATION.getOrderId());
+        sink.write(this.getFee());
+        sink.write(this.getDelegation());
+        sink.write(this.getCreator());
+        sink.write(this.getNewAccountName());
+        sink.write(this.getOwner());
+        sink.write(this.getActive());
+        sink.write(this.getPosting());
+        sink.write(this.getMemoKey());
+        sink.writeString(this.getJsonMetadata());
+
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
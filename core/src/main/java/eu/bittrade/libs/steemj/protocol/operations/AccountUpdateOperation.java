@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.Map;
 
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -198,30 +197,21 @@ public class AccountUpdateOperation extends AbstractAccountOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAccountUpdateOperation = new ByteArrayOutputStream()) {
-            serializedAccountUpdateOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ACCOUNT_UPDATE_OPERATION.getOrderId()));
-            serializedAccountUpdateOperation.write(this.getAccount().toByteArray());
-
-            // Handle optional values.
-            if (this.getOwner() != null) {
-                serializedAccountUpdateOperation.write(this.getOwner().toByteArray());
-            } else if (this.getActive() != null) {
-                serializedAccountUpdateOperation.write(this.getActive().toByteArray());
-            } else if (this.getPosting() != null) {
-                serializedAccountUpdateOperation.write(this.getPosting().toByteArray());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ACCOUNT_UPDATE_OPERATION.getOrderId());
+        sink.write(this.getAccount());
+
+        // The authorities are optional, so each of them is prefixed by a flag
+        // indicating if it is present.
+        for (Authority authority : new Authority[] { this.getOwner(), this.getActive(), this.getPosting() }) {
+            sink.writeBoolean(authority != null);
+            if (authority != null) {
+                sink.write(authority);
             }
-
-            serializedAccountUpdateOperation.write(this.getMemoKey().toByteArray());
-            serializedAccountUpdateOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMetadata()));
-
-            return serializedAccountUpdateOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
         }
+
+        sink.write(this.getMemoKey());
+        sink.writeString(this.getJsonMetadata());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +30,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -119,18 +118,10 @@ public class AccountWitnessProxyOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedAccountWitnessProxyOperation = new ByteArrayOutputStream()) {
-            serializedAccountWitnessProxyOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.ACCOUNT_WITNESS_PROXY_OPERATION.getOrderId()));
-            serializedAccountWitnessProxyOperation.write(this.getAccount().toByteArray());
-            serializedAccountWitnessProxyOperation.write(this.getProxy().toByteArray());
-
-            return serializedAccountWitnessProxyOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ACCOUNT_WITNESS_PROXY_OPERATION.getOrderId());
+        sink.write(this.getAccount());
+        sink.write(this.getProxy());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -140,19 +139,10 @@ public class CancelTransferFromSavingsOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCancelTransferFromSavingsOperation = new ByteArrayOutputStream()) {
-            serializedCancelTransferFromSavingsOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.CANCEL_TRANSFER_FROM_SAVINGS_OPERATION.getOrderId()));
-            serializedCancelTransferFromSavingsOperation.write(this.getFrom().toByteArray());
-            serializedCancelTransferFromSavingsOperation
-                    .write(SteemJUtils.transformIntToByteArray(this.getRequestId()));
-
-            return serializedCancelTransferFromSavingsOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CANCEL_TRANSFER_FROM_SAVINGS_OPERATION.getOrderId());
+        sink.write(this.getFrom());
+        sink.writeInt(this.getRequestId());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +30,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -155,20 +154,11 @@ public class ChallengeAuthorityOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedChallengeAuthorityOperation = new ByteArrayOutputStream()) {
-            serializedChallengeAuthorityOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.CHALLENGE_AUTHORITY_OPERATION.getOrderId()));
-            serializedChallengeAuthorityOperation.write(this.getChallenger().toByteArray());
-            serializedChallengeAuthorityOperation.write(this.getChallenged().toByteArray());
-            serializedChallengeAuthorityOperation
-                    .write(SteemJUtils.transformBooleanToByteArray(this.getRequireOwner()));
-
-            return serializedChallengeAuthorityOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CHALLENGE_AUTHORITY_OPERATION.getOrderId());
+        sink.write(this.getChallenger());
+        sink.write(this.getChallenged());
+        sink.writeBoolean(this.getRequireOwner());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -183,23 +182,14 @@ public class ChangeRecoveryAccountOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedChangeRecoveryAccountOperation = new ByteArrayOutputStream()) {
-            serializedChangeRecoveryAccountOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.CHANGE_RECOVERY_ACCOUNT_OPERATION.getOrderId()));
-            serializedChangeRecoveryAccountOperation.write(this.getAccountToRecover().toByteArray());
-            serializedChangeRecoveryAccountOperation.write(this.getNewRecoveryAccount().toByteArray());
-
-            serializedChangeRecoveryAccountOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedChangeRecoveryAccountOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedChangeRecoveryAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CHANGE_RECOVERY_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getAccountToRecover());
+        sink.write(this.getNewRecoveryAccount());
+
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
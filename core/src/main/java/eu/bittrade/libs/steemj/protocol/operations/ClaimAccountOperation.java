@@ -1,7 +1,5 @@
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -20,7 +18,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "claim_account_operation" object.
@@ -136,23 +134,14 @@ public class ClaimAccountOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedClaimAccountOperation = new ByteArrayOutputStream()) {
-            serializedClaimAccountOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.CLAIM_ACCOUNT_OPERATION.getOrderId()));
-            serializedClaimAccountOperation.write(this.getCreator().toByteArray());
-            serializedClaimAccountOperation.write(this.getFee().toByteArray());
-
-            serializedClaimAccountOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedClaimAccountOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedClaimAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CLAIM_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getCreator());
+        sink.write(this.getFee());
+
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -198,20 +197,12 @@ public class ClaimRewardBalanceOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedClaimRewardOperation = new ByteArrayOutputStream()) {
-            serializedClaimRewardOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.CLAIM_REWARD_BALANCE_OPERATION.getOrderId()));
-            serializedClaimRewardOperation.write(this.getAccount().toByteArray());
-            serializedClaimRewardOperation.write(this.getRewardSteem().toByteArray());
-            serializedClaimRewardOperation.write(this.getRewardSbd().toByteArray());
-            serializedClaimRewardOperation.write(this.getRewardVests().toByteArray());
-
-            return serializedClaimRewardOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CLAIM_REWARD_BALANCE_OPERATION.getOrderId());
+        sink.write(this.getAccount());
+        sink.write(this.getRewardSteem());
+        sink.write(this.getRewardSbd());
+        sink.write(this.getRewardVests());
     }
 
     @Override
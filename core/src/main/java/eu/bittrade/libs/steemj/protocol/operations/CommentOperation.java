@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +32,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -337,23 +336,15 @@ public class CommentOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCommentOperation = new ByteArrayOutputStream()) {
-            serializedCommentOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(OperationType.COMMENT_OPERATION.getOrderId()));
-            serializedCommentOperation.write(this.getParentAuthor().toByteArray());
-            serializedCommentOperation.write(this.getParentPermlink().toByteArray());
-            serializedCommentOperation.write(this.getAuthor().toByteArray());
-            serializedCommentOperation.write(this.getPermlink().toByteArray());
-            serializedCommentOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getTitle()));
-            serializedCommentOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getBody()));
-            serializedCommentOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMetadata()));
-
-            return serializedCommentOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.COMMENT_OPERATION.getOrderId());
+        sink.write(this.getParentAuthor());
+        sink.write(this.getParentPermlink());
+        sink.write(this.getAuthor());
+        sink.write(this.getPermlink());
+        sink.writeString(this.getTitle());
+        sink.writeString(this.getBody());
+        sink.writeString(this.getJsonMetadata());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +36,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -357,30 +356,19 @@ public class CommentOptionsOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCommentOptionsOperation = new ByteArrayOutputStream()) {
-            serializedCommentOptionsOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.COMMENT_OPTIONS_OPERATION.getOrderId()));
-            serializedCommentOptionsOperation.write(this.getAuthor().toByteArray());
-            serializedCommentOptionsOperation.write(this.getPermlink().toByteArray());
-            serializedCommentOptionsOperation.write(this.getMaxAcceptedPayout().toByteArray());
-            serializedCommentOptionsOperation
-                    .write(SteemJUtils.transformShortToByteArray(this.getPercentSteemDollars()));
-            serializedCommentOptionsOperation.write(SteemJUtils.transformBooleanToByteArray(this.getAllowVotes()));
-            serializedCommentOptionsOperation
-                    .write(SteemJUtils.transformBooleanToByteArray(this.getAllowCurationRewards()));
-
-            serializedCommentOptionsOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getExtensions().size()));
-
-            for (CommentOptionsExtension commentOptionsExtension : this.getExtensions()) {
-                serializedCommentOptionsOperation.write(commentOptionsExtension.toByteArray());
-            }
-
-            return serializedCommentOptionsOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.COMMENT_OPTIONS_OPERATION.getOrderId());
+        sink.write(this.getAuthor());
+        sink.write(this.getPermlink());
+        sink.write(this.getMaxAcceptedPayout());
+        sink.writeShort(this.getPercentSteemDollars());
+        sink.writeBoolean(this.getAllowVotes());
+        sink.writeBoolean(this.getAllowCurationRewards());
+
+        sink.writeVarInt(this.getExtensions().size());
+
+        for (CommentOptionsExtension commentOptionsExtension : this.getExtensions()) {
+            sink.write(commentOptionsExtension);
         }
     }
 
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -158,19 +157,11 @@ public class ConvertOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedConvertOperation = new ByteArrayOutputStream()) {
-            serializedConvertOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(OperationType.CONVERT_OPERATION.getOrderId()));
-            serializedConvertOperation.write(this.getOwner().toByteArray());
-            serializedConvertOperation.write(SteemJUtils.transformIntToByteArray((int) this.getRequestId()));
-            serializedConvertOperation.write(this.getAmount().toByteArray());
-
-            return serializedConvertOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CONVERT_OPERATION.getOrderId());
+        sink.write(this.getOwner());
+        sink.writeInt((int) this.getRequestId());
+        sink.write(this.getAmount());
     }
 
     @Override
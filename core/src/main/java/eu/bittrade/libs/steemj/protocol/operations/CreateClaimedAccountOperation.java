@@ -1,7 +1,5 @@
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -13,7 +11,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "create_claimed_account_operation" object.
@@ -64,24 +62,15 @@ public class CreateClaimedAccountOperation extends AccountCreateOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCreateClaimedAccountOperation = new ByteArrayOutputStream()) {
-            serializedCreateClaimedAccountOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.CREATE_CLAIMED_ACCOUNT_OPERATION.getOrderId()));
-            serializedCreateClaimedAccountOperation.write(this.getFee().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getCreator().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getNewAccountName().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getOwner().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getActive().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getPosting().toByteArray());
-            serializedCreateClaimedAccountOperation.write(this.getMemoKey().toByteArray());
-            serializedCreateClaimedAccountOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMetadata()));
-
-            return serializedCreateClaimedAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CREATE_CLAIMED_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getFee());
+        sink.write(this.getCreator());
+        sink.write(this.getNewAccountName());
+        sink.write(this.getOwner());
+        sink.write(this.getActive());
+        sink.write(this.getPosting());
+        sink.write(this.getMemoKey());
+        sink.writeString(this.getJsonMetadata());
     }
 }
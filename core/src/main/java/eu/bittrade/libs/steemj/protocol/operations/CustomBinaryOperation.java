@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -242,50 +241,38 @@ public class CustomBinaryOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCustomBinaryOperation = new ByteArrayOutputStream()) {
-            serializedCustomBinaryOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.CUSTOM_BINARY_OPERATION.getOrderId()));
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CUSTOM_BINARY_OPERATION.getOrderId());
 
-            serializedCustomBinaryOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredOwnerAuths().size()));
+        sink.writeVarInt(this.getRequiredOwnerAuths().size());
 
-            for (AccountName accountName : this.getRequiredOwnerAuths()) {
-                serializedCustomBinaryOperation.write(accountName.toByteArray());
-            }
+        for (AccountName accountName : this.getRequiredOwnerAuths()) {
+            sink.write(accountName);
+        }
 
-            serializedCustomBinaryOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredActiveAuths().size()));
+        sink.writeVarInt(this.getRequiredActiveAuths().size());
 
-            for (AccountName accountName : this.getRequiredActiveAuths()) {
-                serializedCustomBinaryOperation.write(accountName.toByteArray());
-            }
-
-            serializedCustomBinaryOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredPostingAuths().size()));
+        for (AccountName accountName : this.getRequiredActiveAuths()) {
+            sink.write(accountName);
+        }
 
-            for (AccountName accountName : this.getRequiredPostingAuths()) {
-                serializedCustomBinaryOperation.write(accountName.toByteArray());
-            }
+        sink.writeVarInt(this.getRequiredPostingAuths().size());
 
-            serializedCustomBinaryOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredAuths().size()));
+        for (AccountName accountName : this.getRequiredPostingAuths()) {
+            sink.write(accountName);
+        }
 
-            for (Authority authority : this.getRequiredAuths()) {
-                serializedCustomBinaryOperation.write(authority.toByteArray());
-            }
+        sink.writeVarInt(this.getRequiredAuths().size());
 
-            serializedCustomBinaryOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getId()));
+        for (Authority authority : this.getRequiredAuths()) {
+            sink.write(authority);
+        }
 
-            byte[] decodedData = CryptoUtils.HEX.decode(this.getData());
-            serializedCustomBinaryOperation.write(SteemJUtils.transformIntToVarIntByteArray(decodedData.length));
-            serializedCustomBinaryOperation.write(decodedData);
+        sink.writeString(this.getId());
 
-            return serializedCustomBinaryOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+        byte[] decodedData = CryptoUtils.HEX.decode(this.getData());
+        sink.writeVarInt(decodedData.length);
+        sink.writeBytes(decodedData);
     }
 
     @Override
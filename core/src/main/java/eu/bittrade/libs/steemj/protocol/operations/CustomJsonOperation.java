@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,6 +32,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -185,33 +184,23 @@ public class CustomJsonOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCustomJsonOperation = new ByteArrayOutputStream()) {
-            serializedCustomJsonOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(OperationType.CUSTOM_JSON_OPERATION.getOrderId()));
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CUSTOM_JSON_OPERATION.getOrderId());
 
-            serializedCustomJsonOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredAuths().size()));
+        sink.writeVarInt(this.getRequiredAuths().size());
 
-            for (AccountName accountName : this.getRequiredAuths()) {
-                serializedCustomJsonOperation.write(accountName.toByteArray());
-            }
-
-            serializedCustomJsonOperation
-                    .write(SteemJUtils.transformLongToVarIntByteArray(this.getRequiredPostingAuths().size()));
-
-            for (AccountName accountName : this.getRequiredPostingAuths()) {
-                serializedCustomJsonOperation.write(accountName.toByteArray());
-            }
+        for (AccountName accountName : this.getRequiredAuths()) {
+            sink.write(accountName);
+        }
 
-            serializedCustomJsonOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getId()));
-            serializedCustomJsonOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getJson()));
+        sink.writeVarInt(this.getRequiredPostingAuths().size());
 
-            return serializedCustomJsonOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+        for (AccountName accountName : this.getRequiredPostingAuths()) {
+            sink.write(accountName);
         }
+
+        sink.writeString(this.getId());
+        sink.writeString(this.getJson());
     }
 
     @Override
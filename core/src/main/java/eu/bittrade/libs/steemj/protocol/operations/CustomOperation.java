@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -154,28 +153,20 @@ public class CustomOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedCustomOperation = new ByteArrayOutputStream()) {
-            serializedCustomOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(OperationType.CUSTOM_OPERATION.getOrderId()));
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.CUSTOM_OPERATION.getOrderId());
 
-            serializedCustomOperation.write(SteemJUtils.transformIntToVarIntByteArray(this.getRequiredAuths().size()));
+        sink.writeVarInt(this.getRequiredAuths().size());
 
-            for (AccountName accountName : this.getRequiredAuths()) {
-                serializedCustomOperation.write(accountName.toByteArray());
-            }
-
-            serializedCustomOperation.write(SteemJUtils.transformShortToByteArray(this.getId().shortValue()));
+        for (AccountName accountName : this.getRequiredAuths()) {
+            sink.write(accountName);
+        }
 
-            byte[] decodedData = CryptoUtils.HEX.decode(this.getData());
-            serializedCustomOperation.write(SteemJUtils.transformIntToVarIntByteArray(decodedData.length));
-            serializedCustomOperation.write(decodedData);
+        sink.writeShort(this.getId().shortValue());
 
-            return serializedCustomOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+        byte[] decodedData = CryptoUtils.HEX.decode(this.getData());
+        sink.writeVarInt(decodedData.length);
+        sink.writeBytes(decodedData);
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -154,19 +153,11 @@ public class DelegateVestingSharesOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedDelegateVestingSharesOperation = new ByteArrayOutputStream()) {
-            serializedDelegateVestingSharesOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.DELEGATE_VESTING_SHARES_OPERATION.getOrderId()));
-            serializedDelegateVestingSharesOperation.write(this.getDelegator().toByteArray());
-            serializedDelegateVestingSharesOperation.write(this.getDelegatee().toByteArray());
-            serializedDelegateVestingSharesOperation.write(this.getVestingShares().toByteArray());
-
-            return serializedDelegateVestingSharesOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.DELEGATE_VESTING_SHARES_OPERATION.getOrderId());
+        sink.write(this.getDelegator());
+        sink.write(this.getDelegatee());
+        sink.write(this.getVestingShares());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +32,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -115,18 +114,10 @@ public class DeleteCommentOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedDeleteCommentOperation = new ByteArrayOutputStream()) {
-            serializedDeleteCommentOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.DELETE_COMMENT_OPERATION.getOrderId()));
-            serializedDeleteCommentOperation.write(this.getAuthor().toByteArray());
-            serializedDeleteCommentOperation.write(this.getPermlink().toByteArray());
-
-            return serializedDeleteCommentOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.DELETE_COMMENT_OPERATION.getOrderId());
+        sink.write(this.getAuthor());
+        sink.write(this.getPermlink());
     }
 
     @Override
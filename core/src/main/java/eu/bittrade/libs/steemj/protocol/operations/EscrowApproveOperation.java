@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -185,22 +184,14 @@ public class EscrowApproveOperation extends AbstractEscrowOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedEscrowApproveOperation = new ByteArrayOutputStream()) {
-            serializedEscrowApproveOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ESCROW_APPROVE_OPERATION.getOrderId()));
-            serializedEscrowApproveOperation.write(this.getFrom().toByteArray());
-            serializedEscrowApproveOperation.write(this.getTo().toByteArray());
-            serializedEscrowApproveOperation.write(this.getAgent().toByteArray());
-            serializedEscrowApproveOperation.write(this.getWho().toByteArray());
-            serializedEscrowApproveOperation.write(SteemJUtils.transformIntToByteArray(this.getEscrowId()));
-            serializedEscrowApproveOperation.write(SteemJUtils.transformBooleanToByteArray(this.getApprove()));
-
-            return serializedEscrowApproveOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ESCROW_APPROVE_OPERATION.getOrderId());
+        sink.write(this.getFrom());
+        sink.write(this.getTo());
+        sink.write(this.getAgent());
+        sink.write(this.getWho());
+        sink.writeInt(this.getEscrowId());
+        sink.writeBoolean(this.getApprove());
     }
 
     @Override
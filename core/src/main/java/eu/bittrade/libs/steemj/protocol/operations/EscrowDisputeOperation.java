@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -129,21 +128,13 @@ public class EscrowDisputeOperation extends AbstractEscrowOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedEscrowDisputeOperation = new ByteArrayOutputStream()) {
-            serializedEscrowDisputeOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ESCROW_DISPUTE_OPERATION.getOrderId()));
-            serializedEscrowDisputeOperation.write(this.getFrom().toByteArray());
-            serializedEscrowDisputeOperation.write(this.getTo().toByteArray());
-            serializedEscrowDisputeOperation.write(this.getAgent().toByteArray());
-            serializedEscrowDisputeOperation.write(this.getWho().toByteArray());
-            serializedEscrowDisputeOperation.write(SteemJUtils.transformIntToByteArray(this.getEscrowId()));
-
-            return serializedEscrowDisputeOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ESCROW_DISPUTE_OPERATION.getOrderId());
+        sink.write(this.getFrom());
+        sink.write(this.getTo());
+        sink.write(this.getAgent());
+        sink.write(this.getWho());
+        sink.writeInt(this.getEscrowId());
     }
 
     @Override
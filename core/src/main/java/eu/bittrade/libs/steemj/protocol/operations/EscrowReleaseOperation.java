@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -269,24 +268,16 @@ public class EscrowReleaseOperation extends AbstractEscrowOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedEscrowReleaseOperation = new ByteArrayOutputStream()) {
-            serializedEscrowReleaseOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ESCROW_RELEASE_OPERATION.getOrderId()));
-            serializedEscrowReleaseOperation.write(this.getFrom().toByteArray());
-            serializedEscrowReleaseOperation.write(this.getTo().toByteArray());
-            serializedEscrowReleaseOperation.write(this.getAgent().toByteArray());
-            serializedEscrowReleaseOperation.write(this.getWho().toByteArray());
-            serializedEscrowReleaseOperation.write(this.getReceiver().toByteArray());
-            serializedEscrowReleaseOperation.write(SteemJUtils.transformIntToByteArray(this.getEscrowId()));
-            serializedEscrowReleaseOperation.write(this.getSbdAmount().toByteArray());
-            serializedEscrowReleaseOperation.write(this.getSteemAmount().toByteArray());
-
-            return serializedEscrowReleaseOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ESCROW_RELEASE_OPERATION.getOrderId());
+        sink.write(this.getFrom());
+        sink.write(this.getTo());
+        sink.write(this.getAgent());
+        sink.write(this.getWho());
+        sink.write(this.getReceiver());
+        sink.writeInt(this.getEscrowId());
+        sink.write(this.getSbdAmount());
+        sink.write(this.getSteemAmount());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -391,26 +390,18 @@ public class EscrowTransferOperation extends AbstractEscrowOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedEscrowTransferOperation = new ByteArrayOutputStream()) {
-            serializedEscrowTransferOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.ESCROW_TRANSFER_OPERATION.getOrderId()));
-            serializedEscrowTransferOperation.write(this.getFrom().toByteArray());
-            serializedEscrowTransferOperation.write(this.getTo().toByteArray());
-            serializedEscrowTransferOperation.write(this.getAgent().toByteArray());
-            serializedEscrowTransferOperation.write(SteemJUtils.transformIntToByteArray(this.getEscrowId()));
-            serializedEscrowTransferOperation.write(this.getSbdAmount().toByteArray());
-            serializedEscrowTransferOperation.write(this.getSteemAmount().toByteArray());
-            serializedEscrowTransferOperation.write(this.getFee().toByteArray());
-            serializedEscrowTransferOperation.write(this.getRatificationDeadlineDate().toByteArray());
-            serializedEscrowTransferOperation.write(this.getEscrowExpirationDate().toByteArray());
-            serializedEscrowTransferOperation.write(SteemJUtils.transformStringToVarIntByteArray(this.getJsonMeta()));
-
-            return serializedEscrowTransferOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.ESCROW_TRANSFER_OPERATION.getOrderId());
+        sink.write(this.getFrom());
+        sink.write(this.getTo());
+        sink.write(this.getAgent());
+        sink.writeInt(this.getEscrowId());
+        sink.write(this.getSbdAmount());
+        sink.write(this.getSteemAmount());
+        sink.write(this.getFee());
+        sink.write(this.getRatificationDeadlineDate());
+        sink.write(this.getEscrowExpirationDate());
+        sink.writeString(this.getJsonMeta());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -117,18 +116,10 @@ public class FeedPublishOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedFeedPublishOperation = new ByteArrayOutputStream()) {
-            serializedFeedPublishOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.FEED_PUBLISH_OPERATION.getOrderId()));
-            serializedFeedPublishOperation.write(this.getPublisher().toByteArray());
-            serializedFeedPublishOperation.write(this.getExchangeRate().toByteArray());
-
-            return serializedFeedPublishOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.FEED_PUBLISH_OPERATION.getOrderId());
+        sink.write(this.getPublisher());
+        sink.write(this.getExchangeRate());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -284,23 +283,14 @@ public class LimitOrderCreate2Operation extends AbstractLimitOrderOperation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedLimitOrderCreate2Operation = new ByteArrayOutputStream()) {
-            serializedLimitOrderCreate2Operation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.LIMIT_ORDER_CREATE2_OPERATION.getOrderId()));
-            serializedLimitOrderCreate2Operation.write(this.getOwner().toByteArray());
-            serializedLimitOrderCreate2Operation
-                    .write(SteemJUtils.transformIntToByteArray(this.getOrderId().intValue()));
-            serializedLimitOrderCreate2Operation.write(this.getAmountToSell().toByteArray());
-            serializedLimitOrderCreate2Operation.write(this.getExchangeRate().toByteArray());
-            serializedLimitOrderCreate2Operation.write(SteemJUtils.transformBooleanToByteArray(this.getFillOrKill()));
-            serializedLimitOrderCreate2Operation.write(this.getExpirationDate().toByteArray());
-
-            return serializedLimitOrderCreate2Operation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.LIMIT_ORDER_CREATE2_OPERATION.getOrderId());
+        sink.write(this.getOwner());
+        sink.writeInt(this.getOrderId().intValue());
+        sink.write(this.getAmountToSell());
+        sink.write(this.getExchangeRate());
+        sink.writeBoolean(this.getFillOrKill());
+        sink.write(this.getExpirationDate());
     }
 
     @Override
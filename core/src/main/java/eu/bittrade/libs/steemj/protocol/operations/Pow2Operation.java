@@ -16,18 +16,32 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
+import java.io.IOException;
+import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import eu.bittrade.libs.steemj.base.models.ChainProperties;
+import eu.bittrade.libs.steemj.base.models.Pow2Work;
+import eu.bittrade.libs.steemj.base.models.deserializer.Pow2WorkDeserializer;
+import eu.bittrade.libs.steemj.base.models.serializer.Pow2WorkSerializer;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "pow2_operation" object.
@@ -35,13 +49,12 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class Pow2Operation extends Operation {
-    // TODO: Fix type of work
-    // pow2_work --> typedef fc::static_variant< pow2, equihash_pow > pow2_work;
     @JsonProperty("work")
-    private Object[] work;
-    // TODO: Fix type --> optional< public_key_type > new_owner_key;
+    @JsonSerialize(using = Pow2WorkSerializer.class)
+    @JsonDeserialize(using = Pow2WorkDeserializer.class)
+    private Pow2Work work;
     @JsonProperty("new_owner_key")
-    private String newOwnerKey;
+    private PublicKey newOwnerKey;
     @JsonProperty("props")
     private ChainProperties properties;
 
@@ -55,7 +68,8 @@ public class Pow2Operation extends Operation {
     /**
      * @return the work
      */
-    public Object[] getWork() {
+    @JsonIgnore
+    public Pow2Work getPow2Work() {
         return work;
     }
 
@@ -63,25 +77,102 @@ public class Pow2Operation extends Operation {
      * @param work
      *            the work to set
      */
-    public void setWork(Object[] work) {
+    public void setPow2Work(Pow2Work work) {
         this.work = work;
     }
 
     /**
-     * @return the newOwnerKey
+     * @return the newOwnerKey or null if the owner key is not changed
      */
-    public String getNewOwnerKey() {
+    @JsonIgnore
+    public PublicKey getNewOwnerPublicKey() {
         return newOwnerKey;
     }
 
     /**
      * @param newOwnerKey
-     *            the newOwnerKey to set
+     *            the newOwnerKey to set or null if the owner key should not be
+     *            changed
      */
-    public void setNewOwnerKey(String newOwnerKey) {
+    public void setNewOwnerPublicKey(PublicKey newOwnerKey) {
         this.newOwnerKey = newOwnerKey;
     }
 
+    /**
+     * @return the work as an array of its type id and the {@link Pow2Work}
+     * @deprecated The work is no longer stored as an untyped array. Use
+     *             {@link #getPow2Work()} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    public Object[] getWork() {
+        if (work == null) {
+            return null;
+        }
+
+        return new Object[] { work.getTypeId(), work };
+    }
+
+    /**
+     * @param work
+     *            the work to set as an array of its type id and either the
+     *            {@link Pow2Work} or its fields as they are returned by a Steem
+     *            node
+     * @throws InvalidParameterException
+     *             If the <code>work</code> does not have this structure.
+     * @deprecated The work is no longer stored as an untyped array. Use
+     *             {@link #setPow2Work(Pow2Work)} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    public void setWork(Object[] work) {
+        if (work == null) {
+            this.work = null;
+        } else if (work.length == 2 && work[1] instanceof Pow2Work) {
+            this.work = (Pow2Work) work[1];
+        } else {
+            ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+            try {
+                this.work = new Pow2WorkDeserializer()
+                        .deserialize(mapper.treeAsTokens(mapper.convertValue(work, JsonNode.class)), null);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new InvalidParameterException("The work could not be converted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the newOwnerKey as an address or null if the owner key is not
+     *         changed
+     * @deprecated The key is no longer stored as a String. Use
+     *             {@link #getNewOwnerPublicKey()} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    public String getNewOwnerKey() {
+        if (newOwnerKey == null) {
+            return null;
+        }
+
+        return newOwnerKey.getAddressFromPublicKey();
+    }
+
+    /**
+     * @param newOwnerKey
+     *            the newOwnerKey to set as an address
+     * @deprecated The key is no longer stored as a String. Use
+     *             {@link #setNewOwnerPublicKey(PublicKey)} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    public void setNewOwnerKey(String newOwnerKey) {
+        if (newOwnerKey == null) {
+            this.newOwnerKey = null;
+        } else {
+            this.newOwnerKey = new PublicKey(newOwnerKey);
+        }
+    }
+
     /**
      * @return the properties
      */
@@ -98,9 +189,15 @@ public class Pow2Operation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        // TODO Auto-generated method stub
-        return null;
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.POW2_OPERATION.getOrderId());
+        sink.writeVarInt(this.getPow2Work().getTypeId());
+        sink.write(this.getPow2Work());
+        sink.writeBoolean(this.getNewOwnerPublicKey() != null);
+        if (this.getNewOwnerPublicKey() != null) {
+            sink.write(this.getNewOwnerPublicKey());
+        }
+        sink.write(this.getProperties());
     }
 
     @Override
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +34,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -246,24 +245,15 @@ public class RecoverAccountOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedRecoverAccountOperation = new ByteArrayOutputStream()) {
-            serializedRecoverAccountOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.RECOVER_ACCOUNT_OPERATION.getOrderId()));
-            serializedRecoverAccountOperation.write(this.getAccountToRecover().toByteArray());
-            serializedRecoverAccountOperation.write(this.getNewOwnerAuthority().toByteArray());
-            serializedRecoverAccountOperation.write(this.getRecentOwnerAuthority().toByteArray());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.RECOVER_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getAccountToRecover());
+        sink.write(this.getNewOwnerAuthority());
+        sink.write(this.getRecentOwnerAuthority());
 
-            serializedRecoverAccountOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedRecoverAccountOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedRecoverAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -163,19 +162,11 @@ public class ReportOverProductionOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedReportOverProductionOperation = new ByteArrayOutputStream()) {
-            serializedReportOverProductionOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.REPORT_OVER_PRODUCTION_OPERATION.getOrderId()));
-            serializedReportOverProductionOperation.write(this.getReporter().toByteArray());
-            serializedReportOverProductionOperation.write(this.getFirstBlock().toByteArray());
-            serializedReportOverProductionOperation.write(this.getSecondBlock().toByteArray());
-
-            return serializedReportOverProductionOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.REPORT_OVER_PRODUCTION_OPERATION.getOrderId());
+        sink.write(this.getReporter());
+        sink.write(this.getFirstBlock());
+        sink.write(this.getSecondBlock());
     }
 
     @Override
@@ -192,10 +183,10 @@ public class ReportOverProductionOperation extends Operation {
     @Override
     public void validate(List<ValidationType> validationsToSkip) {
         if (!validationsToSkip.contains(ValidationType.SKIP_VALIDATION)) {
-            if (this.getSecondBlock().getWitness().equals(firstBlock.getWitness())) {
+            if (!this.getSecondBlock().getWitness().equals(firstBlock.getWitness())) {
                 throw new InvalidParameterException(
                         "The first block witness needs to be the same than the second block witness.");
-            } else if (this.getSecondBlock().getTimestamp().equals(firstBlock.getTimestamp())) {
+            } else if (!this.getSecondBlock().getTimestamp().equals(firstBlock.getTimestamp())) {
                 throw new InvalidParameterException(
                         "The first block timestamp needs to be the same than the second block timestamp.");
             }
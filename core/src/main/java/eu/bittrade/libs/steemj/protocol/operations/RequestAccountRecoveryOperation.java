@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -231,24 +230,15 @@ public class RequestAccountRecoveryOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedRequestAccountRecoveryOperation = new ByteArrayOutputStream()) {
-            serializedRequestAccountRecoveryOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.REQUEST_ACCOUNT_RECOVERY_OPERATION.getOrderId()));
-            serializedRequestAccountRecoveryOperation.write(this.getRecoveryAccount().toByteArray());
-            serializedRequestAccountRecoveryOperation.write(this.getAccountToRecover().toByteArray());
-            serializedRequestAccountRecoveryOperation.write(this.getNewOwnerAuthority().toByteArray());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.REQUEST_ACCOUNT_RECOVERY_OPERATION.getOrderId());
+        sink.write(this.getRecoveryAccount());
+        sink.write(this.getAccountToRecover());
+        sink.write(this.getNewOwnerAuthority());
 
-            serializedRequestAccountRecoveryOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedRequestAccountRecoveryOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedRequestAccountRecoveryOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
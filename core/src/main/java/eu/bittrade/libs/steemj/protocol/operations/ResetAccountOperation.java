@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +32,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -145,19 +144,11 @@ public class ResetAccountOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedResetAccountOperation = new ByteArrayOutputStream()) {
-            serializedResetAccountOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.RESET_ACCOUNT_OPERATION.getOrderId()));
-            serializedResetAccountOperation.write(this.getResetAccount().toByteArray());
-            serializedResetAccountOperation.write(this.getAccountToReset().toByteArray());
-            serializedResetAccountOperation.write(this.getNewOwnerAuthority().toByteArray());
-
-            return serializedResetAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.RESET_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getResetAccount());
+        sink.write(this.getAccountToReset());
+        sink.write(this.getNewOwnerAuthority());
     }
 
     @Override
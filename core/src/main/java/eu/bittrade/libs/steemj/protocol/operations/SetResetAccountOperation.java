@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -159,21 +158,13 @@ public class SetResetAccountOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedSetResetAccountOperation = new ByteArrayOutputStream()) {
-            serializedSetResetAccountOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.SET_RESET_ACCOUNT_OPERATION.getOrderId()));
-            serializedSetResetAccountOperation.write(this.getAccount().toByteArray());
-            if (this.getCurrentResetAccount() != null) {
-                serializedSetResetAccountOperation.write(this.getCurrentResetAccount().toByteArray());
-            }
-            serializedSetResetAccountOperation.write(this.getResetAccount().toByteArray());
-
-            return serializedSetResetAccountOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.SET_RESET_ACCOUNT_OPERATION.getOrderId());
+        sink.write(this.getAccount());
+        if (this.getCurrentResetAccount() != null) {
+            sink.write(this.getCurrentResetAccount());
         }
+        sink.write(this.getResetAccount());
     }
 
     @Override
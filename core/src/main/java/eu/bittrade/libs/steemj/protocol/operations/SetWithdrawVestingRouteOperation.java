@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +31,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -200,21 +199,12 @@ public class SetWithdrawVestingRouteOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedSetWithdrawVestingRouteOperation = new ByteArrayOutputStream()) {
-            serializedSetWithdrawVestingRouteOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.SET_WITHDRAW_VESTING_ROUTE_OPERATION.getOrderId()));
-            serializedSetWithdrawVestingRouteOperation.write(this.getFromAccount().toByteArray());
-            serializedSetWithdrawVestingRouteOperation.write(this.getToAccount().toByteArray());
-            serializedSetWithdrawVestingRouteOperation.write(SteemJUtils.transformShortToByteArray(this.getPercent()));
-            serializedSetWithdrawVestingRouteOperation
-                    .write(SteemJUtils.transformBooleanToByteArray(this.getAutoVest()));
-
-            return serializedSetWithdrawVestingRouteOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.SET_WITHDRAW_VESTING_ROUTE_OPERATION.getOrderId());
+        sink.write(this.getFromAccount());
+        sink.write(this.getToAccount());
+        sink.writeShort(this.getPercent());
+        sink.writeBoolean(this.getAutoVest());
     }
 
     @Override
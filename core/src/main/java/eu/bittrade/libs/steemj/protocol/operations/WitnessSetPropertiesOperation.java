@@ -1,7 +1,5 @@
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.net.URL;
 import java.security.InvalidParameterException;
 import java.util.List;
@@ -23,6 +21,7 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -262,27 +261,17 @@ public class WitnessSetPropertiesOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedWitnessSetPropertesOperation = new ByteArrayOutputStream()) {
-            serializedWitnessSetPropertesOperation.write(SteemJUtils
-                    .transformIntToVarIntByteArray(OperationType.WITNESS_SET_PROPERTIES_OPERATION.getOrderId()));
-            serializedWitnessSetPropertesOperation.write(this.getOwner().toByteArray());
-            serializedWitnessSetPropertesOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getUrl().toString()));
-            serializedWitnessSetPropertesOperation.write(this.getNewSigningKey().toByteArray());
-            serializedWitnessSetPropertesOperation.write(this.getProperties().toByteArray());
-            serializedWitnessSetPropertesOperation.write(this.getFee().toByteArray());
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.WITNESS_SET_PROPERTIES_OPERATION.getOrderId());
+        sink.write(this.getOwner());
+        sink.writeString(this.getUrl().toString());
+        sink.write(this.getNewSigningKey());
+        sink.write(this.getProperties());
+        sink.write(this.getFee());
 
-            serializedWitnessSetPropertesOperation
-                    .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-            for (FutureExtensions futureExtensions : this.getExtensions()) {
-                serializedWitnessSetPropertesOperation.write(futureExtensions.toByteArray());
-            }
-
-            return serializedWitnessSetPropertesOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
+        sink.writeVarInt(this.getExtensions().size());
+        for (FutureExtensions futureExtensions : this.getExtensions()) {
+            sink.write(futureExtensions);
         }
     }
 
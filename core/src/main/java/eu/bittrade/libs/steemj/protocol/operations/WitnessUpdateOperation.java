@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.net.URL;
 import java.security.InvalidParameterException;
 import java.util.List;
@@ -38,6 +36,7 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.ByteSink;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -253,22 +252,13 @@ public class WitnessUpdateOperation extends Operation {
     }
 
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
-        try (ByteArrayOutputStream serializedWitnessUpdateOperation = new ByteArrayOutputStream()) {
-            serializedWitnessUpdateOperation.write(
-                    SteemJUtils.transformIntToVarIntByteArray(OperationType.WITNESS_UPDATE_OPERATION.getOrderId()));
-            serializedWitnessUpdateOperation.write(this.getOwner().toByteArray());
-            serializedWitnessUpdateOperation
-                    .write(SteemJUtils.transformStringToVarIntByteArray(this.getUrl().toString()));
-            serializedWitnessUpdateOperation.write(this.getBlockSigningKey().toByteArray());
-            serializedWitnessUpdateOperation.write(this.getProperties().toByteArray());
-            serializedWitnessUpdateOperation.write(this.getFee().toByteArray());
-
-            return serializedWitnessUpdateOperation.toByteArray();
-        } catch (IOException e) {
-            throw new SteemInvalidTransactionException(
-                    "A problem occured while transforming the operation into a byte array.", e);
-        }
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
+        sink.writeVarInt(OperationType.WITNESS_UPDATE_OPERATION.getOrderId());
+        sink.write(this.getOwner());
+        sink.writeString(this.getUrl().toString());
+        sink.write(this.getBlockSigningKey());
+        sink.write(this.getProperties());
+        sink.write(this.getFee());
     }
 
     @Override
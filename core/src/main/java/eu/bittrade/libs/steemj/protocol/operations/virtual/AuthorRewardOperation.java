@@ -30,6 +30,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.value.AuthorRewardOperationValue;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents the Steem "author_reward_operation" object.
@@ -64,10 +65,9 @@ public class AuthorRewardOperation extends Operation {
 
 
 	@Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
         // The byte representation is not needed for virtual operations as we
         // can't broadcast them.
-        return new byte[0];
     }
 
     @Override
@@ -29,6 +29,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.value.CurationRewardValue;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a "curation_reward_operation" object.
@@ -60,10 +61,9 @@ public class CurationRewardOperation extends Operation {
 	}
 	
     @Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
         // The byte representation is not needed for virtual operations as we
         // can't broadcast them.
-        return new byte[0];
     }
 
     @Override
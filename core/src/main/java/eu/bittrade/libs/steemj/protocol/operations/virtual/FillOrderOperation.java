@@ -29,6 +29,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.value.FillOrderOperationValue;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * This class represents a Steem "fill_order_operation" object.
@@ -63,10 +64,9 @@ public class FillOrderOperation extends Operation {
 
 
 	@Override
-    public byte[] toByteArray() throws SteemInvalidTransactionException {
+    public void writeTo(ByteSink sink) throws SteemInvalidTransactionException {
         // The byte representation is not needed for virtual operations as we
         // can't broadcast them.
-        return new byte[0];
     }
 
     @Override
@@ -0,0 +1,933 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.chain.TransactionDecoder;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.util.ByteSink;
+import eu.bittrade.libs.steemj.util.ByteSource;
+
+/**
+ * A local archive of blocks, so that historical blocks only need to be
+ * downloaded once.
+ * 
+ * The blocks are appended to segment files in their binary representation
+ * (see {@link eu.bittrade.libs.steemj.protocol.SignedBlock#writeTo(ByteSink)
+ * SignedBlock#writeTo}), each prefixed by its length and followed by the block
+ * id, the signing key and the transaction ids. For every segment, an index
+ * file contains the offset of each block, so a block can be found without
+ * scanning the segment. Segments are read through memory mapped files and the
+ * blocks are decoded directly from the mapped memory. The files are mapped in
+ * windows of a fixed size as soon as a window has been written completely, so
+ * a growing segment never needs to be mapped again. The most recently appended
+ * blocks, which are not part of a complete window yet, are read from the file.
+ * 
+ * Blocks have to be appended in the order of their block numbers. As the
+ * archive is a {@link BlockSubscriber}, it can directly be subscribed to a
+ * {@link BlockStream} or be passed to a {@link BlockBackfill}. In case of a
+ * fork, the blocks starting at the fork are removed from the archive. Stored
+ * blocks can be handed to any other {@link BlockSubscriber} using
+ * {@link #replay(long, long, BlockSubscriber)}.
+ * 
+ * If the process crashes while a block is appended, the incomplete block is
+ * removed when the archive is opened the next time. Call {@link #flush()} to
+ * make sure that the appended blocks have been written to the disk.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockArchive implements BlockSubscriber, Closeable {
+    /** The default maximum size of a segment file in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    private static final String SEGMENT_FILE_EXTENSION = ".blocks";
+    private static final String INDEX_FILE_EXTENSION = ".index";
+    private static final String SEGMENT_FILE_PATTERN = "[0-9]*" + SEGMENT_FILE_EXTENSION;
+    /** The length of the length prefix of a block in bytes. */
+    private static final int LENGTH_PREFIX_SIZE = 4;
+    /** The length of an index entry in bytes. */
+    private static final int INDEX_ENTRY_SIZE = 8;
+    private static final int RIPEMD160_LENGTH = 20;
+    /** The size of the windows in which the segment files are mapped. */
+    private static final int DATA_WINDOW_SIZE = 4 * 1024 * 1024;
+    /** The size of the windows in which the index files are mapped. */
+    private static final int INDEX_WINDOW_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int dataWindowSize;
+    private final int indexWindowSize;
+    /** The segments of this archive by the number of their first block. */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ByteSink sink = new ByteSink();
+    private boolean closed;
+
+    /**
+     * Like {@link #BlockArchive(Path, int)}, but uses the
+     * {@link #DEFAULT_SEGMENT_SIZE}.
+     * 
+     * @param directory
+     *            The directory containing the archive.
+     * @throws IOException
+     *             If the archive could not be opened.
+     */
+    public BlockArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the archive stored in the given <code>directory</code> or create a
+     * new one if the directory does not contain an archive yet.
+     * 
+     * @param directory
+     *            The directory containing the archive.
+     * @param segmentSize
+     *            The size in bytes after which a new segment file is started.
+     *            A single block larger than this size is stored in its own
+     *            segment.
+     * @throws IOException
+     *             If the archive could not be opened.
+     * @throws IllegalArgumentException
+     *             If the <code>segmentSize</code> is not positive.
+     */
+    public BlockArchive(Path directory, int segmentSize) throws IOException {
+        this(directory, segmentSize, DATA_WINDOW_SIZE, INDEX_WINDOW_SIZE);
+    }
+
+    /**
+     * Like {@link #BlockArchive(Path, int)}, but allows to define the size of
+     * the mapped windows.
+     * 
+     * @param directory
+     *            The directory containing the archive.
+     * @param segmentSize
+     *            The size in bytes after which a new segment file is started.
+     * @param dataWindowSize
+     *            The size of the windows in which the segment files are
+     *            mapped.
+     * @param indexWindowSize
+     *            The size of the windows in which the index files are mapped,
+     *            which needs to be a multiple of the size of an index entry.
+     * @throws IOException
+     *             If the archive could not be opened.
+     * @throws IllegalArgumentException
+     *             If one of the sizes is not valid.
+     */
+    BlockArchive(Path directory, int segmentSize, int dataWindowSize, int indexWindowSize) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("The segment size needs to be positive.");
+        } else if (dataWindowSize <= 0 || indexWindowSize <= 0 || indexWindowSize % INDEX_ENTRY_SIZE != 0) {
+            throw new IllegalArgumentException("The window sizes need to be positive and the index window size "
+                    + "needs to be a multiple of " + INDEX_ENTRY_SIZE + ".");
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.dataWindowSize = dataWindowSize;
+        this.indexWindowSize = indexWindowSize;
+
+        Files.createDirectories(directory);
+        openSegments();
+    }
+
+    /**
+     * Append the given <code>block</code> to this archive. The first block of
+     * an empty archive can have any block number, all further blocks need to
+     * directly follow the last block of the archive.
+     * 
+     * @param block
+     *            The block to append.
+     * @throws IOException
+     *             If the block could not be written.
+     * @throws SteemInvalidTransactionException
+     *             If the block can not be serialized, e.g. because one of its
+     *             signatures does not have the expected length.
+     * @throws IllegalArgumentException
+     *             If the block does not directly follow the last block of the
+     *             archive.
+     */
+    public synchronized void append(ExtendedSignedBlock block) throws IOException, SteemInvalidTransactionException {
+        ensureOpen();
+
+        long blockNumber = getBlockNumber(block);
+        if (!segments.isEmpty() && blockNumber != getNextBlockNumber()) {
+            throw new IllegalArgumentException(
+                    "Expected the block " + getNextBlockNumber() + ", but got the block " + blockNumber + ".");
+        }
+
+        sink.reset();
+        sink.writeInt(0);
+        writeBlock(block, sink);
+        sink.setInt(0, sink.size() - LENGTH_PREFIX_SIZE);
+
+        Segment segment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (segment == null || (segment.dataSize > 0 && segment.dataSize + sink.size() > segmentSize)) {
+            segment = Segment.create(directory, blockNumber, dataWindowSize, indexWindowSize);
+            segments.put(blockNumber, segment);
+        }
+
+        segment.append(sink.getBuffer(), sink.size());
+    }
+
+    /**
+     * Get the block with the given <code>blockNumber</code> from this
+     * archive.
+     * 
+     * @param blockNumber
+     *            The number of the block to read.
+     * @return The block or an empty optional if the archive does not contain
+     *         the block.
+     * @throws IOException
+     *             If the block could not be read or if the stored data is not
+     *             a valid block.
+     */
+    public synchronized Optional<ExtendedSignedBlock> getBlock(long blockNumber) throws IOException {
+        ensureOpen();
+
+        Map.Entry<Long, Segment> entry = segments.floorEntry(blockNumber);
+        if (entry == null || blockNumber >= entry.getKey() + entry.getValue().blockCount) {
+            return Optional.absent();
+        }
+
+        ByteBuffer record = entry.getValue().read((int) (blockNumber - entry.getKey()));
+        try {
+            return Optional.of(readBlock(new ByteSource(record)));
+        } catch (SteemInvalidTransactionException | RuntimeException e) {
+            throw new IOException("The stored block " + blockNumber + " is not valid.", e);
+        }
+    }
+
+    /**
+     * Hand the stored blocks from <code>firstBlockNumber</code> to
+     * <code>lastBlockNumber</code> to the <code>subscriber</code> in the order
+     * of their block numbers. The replay stops early at the end of the
+     * archive. If the <code>subscriber</code> throws an exception, the replay
+     * stops as well.
+     * 
+     * @param firstBlockNumber
+     *            The number of the first block to replay.
+     * @param lastBlockNumber
+     *            The number of the last block to replay.
+     * @param subscriber
+     *            The subscriber to deliver the blocks to.
+     * @return The number of delivered blocks.
+     * @throws IOException
+     *             If a block could not be read.
+     */
+    public long replay(long firstBlockNumber, long lastBlockNumber, BlockSubscriber subscriber) throws IOException {
+        long blockNumber = Math.max(firstBlockNumber, getFirstBlockNumber());
+        long numberOfDeliveredBlocks = 0;
+
+        for (; blockNumber <= lastBlockNumber; blockNumber++) {
+            Optional<ExtendedSignedBlock> block = getBlock(blockNumber);
+            if (!block.isPresent()) {
+                break;
+            }
+
+            subscriber.onBlock(block.get());
+            numberOfDeliveredBlocks++;
+        }
+
+        return numberOfDeliveredBlocks;
+    }
+
+    /**
+     * Remove the block with the given <code>blockNumber</code> and all blocks
+     * following it from this archive.
+     * 
+     * @param blockNumber
+     *            The number of the first block to remove.
+     * @throws IOException
+     *             If the archive could not be truncated.
+     */
+    public synchronized void truncate(long blockNumber) throws IOException {
+        ensureOpen();
+
+        while (!segments.isEmpty() && segments.lastKey() >= blockNumber) {
+            segments.pollLastEntry().getValue().delete();
+        }
+
+        if (!segments.isEmpty()) {
+            Map.Entry<Long, Segment> last = segments.lastEntry();
+            if (blockNumber < last.getKey() + last.getValue().blockCount) {
+                last.getValue().truncate((int) (blockNumber - last.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Get the number of the first block of this archive.
+     * 
+     * @return The number of the first block or <code>0</code> if the archive
+     *         is empty.
+     */
+    public synchronized long getFirstBlockNumber() {
+        return segments.isEmpty() ? 0 : segments.firstKey();
+    }
+
+    /**
+     * Get the number of the block which needs to be appended next.
+     * 
+     * @return The number of the block following the last block of this
+     *         archive or <code>0</code> if the archive is empty.
+     */
+    public synchronized long getNextBlockNumber() {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        return last.getKey() + last.getValue().blockCount;
+    }
+
+    /**
+     * Force all appended blocks to be written to the disk.
+     * 
+     * @throws IOException
+     *             If the data could not be written.
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+
+        if (!segments.isEmpty()) {
+            segments.lastEntry().getValue().flush();
+        }
+    }
+
+    /**
+     * Appends the given <code>block</code> (see
+     * {@link #append(ExtendedSignedBlock)}). Blocks which are already part of
+     * the archive are ignored, so a stream can be restarted at an earlier
+     * block.
+     * 
+     * @param block
+     *            The block to append.
+     * @throws UncheckedIOException
+     *             If the block could not be written.
+     * @throws IllegalArgumentException
+     *             If the block can not be serialized or does not follow the
+     *             last block of the archive.
+     */
+    @Override
+    public synchronized void onBlock(ExtendedSignedBlock block) {
+        long blockNumber = getBlockNumber(block);
+        if (!segments.isEmpty() && blockNumber >= getFirstBlockNumber() && blockNumber < getNextBlockNumber()) {
+            return;
+        }
+
+        try {
+            append(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SteemInvalidTransactionException e) {
+            throw new IllegalArgumentException("The block " + blockNumber + " can not be serialized.", e);
+        }
+    }
+
+    /**
+     * Removes the blocks starting at the <code>forkBlockNumber</code> (see
+     * {@link #truncate(long)}).
+     * 
+     * @param forkBlockNumber
+     *            The number of the first block which has been replaced.
+     * @throws UncheckedIOException
+     *             If the archive could not be truncated.
+     */
+    @Override
+    public void onFork(long forkBlockNumber) {
+        try {
+            truncate(forkBlockNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flush and close all segment files of this archive.
+     * 
+     * @throws IOException
+     *             If a segment file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        IOException firstException = null;
+        for (Segment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                if (firstException == null) {
+                    firstException = e;
+                } else {
+                    firstException.addSuppressed(e);
+                }
+            }
+        }
+        segments.clear();
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Open all segments of the archive directory and remove incomplete blocks
+     * left behind by a crash.
+     * 
+     * @throws IOException
+     *             If a segment could not be opened or if the segments do not
+     *             form a continuous range of blocks.
+     */
+    private void openSegments() throws IOException {
+        List<Long> firstBlockNumbers = new ArrayList<>();
+        try (DirectoryStream<Path> segmentFiles = Files.newDirectoryStream(directory, SEGMENT_FILE_PATTERN)) {
+            for (Path segmentFile : segmentFiles) {
+                String fileName = segmentFile.getFileName().toString();
+                firstBlockNumbers.add(
+                        Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_FILE_EXTENSION.length())));
+            }
+        }
+        firstBlockNumbers.sort(null);
+
+        try {
+            for (long firstBlockNumber : firstBlockNumbers) {
+                Segment segment = Segment.open(directory, firstBlockNumber, dataWindowSize, indexWindowSize);
+                if (segment.blockCount == 0) {
+                    segment.delete();
+                    continue;
+                }
+
+                if (!segments.isEmpty() && getNextBlockNumber() != firstBlockNumber) {
+                    segment.close();
+                    throw new IOException("The segment starting at block " + firstBlockNumber
+                            + " does not follow the block " + (getNextBlockNumber() - 1) + ".");
+                }
+
+                segments.put(firstBlockNumber, segment);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @throws IOException
+     *             If the archive has been closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The block archive has been closed.");
+        }
+    }
+
+    /**
+     * Append the binary representation of the given <code>block</code>,
+     * followed by its block id, its signing key and its transaction ids, to the
+     * <code>sink</code>.
+     * 
+     * @param block
+     *            The block to write.
+     * @param sink
+     *            The sink to append to.
+     * @throws SteemInvalidTransactionException
+     *             If the block can not be serialized.
+     */
+    private static void writeBlock(ExtendedSignedBlock block, ByteSink sink) throws SteemInvalidTransactionException {
+        sink.write(block);
+        sink.write(block.getBlockId());
+
+        sink.writeBoolean(block.getSigningKey() != null);
+        if (block.getSigningKey() != null) {
+            sink.write(block.getSigningKey());
+        }
+
+        List<TransactionId> transactionIds = block.getTransactionIds() == null ? new ArrayList<>()
+                : block.getTransactionIds();
+        sink.writeVarInt(transactionIds.size());
+        for (TransactionId transactionId : transactionIds) {
+            sink.write(transactionId);
+        }
+    }
+
+    /**
+     * Read a block written by {@link #writeBlock(ExtendedSignedBlock, ByteSink)}.
+     * 
+     * @param source
+     *            The source to read from.
+     * @return The decoded block.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid block.
+     */
+    private static ExtendedSignedBlock readBlock(ByteSource source) throws SteemInvalidTransactionException {
+        ExtendedSignedBlock block = TransactionDecoder.readSignedBlock(source, new ExtendedSignedBlock());
+        block.setBlockId(new BlockId(source.readBytes(RIPEMD160_LENGTH)));
+
+        if (source.readBoolean()) {
+            block.setSigningKey(TransactionDecoder.readPublicKey(source));
+        }
+
+        int numberOfTransactionIds = source.readLength();
+        List<TransactionId> transactionIds = new ArrayList<>(numberOfTransactionIds);
+        for (int i = 0; i < numberOfTransactionIds; i++) {
+            transactionIds.add(new TransactionId(source.readBytes(RIPEMD160_LENGTH)));
+        }
+        block.setTransactionIds(transactionIds);
+
+        if (source.remaining() != 0) {
+            throw new SteemInvalidTransactionException(
+                    "The block is followed by " + source.remaining() + " unexpected bytes.");
+        }
+
+        return block;
+    }
+
+    /**
+     * @param block
+     *            The block.
+     * @return The number of the given block.
+     * @throws IllegalArgumentException
+     *             If the block has neither a block id nor a previous block id.
+     */
+    private static long getBlockNumber(ExtendedSignedBlock block) {
+        if (block.getBlockId() != null) {
+            return Integer.toUnsignedLong(block.getBlockId().getNumberFromHash());
+        } else if (block.getPrevious() != null) {
+            return Integer.toUnsignedLong(block.getPrevious().getNumberFromHash()) + 1;
+        }
+
+        throw new IllegalArgumentException("The block number of a block without any block id is unknown.");
+    }
+
+    /**
+     * A segment file containing the blocks and the index file containing their
+     * offsets. Both files are only mapped when a block is read.
+     */
+    private static final class Segment {
+        private final Path dataFile;
+        private final Path indexFile;
+        private final FileChannel dataChannel;
+        private final FileChannel indexChannel;
+        private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final MappedWindows mappedData;
+        private final MappedWindows mappedIndex;
+        private long dataSize;
+        private long blockCount;
+
+        /**
+         * @param dataFile
+         *            The segment file.
+         * @param indexFile
+         *            The index file.
+         * @param dataWindowSize
+         *            The size of the windows in which the segment file is
+         *            mapped.
+         * @param indexWindowSize
+         *            The size of the windows in which the index file is mapped.
+         * @throws IOException
+         *             If one of the files could not be opened.
+         */
+        private Segment(Path dataFile, Path indexFile, int dataWindowSize, int indexWindowSize) throws IOException {
+            this.dataFile = dataFile;
+            this.indexFile = indexFile;
+            this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            FileChannel openedIndexChannel;
+            try {
+                openedIndexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                dataChannel.close();
+                throw e;
+            }
+            this.indexChannel = openedIndexChannel;
+            this.mappedData = new MappedWindows(dataChannel, dataWindowSize);
+            this.mappedIndex = new MappedWindows(indexChannel, indexWindowSize);
+        }
+
+        /**
+         * Create a new, empty segment.
+         * 
+         * @param directory
+         *            The directory of the archive.
+         * @param firstBlockNumber
+         *            The number of the first block of the segment.
+         * @param dataWindowSize
+         *            The size of the windows in which the segment file is
+         *            mapped.
+         * @param indexWindowSize
+         *            The size of the windows in which the index file is mapped.
+         * @return The new segment.
+         * @throws IOException
+         *             If the segment could not be created.
+         */
+        private static Segment create(Path directory, long firstBlockNumber, int dataWindowSize, int indexWindowSize)
+                throws IOException {
+            Segment segment = new Segment(getDataFile(directory, firstBlockNumber),
+                    getIndexFile(directory, firstBlockNumber), dataWindowSize, indexWindowSize);
+            segment.dataChannel.truncate(0);
+            segment.indexChannel.truncate(0);
+            return segment;
+        }
+
+        /**
+         * Open an existing segment and remove a block which has not been
+         * written completely.
+         * 
+         * @param directory
+         *            The directory of the archive.
+         * @param firstBlockNumber
+         *            The number of the first block of the segment.
+         * @param dataWindowSize
+         *            The size of the windows in which the segment file is
+         *            mapped.
+         * @param indexWindowSize
+         *            The size of the windows in which the index file is mapped.
+         * @return The segment.
+         * @throws IOException
+         *             If the segment could not be opened.
+         */
+        private static Segment open(Path directory, long firstBlockNumber, int dataWindowSize, int indexWindowSize)
+                throws IOException {
+            Segment segment = new Segment(getDataFile(directory, firstBlockNumber),
+                    getIndexFile(directory, firstBlockNumber), dataWindowSize, indexWindowSize);
+            try {
+                segment.recover();
+            } catch (IOException e) {
+                segment.close();
+                throw e;
+            }
+            return segment;
+        }
+
+        /**
+         * Drop all index entries pointing to incomplete blocks and remove the
+         * bytes following the last complete block.
+         * 
+         * @throws IOException
+         *             If the segment could not be read or truncated.
+         */
+        private void recover() throws IOException {
+            long fileSize = dataChannel.size();
+            long numberOfEntries = indexChannel.size() / INDEX_ENTRY_SIZE;
+            long endOfLastBlock = 0;
+            ByteBuffer lengthPrefix = ByteBuffer.allocate(LENGTH_PREFIX_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            while (numberOfEntries > 0) {
+                long offset = readIndexEntry(numberOfEntries - 1);
+                if (offset >= 0 && offset + LENGTH_PREFIX_SIZE <= fileSize) {
+                    lengthPrefix.clear();
+                    readFully(dataChannel, lengthPrefix, offset);
+                    long end = offset + LENGTH_PREFIX_SIZE + lengthPrefix.getInt(0);
+                    if (lengthPrefix.getInt(0) >= 0 && end <= fileSize) {
+                        endOfLastBlock = end;
+                        break;
+                    }
+                }
+                numberOfEntries--;
+            }
+
+            indexChannel.truncate(numberOfEntries * INDEX_ENTRY_SIZE);
+            dataChannel.truncate(endOfLastBlock);
+            this.blockCount = numberOfEntries;
+            this.dataSize = endOfLastBlock;
+        }
+
+        /**
+         * Append a block and its index entry.
+         * 
+         * @param record
+         *            The length prefixed block.
+         * @param length
+         *            The number of bytes to write.
+         * @throws IOException
+         *             If the block could not be written.
+         */
+        private void append(byte[] record, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(record, 0, length);
+            long position = dataSize;
+            while (buffer.hasRemaining()) {
+                position += dataChannel.write(buffer, position);
+            }
+
+            // The index entry is written after the block, so it never points
+            // to a block which has not been written.
+            writeIndexEntry(blockCount, dataSize);
+
+            dataSize += length;
+            blockCount++;
+        }
+
+        /**
+         * Get the block at the given <code>index</code> of this segment.
+         * 
+         * @param index
+         *            The position of the block in this segment.
+         * @return A view on the bytes of the block without the length prefix.
+         * @throws IOException
+         *             If the segment could not be read or if the index points
+         *             to an incomplete block.
+         */
+        private ByteBuffer read(int index) throws IOException {
+            long offset = mappedIndex.read((long) index * INDEX_ENTRY_SIZE, INDEX_ENTRY_SIZE,
+                    blockCount * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN).getLong(0);
+            if (offset < 0 || offset + LENGTH_PREFIX_SIZE > dataSize) {
+                throw new IOException("The block " + index + " has an invalid offset.");
+            }
+
+            int length = mappedData.read(offset, LENGTH_PREFIX_SIZE, dataSize).order(ByteOrder.LITTLE_ENDIAN)
+                    .getInt(0);
+            if (length < 0 || offset + LENGTH_PREFIX_SIZE + length > dataSize) {
+                throw new IOException("The block " + index + " has an invalid length.");
+            }
+
+            return mappedData.read(offset + LENGTH_PREFIX_SIZE, length, dataSize);
+        }
+
+        /**
+         * Remove all blocks starting at the given <code>index</code>.
+         * 
+         * @param index
+         *            The position of the first block to remove.
+         * @throws IOException
+         *             If the segment could not be truncated.
+         */
+        private void truncate(int index) throws IOException {
+            long newDataSize = readIndexEntry(index);
+            mappedData.clear();
+            mappedIndex.clear();
+
+            indexChannel.truncate((long) index * INDEX_ENTRY_SIZE);
+            dataChannel.truncate(newDataSize);
+            blockCount = index;
+            dataSize = newDataSize;
+        }
+
+        /**
+         * @throws IOException
+         *             If the data could not be written.
+         */
+        private void flush() throws IOException {
+            dataChannel.force(false);
+            indexChannel.force(false);
+        }
+
+        /**
+         * @throws IOException
+         *             If one of the files could not be closed.
+         */
+        private void close() throws IOException {
+            mappedData.clear();
+            mappedIndex.clear();
+            try {
+                flush();
+            } finally {
+                try {
+                    dataChannel.close();
+                } finally {
+                    indexChannel.close();
+                }
+            }
+        }
+
+        /**
+         * Close and delete this segment.
+         * 
+         * @throws IOException
+         *             If the files could not be deleted.
+         */
+        private void delete() throws IOException {
+            close();
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+        }
+
+        /**
+         * @param index
+         *            The position of the block.
+         * @return The offset of the block stored in the index file.
+         * @throws IOException
+         *             If the index could not be read.
+         */
+        private long readIndexEntry(long index) throws IOException {
+            indexEntry.clear();
+            readFully(indexChannel, indexEntry, index * INDEX_ENTRY_SIZE);
+            return indexEntry.getLong(0);
+        }
+
+        /**
+         * @param index
+         *            The position of the block.
+         * @param offset
+         *            The offset of the block in the segment file.
+         * @throws IOException
+         *             If the index could not be written.
+         */
+        private void writeIndexEntry(long index, long offset) throws IOException {
+            indexEntry.clear();
+            indexEntry.putLong(0, offset);
+
+            long position = index * INDEX_ENTRY_SIZE;
+            while (indexEntry.hasRemaining()) {
+                position += indexChannel.write(indexEntry, position);
+            }
+        }
+
+        /**
+         * @param channel
+         *            The channel to read from.
+         * @param buffer
+         *            The buffer to fill.
+         * @param position
+         *            The position in the file.
+         * @throws IOException
+         *             If the end of the file has been reached before the
+         *             buffer has been filled.
+         */
+        private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            long readPosition = position;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, readPosition);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of the file.");
+                }
+                readPosition += read;
+            }
+        }
+
+        /**
+         * @param directory
+         *            The directory of the archive.
+         * @param firstBlockNumber
+         *            The number of the first block of the segment.
+         * @return The path of the segment file.
+         */
+        private static Path getDataFile(Path directory, long firstBlockNumber) {
+            return directory.resolve(String.format("%010d", firstBlockNumber) + SEGMENT_FILE_EXTENSION);
+        }
+
+        /**
+         * @param directory
+         *            The directory of the archive.
+         * @param firstBlockNumber
+         *            The number of the first block of the segment.
+         * @return The path of the index file.
+         */
+        private static Path getIndexFile(Path directory, long firstBlockNumber) {
+            return directory.resolve(String.format("%010d", firstBlockNumber) + INDEX_FILE_EXTENSION);
+        }
+    }
+
+    /**
+     * A file which is mapped in windows of a fixed size. A window is only
+     * mapped once the file has been written up to the end of the window, so
+     * each window is mapped at most once, no matter how often the file grows.
+     * Regions which are not part of a single complete window, like the end of
+     * a growing file or a block crossing the border of two windows, are read
+     * into the heap instead.
+     */
+    private static final class MappedWindows {
+        private final FileChannel channel;
+        private final int windowSize;
+        /** The mapped windows by their position in the file. */
+        private final List<ByteBuffer> windows = new ArrayList<>();
+
+        /**
+         * @param channel
+         *            The channel of the file.
+         * @param windowSize
+         *            The size of a window in bytes.
+         */
+        private MappedWindows(FileChannel channel, int windowSize) {
+            this.channel = channel;
+            this.windowSize = windowSize;
+        }
+
+        /**
+         * Get a region of the file.
+         * 
+         * @param position
+         *            The position of the region in the file.
+         * @param length
+         *            The length of the region.
+         * @param writtenSize
+         *            The number of bytes at the start of the file which have
+         *            been written completely.
+         * @return A buffer containing the region from its position to its
+         *         limit.
+         * @throws IOException
+         *             If the file could not be mapped or read.
+         */
+        private ByteBuffer read(long position, int length, long writtenSize) throws IOException {
+            long windowNumber = position / windowSize;
+            long windowStart = windowNumber * windowSize;
+            long windowEnd = windowStart + windowSize;
+            if (position + length > windowEnd || windowEnd > writtenSize) {
+                ByteBuffer region = ByteBuffer.allocate(length);
+                Segment.readFully(channel, region, position);
+                region.flip();
+                return region;
+            }
+
+            while (windows.size() <= windowNumber) {
+                windows.add(null);
+            }
+
+            ByteBuffer window = windows.get((int) windowNumber);
+            if (window == null) {
+                window = channel.map(MapMode.READ_ONLY, windowStart, windowSize);
+                windows.set((int) windowNumber, window);
+            }
+
+            ByteBuffer region = window.duplicate();
+            region.position((int) (position - windowStart));
+            region.limit(region.position() + length);
+            return region.slice();
+        }
+
+        /**
+         * Forget all mapped windows, e.g. because the file has been truncated.
+         */
+        private void clear() {
+            windows.clear();
+        }
+    }
+}
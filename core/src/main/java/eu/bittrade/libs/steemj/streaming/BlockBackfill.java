@@ -0,0 +1,662 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+
+/**
+ * This class fetches a large range of historical blocks as fast as possible.
+ * 
+ * The range is split into chunks of <code>chunkSize</code> blocks. Each chunk
+ * is requested as a single JSON-RPC batch from one of the
+ * {@link BlockRangeSource BlockRangeSources}, which usually represent the
+ * configured endpoints. The number of concurrent requests per source starts
+ * low and grows as long as the latency of the source stays close to the best
+ * latency it has shown, while errors or increasing latencies reduce it again
+ * (additive increase, multiplicative decrease). Failed chunks are requested
+ * again, preferably from another source.
+ * 
+ * Although the chunks are completed in any order, the blocks are handed to
+ * the {@link BlockSubscriber} strictly in the order of their block numbers on
+ * the thread which called {@link #run(BlockSubscriber)}. After each chunk, the
+ * number of the next block to deliver is written to the optional checkpoint
+ * file, so a crashed backfill continues where it stopped when it is created
+ * again with the same file.
+ * 
+ * <p>
+ * Example:<br>
+ * <code>BlockBackfill backfill = new BlockBackfill(config, 1, 20000000, Paths.get("backfill.checkpoint"));</code><br>
+ * <code>backfill.run(block -&gt; store(block));</code>
+ * </p>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockBackfill {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockBackfill.class);
+
+    /** The default number of blocks requested with a single batch. */
+    public static final int DEFAULT_CHUNK_SIZE = 50;
+    /** The default maximum number of concurrent requests per source. */
+    public static final int DEFAULT_MAX_CONCURRENCY_PER_SOURCE = 8;
+    /** The number of times a chunk is requested before the backfill fails. */
+    private static final int MAX_ATTEMPTS_PER_CHUNK = 5;
+    /** The weight of a new sample in the moving averages. */
+    private static final double EWMA_WEIGHT = 0.2;
+    /** The concurrency only grows while the latency is within this factor. */
+    private static final double LATENCY_TOLERANCE = 2.0;
+    /** The factor the concurrency is reduced with if the latency grows. */
+    private static final double LATENCY_BACKOFF = 0.9;
+    /** The initial time a source is skipped after a failure. */
+    private static final long BASE_COOLDOWN = TimeUnit.MILLISECONDS.toNanos(100);
+    /** The maximum time a source is skipped after repeated failures. */
+    private static final long MAX_COOLDOWN = TimeUnit.SECONDS.toNanos(30);
+
+    private final List<SourceState> sources;
+    private final long lastBlockNumber;
+    private final Path checkpointFile;
+    private final int chunkSize;
+    private final int maxConcurrencyPerSource;
+
+    private volatile long nextBlockNumber;
+    private volatile long numberOfDeliveredBlocks;
+    private volatile long startTime;
+    private volatile long endTime;
+
+    /**
+     * Create a new backfill which uses all endpoints of the given
+     * <code>config</code> with the default chunk size and concurrency.
+     * 
+     * @param config
+     *            The configuration whose endpoints should be used.
+     * @param firstBlockNumber
+     *            The number of the first block to deliver.
+     * @param lastBlockNumber
+     *            The number of the last block to deliver.
+     * @param checkpointFile
+     *            The file to store the progress in or <code>null</code>, if
+     *            the progress should not be stored. If the file exists, the
+     *            backfill continues with the block stored in it.
+     * @throws SteemCommunicationException
+     *             If the connection to one of the endpoints could not be
+     *             initialized.
+     * @throws IOException
+     *             If the checkpoint file exists, but could not be read.
+     */
+    public BlockBackfill(SteemJConfig config, long firstBlockNumber, long lastBlockNumber, Path checkpointFile)
+            throws SteemCommunicationException, IOException {
+        this(createSources(config), firstBlockNumber, lastBlockNumber, checkpointFile, DEFAULT_CHUNK_SIZE,
+                DEFAULT_MAX_CONCURRENCY_PER_SOURCE);
+    }
+
+    /**
+     * Create a new backfill.
+     * 
+     * @param sources
+     *            The sources to request the blocks from.
+     * @param firstBlockNumber
+     *            The number of the first block to deliver.
+     * @param lastBlockNumber
+     *            The number of the last block to deliver.
+     * @param checkpointFile
+     *            The file to store the progress in or <code>null</code>, if
+     *            the progress should not be stored. If the file exists, the
+     *            backfill continues with the block stored in it.
+     * @param chunkSize
+     *            The number of blocks requested with a single batch.
+     * @param maxConcurrencyPerSource
+     *            The maximum number of concurrent requests per source.
+     * @throws IOException
+     *             If the checkpoint file exists, but could not be read.
+     * @throws IllegalArgumentException
+     *             If no source has been provided or one of the numbers is out
+     *             of range.
+     */
+    public BlockBackfill(List<BlockRangeSource> sources, long firstBlockNumber, long lastBlockNumber,
+            Path checkpointFile, int chunkSize, int maxConcurrencyPerSource) throws IOException {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one source is required.");
+        } else if (firstBlockNumber < 1 || lastBlockNumber < firstBlockNumber) {
+            throw new IllegalArgumentException(
+                    "The block range " + firstBlockNumber + " - " + lastBlockNumber + " is not valid.");
+        } else if (chunkSize < 1 || maxConcurrencyPerSource < 1) {
+            throw new IllegalArgumentException("The chunk size and the concurrency need to be at least 1.");
+        }
+
+        this.sources = new ArrayList<>(sources.size());
+        for (BlockRangeSource source : sources) {
+            this.sources.add(new SourceState(source, Math.min(2, maxConcurrencyPerSource)));
+        }
+        this.lastBlockNumber = lastBlockNumber;
+        this.checkpointFile = checkpointFile;
+        this.chunkSize = chunkSize;
+        this.maxConcurrencyPerSource = maxConcurrencyPerSource;
+        this.nextBlockNumber = Math.max(firstBlockNumber, readCheckpoint(checkpointFile));
+    }
+
+    /**
+     * Fetch all remaining blocks and hand them to the <code>subscriber</code>
+     * in the order of their block numbers. The subscriber is informed about
+     * every failed request using {@link BlockSubscriber#onError(Throwable)}.
+     * 
+     * If the <code>subscriber</code> throws an exception, the backfill stops
+     * and the checkpoint still points to the first block of the chunk the
+     * failed block belongs to.
+     * 
+     * @param subscriber
+     *            The subscriber to deliver the blocks to.
+     * @throws SteemCommunicationException
+     *             If a chunk could not be fetched within
+     *             {@value #MAX_ATTEMPTS_PER_CHUNK} attempts.
+     * @throws SteemResponseException
+     *             If a chunk could not be fetched within
+     *             {@value #MAX_ATTEMPTS_PER_CHUNK} attempts as the node
+     *             answered with an error.
+     * @throws IOException
+     *             If the checkpoint could not be written.
+     * @throws InterruptedException
+     *             If the thread has been interrupted while waiting for a
+     *             chunk.
+     */
+    public void run(BlockSubscriber subscriber)
+            throws SteemCommunicationException, SteemResponseException, IOException, InterruptedException {
+        if (nextBlockNumber > lastBlockNumber) {
+            return;
+        }
+
+        ExecutorService executorService = createExecutorService(sources.size() * maxConcurrencyPerSource);
+        CompletionService<ChunkResult> completionService = new ExecutorCompletionService<>(executorService);
+        // Chunks which failed and need to be requested again, lowest first.
+        PriorityQueue<Long> failedChunks = new PriorityQueue<>();
+        Map<Long, Integer> attempts = new HashMap<>();
+        TreeMap<Long, List<ExtendedSignedBlock>> completedChunks = new TreeMap<>();
+        // Limit the number of blocks waiting for a missing chunk.
+        long maxBufferedBlocks = 2L * chunkSize * sources.size() * maxConcurrencyPerSource;
+        long nextChunkStart = nextBlockNumber;
+        int chunksInFlight = 0;
+
+        numberOfDeliveredBlocks = 0;
+        endTime = 0;
+        startTime = System.nanoTime();
+
+        try {
+            while (nextBlockNumber <= lastBlockNumber) {
+                while (true) {
+                    long chunkStart;
+                    if (!failedChunks.isEmpty()) {
+                        chunkStart = failedChunks.peek();
+                    } else if (nextChunkStart <= lastBlockNumber
+                            && nextChunkStart - nextBlockNumber < maxBufferedBlocks) {
+                        chunkStart = nextChunkStart;
+                    } else {
+                        break;
+                    }
+
+                    SourceState source = selectSource();
+                    if (source == null) {
+                        break;
+                    }
+
+                    if (!failedChunks.isEmpty()) {
+                        failedChunks.poll();
+                    } else {
+                        nextChunkStart += chunkSize;
+                    }
+
+                    int numberOfBlocks = (int) Math.min(chunkSize, lastBlockNumber - chunkStart + 1);
+                    source.chunksInFlight++;
+                    chunksInFlight++;
+                    completionService.submit(() -> fetchChunk(source, chunkStart, numberOfBlocks));
+                }
+
+                if (chunksInFlight == 0) {
+                    // All sources are cooling down after failures.
+                    TimeUnit.NANOSECONDS.sleep(getRemainingCooldown());
+                    continue;
+                }
+
+                ChunkResult chunkResult = await(completionService.take());
+                chunksInFlight--;
+                chunkResult.source.chunksInFlight--;
+
+                if (chunkResult.error != null) {
+                    handleFailedChunk(chunkResult, attempts, subscriber);
+                    failedChunks.add(chunkResult.chunkStart);
+                } else {
+                    chunkResult.source.onSuccess(chunkResult.latency / chunkResult.blocks.size(),
+                            maxConcurrencyPerSource);
+                    attempts.remove(chunkResult.chunkStart);
+                    completedChunks.put(chunkResult.chunkStart, chunkResult.blocks);
+                    deliverCompletedChunks(completedChunks, subscriber);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            endTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Get the number of the next block to deliver.
+     * 
+     * @return The number of the next block to deliver.
+     */
+    public long getNextBlockNumber() {
+        return nextBlockNumber;
+    }
+
+    /**
+     * Get the number of blocks delivered by the current or the last call of
+     * {@link #run(BlockSubscriber)}.
+     * 
+     * @return The number of delivered blocks.
+     */
+    public long getNumberOfDeliveredBlocks() {
+        return numberOfDeliveredBlocks;
+    }
+
+    /**
+     * Get the average throughput of the current or the last call of
+     * {@link #run(BlockSubscriber)}.
+     * 
+     * @return The number of delivered blocks per second.
+     */
+    public double getBlocksPerSecond() {
+        long start = startTime;
+        if (start == 0) {
+            return 0;
+        }
+
+        long end = endTime == 0 ? System.nanoTime() : endTime;
+        double elapsedSeconds = Math.max(1, end - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        return numberOfDeliveredBlocks / elapsedSeconds;
+    }
+
+    /**
+     * Get the current maximum number of concurrent requests of each source.
+     * 
+     * @return The concurrency limits by the name of their source.
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        Map<String, Integer> concurrencyLimits = new LinkedHashMap<>();
+        for (SourceState source : sources) {
+            concurrencyLimits.put(source.source.getName(), (int) source.concurrencyLimit);
+        }
+
+        return Collections.unmodifiableMap(concurrencyLimits);
+    }
+
+    /**
+     * Create one source per endpoint of the given <code>config</code>.
+     * 
+     * @param config
+     *            The configuration whose endpoints should be used.
+     * @return The sources.
+     * @throws SteemCommunicationException
+     *             If the connection to one of the endpoints could not be
+     *             initialized.
+     */
+    private static List<BlockRangeSource> createSources(SteemJConfig config) throws SteemCommunicationException {
+        List<BlockRangeSource> sources = new ArrayList<>();
+        for (Pair<URI, Boolean> endpointURI : config.getEndpointURIs()) {
+            sources.add(BlockRangeSource.of(
+                    new CommunicationHandler(config.snapshot(Collections.singletonList(endpointURI))),
+                    endpointURI.getLeft().toString()));
+        }
+
+        return sources;
+    }
+
+    /**
+     * Create the executor service which performs the requests.
+     * 
+     * @param numberOfThreads
+     *            The maximum number of concurrent requests.
+     * @return The executor service.
+     */
+    private static ExecutorService createExecutorService(int numberOfThreads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(numberOfThreads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "steemj-backfill-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Choose the source with the lowest utilization which has a free slot and
+     * is not cooling down after a failure.
+     * 
+     * @return The source or <code>null</code> if no source is available.
+     */
+    private SourceState selectSource() {
+        long now = System.nanoTime();
+        SourceState selectedSource = null;
+        double lowestUtilization = Double.MAX_VALUE;
+
+        for (SourceState source : sources) {
+            int concurrencyLimit = (int) source.concurrencyLimit;
+            if (source.chunksInFlight >= concurrencyLimit || now - source.blockedUntil < 0) {
+                continue;
+            }
+
+            double utilization = source.chunksInFlight / (double) concurrencyLimit + source.errorRate;
+            if (utilization < lowestUtilization) {
+                lowestUtilization = utilization;
+                selectedSource = source;
+            }
+        }
+
+        return selectedSource;
+    }
+
+    /**
+     * @return The time in nanoseconds until the first source is available
+     *         again.
+     */
+    private long getRemainingCooldown() {
+        long now = System.nanoTime();
+        long remainingCooldown = MAX_COOLDOWN;
+        for (SourceState source : sources) {
+            remainingCooldown = Math.min(remainingCooldown, source.blockedUntil - now);
+        }
+
+        return Math.max(0, remainingCooldown);
+    }
+
+    /**
+     * Request a chunk from the given source. This method is executed by the
+     * threads of the executor service.
+     * 
+     * @param source
+     *            The source to request the chunk from.
+     * @param chunkStart
+     *            The number of the first block of the chunk.
+     * @param numberOfBlocks
+     *            The number of blocks of the chunk.
+     * @return The result of the request.
+     */
+    private static ChunkResult fetchChunk(SourceState source, long chunkStart, int numberOfBlocks) {
+        long requestStartTime = System.nanoTime();
+        try {
+            List<ExtendedSignedBlock> blocks = source.source.getBlocks(chunkStart, numberOfBlocks);
+            if (blocks.size() != numberOfBlocks) {
+                throw new SteemCommunicationException("Expected " + numberOfBlocks + " blocks starting at "
+                        + chunkStart + ", but received " + blocks.size() + ".");
+            }
+
+            return new ChunkResult(source, chunkStart, blocks, null, System.nanoTime() - requestStartTime);
+        } catch (SteemCommunicationException | SteemResponseException | RuntimeException e) {
+            return new ChunkResult(source, chunkStart, null, e, System.nanoTime() - requestStartTime);
+        }
+    }
+
+    /**
+     * Update the state of the source of a failed chunk and inform the
+     * subscriber.
+     * 
+     * @param chunkResult
+     *            The failed chunk.
+     * @param attempts
+     *            The number of attempts per chunk.
+     * @param subscriber
+     *            The subscriber to inform.
+     * @throws SteemCommunicationException
+     *             If the chunk failed too often.
+     * @throws SteemResponseException
+     *             If the chunk failed too often as the node answered with an
+     *             error.
+     */
+    private void handleFailedChunk(ChunkResult chunkResult, Map<Long, Integer> attempts, BlockSubscriber subscriber)
+            throws SteemCommunicationException, SteemResponseException {
+        chunkResult.source.onFailure();
+        LOGGER.debug("Could not fetch the chunk starting at {} from {}.", chunkResult.chunkStart,
+                chunkResult.source.source.getName(), chunkResult.error);
+
+        try {
+            subscriber.onError(chunkResult.error);
+        } catch (RuntimeException e) {
+            LOGGER.warn("The subscriber failed to handle an error.", e);
+        }
+
+        if (attempts.merge(chunkResult.chunkStart, 1, Integer::sum) >= MAX_ATTEMPTS_PER_CHUNK) {
+            if (chunkResult.error instanceof SteemResponseException) {
+                throw (SteemResponseException) chunkResult.error;
+            }
+
+            throw new SteemCommunicationException("Could not fetch the blocks starting at " + chunkResult.chunkStart
+                    + " within " + MAX_ATTEMPTS_PER_CHUNK + " attempts.", chunkResult.error);
+        }
+    }
+
+    /**
+     * Deliver all chunks which directly follow the last delivered block and
+     * store the new position.
+     * 
+     * @param completedChunks
+     *            The chunks which have been fetched, but not delivered yet.
+     * @param subscriber
+     *            The subscriber to deliver the blocks to.
+     * @throws IOException
+     *             If the checkpoint could not be written.
+     */
+    private void deliverCompletedChunks(TreeMap<Long, List<ExtendedSignedBlock>> completedChunks,
+            BlockSubscriber subscriber) throws IOException {
+        while (!completedChunks.isEmpty() && completedChunks.firstKey() == nextBlockNumber) {
+            List<ExtendedSignedBlock> blocks = completedChunks.pollFirstEntry().getValue();
+            for (ExtendedSignedBlock block : blocks) {
+                subscriber.onBlock(block);
+            }
+
+            nextBlockNumber += blocks.size();
+            numberOfDeliveredBlocks += blocks.size();
+            writeCheckpoint(nextBlockNumber);
+        }
+    }
+
+    /**
+     * Durably store the number of the next block to deliver. The number is
+     * written to a temporary file which then replaces the checkpoint file, so
+     * a crash never leaves a partially written checkpoint behind.
+     * 
+     * @param blockNumber
+     *            The number of the next block to deliver.
+     * @throws IOException
+     *             If the checkpoint could not be written.
+     */
+    private void writeCheckpoint(long blockNumber) throws IOException {
+        if (checkpointFile == null) {
+            return;
+        }
+
+        Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.write(temporaryFile, Long.toString(blockNumber).getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE,
+                StandardOpenOption.SYNC);
+        Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the number of the next block to deliver from the given file.
+     * 
+     * @param checkpointFile
+     *            The file to read or <code>null</code>.
+     * @return The stored block number or <code>0</code> if there is no
+     *         checkpoint yet.
+     * @throws IOException
+     *             If the file exists, but could not be read.
+     */
+    private static long readCheckpoint(Path checkpointFile) throws IOException {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return 0;
+        }
+
+        String checkpoint = new String(Files.readAllBytes(checkpointFile), StandardCharsets.US_ASCII).trim();
+        try {
+            return Long.parseLong(checkpoint);
+        } catch (NumberFormatException e) {
+            throw new IOException("The checkpoint file " + checkpointFile + " is corrupted.", e);
+        }
+    }
+
+    /**
+     * Wait for a completed request.
+     * 
+     * @param future
+     *            The completed request.
+     * @return Its result.
+     * @throws InterruptedException
+     *             If the thread has been interrupted.
+     */
+    private static ChunkResult await(Future<ChunkResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // Can't happen as all exceptions are part of the result.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The result of a single chunk request.
+     */
+    private static class ChunkResult {
+        private final SourceState source;
+        private final long chunkStart;
+        private final List<ExtendedSignedBlock> blocks;
+        private final Exception error;
+        private final long latency;
+
+        /**
+         * @param source
+         *            The source the chunk has been requested from.
+         * @param chunkStart
+         *            The number of the first block of the chunk.
+         * @param blocks
+         *            The blocks or <code>null</code> if the request failed.
+         * @param error
+         *            The reason of the failure or <code>null</code>.
+         * @param latency
+         *            The duration of the request in nanoseconds.
+         */
+        private ChunkResult(SourceState source, long chunkStart, List<ExtendedSignedBlock> blocks, Exception error,
+                long latency) {
+            this.source = source;
+            this.chunkStart = chunkStart;
+            this.blocks = blocks;
+            this.error = error;
+            this.latency = latency;
+        }
+    }
+
+    /**
+     * The health and the concurrency limit of a single source. The state is
+     * only changed by the thread running the backfill.
+     */
+    private static class SourceState {
+        private final BlockRangeSource source;
+        private volatile double concurrencyLimit;
+        private double errorRate;
+        private double averageLatencyPerBlock;
+        private long lowestLatencyPerBlock = Long.MAX_VALUE;
+        private int chunksInFlight;
+        private int consecutiveFailures;
+        private long blockedUntil = System.nanoTime();
+
+        /**
+         * @param source
+         *            The source.
+         * @param initialConcurrencyLimit
+         *            The number of concurrent requests to start with.
+         */
+        private SourceState(BlockRangeSource source, int initialConcurrencyLimit) {
+            this.source = source;
+            this.concurrencyLimit = initialConcurrencyLimit;
+        }
+
+        /**
+         * Grow the concurrency limit as long as the latency does not increase.
+         * 
+         * @param latencyPerBlock
+         *            The latency of the request divided by the number of
+         *            requested blocks.
+         * @param maxConcurrencyLimit
+         *            The upper bound of the concurrency limit.
+         */
+        private void onSuccess(long latencyPerBlock, int maxConcurrencyLimit) {
+            consecutiveFailures = 0;
+            errorRate = (1 - EWMA_WEIGHT) * errorRate;
+            averageLatencyPerBlock = averageLatencyPerBlock == 0 ? latencyPerBlock
+                    : (1 - EWMA_WEIGHT) * averageLatencyPerBlock + EWMA_WEIGHT * latencyPerBlock;
+            lowestLatencyPerBlock = Math.min(lowestLatencyPerBlock, Math.max(1, latencyPerBlock));
+
+            if (averageLatencyPerBlock <= LATENCY_TOLERANCE * lowestLatencyPerBlock) {
+                concurrencyLimit = Math.min(maxConcurrencyLimit, concurrencyLimit + 1 / concurrencyLimit);
+            } else {
+                concurrencyLimit = Math.max(1, concurrencyLimit * LATENCY_BACKOFF);
+            }
+        }
+
+        /**
+         * Halve the concurrency limit and skip this source for a while.
+         */
+        private void onFailure() {
+            errorRate = (1 - EWMA_WEIGHT) * errorRate + EWMA_WEIGHT;
+            concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+            consecutiveFailures++;
+            long cooldown = Math.min(MAX_COOLDOWN, BASE_COOLDOWN << Math.min(consecutiveFailures - 1, 16));
+            blockedUntil = System.nanoTime() + cooldown;
+        }
+    }
+}
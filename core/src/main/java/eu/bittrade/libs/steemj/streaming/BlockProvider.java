@@ -0,0 +1,136 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.joou.UInteger;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.SteemJAsync;
+import eu.bittrade.libs.steemj.plugins.apis.block.BlockApi;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.FilteredBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockArgs;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.LazyBlock;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+
+/**
+ * The source of the blocks delivered by a {@link BlockStream}. All methods are
+ * expected to return immediately and to complete the returned future once the
+ * Steem node has answered, so that multiple blocks can be requested at the
+ * same time.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public interface BlockProvider {
+    /**
+     * Request a full, signed block.
+     * 
+     * @param blockNumber
+     *            Height of the block to be returned.
+     * @return A future which is completed with the block or with an absent
+     *         value if the block does not exist yet.
+     */
+    CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber);
+
+    /**
+     * Request the current global properties, which contain the head and the
+     * last irreversible block number.
+     * 
+     * @return A future which is completed with the global properties.
+     */
+    CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties();
+
+    /**
+     * Create a provider which requests the blocks using the given
+     * <code>steemJAsync</code> instance.
+     * 
+     * @param steemJAsync
+     *            The asynchronous API to use.
+     * @return The block provider.
+     */
+    static BlockProvider of(final SteemJAsync steemJAsync) {
+        return new BlockProvider() {
+            @Override
+            public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+                return steemJAsync.getBlock(blockNumber);
+            }
+
+            @Override
+            public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+                return steemJAsync.getDynamicGlobalProperties();
+            }
+        };
+    }
+
+    /**
+     * Create a provider which requests {@link FilteredBlock FilteredBlocks}
+     * using the given <code>steemJAsync</code> instance, so that only the
+     * operations matching the <code>operationFilter</code> are bound.
+     * 
+     * @param steemJAsync
+     *            The asynchronous API to use.
+     * @param operationFilter
+     *            The operations to bind.
+     * @return The block provider.
+     */
+    static BlockProvider of(final SteemJAsync steemJAsync, final OperationFilter operationFilter) {
+        return new BlockProvider() {
+            @Override
+            public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+                return steemJAsync
+                        .callApi(communicationHandler -> BlockApi.getFilteredBlock(communicationHandler,
+                                new GetBlockArgs(UInteger.valueOf(blockNumber)), operationFilter).getBlock())
+                        .thenApply(block -> Optional.<ExtendedSignedBlock> fromNullable(block.orNull()));
+            }
+
+            @Override
+            public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+                return steemJAsync.getDynamicGlobalProperties();
+            }
+        };
+    }
+
+    /**
+     * Create a provider which requests {@link LazyBlock LazyBlocks} using the
+     * given <code>steemJAsync</code> instance, so that the transactions of a
+     * block are only bound if a subscriber accesses them.
+     * 
+     * @param steemJAsync
+     *            The asynchronous API to use.
+     * @return The block provider.
+     */
+    static BlockProvider ofLazyBlocks(final SteemJAsync steemJAsync) {
+        return new BlockProvider() {
+            @Override
+            public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+                return steemJAsync
+                        .callApi(communicationHandler -> BlockApi
+                                .getLazyBlock(communicationHandler, new GetBlockArgs(UInteger.valueOf(blockNumber)))
+                                .getBlock())
+                        .thenApply(block -> Optional.<ExtendedSignedBlock> fromNullable(block.orNull()));
+            }
+
+            @Override
+            public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+                return steemJAsync.getDynamicGlobalProperties();
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joou.UInteger;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchResult;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.block.BlockApi;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockArgs;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockReturn;
+
+/**
+ * A source of consecutive blocks used by a {@link BlockBackfill}. Each source
+ * usually represents a single endpoint, so that the backfill can adapt the
+ * number of concurrent requests to the health of each endpoint. All methods
+ * may be called by multiple threads at the same time.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public interface BlockRangeSource {
+    /**
+     * Get a name which identifies this source (e.g. the URI of the endpoint).
+     * 
+     * @return The name of this source.
+     */
+    String getName();
+
+    /**
+     * Request a range of full, signed blocks.
+     * 
+     * @param firstBlockNumber
+     *            The height of the first block to return.
+     * @param numberOfBlocks
+     *            The number of blocks to return.
+     * @return The blocks in the order of their block numbers.
+     * @throws SteemCommunicationException
+     *             If there is a problem reaching the Steem Node or if one of
+     *             the blocks is not available.
+     * @throws SteemResponseException
+     *             If the Steem Node answered with an error.
+     */
+    List<ExtendedSignedBlock> getBlocks(long firstBlockNumber, int numberOfBlocks)
+            throws SteemCommunicationException, SteemResponseException;
+
+    /**
+     * Create a source which requests all blocks of a range using a single
+     * JSON-RPC batch (see
+     * {@link BlockApi#getBlocks(CommunicationHandler, List)}).
+     * 
+     * @param communicationHandler
+     *            The handler used to send the batches.
+     * @param name
+     *            The name of the source.
+     * @return The block source.
+     */
+    static BlockRangeSource of(final CommunicationHandler communicationHandler, final String name) {
+        return new BlockRangeSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public List<ExtendedSignedBlock> getBlocks(long firstBlockNumber, int numberOfBlocks)
+                    throws SteemCommunicationException, SteemResponseException {
+                List<GetBlockArgs> getBlockArgs = new ArrayList<>(numberOfBlocks);
+                for (int i = 0; i < numberOfBlocks; i++) {
+                    getBlockArgs.add(new GetBlockArgs(UInteger.valueOf(firstBlockNumber + i)));
+                }
+
+                List<JsonRPCBatchResult<GetBlockReturn>> results = BlockApi.getBlocks(communicationHandler,
+                        getBlockArgs);
+                List<ExtendedSignedBlock> blocks = new ArrayList<>(numberOfBlocks);
+                for (int i = 0; i < numberOfBlocks; i++) {
+                    Optional<ExtendedSignedBlock> block = results.get(i).getResult().get(0).getBlock();
+                    if (!block.isPresent()) {
+                        throw new SteemCommunicationException(
+                                "The block " + (firstBlockNumber + i) + " is not available on " + name + ".");
+                    }
+                    blocks.add(block.get());
+                }
+
+                return blocks;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
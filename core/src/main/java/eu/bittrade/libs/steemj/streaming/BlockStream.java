@@ -0,0 +1,452 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.SteemJAsync;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.streaming.enums.BlockStreamMode;
+
+/**
+ * This class follows the head or the last irreversible block of the chain and
+ * delivers every block to its {@link BlockSubscriber BlockSubscribers}.
+ * 
+ * Up to <code>prefetchWindow</code> upcoming blocks are requested at the same
+ * time, but the blocks are always delivered strictly in the order of their
+ * block numbers. The delivery happens on the thread of the stream, so a new
+ * block is only requested once a previous one has been handed to all
+ * subscribers. This way, slow subscribers slow down the stream instead of
+ * filling up the memory.
+ * 
+ * In {@link BlockStreamMode#HEAD HEAD} mode, the stream verifies that every
+ * block references the previously delivered one. If this is not the case, the
+ * stream walks back until it finds the last block both chains have in common,
+ * informs the subscribers by calling {@link BlockSubscriber#onFork(long)} and
+ * delivers the blocks of the new chain afterwards. Forks which are deeper than
+ * {@link #MAX_FORK_DEPTH} blocks can't be detected.
+ * 
+ * <p>
+ * Example:<br>
+ * <code>BlockStream stream = new BlockStream(steemJAsync, 0, BlockStreamMode.IRREVERSIBLE);</code><br>
+ * <code>stream.subscribe(block -&gt; System.out.println(block.getBlockId()));</code><br>
+ * <code>stream.start();</code>
+ * </p>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockStream implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockStream.class);
+
+    /** The default number of blocks requested at the same time. */
+    public static final int DEFAULT_PREFETCH_WINDOW = 50;
+    /** The default time to wait for new blocks in milliseconds. */
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000L;
+    /** The number of delivered block ids remembered to resolve forks. */
+    public static final int MAX_FORK_DEPTH = 100;
+
+    private final BlockProvider blockProvider;
+    private final BlockStreamMode mode;
+    private final int prefetchWindow;
+    private final long pollIntervalMillis;
+    private final List<BlockSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // The following fields are only accessed by the thread of the stream.
+    private final ArrayDeque<CompletableFuture<Optional<ExtendedSignedBlock>>> pendingBlocks = new ArrayDeque<>();
+    private final ArrayDeque<String> deliveredBlockIds = new ArrayDeque<>();
+    private long nextRequestNumber;
+    private long targetBlockNumber;
+
+    private volatile long nextBlockNumber;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Create a new stream using the default prefetch window and poll
+     * interval.
+     * 
+     * @param steemJAsync
+     *            The asynchronous API used to request the blocks.
+     * @param startBlockNumber
+     *            The number of the first block to deliver. If the number is
+     *            <code>0</code> or lower, the stream starts with the current
+     *            head or last irreversible block.
+     * @param mode
+     *            Define if the head or the last irreversible block should be
+     *            followed.
+     */
+    public BlockStream(SteemJAsync steemJAsync, long startBlockNumber, BlockStreamMode mode) {
+        this(BlockProvider.of(steemJAsync), startBlockNumber, mode, DEFAULT_PREFETCH_WINDOW,
+                DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Create a new stream.
+     * 
+     * @param blockProvider
+     *            The source of the blocks.
+     * @param startBlockNumber
+     *            The number of the first block to deliver. If the number is
+     *            <code>0</code> or lower, the stream starts with the current
+     *            head or last irreversible block.
+     * @param mode
+     *            Define if the head or the last irreversible block should be
+     *            followed.
+     * @param prefetchWindow
+     *            The maximum number of blocks requested at the same time.
+     * @param pollIntervalMillis
+     *            The time to wait for new blocks or after an error in
+     *            milliseconds.
+     * @throws IllegalArgumentException
+     *             If the <code>prefetchWindow</code> is lower than 1 or the
+     *             <code>pollIntervalMillis</code> is negative.
+     */
+    public BlockStream(BlockProvider blockProvider, long startBlockNumber, BlockStreamMode mode, int prefetchWindow,
+            long pollIntervalMillis) {
+        if (prefetchWindow < 1) {
+            throw new IllegalArgumentException("The prefetch window needs to be at least 1.");
+        } else if (pollIntervalMillis < 0) {
+            throw new IllegalArgumentException("The poll interval can't be negative.");
+        }
+
+        this.blockProvider = blockProvider;
+        this.mode = mode;
+        this.prefetchWindow = prefetchWindow;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.nextBlockNumber = Math.max(0, startBlockNumber);
+        this.nextRequestNumber = this.nextBlockNumber;
+    }
+
+    /**
+     * Add a subscriber. Subscribers added after the stream has been started
+     * only receive the blocks delivered from now on.
+     * 
+     * @param subscriber
+     *            The subscriber to add.
+     */
+    public void subscribe(BlockSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Remove a subscriber.
+     * 
+     * @param subscriber
+     *            The subscriber to remove.
+     */
+    public void unsubscribe(BlockSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Get the number of the next block to deliver. This number can be used to
+     * continue streaming at the same position after the stream has been
+     * closed.
+     * 
+     * @return The number of the next block to deliver or <code>0</code> if
+     *         the stream has not determined its start block yet.
+     */
+    public long getNextBlockNumber() {
+        return nextBlockNumber;
+    }
+
+    /**
+     * @return <code>true</code> if the stream has been started and not been
+     *         closed yet.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start to deliver blocks using a new daemon thread.
+     * 
+     * @throws IllegalStateException
+     *             If the stream has already been started.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("The stream has already been started.");
+        }
+
+        running = true;
+        thread = new Thread(this::run, "steemj-block-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the stream. Blocks which have been requested but not delivered yet
+     * are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        if (thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The main loop of the stream thread.
+     */
+    private void run() {
+        try {
+            while (running) {
+                try {
+                    if (pendingBlocks.isEmpty() && (nextBlockNumber == 0 || nextBlockNumber > targetBlockNumber)) {
+                        updateTargetBlockNumber();
+                        if (nextBlockNumber > targetBlockNumber) {
+                            Thread.sleep(pollIntervalMillis);
+                            continue;
+                        }
+                    }
+
+                    requestBlocks();
+
+                    Optional<ExtendedSignedBlock> block = await(pendingBlocks.poll());
+                    if (!block.isPresent()) {
+                        // The node has not applied the block yet.
+                        discardPendingBlocks();
+                        Thread.sleep(pollIntervalMillis);
+                    } else if (isFork(block.get())) {
+                        resolveFork();
+                    } else {
+                        deliver(block.get());
+                    }
+                } catch (SteemCommunicationException | SteemResponseException e) {
+                    LOGGER.debug("Could not request the next block.", e);
+                    discardPendingBlocks();
+                    notifyError(e);
+                    Thread.sleep(pollIntervalMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("The block stream has been interrupted.", e);
+        } finally {
+            discardPendingBlocks();
+            running = false;
+        }
+    }
+
+    /**
+     * Update the block number the stream follows and determine the first block
+     * to deliver if no start block has been provided.
+     * 
+     * @throws SteemCommunicationException
+     *             If there is a problem reaching the Steem Node.
+     * @throws SteemResponseException
+     *             If the Steem Node answered with an error.
+     * @throws InterruptedException
+     *             If the stream has been closed while waiting.
+     */
+    private void updateTargetBlockNumber()
+            throws SteemCommunicationException, SteemResponseException, InterruptedException {
+        DynamicGlobalProperty globalProperties = await(blockProvider.getDynamicGlobalProperties());
+        if (mode == BlockStreamMode.HEAD) {
+            targetBlockNumber = globalProperties.getHeadBlockNumber().longValue();
+        } else {
+            targetBlockNumber = globalProperties.getLastIrreversibleBlockNum().longValue();
+        }
+
+        if (nextBlockNumber == 0) {
+            nextBlockNumber = targetBlockNumber;
+            nextRequestNumber = targetBlockNumber;
+        }
+    }
+
+    /**
+     * Fill the prefetch window with requests for the upcoming blocks up to the
+     * target block number.
+     */
+    private void requestBlocks() {
+        while (pendingBlocks.size() < prefetchWindow && nextRequestNumber <= targetBlockNumber) {
+            pendingBlocks.add(blockProvider.getBlock(nextRequestNumber++));
+        }
+    }
+
+    /**
+     * Cancel all requests which have not been delivered yet, so that they will
+     * be requested again.
+     */
+    private void discardPendingBlocks() {
+        for (Future<?> pendingBlock : pendingBlocks) {
+            pendingBlock.cancel(false);
+        }
+        pendingBlocks.clear();
+        nextRequestNumber = nextBlockNumber;
+    }
+
+    /**
+     * @param block
+     *            The next block to deliver.
+     * @return <code>true</code> if the block does not reference the previously
+     *         delivered block.
+     */
+    private boolean isFork(ExtendedSignedBlock block) {
+        String lastBlockId = deliveredBlockIds.peekLast();
+        return mode == BlockStreamMode.HEAD && lastBlockId != null && block.getPrevious() != null
+                && !lastBlockId.equals(block.getPrevious().toString());
+    }
+
+    /**
+     * Walk back until the block the node knows for a number matches the block
+     * delivered for it and continue streaming with the block after it.
+     * 
+     * @throws SteemCommunicationException
+     *             If there is a problem reaching the Steem Node.
+     * @throws SteemResponseException
+     *             If the Steem Node answered with an error.
+     * @throws InterruptedException
+     *             If the stream has been closed while waiting.
+     */
+    private void resolveFork() throws SteemCommunicationException, SteemResponseException, InterruptedException {
+        discardPendingBlocks();
+
+        long forkBlockNumber = nextBlockNumber;
+        while (!deliveredBlockIds.isEmpty()) {
+            Optional<ExtendedSignedBlock> knownBlock = await(blockProvider.getBlock(forkBlockNumber - 1));
+            if (knownBlock.isPresent() && knownBlock.get().getBlockId() != null
+                    && deliveredBlockIds.peekLast().equals(knownBlock.get().getBlockId().toString())) {
+                break;
+            }
+
+            deliveredBlockIds.pollLast();
+            forkBlockNumber--;
+        }
+
+        LOGGER.debug("Detected a fork starting at block {}.", forkBlockNumber);
+        nextBlockNumber = forkBlockNumber;
+        nextRequestNumber = forkBlockNumber;
+
+        for (BlockSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onFork(forkBlockNumber);
+            } catch (RuntimeException e) {
+                notifyError(subscriber, e);
+            }
+        }
+    }
+
+    /**
+     * Hand the block to all subscribers and move on to the next block.
+     * 
+     * @param block
+     *            The block to deliver.
+     */
+    private void deliver(ExtendedSignedBlock block) {
+        for (BlockSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onBlock(block);
+            } catch (RuntimeException e) {
+                notifyError(subscriber, e);
+            }
+        }
+
+        if (mode == BlockStreamMode.HEAD && block.getBlockId() != null) {
+            deliveredBlockIds.addLast(block.getBlockId().toString());
+            if (deliveredBlockIds.size() > MAX_FORK_DEPTH) {
+                deliveredBlockIds.pollFirst();
+            }
+        }
+
+        nextBlockNumber++;
+    }
+
+    /**
+     * Inform all subscribers about an error.
+     * 
+     * @param cause
+     *            The error.
+     */
+    private void notifyError(Throwable cause) {
+        for (BlockSubscriber subscriber : subscribers) {
+            notifyError(subscriber, cause);
+        }
+    }
+
+    /**
+     * Inform a single subscriber about an error.
+     * 
+     * @param subscriber
+     *            The subscriber to inform.
+     * @param cause
+     *            The error.
+     */
+    private static void notifyError(BlockSubscriber subscriber, Throwable cause) {
+        try {
+            subscriber.onError(cause);
+        } catch (RuntimeException e) {
+            LOGGER.warn("A subscriber failed to handle an error.", e);
+        }
+    }
+
+    /**
+     * Wait for the given request and convert its failure into the exceptions
+     * used by SteemJ.
+     * 
+     * @param future
+     *            The request to wait for.
+     * @param <T>
+     *            The type of the result.
+     * @return The result of the request.
+     * @throws SteemCommunicationException
+     *             If there is a problem reaching the Steem Node.
+     * @throws SteemResponseException
+     *             If the Steem Node answered with an error.
+     * @throws InterruptedException
+     *             If the stream has been closed while waiting.
+     */
+    private static <T> T await(Future<T> future)
+            throws SteemCommunicationException, SteemResponseException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SteemCommunicationException) {
+                throw (SteemCommunicationException) cause;
+            } else if (cause instanceof SteemResponseException) {
+                throw (SteemResponseException) cause;
+            }
+
+            throw new SteemCommunicationException("The request failed: " + cause, cause);
+        }
+    }
+}
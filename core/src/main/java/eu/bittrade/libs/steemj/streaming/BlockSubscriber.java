@@ -0,0 +1,63 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+
+/**
+ * A subscriber of a {@link BlockStream}. All methods are called by the thread
+ * of the stream, one after another. The stream does not request more blocks
+ * than its prefetch window while a subscriber is busy, so slow subscribers
+ * automatically slow down the stream.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+@FunctionalInterface
+public interface BlockSubscriber {
+    /**
+     * Called for every block in the order of the block numbers.
+     * 
+     * @param block
+     *            The next block.
+     */
+    void onBlock(ExtendedSignedBlock block);
+
+    /**
+     * Called if the stream detected a fork while following the head block.
+     * All blocks starting from <code>forkBlockNumber</code> which have already
+     * been delivered are no longer part of the chain. The blocks of the new
+     * chain are delivered afterwards, starting with the
+     * <code>forkBlockNumber</code>.
+     * 
+     * @param forkBlockNumber
+     *            The number of the first replaced block.
+     */
+    default void onFork(long forkBlockNumber) {
+        // Nothing to do by default.
+    }
+
+    /**
+     * Called if a request to the Steem node failed. The stream will retry the
+     * request after its poll interval.
+     * 
+     * @param cause
+     *            The error.
+     */
+    default void onError(Throwable cause) {
+        // Nothing to do by default.
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class reads single operations token by token and checks them against an
+ * {@link OperationFilter} before they are bound to their {@link Operation}
+ * subclass. Operations which do not match are skipped using
+ * {@link JsonParser#skipChildren()}, so neither a tree nor any Java object is
+ * created for them.
+ * 
+ * The filter is passed to the deserializers of the result as an attribute of
+ * the {@link com.fasterxml.jackson.databind.ObjectReader ObjectReader}, using
+ * the {@link OperationFilter} class as the key.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public final class FilteredOperationReader {
+    /** The name of the field containing the type of an operation. */
+    private static final String TYPE_PROPERTY = Operation.class.getAnnotation(JsonTypeInfo.class).property();
+
+    /** Add a private constructor to hide the implicit public one. */
+    private FilteredOperationReader() {
+    }
+
+    /**
+     * Get the filter passed to the current deserialization.
+     * 
+     * @param context
+     *            The current deserialization context.
+     * @return The filter or <code>null</code> if all operations should be
+     *         bound.
+     */
+    public static OperationFilter getFilter(DeserializationContext context) {
+        return (OperationFilter) context.getAttribute(OperationFilter.class);
+    }
+
+    /**
+     * Read the operation the <code>parser</code> is positioned at and bind it
+     * if it matches the <code>filter</code>.
+     * 
+     * @param parser
+     *            The parser positioned at the start of the operation. After
+     *            this method returned, it is positioned at the end of the
+     *            operation.
+     * @param context
+     *            The current deserialization context.
+     * @param filter
+     *            The filter to apply or <code>null</code> to bind all
+     *            operations.
+     * @return The operation or <code>null</code> if it does not match.
+     * @throws IOException
+     *             If the operation could not be read or bound.
+     */
+    public static Operation readOperation(JsonParser parser, DeserializationContext context, OperationFilter filter)
+            throws IOException {
+        if (filter == null || parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            return context.readValue(parser, Operation.class);
+        }
+
+        TokenBuffer operation = bufferOperation(parser, context, filter);
+        if (operation == null) {
+            return null;
+        }
+
+        return context.readValue(operation.asParserOnFirstToken(), Operation.class);
+    }
+
+    /**
+     * Read the operation the <code>parser</code> is positioned at and copy its
+     * tokens if it matches the <code>filter</code>.
+     * 
+     * @param parser
+     *            The parser positioned at the start of the operation object.
+     *            After this method returned, it is positioned at the end of
+     *            the operation.
+     * @param context
+     *            The current deserialization context.
+     * @param filter
+     *            The filter to apply.
+     * @return The tokens of the operation or <code>null</code> if it does not
+     *         match.
+     * @throws IOException
+     *             If the operation could not be read.
+     */
+    public static TokenBuffer bufferOperation(JsonParser parser, DeserializationContext context,
+            OperationFilter filter) throws IOException {
+        TokenBuffer operation = new TokenBuffer(parser, context);
+        operation.writeStartObject();
+
+        Map<String, Set<String>> requiredFieldValues = null;
+        // Scalar values of the fields in front of the type, which is usually
+        // the first field.
+        Map<String, String> leadingValues = null;
+        int matchingFields = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if (requiredFieldValues == null && TYPE_PROPERTY.equals(fieldName)) {
+                requiredFieldValues = filter.getRequiredFieldValues(parser.getText());
+                if (requiredFieldValues == null) {
+                    skipRemainingFields(parser);
+                    return null;
+                }
+
+                if (leadingValues != null) {
+                    for (Map.Entry<String, Set<String>> requiredFieldValue : requiredFieldValues.entrySet()) {
+                        String leadingValue = leadingValues.get(requiredFieldValue.getKey());
+                        if (leadingValue != null && !requiredFieldValue.getValue().contains(leadingValue)) {
+                            skipRemainingFields(parser);
+                            return null;
+                        } else if (leadingValue != null) {
+                            matchingFields++;
+                        }
+                    }
+                }
+            } else if (requiredFieldValues != null) {
+                Set<String> acceptedValues = requiredFieldValues.get(fieldName);
+                if (acceptedValues != null) {
+                    if (!valueToken.isScalarValue() || !acceptedValues.contains(parser.getText())) {
+                        skipRemainingFields(parser);
+                        return null;
+                    }
+                    matchingFields++;
+                }
+            } else if (valueToken.isScalarValue()) {
+                if (leadingValues == null) {
+                    leadingValues = new HashMap<>();
+                }
+                leadingValues.put(fieldName, parser.getText());
+            }
+
+            operation.writeFieldName(fieldName);
+            operation.copyCurrentStructure(parser);
+        }
+
+        operation.writeEndObject();
+
+        if (requiredFieldValues != null && matchingFields < requiredFieldValues.size()) {
+            return null;
+        }
+
+        // Operations without a type are passed on, so that binding them
+        // fails as usual.
+        return operation;
+    }
+
+    /**
+     * Skip the current value and all remaining fields of the current object.
+     * 
+     * @param parser
+     *            The parser positioned at a value of the object. After this
+     *            method returned, it is positioned at the end of the object.
+     * @throws IOException
+     *             If the object could not be read.
+     */
+    public static void skipRemainingFields(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+}
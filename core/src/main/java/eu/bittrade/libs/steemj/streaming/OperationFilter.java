@@ -0,0 +1,187 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class describes which operations should be bound while reading blocks
+ * or applied operations. The type of each operation is checked before the
+ * operation is transformed into its {@link Operation} subclass, so that
+ * operations which do not match the filter are skipped without binding them.
+ * 
+ * Additionally, an accepted operation type can be restricted to operations
+ * whose top level fields have specific values, e.g. to
+ * {@link eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation
+ * CustomJsonOperations} with a given <code>id</code>:
+ * 
+ * <pre>
+ * OperationFilter filter = new OperationFilter(TransferOperation.class, VoteOperation.class)
+ *         .accept(CustomJsonOperation.class, "id", "follow");
+ * </pre>
+ * 
+ * An operation is bound if it is accepted by any of the calls, so the order of
+ * the calls does not matter. Accepting all operations of a type therefore
+ * overrides the field restrictions for this type, no matter if they have been
+ * added before or afterwards.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationFilter {
+    /** The names used as the type discriminator by operation class. */
+    private static final Map<Class<?>, String> TYPE_NAMES = new HashMap<>();
+
+    static {
+        for (Type subType : Operation.class.getAnnotation(JsonSubTypes.class).value()) {
+            TYPE_NAMES.put(subType.value(), subType.name());
+        }
+    }
+
+    /** The required field values by the name of the accepted types. */
+    private final Map<String, Map<String, Set<String>>> acceptedTypes = new HashMap<>();
+    /** The names of the types whose operations are all accepted. */
+    private final Set<String> unrestrictedTypes = new HashSet<>();
+
+    /**
+     * Create a new filter which accepts all operations of the given types.
+     * 
+     * @param operationTypes
+     *            The types to accept.
+     * @throws IllegalArgumentException
+     *             If one of the types is not a known operation type.
+     */
+    @SafeVarargs
+    public OperationFilter(Class<? extends Operation>... operationTypes) {
+        for (Class<? extends Operation> operationType : operationTypes) {
+            accept(operationType);
+        }
+    }
+
+    /**
+     * Accept all operations of the given type. Field restrictions added for
+     * this type by {@link #accept(Class, String, String...)} are ignored.
+     * 
+     * @param operationType
+     *            The type to accept.
+     * @return This filter.
+     * @throws IllegalArgumentException
+     *             If the type is not a known operation type.
+     */
+    public OperationFilter accept(Class<? extends Operation> operationType) {
+        String typeName = getTypeName(operationType);
+        unrestrictedTypes.add(typeName);
+        acceptedTypes.put(typeName, new HashMap<>());
+        return this;
+    }
+
+    /**
+     * Accept operations of the given type if the top level field
+     * <code>fieldName</code> has one of the given values. If multiple fields
+     * are restricted for the same type, all of them have to match. The
+     * restriction has no effect if all operations of this type are accepted
+     * (see {@link #accept(Class)}).
+     * 
+     * @param operationType
+     *            The type to accept.
+     * @param fieldName
+     *            The JSON name of the field (e.g. <code>id</code>).
+     * @param acceptedValues
+     *            The accepted values of the field in their JSON
+     *            representation.
+     * @return This filter.
+     * @throws IllegalArgumentException
+     *             If the type is not a known operation type.
+     */
+    public OperationFilter accept(Class<? extends Operation> operationType, String fieldName,
+            String... acceptedValues) {
+        String typeName = getTypeName(operationType);
+        if (!unrestrictedTypes.contains(typeName)) {
+            acceptedTypes.computeIfAbsent(typeName, name -> new HashMap<>())
+                    .computeIfAbsent(fieldName, name -> new HashSet<>()).addAll(Arrays.asList(acceptedValues));
+        }
+        return this;
+    }
+
+    /**
+     * Get the field values required for operations of the given type.
+     * 
+     * @param typeName
+     *            The value of the type discriminator.
+     * @return The accepted values by field name, an empty map if all
+     *         operations of this type are accepted or <code>null</code> if
+     *         the type is not accepted at all.
+     */
+    Map<String, Set<String>> getRequiredFieldValues(String typeName) {
+        return acceptedTypes.get(typeName);
+    }
+
+    /**
+     * Create a reader which transforms a JSON-RPC result into a list of
+     * <code>resultClass</code> instances and passes this filter to their
+     * deserializers (see
+     * {@link eu.bittrade.libs.steemj.communication.CommunicationHandler#performRequest(eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest, ObjectReader)
+     * CommunicationHandler#performRequest}).
+     * 
+     * @param resultClass
+     *            The type of the result.
+     * @return The reader.
+     */
+    public ObjectReader createResultReader(Class<?> resultClass) {
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+        return mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, resultClass))
+                .withAttribute(OperationFilter.class, this);
+    }
+
+    /**
+     * Get the value of the type discriminator used for the given operation
+     * type.
+     * 
+     * @param operationType
+     *            The operation type.
+     * @return The name of the type.
+     * @throws IllegalArgumentException
+     *             If the type is not a known operation type.
+     */
+    public static String getTypeName(Class<? extends Operation> operationType) {
+        String typeName = TYPE_NAMES.get(operationType);
+        if (typeName == null) {
+            throw new IllegalArgumentException("The operation type " + operationType.getName() + " is unknown.");
+        }
+
+        return typeName;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import eu.bittrade.libs.steemj.SteemJAsync;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.FilteredBlock;
+import eu.bittrade.libs.steemj.streaming.enums.BlockStreamMode;
+
+/**
+ * This class delivers the operations of consecutive blocks which match an
+ * {@link OperationFilter}. The blocks are requested and ordered by a
+ * {@link BlockStream}, but each block is read as a {@link FilteredBlock}, so
+ * operations which do not match the filter are never bound.
+ * 
+ * <p>
+ * Example:<br>
+ * <code>OperationStream stream = new OperationStream(steemJAsync, 0, BlockStreamMode.IRREVERSIBLE,
+ * new OperationFilter(TransferOperation.class));</code><br>
+ * <code>stream.subscribe(operation -&gt; System.out.println(operation.getOp()));</code><br>
+ * <code>stream.start();</code>
+ * </p>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationStream implements Closeable {
+    private final BlockStream blockStream;
+    private final List<OperationSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a new stream using the default prefetch window and poll
+     * interval.
+     * 
+     * @param steemJAsync
+     *            The asynchronous API used to request the blocks.
+     * @param startBlockNumber
+     *            The number of the first block to read. If the number is
+     *            <code>0</code> or lower, the stream starts with the current
+     *            head or last irreversible block.
+     * @param mode
+     *            Define if the head or the last irreversible block should be
+     *            followed.
+     * @param operationFilter
+     *            The operations to deliver.
+     */
+    public OperationStream(SteemJAsync steemJAsync, long startBlockNumber, BlockStreamMode mode,
+            OperationFilter operationFilter) {
+        this(BlockProvider.of(steemJAsync, operationFilter), startBlockNumber, mode,
+                BlockStream.DEFAULT_PREFETCH_WINDOW, BlockStream.DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Create a new stream.
+     * 
+     * @param blockProvider
+     *            The source of the blocks. It has to provide
+     *            {@link FilteredBlock FilteredBlocks} (see
+     *            {@link BlockProvider#of(SteemJAsync, OperationFilter)}).
+     * @param startBlockNumber
+     *            The number of the first block to read. If the number is
+     *            <code>0</code> or lower, the stream starts with the current
+     *            head or last irreversible block.
+     * @param mode
+     *            Define if the head or the last irreversible block should be
+     *            followed.
+     * @param prefetchWindow
+     *            The maximum number of blocks requested at the same time.
+     * @param pollIntervalMillis
+     *            The time to wait for new blocks or after an error in
+     *            milliseconds.
+     */
+    public OperationStream(BlockProvider blockProvider, long startBlockNumber, BlockStreamMode mode,
+            int prefetchWindow, long pollIntervalMillis) {
+        this.blockStream = new BlockStream(blockProvider, startBlockNumber, mode, prefetchWindow,
+                pollIntervalMillis);
+        this.blockStream.subscribe(new BlockSubscriber() {
+            @Override
+            public void onBlock(ExtendedSignedBlock block) {
+                deliver(block);
+            }
+
+            @Override
+            public void onFork(long forkBlockNumber) {
+                for (OperationSubscriber subscriber : subscribers) {
+                    subscriber.onFork(forkBlockNumber);
+                }
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                for (OperationSubscriber subscriber : subscribers) {
+                    subscriber.onError(cause);
+                }
+            }
+        });
+    }
+
+    /**
+     * Add a subscriber.
+     * 
+     * @param subscriber
+     *            The subscriber to add.
+     */
+    public void subscribe(OperationSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Remove a subscriber.
+     * 
+     * @param subscriber
+     *            The subscriber to remove.
+     */
+    public void unsubscribe(OperationSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Get the number of the next block to read.
+     * 
+     * @return The number of the next block to read or <code>0</code> if the
+     *         stream has not determined its start block yet.
+     */
+    public long getNextBlockNumber() {
+        return blockStream.getNextBlockNumber();
+    }
+
+    /**
+     * Start to deliver operations using a new daemon thread.
+     * 
+     * @throws IllegalStateException
+     *             If the stream has already been started.
+     */
+    public void start() {
+        blockStream.start();
+    }
+
+    /**
+     * Stop the stream.
+     */
+    @Override
+    public void close() {
+        blockStream.close();
+    }
+
+    /**
+     * Hand the operations of the given block to all subscribers.
+     * 
+     * @param block
+     *            The block to deliver.
+     * @throws IllegalStateException
+     *             If the block provider did not provide a
+     *             {@link FilteredBlock}.
+     */
+    private void deliver(ExtendedSignedBlock block) {
+        if (!(block instanceof FilteredBlock)) {
+            throw new IllegalStateException("The block provider has to provide filtered blocks.");
+        }
+
+        for (AppliedOperation operation : ((FilteredBlock) block).getOperations()) {
+            for (OperationSubscriber subscriber : subscribers) {
+                try {
+                    subscriber.onOperation(operation);
+                } catch (RuntimeException e) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+    }
+}
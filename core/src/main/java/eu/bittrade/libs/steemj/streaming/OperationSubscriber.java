@@ -0,0 +1,61 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+
+/**
+ * A subscriber of an {@link OperationStream}. All methods are called by the
+ * thread of the stream, one after another.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+@FunctionalInterface
+public interface OperationSubscriber {
+    /**
+     * Called for every operation matching the filter of the stream, in the
+     * order of the blocks and of the operations within each block.
+     * 
+     * @param operation
+     *            The next operation.
+     */
+    void onOperation(AppliedOperation operation);
+
+    /**
+     * Called if the stream detected a fork while following the head block.
+     * All operations of the blocks starting from <code>forkBlockNumber</code>
+     * which have already been delivered are no longer part of the chain.
+     * 
+     * @param forkBlockNumber
+     *            The number of the first replaced block.
+     * @see BlockSubscriber#onFork(long)
+     */
+    default void onFork(long forkBlockNumber) {
+        // Nothing to do by default.
+    }
+
+    /**
+     * Called if a request to the Steem node failed. The stream will retry the
+     * request after its poll interval.
+     * 
+     * @param cause
+     *            The error.
+     */
+    default void onError(Throwable cause) {
+        // Nothing to do by default.
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming.enums;
+
+/**
+ * This enum defines which block number a
+ * {@link eu.bittrade.libs.steemj.streaming.BlockStream BlockStream} follows.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public enum BlockStreamMode {
+    /**
+     * Follow the head block. New blocks are delivered as soon as they have
+     * been produced, but may be replaced by a fork later on.
+     */
+    HEAD,
+    /**
+     * Follow the last irreversible block. Blocks are delivered with a delay of
+     * about one minute, but will never be replaced by a fork.
+     */
+    IRREVERSIBLE
+}
@@ -16,12 +16,14 @@
  */
 package eu.bittrade.libs.steemj.util;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
-import org.apache.commons.io.IOUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import eu.bittrade.libs.steemj.exceptions.SteemFatalErrorException;
 
 /**
  * As the {@link eu.bittrade.libs.steemj.util.KeyGenerator KeyGenerator} class
@@ -29,16 +31,25 @@ import org.slf4j.LoggerFactory;
  * dictionary, this class has been created to have the dictionary in memory for
  * only one time.
  * 
+ * The dictionary is loaded from the class path when it is used for the first
+ * time, so it also works if SteemJ is part of a shaded jar. All words are
+ * stored in a single char array instead of one String per word.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 class BrainkeyDictionaryManager {
-    private static final Logger LOGGER = LoggerFactory.getLogger(BrainkeyDictionaryManager.class);
-
     private static final String DICTIONARY_FILE_NAME = "dictionary.txt";
-    private static final String DICTIONARY_DELIMITER = ",";
+    private static final char DICTIONARY_DELIMITER = ',';
+    private static final String COMMENT_START = "/*";
+    private static final String COMMENT_END = "*/";
 
-    private static BrainkeyDictionaryManager brainkeyDictionaryManagerInstance;
-    private String[] brainKeyDictionary;
+    /** All words of the dictionary without delimiters. */
+    private final char[] words;
+    /**
+     * The position of each word in {@link #words}. The word with the index
+     * <code>i</code> ends where the word <code>i + 1</code> starts.
+     */
+    private final int[] wordOffsets;
 
     /**
      * Create a a new BrainkeyDictionaryManager instance. This method will load
@@ -48,38 +59,154 @@ class BrainkeyDictionaryManager {
      *             If there is a problem loading the file.
      */
     private BrainkeyDictionaryManager() throws IOException {
-        FileReader fileReader = new FileReader(getClass().getClassLoader().getResource(DICTIONARY_FILE_NAME).getFile());
-        try {
-            this.brainKeyDictionary = IOUtils.toString(fileReader).split(DICTIONARY_DELIMITER);
-        } finally {
-            fileReader.close();
+        char[] dictionary = readDictionary();
+
+        // Skip the license header.
+        int position = 0;
+        String dictionaryStart = new String(dictionary, 0, Math.min(dictionary.length, COMMENT_START.length()));
+        if (COMMENT_START.equals(dictionaryStart)) {
+            position = indexOf(dictionary, COMMENT_END) + COMMENT_END.length();
+        }
+
+        char[] dictionaryWords = new char[dictionary.length - position];
+        int[] dictionaryWordOffsets = new int[1024];
+        int numberOfWords = 0;
+        int length = 0;
+        boolean isWordStarted = false;
+        for (; position < dictionary.length; position++) {
+            char character = dictionary[position];
+            if (character == DICTIONARY_DELIMITER) {
+                isWordStarted = false;
+            } else if (!Character.isWhitespace(character)) {
+                if (!isWordStarted) {
+                    if (numberOfWords + 1 >= dictionaryWordOffsets.length) {
+                        dictionaryWordOffsets = Arrays.copyOf(dictionaryWordOffsets, dictionaryWordOffsets.length * 2);
+                    }
+                    dictionaryWordOffsets[numberOfWords++] = length;
+                    isWordStarted = true;
+                }
+                dictionaryWords[length++] = character;
+            }
+        }
+        dictionaryWordOffsets[numberOfWords] = length;
+
+        this.words = Arrays.copyOf(dictionaryWords, length);
+        this.wordOffsets = Arrays.copyOf(dictionaryWordOffsets, numberOfWords + 1);
+    }
+
+    /**
+     * Read the whole {@link #DICTIONARY_FILE_NAME} from the class path.
+     * 
+     * @return The content of the file.
+     * @throws IOException
+     *             If there is a problem loading the file.
+     */
+    private static char[] readDictionary() throws IOException {
+        InputStream dictionaryStream = BrainkeyDictionaryManager.class.getClassLoader()
+                .getResourceAsStream(DICTIONARY_FILE_NAME);
+        if (dictionaryStream == null) {
+            throw new IOException("The file " + DICTIONARY_FILE_NAME + " is not part of the class path.");
+        }
+
+        try (Reader dictionaryReader = new InputStreamReader(dictionaryStream, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[1 << 19];
+            int length = 0;
+            int read;
+            while ((read = dictionaryReader.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    /**
+     * @param content
+     *            The characters to search in.
+     * @param searchString
+     *            The String to search for.
+     * @return The index of the first occurrence of the <code>searchString</code>
+     *         or the index of the last possible occurrence if it does not
+     *         occur at all.
+     */
+    private static int indexOf(char[] content, String searchString) {
+        for (int index = 0; index <= content.length - searchString.length(); index++) {
+            if (searchString.equals(new String(content, index, searchString.length()))) {
+                return index;
+            }
         }
+        return content.length - searchString.length();
+    }
+
+    /**
+     * Get the number of words in the dictionary.
+     * 
+     * @return The number of words.
+     */
+    public int getNumberOfWords() {
+        return wordOffsets.length - 1;
     }
 
     /**
-     * Get the brainkey dictionary as an array of Strings.
+     * Get a single word of the dictionary.
      * 
-     * @return The brainkey dictionary
+     * @param index
+     *            The index of the word, which needs to be between 0 and
+     *            {@link #getNumberOfWords()} - 1.
+     * @return The word.
+     * @throws ArrayIndexOutOfBoundsException
+     *             If the index is not valid.
      */
-    public String[] getBrainKeyDictionary() {
-        return brainKeyDictionary;
+    public String getWord(int index) {
+        if (index < 0 || index >= getNumberOfWords()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+
+        return new String(words, wordOffsets[index], wordOffsets[index + 1] - wordOffsets[index]);
     }
 
     /**
      * Get the current BrainkeyDictionaryManager instance.
      * 
      * @return The current BrainkeyDictionaryManager instance.
+     * @throws SteemFatalErrorException
+     *             If the dictionary could not be loaded. The dictionary is
+     *             only loaded once, so all further calls will fail as well.
      */
     public static BrainkeyDictionaryManager getInstance() {
         try {
-            if (brainkeyDictionaryManagerInstance == null) {
-                brainkeyDictionaryManagerInstance = new BrainkeyDictionaryManager();
+            return InstanceHolder.INSTANCE;
+        } catch (ExceptionInInitializerError e) {
+            // Thrown for the call that tried to load the dictionary.
+            if (e.getCause() instanceof SteemFatalErrorException) {
+                throw (SteemFatalErrorException) e.getCause();
             }
-        } catch (IOException e) {
-            // This should never happen.
-            LOGGER.error("Could not create a new BrainkeyDictionaryManager instance.", e);
+            throw new SteemFatalErrorException("Could not load the brain key dictionary.", e.getCause());
+        } catch (NoClassDefFoundError e) {
+            // Thrown for all calls after loading the dictionary failed.
+            throw new SteemFatalErrorException("The brain key dictionary could not be loaded before.", e);
         }
+    }
 
-        return brainkeyDictionaryManagerInstance;
+    /**
+     * Creates the instance when it is used for the first time. The JVM
+     * guarantees that this only happens once, even if multiple threads access
+     * the dictionary at the same time.
+     */
+    private static class InstanceHolder {
+        private static final BrainkeyDictionaryManager INSTANCE = createInstance();
+
+        /**
+         * @return The new instance.
+         */
+        private static BrainkeyDictionaryManager createInstance() {
+            try {
+                return new BrainkeyDictionaryManager();
+            } catch (IOException e) {
+                throw new SteemFatalErrorException("Could not load the brain key dictionary.", e);
+            }
+        }
     }
 }
@@ -0,0 +1,356 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+
+/**
+ * A growable byte buffer used to create the binary representation of
+ * {@link ByteTransformable ByteTransformables}. All objects of a transaction
+ * append their bytes directly to the same sink, so that serializing a
+ * transaction does not require an intermediate array for each nested object.
+ * 
+ * All numbers are written in little endian byte order as expected by the Steem
+ * node. This class is not thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ByteSink {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final Charset encodingCharset;
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Create a new, empty sink using the encoding charset of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     */
+    public ByteSink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new, empty sink which encodes Strings using the given
+     * <code>encodingCharset</code>.
+     * 
+     * @param encodingCharset
+     *            The charset used to encode Strings.
+     */
+    public ByteSink(Charset encodingCharset) {
+        this(DEFAULT_CAPACITY, encodingCharset);
+    }
+
+    /**
+     * Create a new, empty sink using the encoding charset of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * @param initialCapacity
+     *            The number of bytes the sink can hold before it needs to
+     *            grow.
+     */
+    public ByteSink(int initialCapacity) {
+        this(initialCapacity, SteemJConfig.getInstance().getEncodingCharset());
+    }
+
+    /**
+     * Create a new, empty sink which encodes Strings using the given
+     * <code>encodingCharset</code>, e.g. the one of a
+     * {@link SteemJConfig#snapshot() configuration snapshot}.
+     * 
+     * @param initialCapacity
+     *            The number of bytes the sink can hold before it needs to
+     *            grow.
+     * @param encodingCharset
+     *            The charset used to encode Strings.
+     */
+    public ByteSink(int initialCapacity, Charset encodingCharset) {
+        this.encodingCharset = encodingCharset;
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Append the binary representation of the given <code>value</code>.
+     * 
+     * @param value
+     *            The object to append.
+     * @return This sink.
+     * @throws SteemInvalidTransactionException
+     *             If the object can't be transformed into its binary
+     *             representation.
+     */
+    public ByteSink write(ByteTransformable value) throws SteemInvalidTransactionException {
+        value.writeTo(this);
+        return this;
+    }
+
+    /**
+     * Append a single byte.
+     * 
+     * @param value
+     *            The byte to append. Only the lowest 8 bits are used.
+     * @return This sink.
+     */
+    public ByteSink writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Append the given bytes.
+     * 
+     * @param bytes
+     *            The bytes to append.
+     * @return This sink.
+     */
+    public ByteSink writeBytes(byte[] bytes) {
+        return writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Append a part of the given bytes.
+     * 
+     * @param bytes
+     *            The array which contains the bytes to append.
+     * @param offset
+     *            The index of the first byte to append.
+     * @param length
+     *            The number of bytes to append.
+     * @return This sink.
+     */
+    public ByteSink writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Append a boolean as a single byte.
+     * 
+     * @param value
+     *            The value to append.
+     * @return This sink.
+     */
+    public ByteSink writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Append the lowest 16 bits of the given value.
+     * 
+     * @param value
+     *            The value to append.
+     * @return This sink.
+     */
+    public ByteSink writeShort(int value) {
+        ensureCapacity(2);
+        buffer[size++] = (byte) value;
+        buffer[size++] = (byte) (value >>> 8);
+        return this;
+    }
+
+    /**
+     * Append a 32 bit value.
+     * 
+     * @param value
+     *            The value to append.
+     * @return This sink.
+     */
+    public ByteSink writeInt(int value) {
+        ensureCapacity(4);
+        putInt(size, value);
+        size += 4;
+        return this;
+    }
+
+    /**
+     * Append a 64 bit value.
+     * 
+     * @param value
+     *            The value to append.
+     * @return This sink.
+     */
+    public ByteSink writeLong(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[size++] = (byte) (value >>> (8 * i));
+        }
+        return this;
+    }
+
+    /**
+     * Append the given value as an unsigned VarInt.
+     * 
+     * @param value
+     *            The value to append.
+     * @return This sink.
+     */
+    public ByteSink writeVarInt(long value) {
+        ensureCapacity(10);
+        long remaining = value;
+        while ((remaining & 0xFFFFFFFFFFFFFF80L) != 0L) {
+            buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[size++] = (byte) remaining;
+        return this;
+    }
+
+    /**
+     * Append a String prefixed with its length as a VarInt. Nothing is
+     * appended if the <code>value</code> is <code>null</code>.
+     * 
+     * @param value
+     *            The String to append.
+     * @return This sink.
+     */
+    public ByteSink writeString(String value) {
+        if (value == null) {
+            return this;
+        }
+
+        int length = value.length();
+        if (isAsciiCompatible() && isAscii(value)) {
+            // Avoid the temporary array for the common case.
+            writeVarInt(length);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[size++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        byte[] encodedValue = value.getBytes(encodingCharset);
+        writeVarInt(encodedValue.length);
+        return writeBytes(encodedValue);
+    }
+
+    /**
+     * Overwrite a 32 bit value which has already been written, e.g. to change
+     * a single field of a serialized transaction without serializing it again.
+     * 
+     * @param position
+     *            The position of the first byte to overwrite.
+     * @param value
+     *            The new value.
+     * @throws IndexOutOfBoundsException
+     *             If the position is not part of the written bytes.
+     */
+    public void setInt(int position, int value) {
+        if (position < 0 || position + 4 > size) {
+            throw new IndexOutOfBoundsException("The position " + position + " has not been written yet.");
+        }
+
+        putInt(position, value);
+    }
+
+    /**
+     * Get the number of bytes written to this sink.
+     * 
+     * @return The number of written bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all written bytes, so that the sink can be reused without
+     * allocating a new buffer.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Get the internal buffer of this sink. Only the first {@link #size()}
+     * bytes are valid. The buffer is not copied, so it must not be modified
+     * and is only valid until the next write operation.
+     * 
+     * @return The internal buffer.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get a copy of the written bytes.
+     * 
+     * @return The written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Store a 32 bit value at the given position.
+     * 
+     * @param position
+     *            The position of the first byte.
+     * @param value
+     *            The value to store.
+     */
+    private void putInt(int position, int value) {
+        buffer[position] = (byte) value;
+        buffer[position + 1] = (byte) (value >>> 8);
+        buffer[position + 2] = (byte) (value >>> 16);
+        buffer[position + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Make sure that the given number of bytes can be appended.
+     * 
+     * @param additionalBytes
+     *            The number of bytes to append.
+     */
+    private void ensureCapacity(int additionalBytes) {
+        int requiredCapacity = size + additionalBytes;
+        if (requiredCapacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredCapacity, buffer.length * 2));
+        }
+    }
+
+    /**
+     * @return <code>true</code> if ASCII characters are encoded as a single,
+     *         identical byte by the configured charset.
+     */
+    private boolean isAsciiCompatible() {
+        return StandardCharsets.UTF_8.equals(encodingCharset) || StandardCharsets.US_ASCII.equals(encodingCharset)
+                || StandardCharsets.ISO_8859_1.equals(encodingCharset);
+    }
+
+    /**
+     * @param value
+     *            The String to check.
+     * @return <code>true</code> if the String only contains ASCII characters.
+     */
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
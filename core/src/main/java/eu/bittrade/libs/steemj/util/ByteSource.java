@@ -0,0 +1,249 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+
+/**
+ * The counterpart of the {@link ByteSink}, used to read the binary
+ * representation of Steem objects. The source is a view on a
+ * {@link ByteBuffer}, so the bytes are read in place and only Strings and byte
+ * arrays requested by the caller are copied.
+ * 
+ * All numbers are read in little endian byte order. This class is not thread
+ * safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ByteSource {
+    private final Charset encodingCharset;
+    private final ByteBuffer buffer;
+
+    /**
+     * Create a new source which reads the remaining bytes of the given
+     * <code>buffer</code> using the encoding charset of the global
+     * {@link SteemJConfig#getInstance() configuration}. The position of the
+     * given buffer is not changed.
+     * 
+     * @param buffer
+     *            The buffer to read from.
+     */
+    public ByteSource(ByteBuffer buffer) {
+        this(buffer, SteemJConfig.getInstance().getEncodingCharset());
+    }
+
+    /**
+     * Like {@link #ByteSource(ByteBuffer)}, but decodes Strings using the given
+     * <code>encodingCharset</code> instead of the one of the global
+     * {@link SteemJConfig#getInstance() configuration}.
+     * 
+     * @param buffer
+     *            The buffer to read from.
+     * @param encodingCharset
+     *            The charset used to decode Strings.
+     */
+    public ByteSource(ByteBuffer buffer, Charset encodingCharset) {
+        this.encodingCharset = encodingCharset;
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Create a new source which reads the given <code>bytes</code>.
+     * 
+     * @param bytes
+     *            The bytes to read.
+     */
+    public ByteSource(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Read a single byte.
+     * 
+     * @return The byte.
+     * @throws SteemInvalidTransactionException
+     *             If there are no more bytes.
+     */
+    public byte readByte() throws SteemInvalidTransactionException {
+        require(1);
+        return buffer.get();
+    }
+
+    /**
+     * Read the given number of bytes into a new array.
+     * 
+     * @param length
+     *            The number of bytes to read.
+     * @return The bytes.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public byte[] readBytes(int length) throws SteemInvalidTransactionException {
+        require(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read a boolean stored as a single byte.
+     * 
+     * @return The boolean.
+     * @throws SteemInvalidTransactionException
+     *             If there are no more bytes.
+     */
+    public boolean readBoolean() throws SteemInvalidTransactionException {
+        return readByte() != 0;
+    }
+
+    /**
+     * Read a 16 bit value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public short readShort() throws SteemInvalidTransactionException {
+        require(2);
+        return buffer.getShort();
+    }
+
+    /**
+     * Read a 32 bit value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public int readInt() throws SteemInvalidTransactionException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    /**
+     * Read an unsigned 32 bit value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public long readUnsignedInt() throws SteemInvalidTransactionException {
+        return readInt() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Read a 64 bit value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public long readLong() throws SteemInvalidTransactionException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    /**
+     * Read an unsigned VarInt.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes or the VarInt is longer than
+     *             64 bits.
+     */
+    public long readVarInt() throws SteemInvalidTransactionException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte currentByte = readByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new SteemInvalidTransactionException("The VarInt at position " + buffer.position() + " is too long.");
+    }
+
+    /**
+     * Read a VarInt which is used as the length of the following data.
+     * 
+     * @return The length.
+     * @throws SteemInvalidTransactionException
+     *             If the length does not fit into an int or is larger than the
+     *             remaining bytes.
+     */
+    public int readLength() throws SteemInvalidTransactionException {
+        long length = readVarInt();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new SteemInvalidTransactionException("The length " + Long.toUnsignedString(length)
+                    + " before position " + buffer.position() + " is too large.");
+        } else if (length > buffer.remaining()) {
+            throw new SteemInvalidTransactionException(
+                    "The length " + length + " exceeds the " + buffer.remaining() + " remaining bytes.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Read a String prefixed with its length as a VarInt.
+     * 
+     * @return The String.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    public String readString() throws SteemInvalidTransactionException {
+        int length = readLength();
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    encodingCharset);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+
+        return new String(readBytes(length), encodingCharset);
+    }
+
+    /**
+     * Get the number of bytes which have not been read yet.
+     * 
+     * @return The number of remaining bytes.
+     */
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Make sure that at least the given number of bytes can be read.
+     * 
+     * @param length
+     *            The number of bytes to read.
+     * @throws SteemInvalidTransactionException
+     *             If there are not enough bytes.
+     */
+    private void require(int length) throws SteemInvalidTransactionException {
+        if (length < 0 || buffer.remaining() < length) {
+            throw new SteemInvalidTransactionException("Unexpected end of data: " + length
+                    + " bytes are required at position " + buffer.position() + ", but only " + buffer.remaining()
+                    + " are left.");
+        }
+    }
+}
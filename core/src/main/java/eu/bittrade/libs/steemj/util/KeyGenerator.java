@@ -22,6 +22,10 @@ import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -43,6 +47,10 @@ import eu.bittrade.libs.steemj.protocol.PublicKey;
 public class KeyGenerator {
     private static final int BRAIN_KEY_WORD_COUNT = 16;
 
+    private static final ThreadLocal<MessageDigest> SHA_256_DIGESTS = new ThreadLocal<>();
+    private static final ThreadLocal<MessageDigest> SHA_512_DIGESTS = new ThreadLocal<>();
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOMS = new ThreadLocal<>();
+
     private String brainKey;
     private ECKey privateKey;
 
@@ -118,19 +126,93 @@ public class KeyGenerator {
      *             generate a private key is not supported on your platform.
      */
     private void setPrivateKey(String brainKey, int sequence) throws SteemKeyHandlingException {
+        this.privateKey = derivePrivateKey(brainKey, sequence);
+    }
+
+    /**
+     * Derive the private key for the given <code>brainKey</code> and
+     * <code>sequence</code> using the message digests of the current thread.
+     * 
+     * @param brainKey
+     *            The brain key used to generate a new key pair.
+     * @param sequence
+     *            The sequence.
+     * @return The private key.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm used to generate a private key is not
+     *             supported on your platform.
+     */
+    private static ECKey derivePrivateKey(String brainKey, int sequence) throws SteemKeyHandlingException {
         String brainKeyAndSquence = brainKey + " " + sequence;
 
-        try {
-            MessageDigest messageDigest512 = MessageDigest.getInstance("SHA-512");
-            MessageDigest messageDigest256 = MessageDigest.getInstance("SHA-256");
+        byte[] hashedBrainKeyAndSequence = getMessageDigest(SHA_512_DIGESTS, "SHA-512")
+                .digest(brainKeyAndSquence.getBytes(SteemJConfig.getInstance().getEncodingCharset()));
+        return ECKey.fromPrivate(getMessageDigest(SHA_256_DIGESTS, "SHA-256").digest(hashedBrainKeyAndSequence));
+    }
 
-            byte[] hashedBrainKeyAndSequence = messageDigest512
-                    .digest(brainKeyAndSquence.getBytes(SteemJConfig.getInstance().getEncodingCharset()));
-            this.privateKey = ECKey.fromPrivate(messageDigest256.digest(hashedBrainKeyAndSequence));
-        } catch (NoSuchAlgorithmException e) {
-            throw new SteemKeyHandlingException(
-                    "The algorithm used to generate a private key is not supported by your system.", e);
+    /**
+     * Derive the private keys for a range of sequences of the same brain key
+     * in parallel, using the {@link ForkJoinPool#commonPool() common pool}.
+     * 
+     * @param brainKey
+     *            The brain key used to generate the keys.
+     * @param firstSequence
+     *            The sequence of the first key.
+     * @param numberOfKeys
+     *            The number of keys to derive.
+     * @return The private keys in the order of their sequence.
+     * @throws SteemKeyHandlingException
+     *             If the brain key is not valid or if the algorithm used to
+     *             generate a private key is not supported on your platform.
+     */
+    public static List<ECKey> derivePrivateKeys(String brainKey, int firstSequence, int numberOfKeys)
+            throws SteemKeyHandlingException {
+        return derivePrivateKeys(brainKey, firstSequence, numberOfKeys, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Like {@link #derivePrivateKeys(String, int, int)}, but uses the given
+     * <code>derivationPool</code>.
+     * 
+     * @param brainKey
+     *            The brain key used to generate the keys.
+     * @param firstSequence
+     *            The sequence of the first key.
+     * @param numberOfKeys
+     *            The number of keys to derive.
+     * @param derivationPool
+     *            The pool used to derive the keys.
+     * @return The private keys in the order of their sequence.
+     * @throws SteemKeyHandlingException
+     *             If the brain key is not valid or if the algorithm used to
+     *             generate a private key is not supported on your platform.
+     */
+    public static List<ECKey> derivePrivateKeys(String brainKey, int firstSequence, int numberOfKeys,
+            ForkJoinPool derivationPool) throws SteemKeyHandlingException {
+        verifyBrainKey(brainKey);
+
+        List<ForkJoinTask<ECKey>> derivationTasks = new ArrayList<>(numberOfKeys);
+        for (int i = 0; i < numberOfKeys; i++) {
+            int sequence = firstSequence + i;
+            derivationTasks.add(derivationPool.submit(() -> derivePrivateKey(brainKey, sequence)));
         }
+
+        List<ECKey> privateKeys = new ArrayList<>(numberOfKeys);
+        for (ForkJoinTask<ECKey> derivationTask : derivationTasks) {
+            try {
+                privateKeys.add(derivationTask.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SteemKeyHandlingException) {
+                    throw (SteemKeyHandlingException) e.getCause();
+                }
+                throw new SteemKeyHandlingException("Could not derive the private key.", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SteemKeyHandlingException("Interrupted while deriving the private keys.", e);
+            }
+        }
+
+        return privateKeys;
     }
 
     /**
@@ -139,7 +221,7 @@ public class KeyGenerator {
      * @return The generated public key.
      */
     public PublicKey getPublicKey() {
-        return new PublicKey(ECKey.fromPrivate(this.getPrivateKey().getPrivKeyBytes()));
+        return new PublicKey(ECKey.fromPublicOnly(this.getPrivateKey().getPubKeyPoint()));
     }
 
     /**
@@ -165,23 +247,87 @@ public class KeyGenerator {
      *             supported on your platform.
      */
     public static String suggestBrainKey() throws SteemKeyHandlingException {
-        ArrayList<String> brainKeyParts = new ArrayList<>();
+        BrainkeyDictionaryManager brainKeyDictionary = BrainkeyDictionaryManager.getInstance();
+        SecureRandom secureRandom = getSecureRandom();
 
-        try {
-            for (int i = 0; i < BRAIN_KEY_WORD_COUNT; i++) {
-                brainKeyParts.add(BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary()[SecureRandom
-                        .getInstance("SHA1PRNG", "SUN")
-                        .nextInt(BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary().length - 1)]
-                                .toUpperCase());
-            }
-        } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
-            throw new SteemKeyHandlingException(
-                    "The algorithm used to provide a strong random number is not available on your system.", e);
+        ArrayList<String> brainKeyParts = new ArrayList<>(BRAIN_KEY_WORD_COUNT);
+        for (int i = 0; i < BRAIN_KEY_WORD_COUNT; i++) {
+            brainKeyParts.add(brainKeyDictionary.getWord(secureRandom.nextInt(brainKeyDictionary.getNumberOfWords()))
+                    .toUpperCase());
         }
 
         return StringUtils.join(brainKeyParts, " ");
     }
 
+    /**
+     * Generate multiple new brain keys at once (see {@link #suggestBrainKey()}).
+     * 
+     * @param numberOfBrainKeys
+     *            The number of brain keys to generate.
+     * @return The generated brain keys.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm used by the random generator is not
+     *             supported on your platform.
+     */
+    public static List<String> suggestBrainKeys(int numberOfBrainKeys) throws SteemKeyHandlingException {
+        List<String> brainKeys = new ArrayList<>(numberOfBrainKeys);
+        for (int i = 0; i < numberOfBrainKeys; i++) {
+            brainKeys.add(suggestBrainKey());
+        }
+
+        return brainKeys;
+    }
+
+    /**
+     * Get the message digest for the given <code>algorithm</code> of the
+     * current thread. As deriving a private key is done very often, the
+     * digests are reused instead of looking them up for each derivation.
+     * 
+     * @param digests
+     *            The digests of all threads.
+     * @param algorithm
+     *            The algorithm of the digest.
+     * @return The message digest.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm is not supported on your platform.
+     */
+    private static MessageDigest getMessageDigest(ThreadLocal<MessageDigest> digests, String algorithm)
+            throws SteemKeyHandlingException {
+        MessageDigest messageDigest = digests.get();
+        if (messageDigest == null) {
+            try {
+                messageDigest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new SteemKeyHandlingException(
+                        "The algorithm used to generate a private key is not supported by your system.", e);
+            }
+            digests.set(messageDigest);
+        }
+
+        return messageDigest;
+    }
+
+    /**
+     * @return The random number generator of the current thread.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm used by the random generator is not
+     *             supported on your platform.
+     */
+    private static SecureRandom getSecureRandom() throws SteemKeyHandlingException {
+        SecureRandom secureRandom = SECURE_RANDOMS.get();
+        if (secureRandom == null) {
+            try {
+                secureRandom = SecureRandom.getInstance("SHA1PRNG", "SUN");
+            } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
+                throw new SteemKeyHandlingException(
+                        "The algorithm used to provide a strong random number is not available on your system.", e);
+            }
+            SECURE_RANDOMS.set(secureRandom);
+        }
+
+        return secureRandom;
+    }
+
     /**
      * Verify and set the brain key of this instance.
      * 
@@ -190,10 +336,23 @@ public class KeyGenerator {
      * @throws SteemKeyHandlingException
      */
     private void setBrainKey(String brainKey) throws SteemKeyHandlingException {
+        verifyBrainKey(brainKey);
+        this.brainKey = brainKey;
+    }
+
+    /**
+     * Verify that the given brain key consists of
+     * {@link #BRAIN_KEY_WORD_COUNT} words.
+     * 
+     * @param brainKey
+     *            The brain key in its String representation.
+     * @throws SteemKeyHandlingException
+     *             If the brain key has an invalid format.
+     */
+    private static void verifyBrainKey(String brainKey) throws SteemKeyHandlingException {
         if (brainKey.split(" ").length != BRAIN_KEY_WORD_COUNT) {
             throw new SteemKeyHandlingException(
                     "The provided brain key has to be a space separated list of " + BRAIN_KEY_WORD_COUNT + " words.");
         }
-        this.brainKey = brainKey;
     }
 }
@@ -26,7 +26,8 @@ import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
@@ -50,6 +51,13 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 public class SteemJUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(SteemJUtils.class);
 
+    /** The date time pattern used by the Steem blockchain. */
+    private static final String CHAIN_DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+    /** The length of a date in the {@link #CHAIN_DATE_TIME_PATTERN} format. */
+    private static final int CHAIN_DATE_TIME_LENGTH = 19;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long SECONDS_PER_DAY = 86400L;
+
     /** Add a private constructor to hide the implicit public one. */
     private SteemJUtils() {
     }
@@ -123,11 +131,25 @@ public class SteemJUtils {
      * @return The VarInt-byte representation of the given String.
      */
     public static byte[] transformStringToVarIntByteArray(String string) {
+        return transformStringToVarIntByteArray(string, SteemJConfig.getInstance().getEncodingCharset());
+    }
+
+    /**
+     * Like {@link #transformStringToVarIntByteArray(String)}, but encodes the
+     * String using the given <code>encodingCharset</code> instead of the one
+     * of the global {@link SteemJConfig#getInstance() configuration}.
+     *
+     * @param string
+     *            The string to transform.
+     * @param encodingCharset
+     *            The charset used to encode the String.
+     * @return The VarInt-byte representation of the given String.
+     */
+    public static byte[] transformStringToVarIntByteArray(String string, Charset encodingCharset) {
         if (string == null) {
             return new byte[0];
         }
 
-        Charset encodingCharset = SteemJConfig.getInstance().getEncodingCharset();
         try (ByteArrayOutputStream resultingByteRepresentation = new ByteArrayOutputStream()) {
             byte[] stringAsByteArray = string.getBytes(encodingCharset);
 
@@ -159,7 +181,7 @@ public class SteemJUtils {
                 value >>>= 7;
             }
 
-            out.writeByte(intValue & 0x7F);
+            out.writeByte(value & 0x7F);
 
             return byteArrayOutputStream.toByteArray();
         } catch (IOException e) {
@@ -242,10 +264,53 @@ public class SteemJUtils {
      * @return The date in its String representation.
      */
     public static String transformDateToString(Date date) {
-        SimpleDateFormat simpleDateFormatForJSON = new SimpleDateFormat(
-                SteemJConfig.getInstance().getDateTimePattern());
-        simpleDateFormatForJSON.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
-        return simpleDateFormatForJSON.format(date);
+        return transformTimestampToString(date.getTime());
+    }
+
+    /**
+     * This method transform a timestamp and returns this date in its String
+     * representation. The method is using the timezone and the date time
+     * pattern defined in the
+     * {@link eu.bittrade.libs.steemj.configuration.SteemJConfig SteemJConfig}.
+     * 
+     * <p>
+     * As long as the default pattern ("yyyy-MM-dd'T'HH:mm:ss") and time zone
+     * are configured, the String is written directly without using a
+     * {@link SimpleDateFormat}, so this method can be used by multiple threads
+     * without any synchronization.
+     * </p>
+     * 
+     * @param timestamp
+     *            The timestamp to transform.
+     * @return The date in its String representation.
+     */
+    public static String transformTimestampToString(long timestamp) {
+        long epochSecond = Math.floorDiv(timestamp, MILLIS_PER_SECOND);
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+
+        if (!isChainDateTimeFormatConfigured() || date.getYear() < 1 || date.getYear() > 9999) {
+            SimpleDateFormat simpleDateFormatForJSON = new SimpleDateFormat(
+                    SteemJConfig.getInstance().getDateTimePattern());
+            simpleDateFormatForJSON.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
+            return simpleDateFormatForJSON.format(new Date(timestamp));
+        }
+
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        char[] dateTime = new char[CHAIN_DATE_TIME_LENGTH];
+        writeDigits(dateTime, 0, date.getYear(), 4);
+        dateTime[4] = '-';
+        writeDigits(dateTime, 5, date.getMonthValue(), 2);
+        dateTime[7] = '-';
+        writeDigits(dateTime, 8, date.getDayOfMonth(), 2);
+        dateTime[10] = 'T';
+        writeDigits(dateTime, 11, secondOfDay / 3600, 2);
+        dateTime[13] = ':';
+        writeDigits(dateTime, 14, (secondOfDay / 60) % 60, 2);
+        dateTime[16] = ':';
+        writeDigits(dateTime, 17, secondOfDay % 60, 2);
+
+        return new String(dateTime);
     }
 
     /**
@@ -253,6 +318,13 @@ public class SteemJUtils {
      * timezone and the date time pattern defined in the
      * {@link eu.bittrade.libs.steemj.configuration.SteemJConfig SteemJConfig}.
      * 
+     * <p>
+     * As long as the default pattern ("yyyy-MM-dd'T'HH:mm:ss") and time zone
+     * are configured, the String is read directly without using a
+     * {@link SimpleDateFormat}, so this method can be used by multiple threads
+     * without any synchronization.
+     * </p>
+     * 
      * @param dateTime
      *            The date to transform.
      * @return The timestamp representation of the given String.
@@ -260,11 +332,91 @@ public class SteemJUtils {
      *             If the String could not be transformed.
      */
     public static long transformStringToTimestamp(String dateTime) throws ParseException {
-        Calendar calendar = Calendar.getInstance();
+        if (isChainDateTimeFormatConfigured() && dateTime != null && dateTime.length() >= CHAIN_DATE_TIME_LENGTH
+                && dateTime.charAt(4) == '-' && dateTime.charAt(7) == '-' && dateTime.charAt(10) == 'T'
+                && dateTime.charAt(13) == ':' && dateTime.charAt(16) == ':') {
+            int year = readDigits(dateTime, 0, 4);
+            int month = readDigits(dateTime, 5, 2);
+            int day = readDigits(dateTime, 8, 2);
+            int hour = readDigits(dateTime, 11, 2);
+            int minute = readDigits(dateTime, 14, 2);
+            int second = readDigits(dateTime, 17, 2);
+
+            if (year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 31 && hour >= 0 && hour <= 23
+                    && minute >= 0 && minute <= 59 && second >= 0 && second <= 59) {
+                try {
+                    long epochDay = LocalDate.of(year, month, day).toEpochDay();
+                    return (epochDay * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second) * MILLIS_PER_SECOND;
+                } catch (DateTimeException e) {
+                    // Let the SimpleDateFormat handle invalid dates like
+                    // "2017-02-30" as it did before.
+                    LOGGER.debug("Falling back to the lenient date parser for {}.", dateTime, e);
+                }
+            }
+        }
+
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat(SteemJConfig.getInstance().getDateTimePattern());
         simpleDateFormat.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
-        calendar.setTime(simpleDateFormat.parse(dateTime + SteemJConfig.getInstance().getTimeZoneId()));
-        return calendar.getTimeInMillis();
+        return simpleDateFormat.parse(dateTime + SteemJConfig.getInstance().getTimeZoneId()).getTime();
+    }
+
+    /**
+     * Check if the date time pattern and time zone used by the Steem
+     * blockchain are configured.
+     * 
+     * @return <code>true</code> if the fast, fixed width date handling can be
+     *         used, <code>false</code> otherwise.
+     */
+    private static boolean isChainDateTimeFormatConfigured() {
+        String timeZoneId = SteemJConfig.getInstance().getTimeZoneId();
+        return CHAIN_DATE_TIME_PATTERN.equals(SteemJConfig.getInstance().getDateTimePattern())
+                && ("GMT".equals(timeZoneId) || "UTC".equals(timeZoneId));
+    }
+
+    /**
+     * Write the given <code>value</code> as a zero padded, decimal number into
+     * <code>target</code>.
+     * 
+     * @param target
+     *            The array to write to.
+     * @param offset
+     *            The position of the first digit.
+     * @param value
+     *            The positive value to write.
+     * @param numberOfDigits
+     *            The number of digits to write.
+     */
+    private static void writeDigits(char[] target, int offset, int value, int numberOfDigits) {
+        int remainingValue = value;
+        for (int i = offset + numberOfDigits - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + remainingValue % 10);
+            remainingValue /= 10;
+        }
+    }
+
+    /**
+     * Read a positive, decimal number of a fixed length.
+     * 
+     * @param source
+     *            The String to read from.
+     * @param offset
+     *            The position of the first digit.
+     * @param numberOfDigits
+     *            The number of digits to read.
+     * @return The number or <code>-1</code> if one of the characters is not a
+     *         digit.
+     */
+    private static int readDigits(String source, int offset, int numberOfDigits) {
+        int value = 0;
+        for (int i = offset; i < offset + numberOfDigits; i++) {
+            char digit = source.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + (digit - '0');
+        }
+
+        return value;
     }
 
     /**
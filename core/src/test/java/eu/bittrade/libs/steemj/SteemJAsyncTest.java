@@ -0,0 +1,147 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.JsonRPCStubServer;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.condenser.CondenserApi;
+
+/**
+ * Test the {@link SteemJAsync} API against a local {@link JsonRPCStubServer}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SteemJAsyncTest extends BaseUT {
+    private static final int NUMBER_OF_REQUESTS = 200;
+    private static final String HARDFORK_VERSION = "0.22.0";
+
+    private JsonRPCStubServer stubServer;
+    private SteemJAsync steemJAsync;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Start a new stub server and connect to it.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        stubServer = new JsonRPCStubServer();
+        stubServer.setResult("\"" + HARDFORK_VERSION + "\"");
+
+        List<Pair<java.net.URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        config.setEndpointURIs(endpoints);
+
+        steemJAsync = new SteemJAsync();
+    }
+
+    /**
+     * Stop the stub server.
+     */
+    @After
+    public void tearDown() {
+        steemJAsync.close();
+        stubServer.close();
+    }
+
+    /**
+     * Test that many requests can be fanned out at the same time.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            results.add(steemJAsync.callApi(CondenserApi::getHardforkVersion));
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[results.size()])).get();
+
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.get(), equalTo(HARDFORK_VERSION));
+        }
+        assertThat(stubServer.getNumberOfRequests(), equalTo(NUMBER_OF_REQUESTS));
+    }
+
+    /**
+     * Test that an error returned by the node completes the future
+     * exceptionally.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testErrorResponse() throws Exception {
+        stubServer.close();
+        stubServer = new JsonRPCStubServer() {
+            @Override
+            protected JsonNode answer(JsonNode request) {
+                ObjectNode response = (ObjectNode) super.answer(request);
+                response.remove("result");
+                response.putObject("error").put("code", -32000).put("message", "Stub error");
+                return response;
+            }
+        };
+
+        List<Pair<java.net.URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        config.setEndpointURIs(endpoints);
+
+        CompletableFuture<String> result = steemJAsync
+                .callApi((CommunicationHandler handler) -> CondenserApi.getHardforkVersion(handler));
+
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(SteemResponseException.class));
+            return;
+        }
+
+        throw new AssertionError("Expected the future to be completed exceptionally.");
+    }
+}
@@ -142,7 +142,7 @@ public class SteemJIT extends BaseIT {
     @Category({ IntegrationTest.class })
     @Test
     public void testGetConfig() throws Exception {
-        final Config config = SteemJ.getConfig();
+        final Config config = steemJ.getChainConfig();
         final boolean isTestNet = config.getIsTestNet();
         final String steemitNullAccount = config.getSteemitNullAccount();
         final String initMinerName = config.getSteemitInitMinerName();
@@ -280,7 +280,7 @@ public class SteemJIT extends BaseIT {
     @Category({ IntegrationTest.class })
     @Test
     public void testGetLiquidityQueue() throws Exception {
-        final List<LiquidityBalance> repliesByLastUpdate = SteemJ.getLiquidityQueue(WITNESS_ACCOUNT, 5);
+        final List<LiquidityBalance> repliesByLastUpdate = steemJ.getAccountLiquidityQueue(WITNESS_ACCOUNT, 5);
 
         assertEquals("expect that 5 results are returned", repliesByLastUpdate.size(), 5);
         assertEquals("expect " + WITNESS_ACCOUNT + " to be the first returned account", WITNESS_ACCOUNT,
@@ -0,0 +1,129 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.communication.JsonRPCStubServer;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+
+/**
+ * Test that {@link SteemJ} instances send their requests to their own nodes.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SteemJTest extends BaseUT {
+    private static final AccountName ACCOUNT = new AccountName("dez1337");
+
+    private JsonRPCStubServer globalServer;
+    private JsonRPCStubServer firstServer;
+    private JsonRPCStubServer secondServer;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Start a stub server for the global configuration and one for each
+     * instance.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        globalServer = new JsonRPCStubServer();
+        firstServer = new JsonRPCStubServer();
+        secondServer = new JsonRPCStubServer();
+        for (JsonRPCStubServer stubServer : new JsonRPCStubServer[] { globalServer, firstServer, secondServer }) {
+            stubServer.setResult("[]");
+        }
+
+        config.setEndpointURIs(createEndpoints(globalServer.getUri()));
+    }
+
+    /**
+     * Stop the stub servers.
+     */
+    @After
+    public void tearDown() {
+        globalServer.close();
+        firstServer.close();
+        secondServer.close();
+    }
+
+    /**
+     * Test that an instance keeps using its own nodes after another instance
+     * with a different configuration has been created, and that the
+     * deprecated static methods use the global configuration.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testInstancesUseTheirOwnNodes() throws Exception {
+        SteemJConfig firstConfig = new SteemJConfig();
+        firstConfig.setEndpointURIs(createEndpoints(firstServer.getUri()));
+        SteemJ firstSteemJ = new SteemJ(firstConfig);
+
+        SteemJConfig secondConfig = new SteemJConfig();
+        secondConfig.setEndpointURIs(createEndpoints(secondServer.getUri()));
+        SteemJ secondSteemJ = new SteemJ(secondConfig);
+
+        assertThat(firstSteemJ.getAccountLiquidityQueue(ACCOUNT, 5).size(), equalTo(0));
+        assertThat(firstServer.getNumberOfRequests(), equalTo(1));
+        assertThat(secondServer.getNumberOfRequests(), equalTo(0));
+
+        assertThat(secondSteemJ.getAccountLiquidityQueue(ACCOUNT, 5).size(), equalTo(0));
+        assertThat(firstServer.getNumberOfRequests(), equalTo(1));
+        assertThat(secondServer.getNumberOfRequests(), equalTo(1));
+
+        assertThat(SteemJ.getLiquidityQueue(ACCOUNT, 5).size(), equalTo(0));
+        assertThat(globalServer.getNumberOfRequests(), equalTo(1));
+        assertThat(firstServer.getNumberOfRequests(), equalTo(1));
+        assertThat(secondServer.getNumberOfRequests(), equalTo(1));
+    }
+
+    /**
+     * @param endpoint
+     *            The endpoint to use.
+     * @return A list only containing the given HTTP <code>endpoint</code>.
+     */
+    private static List<Pair<URI, Boolean>> createEndpoints(URI endpoint) {
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(endpoint, false));
+        return endpoints;
+    }
+}
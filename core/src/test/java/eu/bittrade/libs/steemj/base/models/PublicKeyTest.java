@@ -18,10 +18,12 @@ package eu.bittrade.libs.steemj.base.models;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import eu.bittrade.crypto.core.AddressFormatException;
 import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.libs.steemj.BaseUT;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
@@ -88,4 +90,29 @@ public class PublicKeyTest extends BaseUT {
         assertThat(publicKey.equals(samePublicKey), equalTo(true));
         assertThat(samePublicKey.equals(differentPublicKey), equalTo(false));
     }
+
+    /**
+     * Test that parsed addresses are reused and that invalid addresses are
+     * still rejected on every attempt.
+     */
+    @Test
+    public void testParsedKeyCache() {
+        PublicKey publicKey = new PublicKey(ADDRESS);
+        PublicKey samePublicKey = new PublicKey(ADDRESS);
+
+        assertThat(publicKey.getPublicKey(), sameInstance(samePublicKey.getPublicKey()));
+        assertThat(publicKey.getAddressFromPublicKey(), sameInstance(ADDRESS));
+        assertThat(new PublicKey(publicKey.getPublicKey()).getAddressFromPublicKey().substring(3),
+                equalTo(ADDRESS.substring(3)));
+
+        String invalidAddress = ADDRESS.substring(0, ADDRESS.length() - 1) + "M";
+        for (int i = 0; i < 2; i++) {
+            try {
+                new PublicKey(invalidAddress);
+                throw new AssertionError("An address with an invalid checksum has been accepted.");
+            } catch (AddressFormatException e) {
+                assertThat(e.getMessage(), equalTo("Checksum does not match."));
+            }
+        }
+    }
 }
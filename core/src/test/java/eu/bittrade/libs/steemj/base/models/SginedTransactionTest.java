@@ -18,15 +18,22 @@ package eu.bittrade.libs.steemj.base.models;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.spongycastle.util.encoders.Base64;
 
 import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.Sha256Hash;
 import eu.bittrade.libs.steemj.BaseTransactionalUT;
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
@@ -40,6 +47,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.util.ByteSink;
 
 /**
  * Test the transaction object.
@@ -107,6 +115,128 @@ public class SginedTransactionTest extends BaseTransactionalUT {
                 equalTo(EXPECTED_HASH));
     }
 
+    /**
+     * Test that signing a large transaction with multiple required keys only
+     * produces canonical signatures which match the serialized transaction,
+     * although the expiration date is only patched in the serialized form.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignLargeTransaction() throws Exception {
+        String chainId = SteemJConfig.getInstance().getChainId();
+
+        ArrayList<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            operations.add(voteOperation);
+        }
+        operations.add(customJsonOperation);
+
+        for (int i = 0; i < 10; i++) {
+            TimePointSec expirationDate = new TimePointSec(EXPIRATION_DATE);
+            expirationDate.setDateTime(expirationDate.getDateTimeAsTimestamp() + i * 1000L);
+            SignedTransaction largeTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, expirationDate,
+                    operations, null);
+            largeTransaction.sign(chainId);
+
+            Sha256Hash expectedHash = Sha256Hash.of(largeTransaction.toByteArray(chainId));
+            List<ECKey> requiredKeys = largeTransaction.getRequiredSignatureKeys();
+            assertThat(largeTransaction.getSignatures().size(), equalTo(requiredKeys.size()));
+            for (String signature : largeTransaction.getSignatures()) {
+                boolean signedByRequiredKey = false;
+                for (ECKey requiredKey : requiredKeys) {
+                    signedByRequiredKey |= signature
+                            .equals(CryptoUtils.HEX.encode(Base64.decode(requiredKey.signMessage(expectedHash))));
+                }
+                assertThat(signedByRequiredKey, equalTo(true));
+            }
+        }
+    }
+
+    /**
+     * Test the local calculation of the transaction HEX and the transaction id
+     * against a transaction which has been serialized by a Steem node. The
+     * expected HEX has been returned by the <code>get_transaction_hex</code>
+     * method (see VoteOperationIT). No id returned by a node has been recorded
+     * for this transaction, so the expected id is derived from the bytes of
+     * the node in the same way the node does it: The first 20 bytes of the
+     * SHA-256 hash of the transaction without its signatures. Only the JDK is
+     * used for this, so the expected id does not depend on the serialization
+     * code under test.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGetTransactionHexAndId() throws Exception {
+        final String EXPECTED_TRANSACTION_HEX = "f68585abf4dce8c8045701000764657a313333370764657a3133333728737465656d"
+                + "6a2d76302d322d342d6861732d6265656e2d72656c65617365642d7570646174652d39e80300011b2c91031ff0d1e1e5660"
+                + "7644da79f7c837af4f23415519babeea2061538aed5461e15475edaa2d7ee61346936ca276ed0a1444464cd25e947956ba9"
+                + "f15496e28a";
+        final String EXPECTED_SIGNATURE = "1b2c91031ff0d1e1e56607644da79f7c837af4f23415519babeea2061538aed5461e15475"
+                + "edaa2d7ee61346936ca276ed0a1444464cd25e947956ba9f15496e28a";
+        final String EXPECTED_TRANSACTION_ID = "9d4dd5efd6eefb14e6894d1bcf3c6f4949b9dd10";
+
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("dez1337"),
+                new Permlink("steemj-v0-2-4-has-been-released-update-9"), (short) 1000));
+
+        TimePointSec expirationDate = new TimePointSec(EXPIRATION_DATE);
+        expirationDate.setDateTime(expirationDate.getDateTimeAsTimestamp() + 1000);
+        signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, expirationDate, operations, null);
+        signedTransaction.getSignatures().add(EXPECTED_SIGNATURE);
+
+        // Strip the number of signatures and the signature itself.
+        byte[] nodeTransaction = CryptoUtils.HEX.decode(EXPECTED_TRANSACTION_HEX);
+        byte[] nodeTransactionHash = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.copyOf(nodeTransaction, nodeTransaction.length - 1 - 65));
+        assertThat(CryptoUtils.HEX.encode(Arrays.copyOf(nodeTransactionHash, 20)), equalTo(EXPECTED_TRANSACTION_ID));
+
+        assertThat(signedTransaction.getTransactionHex(), equalTo(EXPECTED_TRANSACTION_HEX));
+        assertThat(signedTransaction.getTransactionId().toString(), equalTo(EXPECTED_TRANSACTION_ID));
+        assertThat(signedTransaction.getTransactionId(), sameInstance(signedTransaction.getTransactionId()));
+
+        signedTransaction.setExpirationDate(new TimePointSec(EXPIRATION_DATE));
+
+        assertThat(signedTransaction.getTransactionId().toString(), not(equalTo(EXPECTED_TRANSACTION_ID)));
+        assertThat(signedTransaction.getTransactionHex(), not(equalTo(EXPECTED_TRANSACTION_HEX)));
+    }
+
+    /**
+     * Test that the transaction HEX and the transaction id of a transaction
+     * created for a configuration are calculated with the encoding charset of
+     * that configuration instead of the global one.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransactionHexUsesCharsetOfItsConfig() throws Exception {
+        SteemJConfig config = new SteemJConfig();
+        config.setEncodingCharset(StandardCharsets.UTF_16LE);
+
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(voteOperation);
+        SignedTransaction configTransaction = new SignedTransaction(
+                new BlockId("0000000a11111111111111111111111111111111"), operations, null, config.snapshot());
+        configTransaction.setExpirationDate(new TimePointSec(EXPIRATION_DATE));
+
+        ByteSink expectedSink = configTransaction.writeSignedTo(new ByteSink(StandardCharsets.UTF_16LE));
+        String expectedHex = CryptoUtils.HEX.encode(expectedSink.toByteArray());
+        String globalHex = CryptoUtils.HEX
+                .encode(configTransaction.writeSignedTo(new ByteSink(StandardCharsets.UTF_8)).toByteArray());
+        // Strip the number of signatures, as the transaction is not signed.
+        byte[] expectedIdHash = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.copyOf(expectedSink.toByteArray(), expectedSink.size() - 1));
+
+        assertThat(expectedHex, not(equalTo(globalHex)));
+        assertThat(configTransaction.getTransactionHex(), equalTo(expectedHex));
+        assertThat(CryptoUtils.HEX.encode(configTransaction.toSignedByteArray()), equalTo(expectedHex));
+        assertThat(configTransaction.getTransactionId().toString(),
+                equalTo(CryptoUtils.HEX.encode(Arrays.copyOf(expectedIdHash, 20))));
+    }
+
     /**
      * Test if the required authorities are collected correctly.
      * 
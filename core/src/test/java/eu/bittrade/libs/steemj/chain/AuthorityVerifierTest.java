@@ -0,0 +1,240 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.enums.ValidationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link AuthorityVerifier}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class AuthorityVerifierTest extends BaseUT {
+    private static final AccountName DEZ = new AccountName("dez1337");
+    private static final AccountName STEEMJ = new AccountName("steemj");
+
+    private static PublicKey signingKey;
+    private static PublicKey otherKey;
+
+    private AuthorityVerifier authorityVerifier;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+
+        // The expiration date used for tests is way to old in general -
+        // Therefore the validation needs to be disabled.
+        ArrayList<ValidationType> validationsToSkip = new ArrayList<>();
+        validationsToSkip.add(ValidationType.SKIP_VALIDATION);
+        config.setValidationsToSkip(validationsToSkip);
+
+        ECKey privateKey = config.getPrivateKeyStorage().getKeyForAccount(PrivateKeyType.POSTING, DEZ);
+        signingKey = new PublicKey(ECKey.fromPublicOnly(privateKey.getPubKeyPoint().getEncoded(true)));
+        otherKey = new PublicKey("STM7Amy3akYfmSY92YrxYxfEGfc1pe3ctJtWjRi1wfo66K2e9veCN");
+    }
+
+    /**
+     * Create a new verifier for each test.
+     */
+    @Before
+    public void setUp() {
+        authorityVerifier = new AuthorityVerifier(config);
+    }
+
+    /**
+     * Test that the signing key is recovered from the signature.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGetSignatureKeys() throws Exception {
+        SignedTransaction signedTransaction = createSignedVote("steemj-v0-2-4-has-been-released-update-9");
+
+        assertThat(signedTransaction.getSignatureKeys(config.getChainId()), contains(signingKey));
+    }
+
+    /**
+     * Test the verification of a transaction signed with the posting key.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVerifyPostingAuthority() throws Exception {
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(otherKey),
+                createAuthority(signingKey));
+
+        authorityVerifier.verifyAuthority(createSignedVote("steemj-v0-2-4-has-been-released-update-9"));
+    }
+
+    /**
+     * Test that a higher authority satisfies the posting authority.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVerifyWithActiveAuthority() throws Exception {
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(signingKey),
+                createAuthority(otherKey));
+
+        authorityVerifier.verifyAuthority(createSignedVote("steemj-v0-2-4-has-been-released-update-9"));
+    }
+
+    /**
+     * Test that the authority of another account is taken into account.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVerifyWithAccountAuthority() throws Exception {
+        Authority postingAuthority = createAuthority(otherKey);
+        postingAuthority.setWeightThreshold(2);
+        Map<AccountName, Integer> accountAuths = new HashMap<>();
+        accountAuths.put(STEEMJ, 2);
+        postingAuthority.setAccountAuths(accountAuths);
+
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(otherKey),
+                postingAuthority);
+        authorityVerifier.addAccountAuthorities(STEEMJ, createAuthority(otherKey), createAuthority(otherKey),
+                createAuthority(signingKey));
+
+        authorityVerifier.verifyAuthority(createSignedVote("steemj-v0-2-4-has-been-released-update-9"));
+    }
+
+    /**
+     * Test that missing authorities and irrelevant signatures are detected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVerifyInvalidSignatures() throws Exception {
+        SignedTransaction signedTransaction = createSignedVote("steemj-v0-2-4-has-been-released-update-9");
+
+        assertVerificationFails(signedTransaction, "is unknown");
+
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(otherKey),
+                createAuthority(otherKey));
+        assertVerificationFails(signedTransaction, "Missing POSTING authority");
+
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(otherKey),
+                createAuthority(signingKey));
+        SignedTransaction otherTransaction = createSignedVote("steemj-v0-2-3-has-been-released");
+        signedTransaction.getSignatures().add(otherTransaction.getSignatures().get(0));
+        assertVerificationFails(signedTransaction, "Irrelevant signature");
+
+        signedTransaction.getSignatures().set(1, signedTransaction.getSignatures().get(0));
+        assertVerificationFails(signedTransaction, "Duplicate signature");
+    }
+
+    /**
+     * Test the verification of multiple transactions in parallel.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVerifyAuthorities() throws Exception {
+        authorityVerifier.addAccountAuthorities(DEZ, createAuthority(otherKey), createAuthority(otherKey),
+                createAuthority(signingKey));
+
+        SignedTransaction validTransaction = createSignedVote("steemj-v0-2-4-has-been-released-update-9");
+        SignedTransaction invalidTransaction = createSignedVote("steemj-v0-2-3-has-been-released");
+        invalidTransaction.getSignatures().clear();
+
+        assertThat(authorityVerifier.verifyAuthorities(Arrays.asList(validTransaction, invalidTransaction)),
+                contains(true, false));
+    }
+
+    /**
+     * @param signedTransaction
+     *            The transaction to verify.
+     * @param expectedMessage
+     *            A part of the expected error message.
+     */
+    private void assertVerificationFails(SignedTransaction signedTransaction, String expectedMessage) {
+        try {
+            authorityVerifier.verifyAuthority(signedTransaction);
+            throw new AssertionError("The verification should fail.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getMessage(), containsString(expectedMessage));
+        }
+    }
+
+    /**
+     * @param publicKey
+     *            The only key of the authority.
+     * @return An authority with a threshold of 1.
+     */
+    private static Authority createAuthority(PublicKey publicKey) {
+        Authority authority = new Authority();
+        authority.setWeightThreshold(1);
+        authority.setAccountAuths(new HashMap<AccountName, Integer>());
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(publicKey, 1);
+        authority.setKeyAuths(keyAuths);
+        return authority;
+    }
+
+    /**
+     * @param permlink
+     *            The permlink to vote for.
+     * @return A vote of dez1337 signed with its posting key.
+     * @throws Exception
+     *             If the transaction could not be signed.
+     */
+    private static SignedTransaction createSignedVote(String permlink) throws Exception {
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(DEZ, DEZ, new Permlink(permlink), (short) 10000));
+
+        SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null);
+        signedTransaction.sign(config);
+        return signedTransaction;
+    }
+}
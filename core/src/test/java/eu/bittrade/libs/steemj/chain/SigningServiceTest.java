@@ -0,0 +1,108 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.enums.ValidationType;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link SigningService}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SigningServiceTest extends BaseUT {
+    private static final int NUMBER_OF_TRANSACTIONS = 200;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+
+        // The expiration date used for tests is way to old in general -
+        // Therefore the validation needs to be disabled.
+        ArrayList<ValidationType> validationsToSkip = new ArrayList<>();
+        validationsToSkip.add(ValidationType.SKIP_VALIDATION);
+        config.setValidationsToSkip(validationsToSkip);
+    }
+
+    /**
+     * Test that signing transactions in parallel creates the same signatures
+     * as signing them on the calling thread.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignAll() throws Exception {
+        List<SignedTransaction> sequentiallySignedTransactions = createTransactions();
+        for (SignedTransaction signedTransaction : sequentiallySignedTransactions) {
+            signedTransaction.sign(config);
+        }
+
+        List<SignedTransaction> signedTransactions = createTransactions();
+        ForkJoinPool signingPool = new ForkJoinPool(4);
+        try {
+            new SigningService(config, signingPool).signAll(signedTransactions);
+        } finally {
+            signingPool.shutdown();
+        }
+
+        for (int i = 0; i < NUMBER_OF_TRANSACTIONS; i++) {
+            assertThat(signedTransactions.get(i).getSignatures(),
+                    equalTo(sequentiallySignedTransactions.get(i).getSignatures()));
+            assertThat(signedTransactions.get(i).getExpirationDate(),
+                    equalTo(sequentiallySignedTransactions.get(i).getExpirationDate()));
+        }
+    }
+
+    /**
+     * Create a list of unsigned transactions.
+     * 
+     * @return A list of unsigned transactions with different expiration dates.
+     */
+    private List<SignedTransaction> createTransactions() {
+        List<SignedTransaction> signedTransactions = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_TRANSACTIONS; i++) {
+            ArrayList<Operation> operations = new ArrayList<>();
+            operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                    new Permlink("steemj-v" + i), (short) 10000));
+
+            TimePointSec expirationDate = new TimePointSec(EXPIRATION_DATE);
+            expirationDate.setDateTime(expirationDate.getDateTimeAsTimestamp() + i * 1000L);
+            signedTransactions.add(
+                    new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, expirationDate, operations, null));
+        }
+        return signedTransactions;
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BeneficiaryRouteType;
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.ChainProperties;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.CommentOptionsExtension;
+import eu.bittrade.libs.steemj.base.models.CommentPayoutBeneficiaries;
+import eu.bittrade.libs.steemj.base.models.EquihashPow;
+import eu.bittrade.libs.steemj.base.models.EquihashProof;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.base.models.Pow2;
+import eu.bittrade.libs.steemj.base.models.Pow2Input;
+import eu.bittrade.libs.steemj.base.models.Pow2Work;
+import eu.bittrade.libs.steemj.base.models.Pow;
+import eu.bittrade.libs.steemj.enums.ValidationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.AccountCreateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountCreateWithDelegationOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessProxyOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessVoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CancelTransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChallengeAuthorityOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChangeRecoveryAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ClaimAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ClaimRewardBalanceOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOptionsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ConvertOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CreateClaimedAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomBinaryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeclineVotingRightsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DelegateVestingSharesOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeleteCommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowApproveOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowDisputeOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowReleaseOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowTransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.FeedPublishOperation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCancelOperation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCreate2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCreateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.Pow2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ProveAuthorityOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RecoverAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ReportOverProductionOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RequestAccountRecoveryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.SetResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.SetWithdrawVestingRouteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferToSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferToVestingOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WithdrawVestingOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WitnessSetPropertiesOperation;
+import eu.bittrade.libs.steemj.protocol.operations.WitnessUpdateOperation;
+
+/**
+ * Test the {@link TransactionDecoder}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionDecoderTest extends BaseUT {
+    private static final String EXPECTED_VOTE_TRANSACTION_HEX = "f68585abf4dce8c8045701000764657a313333370764657a313"
+            + "3333728737465656d6a2d76302d322d342d6861732d6265656e2d72656c65617365642d7570646174652d39e80300011b2c910"
+            + "31ff0d1e1e56607644da79f7c837af4f23415519babeea2061538aed5461e15475edaa2d7ee61346936ca276ed0a1444464cd2"
+            + "5e947956ba9f15496e28a";
+    private static final String EXPECTED_ACCOUNT_UPDATE_TRANSACTION_HEX = "f68585abf4dce7c80457010a0764657a313333370"
+            + "10100000000010245afe8ba78a2023ef69af6d3ecbbf26e37f5f5b9c1a8b37f80f4a1b761a75e590100010100000000010309b5f14"
+            + "e6ca97187ae2a2cdf4c6e7b15b5a434bf53ffcea6642f28e1aa5336c101000101000000000102a2a9e8a0ec260cfef0e7708d88a99"
+            + "f90809db2a61ea2a87dddb062d5f59a011c01000314aa202c9158990b3ec51a1aa49b2ab5d300c97b391df3beb34bb74f3c62699e0"
+            + "000011c792fac8bfdee0dac9086a4908f3d3798a7e551292f13c2dbfaa8c2b4b71cb6767136f8d7c11a6a24993980480ea45eef4"
+            + "0485995e04062d5329ab1e98e80c6a5";
+    private static final String SHA256_HASH = "000000000000000000000000000000000000000000000000000000000000ff1f";
+    private static final String SIGNATURE = "1f2c91031ff0d1e1e56607644da79f7c837af4f23415519babeea2061538aed5461e1"
+            + "5475edaa2d7ee61346936ca276ed0a1444464cd25e947956ba9f15496e28a";
+
+    private static PublicKey publicKey;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+
+        // The expiration date used for tests is way to old in general -
+        // Therefore the validation needs to be disabled.
+        ArrayList<ValidationType> validationsToSkip = new ArrayList<>();
+        validationsToSkip.add(ValidationType.SKIP_VALIDATION);
+        config.setValidationsToSkip(validationsToSkip);
+
+        publicKey = new PublicKey("STM7Amy3akYfmSY92YrxYxfEGfc1pe3ctJtWjRi1wfo66K2e9veCN");
+    }
+
+    /**
+     * Test that decoding the binary representation of different operations
+     * and serializing them again results in the same bytes.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testOperationRoundTrip() throws Exception {
+        for (Operation operation : createOperations()) {
+            byte[] serializedOperation = operation.toByteArray();
+            Operation decodedOperation = TransactionDecoder.decodeOperation(serializedOperation);
+
+            assertThat(decodedOperation.getClass().getName(), equalTo(operation.getClass().getName()));
+            assertThat(CryptoUtils.HEX.encode(decodedOperation.toByteArray()),
+                    equalTo(CryptoUtils.HEX.encode(serializedOperation)));
+        }
+    }
+
+    /**
+     * Test that the deprecated untyped accessors of the
+     * {@link Pow2Operation} still describe the same work and key.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedPow2Accessors() throws Exception {
+        for (Operation operation : createOperations()) {
+            if (!(operation instanceof Pow2Operation)) {
+                continue;
+            }
+
+            Pow2Operation pow2Operation = (Pow2Operation) operation;
+            Pow2Operation copiedOperation = new Pow2Operation();
+            copiedOperation.setWork(pow2Operation.getWork());
+            copiedOperation.setNewOwnerKey(pow2Operation.getNewOwnerKey());
+            copiedOperation.setProperties(pow2Operation.getProperties());
+
+            assertThat(copiedOperation.getWork()[0], equalTo((Object) pow2Operation.getPow2Work().getTypeId()));
+            assertThat(CryptoUtils.HEX.encode(copiedOperation.toByteArray()),
+                    equalTo(CryptoUtils.HEX.encode(pow2Operation.toByteArray())));
+        }
+
+        // The work can also be set in the format returned by a Steem node.
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("worker_account", "dez1337");
+        input.put("prev_block", "0000000a11111111111111111111111111111111");
+        input.put("nonce", "42");
+        Map<String, Object> work = new LinkedHashMap<>();
+        work.put("input", input);
+        work.put("pow_summary", 4294967295L);
+
+        Pow2Operation pow2Operation = new Pow2Operation();
+        pow2Operation.setWork(new Object[] { Pow2Work.POW2_ID, work });
+
+        Pow2 pow2 = (Pow2) pow2Operation.getPow2Work();
+        assertThat(pow2.getInput().getWorkerAccount(), equalTo(new AccountName("dez1337")));
+        assertThat(pow2.getPowSummary(), equalTo(4294967295L));
+    }
+
+    /**
+     * Test that a signed transaction containing all test operations survives a
+     * round trip through its binary representation.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignedTransactionRoundTrip() throws Exception {
+        SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), createOperations(), null);
+        signedTransaction.getSignatures().add("1b2c91031ff0d1e1e56607644da79f7c837af4f23415519babeea2061538aed5461e1"
+                + "5475edaa2d7ee61346936ca276ed0a1444464cd25e947956ba9f15496e28a");
+
+        byte[] serializedTransaction = signedTransaction.toSignedByteArray();
+        SignedTransaction decodedTransaction = TransactionDecoder.decodeSignedTransaction(serializedTransaction);
+
+        assertThat(decodedTransaction.getOperations().size(), equalTo(signedTransaction.getOperations().size()));
+        assertThat(decodedTransaction.getSignatures(), equalTo(signedTransaction.getSignatures()));
+        assertThat(decodedTransaction.getTransactionHex(), equalTo(signedTransaction.getTransactionHex()));
+        assertThat(decodedTransaction.getTransactionId().toString(),
+                equalTo(signedTransaction.getTransactionId().toString()));
+
+        // The decoder must also work on a part of a larger buffer.
+        byte[] paddedTransaction = new byte[serializedTransaction.length + 8];
+        System.arraycopy(serializedTransaction, 0, paddedTransaction, 4, serializedTransaction.length);
+        ByteBuffer slice = ByteBuffer.wrap(paddedTransaction, 4, serializedTransaction.length).slice();
+        assertThat(TransactionDecoder.decodeSignedTransaction(slice).getTransactionHex(),
+                equalTo(signedTransaction.getTransactionHex()));
+        assertThat(slice.position(), equalTo(0));
+    }
+
+    /**
+     * Test that a transaction in the format of the
+     * <code>get_transaction_hex</code> method of a Steem node can be decoded.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDecodeTransactionHexOfNode() throws Exception {
+        SignedTransaction voteTransaction = TransactionDecoder
+                .decodeSignedTransaction(CryptoUtils.HEX.decode(EXPECTED_VOTE_TRANSACTION_HEX));
+
+        assertThat(voteTransaction.getRefBlockNum(), equalTo(REF_BLOCK_NUM));
+        assertThat(voteTransaction.getRefBlockPrefix(), equalTo(REF_BLOCK_PREFIX));
+        assertThat(voteTransaction.getOperations().size(), equalTo(1));
+        VoteOperation voteOperation = (VoteOperation) voteTransaction.getOperations().get(0);
+        assertThat(voteOperation.getVoter(), equalTo(new AccountName("dez1337")));
+        assertThat(voteOperation.getPermlink(), equalTo(new Permlink("steemj-v0-2-4-has-been-released-update-9")));
+        assertThat(voteOperation.getWeight(), equalTo((short) 1000));
+        assertThat(voteTransaction.getTransactionHex(), equalTo(EXPECTED_VOTE_TRANSACTION_HEX));
+
+        SignedTransaction accountUpdateTransaction = TransactionDecoder
+                .decodeSignedTransaction(CryptoUtils.HEX.decode(EXPECTED_ACCOUNT_UPDATE_TRANSACTION_HEX));
+
+        assertThat(accountUpdateTransaction.getExpirationDate().getDateTimeAsTimestamp(),
+                equalTo(new TimePointSec(EXPIRATION_DATE).getDateTimeAsTimestamp()));
+        AccountUpdateOperation accountUpdateOperation = (AccountUpdateOperation) accountUpdateTransaction
+                .getOperations().get(0);
+        assertThat(accountUpdateOperation.getAccount(), equalTo(new AccountName("dez1337")));
+        assertThat(accountUpdateOperation.getOwner().getWeightThreshold(), equalTo(1L));
+        assertThat(accountUpdateOperation.getActive().getKeyAuths().size(), equalTo(1));
+        assertThat(accountUpdateOperation.getPosting().getAccountAuths().size(), equalTo(0));
+        assertThat(accountUpdateTransaction.getSignatures().size(), equalTo(1));
+    }
+
+    /**
+     * Test that invalid input is rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDecodeInvalidData() throws Exception {
+        byte[] serializedTransaction = CryptoUtils.HEX.decode(EXPECTED_VOTE_TRANSACTION_HEX);
+
+        try {
+            TransactionDecoder.decodeSignedTransaction(Arrays.copyOf(serializedTransaction, 30));
+            throw new AssertionError("A truncated transaction has been accepted.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getCause(), nullValue());
+        }
+
+        try {
+            TransactionDecoder
+                    .decodeSignedTransaction(Arrays.copyOf(serializedTransaction, serializedTransaction.length + 1));
+            throw new AssertionError("A transaction followed by additional bytes has been accepted.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getCause(), nullValue());
+        }
+
+        try {
+            TransactionDecoder.decodeOperation(new byte[] { 0x7F });
+            throw new AssertionError("An unknown operation id has been accepted.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getCause(), nullValue());
+        }
+
+        // A 10 byte VarInt with the highest bit set would be a negative int.
+        byte[] negativeLength = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01 };
+
+        // The number of operations follows the 10 bytes of the header.
+        byte[] negativeNumberOfOperations = new byte[serializedTransaction.length + negativeLength.length - 1];
+        System.arraycopy(serializedTransaction, 0, negativeNumberOfOperations, 0, 10);
+        System.arraycopy(negativeLength, 0, negativeNumberOfOperations, 10, negativeLength.length);
+        System.arraycopy(serializedTransaction, 11, negativeNumberOfOperations, 10 + negativeLength.length,
+                serializedTransaction.length - 11);
+        try {
+            TransactionDecoder.decodeSignedTransaction(negativeNumberOfOperations);
+            throw new AssertionError("A negative number of operations has been accepted.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getCause(), nullValue());
+        }
+
+        // The voter of a vote operation is a String.
+        byte[] negativeStringLength = new byte[negativeLength.length + 1];
+        System.arraycopy(negativeLength, 0, negativeStringLength, 1, negativeLength.length);
+        try {
+            TransactionDecoder.decodeOperation(negativeStringLength);
+            throw new AssertionError("A String with a negative length has been accepted.");
+        } catch (SteemInvalidTransactionException e) {
+            assertThat(e.getCause(), nullValue());
+        }
+    }
+
+    /**
+     * @return A list of operations with different field types.
+     * @throws Exception
+     *             If an operation could not be created.
+     */
+    private static List<Operation> createOperations() throws Exception {
+        AccountName dez = new AccountName("dez1337");
+        AccountName steemj = new AccountName("steemj");
+        AccountName foobara = new AccountName("foobara");
+        Permlink permlink = new Permlink("steemj-v0-2-4-has-been-released-update-9");
+        LegacyAsset steem = new LegacyAsset(1000L, LegacyAssetSymbolType.STEEM);
+        LegacyAsset sbd = new LegacyAsset(115L, LegacyAssetSymbolType.SBD);
+        LegacyAsset vests = new LegacyAsset(123456789L, LegacyAssetSymbolType.VESTS);
+        LegacyAsset token = new LegacyAsset(1000L, config.getTokenSymbol());
+        TimePointSec expirationDate = new TimePointSec(EXPIRATION_DATE);
+
+        Authority authority = new Authority();
+        authority.setWeightThreshold(2);
+        Map<AccountName, Integer> accountAuths = new LinkedHashMap<>();
+        accountAuths.put(steemj, 1);
+        accountAuths.put(foobara, 1);
+        authority.setAccountAuths(accountAuths);
+        Map<PublicKey, Integer> keyAuths = new LinkedHashMap<>();
+        keyAuths.put(publicKey, 2);
+        authority.setKeyAuths(keyAuths);
+
+        List<CommentOptionsExtension> commentOptionsExtensions = new ArrayList<>();
+        CommentPayoutBeneficiaries commentPayoutBeneficiaries = new CommentPayoutBeneficiaries();
+        List<BeneficiaryRouteType> beneficiaries = new ArrayList<>();
+        beneficiaries.add(new BeneficiaryRouteType(steemj, (short) 1000));
+        beneficiaries.add(new BeneficiaryRouteType(foobara, (short) 500));
+        commentPayoutBeneficiaries.setBeneficiaries(beneficiaries);
+        commentOptionsExtensions.add(commentPayoutBeneficiaries);
+
+        List<FutureExtensions> extensions = new ArrayList<>();
+        extensions.add(new FutureExtensions());
+
+        ChainProperties chainProperties = new ChainProperties(new LegacyAsset(5000L, LegacyAssetSymbolType.STEEM),
+                65536, 0);
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(dez, dez, permlink, (short) -1000));
+        operations.add(new CommentOperation(dez, permlink, steemj, new Permlink("re-" + permlink.getLink()),
+                "Ümläuts", "A body with unicode ☃.", "{\"tags\":[\"steemj\"]}"));
+        operations.add(new TransferOperation(dez, steemj, sbd, "A memo"));
+        operations.add(new LimitOrderCreateOperation(dez, UInteger.valueOf(4294967295L), steem, sbd, true,
+                expirationDate));
+        operations.add(new LimitOrderCreate2Operation(dez, UInteger.valueOf(492991), sbd, false,
+                new Price(sbd, token), expirationDate));
+        operations.add(new FeedPublishOperation(dez, new Price(sbd, steem)));
+        operations.add(new AccountCreateOperation(dez, steem, steemj, authority, authority, authority, publicKey,
+                "{}"));
+        operations.add(new WitnessUpdateOperation(dez, new URL("https://steemit.com/@dez1337"), publicKey,
+                chainProperties, steem));
+        operations.add(new WitnessSetPropertiesOperation(dez, new URL("https://steemit.com/@dez1337"), publicKey,
+                chainProperties, steem, extensions));
+        operations.add(new AccountWitnessVoteOperation(dez, steemj, true));
+        operations.add(new CustomOperation(Arrays.asList(dez, steemj), (short) 42, "0a627c"));
+        operations.add(new CustomJsonOperation(new ArrayList<AccountName>(), Arrays.asList(dez), "follow",
+                "[\"follow\",{\"follower\":\"dez1337\",\"following\":\"steemj\",\"what\":[\"blog\"]}]"));
+        operations.add(new CommentOptionsOperation(dez, permlink, sbd, 5000, true, false, commentOptionsExtensions));
+        operations.add(new RecoverAccountOperation(dez, authority, authority, extensions));
+        operations.add(new EscrowTransferOperation(dez, steemj, foobara, 42L, sbd, steem,
+                new LegacyAsset(1L, LegacyAssetSymbolType.STEEM), expirationDate,
+                new TimePointSec(expirationDate.getDateTimeAsTimestamp() + 3600000L), "{}"));
+        operations.add(new EscrowReleaseOperation(dez, steemj, foobara, 42L, foobara, steemj, sbd, steem));
+        operations.add(new TransferFromSavingsOperation(dez, steemj, steem, 7L, "Savings"));
+        operations.add(new CustomBinaryOperation(Arrays.asList(dez), new ArrayList<AccountName>(),
+                new ArrayList<AccountName>(), Arrays.asList(authority), "binary", "00ff10"));
+        operations.add(new ClaimRewardBalanceOperation(dez, steem, sbd, vests));
+        operations.add(new TransferToVestingOperation(dez, steemj, token));
+        operations.add(new WithdrawVestingOperation(dez, vests));
+        operations.add(new LimitOrderCancelOperation(dez, UInteger.valueOf(492991)));
+        operations.add(new ConvertOperation(dez, 1337L, sbd));
+        operations.add(new AccountUpdateOperation(dez, authority, null, authority, publicKey, "{}"));
+        operations.add(new AccountUpdateOperation(dez, null, authority, null, publicKey, ""));
+        operations.add(new AccountWitnessProxyOperation(dez, steemj));
+        operations.add(new DeleteCommentOperation(dez, permlink));
+        operations.add(new SetWithdrawVestingRouteOperation(dez, steemj, 5000, true));
+        operations.add(new ChallengeAuthorityOperation(dez, steemj, true));
+        operations.add(new ProveAuthorityOperation(dez, false));
+        operations.add(new RequestAccountRecoveryOperation(steemj, dez, authority, extensions));
+        operations.add(new ChangeRecoveryAccountOperation(dez, foobara, extensions));
+        operations.add(new EscrowDisputeOperation(dez, steemj, foobara, 42L, steemj));
+        operations.add(new EscrowApproveOperation(dez, steemj, foobara, 42L, foobara, false));
+        operations.add(new TransferToSavingsOperation(dez, steemj, sbd, "Savings"));
+        operations.add(new CancelTransferFromSavingsOperation(dez, 7L));
+        operations.add(new DeclineVotingRightsOperation(dez, true));
+        operations.add(new ResetAccountOperation(steemj, dez, authority));
+        operations.add(new SetResetAccountOperation(dez, steemj, foobara));
+        operations.add(new DelegateVestingSharesOperation(dez, steemj, vests));
+        operations.add(new AccountCreateWithDelegationOperation(dez, steem, steemj, vests, authority, authority,
+                authority, publicKey, "{}", extensions));
+        operations.add(new ClaimAccountOperation(steem, dez, extensions));
+        operations.add(new CreateClaimedAccountOperation(dez, steem, steemj, authority, authority, authority,
+                publicKey, "{}"));
+
+        PowOperation powOperation = new PowOperation();
+        powOperation.setWorkerAccount(dez);
+        powOperation.setBlockId(new Checksum("0000000a11111111111111111111111111111111"));
+        powOperation.setNonce(ULong.valueOf("18446744073709551615"));
+        powOperation.setWork(new Pow(publicKey, Sha256Hash.wrap(SHA256_HASH), SIGNATURE, Sha256Hash.wrap(SHA256_HASH)));
+        powOperation.setProperties(chainProperties);
+        operations.add(powOperation);
+
+        Pow2Input pow2Input = new Pow2Input(dez, new BlockId("0000000a11111111111111111111111111111111"),
+                ULong.valueOf(42L));
+        Pow2Operation pow2Operation = new Pow2Operation();
+        pow2Operation.setPow2Work(new Pow2(pow2Input, 4294967295L));
+        pow2Operation.setNewOwnerPublicKey(publicKey);
+        pow2Operation.setProperties(chainProperties);
+        operations.add(pow2Operation);
+
+        Pow2Operation equihashPowOperation = new Pow2Operation();
+        equihashPowOperation.setPow2Work(new EquihashPow(pow2Input,
+                new EquihashProof(140, 6, Sha256Hash.wrap(SHA256_HASH), Arrays.asList(1L, 4294967295L)),
+                new BlockId("0000000b11111111111111111111111111111111"), 1337L));
+        equihashPowOperation.setProperties(chainProperties);
+        operations.add(equihashPowOperation);
+
+        operations.add(new ReportOverProductionOperation(steemj, createBlockHeader(dez, 'a'),
+                createBlockHeader(dez, 'b')));
+        return operations;
+    }
+
+    /**
+     * @param witness
+     *            The witness of the block.
+     * @param filling
+     *            The character used to fill the merkle root.
+     * @return A signed block header.
+     */
+    private static SignedBlockHeader createBlockHeader(AccountName witness, char filling) {
+        char[] merkleRoot = new char[40];
+        Arrays.fill(merkleRoot, filling);
+
+        SignedBlockHeader blockHeader = new SignedBlockHeader();
+        blockHeader.setPrevious(new BlockId("0000000911111111111111111111111111111111"));
+        blockHeader.setTimestamp(new TimePointSec(EXPIRATION_DATE));
+        blockHeader.setWitness(witness);
+        blockHeader.setTransactionMerkleRoot(new Checksum(new String(merkleRoot)));
+        blockHeader.setExtensions(new ArrayList<BlockHeaderExtensions>());
+        blockHeader.setWitnessSignature(SIGNATURE);
+        return blockHeader;
+    }
+}
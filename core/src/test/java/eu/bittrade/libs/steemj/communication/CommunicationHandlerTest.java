@@ -0,0 +1,385 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchRequest;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCBatchResult;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.RequestMethod;
+import eu.bittrade.libs.steemj.enums.SteemApiType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+
+/**
+ * Test the {@link CommunicationHandler} against a local
+ * {@link JsonRPCStubServer}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class CommunicationHandlerTest extends BaseUT {
+    private static final int NUMBER_OF_REQUESTS = 20;
+    private static final String HARDFORK_VERSION = "0.22.0";
+
+    private JsonRPCStubServer stubServer;
+    private CommunicationHandler communicationHandler;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Start a stub server that answers all "get_config" requests with an
+     * error.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        stubServer = new JsonRPCStubServer() {
+            @Override
+            protected JsonNode answer(JsonNode request) {
+                ObjectNode response = (ObjectNode) super.answer(request);
+                if (request.get("method").asText().endsWith(RequestMethod.GET_CONFIG.name().toLowerCase())) {
+                    response.remove("result");
+                    response.putObject("error").put("code", -32000).put("message", "Stub error");
+                }
+                return response;
+            }
+        };
+        stubServer.setResult("\"" + HARDFORK_VERSION + "\"");
+
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        config.setEndpointURIs(endpoints);
+
+        communicationHandler = new CommunicationHandler();
+    }
+
+    /**
+     * Stop the stub server.
+     */
+    @After
+    public void tearDown() {
+        stubServer.close();
+    }
+
+    /**
+     * Test that all requests of a batch are sent at once and that each
+     * response is assigned to its request.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPerformBatchRequest() throws Exception {
+        JsonRPCBatchRequest batchRequest = new JsonRPCBatchRequest();
+        List<JsonRPCBatchResult<String>> results = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            results.add(batchRequest.add(
+                    new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_HARDFORK_VERSION, null),
+                    String.class));
+        }
+
+        communicationHandler.performBatchRequest(batchRequest);
+
+        assertThat(stubServer.getNumberOfRequests(), equalTo(1));
+        for (JsonRPCBatchResult<String> result : results) {
+            assertThat(result.isDone(), equalTo(true));
+            assertThat(result.getResult().get(0), equalTo(HARDFORK_VERSION));
+        }
+    }
+
+    /**
+     * Test that an error returned for a single request of a batch does not
+     * affect the other requests.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPerformBatchRequestWithPartialError() throws Exception {
+        JsonRPCBatchRequest batchRequest = new JsonRPCBatchRequest();
+        JsonRPCBatchResult<String> hardforkVersion = batchRequest.add(
+                new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_HARDFORK_VERSION, null),
+                String.class);
+        JsonRPCBatchResult<Object> steemConfig = batchRequest
+                .add(new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_CONFIG, null), Object.class);
+
+        communicationHandler.performBatchRequest(batchRequest);
+
+        assertThat(hardforkVersion.isError(), equalTo(false));
+        assertThat(hardforkVersion.getResult().get(0), equalTo(HARDFORK_VERSION));
+        assertThat(steemConfig.isError(), equalTo(true));
+
+        try {
+            steemConfig.getResult();
+        } catch (SteemResponseException e) {
+            assertThat(e.getMessage(), equalTo("Stub error"));
+            return;
+        }
+
+        throw new AssertionError("Expected the result to contain the error.");
+    }
+
+    /**
+     * Test that handlers created with different configurations only talk to
+     * their own endpoints.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testIndependentConfigurations() throws Exception {
+        try (JsonRPCStubServer otherStubServer = new JsonRPCStubServer()) {
+            otherStubServer.setResult("\"0.21.0\"");
+
+            SteemJConfig otherConfig = new SteemJConfig();
+            List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+            endpoints.add(new ImmutablePair<>(otherStubServer.getUri(), false));
+            otherConfig.setEndpointURIs(endpoints);
+
+            CommunicationHandler otherCommunicationHandler = new CommunicationHandler(otherConfig.snapshot());
+
+            JsonRPCRequest request = new JsonRPCRequest(SteemApiType.CONDENSER_API,
+                    RequestMethod.GET_HARDFORK_VERSION, null);
+            assertThat(communicationHandler.performRequest(request, String.class).get(0), equalTo(HARDFORK_VERSION));
+            assertThat(otherCommunicationHandler.performRequest(request, String.class).get(0), equalTo("0.21.0"));
+
+            assertThat(stubServer.getNumberOfRequests(), equalTo(1));
+            assertThat(otherStubServer.getNumberOfRequests(), equalTo(1));
+        }
+    }
+
+    /**
+     * Test that a request which could not be transferred is sent to the next
+     * endpoint and that the retry is counted.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryOnNextEndpoint() throws Exception {
+        SteemJConfig steemConfig = new SteemJConfig();
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(getUnreachableUri(), false));
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        steemConfig.setEndpointURIs(endpoints);
+        steemConfig.setRetryPolicy(new ExponentialBackoffRetryPolicy(3, 1, 0, 0, 0, 0, 0));
+
+        CommunicationHandler retryingCommunicationHandler = new CommunicationHandler(steemConfig);
+        JsonRPCRequest request = new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_HARDFORK_VERSION,
+                null);
+
+        assertThat(retryingCommunicationHandler.performRequest(request, String.class).get(0),
+                equalTo(HARDFORK_VERSION));
+        assertThat(retryingCommunicationHandler.getNumberOfRetries(), equalTo(1L));
+        assertThat(retryingCommunicationHandler.getNumberOfFailovers(), equalTo(1L));
+    }
+
+    /**
+     * Test that the handler gives up once the configured number of attempts has
+     * been reached and that broadcasts are retried less often than reads.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryLimits() throws Exception {
+        SteemJConfig steemConfig = new SteemJConfig();
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(getUnreachableUri(), false));
+        steemConfig.setEndpointURIs(endpoints);
+        steemConfig.setRetryPolicy(new ExponentialBackoffRetryPolicy(4, 2, 0, 1, 2, 0, 0));
+
+        CommunicationHandler retryingCommunicationHandler = new CommunicationHandler(steemConfig);
+        try {
+            retryingCommunicationHandler.performRequest(
+                    new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_HARDFORK_VERSION, null),
+                    String.class);
+            fail();
+        } catch (SteemCommunicationException e) {
+            assertThat(retryingCommunicationHandler.getNumberOfRetries(), equalTo(3L));
+            assertThat(retryingCommunicationHandler.getNumberOfFailovers(), equalTo(0L));
+        }
+
+        try {
+            retryingCommunicationHandler.performRequest(
+                    new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.BROADCAST_TRANSACTION, null),
+                    Object.class);
+            fail();
+        } catch (SteemCommunicationException e) {
+            assertThat(retryingCommunicationHandler.getNumberOfRetries(), equalTo(4L));
+        }
+    }
+
+    /**
+     * Test that the retry budget stops retries once it has been exhausted.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryBudget() throws Exception {
+        SteemJConfig steemConfig = new SteemJConfig();
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(getUnreachableUri(), false));
+        steemConfig.setEndpointURIs(endpoints);
+        steemConfig.setRetryPolicy(new ExponentialBackoffRetryPolicy(100, 1, 0, 0, 0, 4, 0.1));
+
+        CommunicationHandler retryingCommunicationHandler = new CommunicationHandler(steemConfig);
+        for (int i = 0; i < 3; i++) {
+            try {
+                retryingCommunicationHandler.performRequest(
+                        new JsonRPCRequest(SteemApiType.CONDENSER_API, RequestMethod.GET_HARDFORK_VERSION, null),
+                        String.class);
+                fail();
+            } catch (SteemCommunicationException e) {
+                // Expected.
+            }
+        }
+
+        // Only half of the budget can be used for retries.
+        assertThat(retryingCommunicationHandler.getNumberOfRetries(), equalTo(2L));
+    }
+
+    /**
+     * Test that the backoff delay grows exponentially within the configured
+     * limits.
+     */
+    @Test
+    public void testBackoffDelay() {
+        ExponentialBackoffRetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy(5, 2, 0, 100, 1000, 0, 0);
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            assertThat(retryPolicy.getBackoffDelay(1), both(greaterThanOrEqualTo(50L)).and(lessThanOrEqualTo(100L)));
+            assertThat(retryPolicy.getBackoffDelay(3), both(greaterThanOrEqualTo(200L)).and(lessThanOrEqualTo(400L)));
+            assertThat(retryPolicy.getBackoffDelay(64), both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(1000L)));
+        }
+    }
+
+    /**
+     * Test that a read request is sent to a second endpoint if the first one
+     * does not answer in time.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testHedgedRequest() throws Exception {
+        try (JsonRPCStubServer otherStubServer = new JsonRPCStubServer()) {
+            otherStubServer.setResult("\"" + HARDFORK_VERSION + "\"");
+
+            SteemJConfig steemConfig = new SteemJConfig();
+            List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+            endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+            endpoints.add(new ImmutablePair<>(otherStubServer.getUri(), false));
+            steemConfig.setEndpointURIs(endpoints);
+            steemConfig.setResponseTimeout(5000);
+            steemConfig.setHedgingPercentile(90);
+
+            CommunicationHandler hedgingCommunicationHandler = new CommunicationHandler(steemConfig);
+            JsonRPCRequest request = new JsonRPCRequest(SteemApiType.CONDENSER_API,
+                    RequestMethod.GET_HARDFORK_VERSION, null);
+            for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+                hedgingCommunicationHandler.performRequest(request, String.class);
+            }
+            assertThat(hedgingCommunicationHandler.getNumberOfHedgedRequests(), equalTo(0L));
+            assertThat(hedgingCommunicationHandler.getLatencyRecorder().getCount(), equalTo((long) NUMBER_OF_REQUESTS));
+
+            // Slow down the endpoint the handler currently sticks to.
+            if (hedgingCommunicationHandler.getEndpointSelector().select(null).getLeft()
+                    .equals(stubServer.getUri())) {
+                stubServer.setDelay(2000);
+            } else {
+                otherStubServer.setDelay(2000);
+            }
+
+            long startTime = System.currentTimeMillis();
+            assertThat(hedgingCommunicationHandler.performRequest(request, String.class).get(0),
+                    equalTo(HARDFORK_VERSION));
+            assertThat(System.currentTimeMillis() - startTime, lessThan(1500L));
+            assertThat(hedgingCommunicationHandler.getNumberOfHedgedRequests(), equalTo(1L));
+
+            // The slow request has been aborted, so it never records the
+            // latency of its late response.
+            Thread.sleep(2500);
+            assertThat(hedgingCommunicationHandler.getLatencyRecorder().getCount(),
+                    equalTo((long) NUMBER_OF_REQUESTS + 1));
+        }
+    }
+
+    /**
+     * Test that HTTP and WebSocket endpoints can't be mixed, as all requests
+     * are sent through the same client.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testMixedSchemesAreRejected() throws Exception {
+        SteemJConfig steemConfig = new SteemJConfig();
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        endpoints.add(new ImmutablePair<>(new URI("wss://127.0.0.1:1"), false));
+        steemConfig.setEndpointURIs(endpoints);
+
+        new CommunicationHandler(steemConfig);
+    }
+
+    /**
+     * Get the URI of a stub server which has already been stopped.
+     * 
+     * @return An URI no server is listening on.
+     * @throws IOException
+     *             If the stub server could not be started.
+     */
+    private static URI getUnreachableUri() throws IOException {
+        try (JsonRPCStubServer stoppedStubServer = new JsonRPCStubServer()) {
+            return stoppedStubServer.getUri();
+        }
+    }
+}
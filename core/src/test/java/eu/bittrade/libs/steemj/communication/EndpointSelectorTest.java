@@ -0,0 +1,167 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+
+/**
+ * Test the {@link EndpointSelector}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class EndpointSelectorTest {
+    private static final long COOLDOWN = 50;
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private URI firstEndpoint;
+    private URI secondEndpoint;
+    private EndpointSelector endpointSelector;
+
+    /**
+     * Create a selector for two endpoints.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        firstEndpoint = new URI("https://first.example.com");
+        secondEndpoint = new URI("https://second.example.com");
+
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(firstEndpoint, false));
+        endpoints.add(new ImmutablePair<>(secondEndpoint, false));
+
+        SteemJConfig config = new SteemJConfig();
+        config.setEndpointURIs(endpoints);
+        endpointSelector = new EndpointSelector(config, COOLDOWN);
+    }
+
+    /**
+     * Test that the endpoint with the lower latency is preferred.
+     */
+    @Test
+    public void testLatencyAwareSelection() {
+        endpointSelector.onSuccess(firstEndpoint, SLOW);
+        endpointSelector.onSuccess(secondEndpoint, FAST);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+        }
+
+        // Keep the current endpoint as long as it is not much slower.
+        endpointSelector.onSuccess(firstEndpoint, FAST);
+        endpointSelector.onSuccess(secondEndpoint, FAST + FAST / 10);
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+        assertThat(endpointSelector.getAverageLatency(secondEndpoint) > FAST, equalTo(true));
+
+        // A failed endpoint is not selected again for the same request.
+        assertThat(endpointSelector.select(secondEndpoint).getLeft(), equalTo(firstEndpoint));
+    }
+
+    /**
+     * Test that an endpoint which is lagging behind is avoided.
+     */
+    @Test
+    public void testHeadBlockLag() {
+        endpointSelector.onSuccess(firstEndpoint, FAST);
+        endpointSelector.onSuccess(secondEndpoint, SLOW);
+        endpointSelector.reportHeadBlockNumber(firstEndpoint, 1000);
+        endpointSelector.reportHeadBlockNumber(secondEndpoint, 1100);
+
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+    }
+
+    /**
+     * Test that an endpoint is ejected after repeated failures and probed back
+     * in after its cool-down.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testEjectionAndProbing() throws Exception {
+        endpointSelector.onSuccess(firstEndpoint, FAST);
+        endpointSelector.onSuccess(secondEndpoint, SLOW);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(endpointSelector.isEjected(firstEndpoint), equalTo(false));
+            endpointSelector.onFailure(firstEndpoint);
+        }
+
+        assertThat(endpointSelector.isEjected(firstEndpoint), equalTo(true));
+        assertThat(endpointSelector.getErrorRate(firstEndpoint) > 0, equalTo(true));
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+
+        // A failed probe ejects the endpoint again.
+        Thread.sleep(COOLDOWN * 2);
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(firstEndpoint));
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+        endpointSelector.onFailure(firstEndpoint);
+        assertThat(endpointSelector.isEjected(firstEndpoint), equalTo(true));
+
+        // A successful probe takes the endpoint back in.
+        Thread.sleep(COOLDOWN * 3);
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(firstEndpoint));
+        endpointSelector.onSuccess(firstEndpoint, FAST);
+        assertThat(endpointSelector.isEjected(firstEndpoint), equalTo(false));
+    }
+
+    /**
+     * Test that a probe which ended without a result does not block the
+     * endpoint forever and can only be released by the thread that claimed
+     * it.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAbandonedProbeIsReleased() throws Exception {
+        endpointSelector.onSuccess(firstEndpoint, FAST);
+        endpointSelector.onSuccess(secondEndpoint, SLOW);
+        for (int i = 0; i < 3; i++) {
+            endpointSelector.onFailure(firstEndpoint);
+        }
+
+        Thread.sleep(COOLDOWN * 2);
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(firstEndpoint));
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+
+        // Another thread can't release the probe.
+        Thread otherThread = new Thread(() -> endpointSelector.releaseProbe(firstEndpoint));
+        otherThread.start();
+        otherThread.join();
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(secondEndpoint));
+
+        endpointSelector.releaseProbe(firstEndpoint);
+        assertThat(endpointSelector.select(null).getLeft(), equalTo(firstEndpoint));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+import eu.bittrade.libs.steemj.enums.RequestMethod;
+import eu.bittrade.libs.steemj.enums.SteemApiType;
+
+/**
+ * Test the {@link HttpClient} against a local {@link JsonRPCStubServer}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class HttpClientTest extends BaseUT {
+    private static final int NUMBER_OF_REQUESTS = 50;
+
+    private JsonRPCStubServer stubServer;
+    private HttpClient httpClient;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Start a new stub server and create a new client.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        stubServer = new JsonRPCStubServer();
+        stubServer.setResult("{\"head_block_number\":42}");
+        httpClient = new HttpClient();
+    }
+
+    /**
+     * Close the client and stop the stub server.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @After
+    public void tearDown() throws Exception {
+        httpClient.closeConnection();
+        stubServer.close();
+    }
+
+    /**
+     * Test that subsequent requests to the same endpoint reuse the same
+     * connection instead of opening a new one for each request.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testConnectionIsReused() throws Exception {
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            JsonRPCRequest request = new JsonRPCRequest(SteemApiType.DATABASE_API,
+                    RequestMethod.GET_DYNAMIC_GLOBAL_PROPERTIES, null);
+            JsonRPCResponse response = httpClient.invokeAndReadResponse(request, stubServer.getUri(), false);
+
+            assertThat(response.isError(), equalTo(false));
+            assertThat(response.getRawJsonResponse().get(JsonRPCResponse.ID_FIELD_NAME).asLong(),
+                    equalTo(request.getId()));
+        }
+
+        assertThat(stubServer.getNumberOfRequests(), equalTo(NUMBER_OF_REQUESTS));
+        assertThat(stubServer.getNumberOfConnections(), equalTo(1));
+    }
+
+    /**
+     * Test that the result is bound to the expected type while reading the
+     * response and that the connection is still reused afterwards.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testInvokeAndReadResult() throws Exception {
+        JavaType resultType = CommunicationHandler.getObjectMapper().getTypeFactory()
+                .constructCollectionType(List.class, Map.class);
+
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            JsonRPCRequest request = new JsonRPCRequest(SteemApiType.DATABASE_API,
+                    RequestMethod.GET_DYNAMIC_GLOBAL_PROPERTIES, null);
+            List<Map<?, ?>> result = httpClient.invokeAndReadResult(request, resultType, stubServer.getUri(), false);
+
+            assertThat(result.size(), equalTo(1));
+            assertThat(result.get(0).get("head_block_number"), equalTo((Object) 42));
+        }
+
+        assertThat(stubServer.getNumberOfConnections(), equalTo(1));
+    }
+
+    /**
+     * Test that closing the client also closes the pooled connections.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCloseConnection() throws Exception {
+        JsonRPCRequest request = new JsonRPCRequest(SteemApiType.DATABASE_API, RequestMethod.GET_CONFIG, null);
+
+        httpClient.invokeAndReadResponse(request, stubServer.getUri(), false);
+        httpClient.closeConnection();
+        httpClient.invokeAndReadResponse(request, stubServer.getUri(), false);
+
+        assertThat(stubServer.getNumberOfConnections(), equalTo(2));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+
+/**
+ * A minimal, local JSON-RPC server which answers every request with a
+ * configurable result. JSON-RPC 2.0 batches are answered element by element.
+ * It is used to test the communication layer without connecting to a real
+ * Steem Node.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class JsonRPCStubServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final Set<InetSocketAddress> clientAddresses = Collections
+            .newSetFromMap(new ConcurrentHashMap<InetSocketAddress, Boolean>());
+    private final AtomicInteger numberOfRequests = new AtomicInteger();
+    private volatile JsonNode result = MAPPER.createObjectNode();
+    private volatile long delay;
+
+    /**
+     * Start a new stub server listening on a random local port.
+     * 
+     * @throws IOException
+     *             If the server could not be started.
+     */
+    public JsonRPCStubServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                clientAddresses.add(exchange.getRemoteAddress());
+                numberOfRequests.incrementAndGet();
+
+                byte[] response;
+                try (InputStream requestBody = exchange.getRequestBody()) {
+                    JsonNode request = MAPPER.readTree(requestBody);
+                    if (request.isArray()) {
+                        // Answer JSON-RPC 2.0 batches in reverse order to
+                        // make sure the client routes the responses by id.
+                        ArrayNode responses = MAPPER.createArrayNode();
+                        for (int i = request.size() - 1; i >= 0; i--) {
+                            responses.add(answer(request.get(i)));
+                        }
+                        response = MAPPER.writeValueAsBytes(responses);
+                    } else {
+                        response = MAPPER.writeValueAsBytes(answer(request));
+                    }
+                }
+
+                if (delay > 0) {
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    responseBody.write(response);
+                }
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Create the answer for a single request.
+     * 
+     * @param request
+     *            The request to answer.
+     * @return The response object.
+     */
+    protected JsonNode answer(JsonNode request) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set(JsonRPCResponse.RESULT_FIELD_NAME, result);
+        response.set(JsonRPCResponse.ID_FIELD_NAME, request.get(JsonRPCResponse.ID_FIELD_NAME));
+        return response;
+    }
+
+    /**
+     * @return The URI of this server.
+     */
+    public URI getUri() {
+        try {
+            return new URI("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Define the result returned for all following requests.
+     * 
+     * @param result
+     *            The JSON representation of the result.
+     * @throws IOException
+     *             If the <code>result</code> is no valid JSON.
+     */
+    public void setResult(String result) throws IOException {
+        this.result = MAPPER.readTree(result);
+    }
+
+    /**
+     * Define how long the server waits before it answers a request.
+     * 
+     * @param delay
+     *            The delay in milliseconds.
+     */
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * @return The number of requests this server has received.
+     */
+    public int getNumberOfRequests() {
+        return numberOfRequests.get();
+    }
+
+    /**
+     * @return The number of distinct client connections this server has
+     *         accepted.
+     */
+    public int getNumberOfConnections() {
+        return clientAddresses.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test the {@link LatencyRecorder}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class LatencyRecorderTest {
+    /**
+     * Test that the percentiles are calculated within the resolution of the
+     * recorder.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        assertThat(latencyRecorder.getPercentile(99), equalTo(0L));
+
+        for (int i = 1; i <= 10000; i++) {
+            latencyRecorder.record(TimeUnit.MICROSECONDS.toNanos(i * 100L));
+        }
+
+        assertThat(latencyRecorder.getCount(), equalTo(10000L));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(latencyRecorder.getPercentile(50)),
+                both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(532L)));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(latencyRecorder.getPercentile(99)),
+                both(greaterThanOrEqualTo(990L)).and(lessThanOrEqualTo(1053L)));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(latencyRecorder.getPercentile(99.9)),
+                both(greaterThanOrEqualTo(999L)).and(lessThanOrEqualTo(1063L)));
+        assertThat(latencyRecorder.getPercentile(100) >= latencyRecorder.getPercentile(99.9), equalTo(true));
+
+        latencyRecorder.reset();
+        assertThat(latencyRecorder.getCount(), equalTo(0L));
+        assertThat(latencyRecorder.getPercentile(50), equalTo(0L));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.RequestMethod;
+import eu.bittrade.libs.steemj.enums.SteemApiType;
+
+/**
+ * Test the {@link WebsocketClient} against local {@link WebsocketStubServer
+ * WebsocketStubServers}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class WebsocketClientTest extends BaseUT {
+    private static final int NUMBER_OF_REQUESTS = 10;
+    private static final long COOLDOWN = 100;
+
+    private WebsocketStubServer stubServer;
+    private WebsocketStubServer otherStubServer;
+    private SteemJConfig steemConfig;
+    private WebsocketClient websocketClient;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Start two stub servers and create a new client.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Before
+    public void setUp() throws Exception {
+        stubServer = new WebsocketStubServer();
+        stubServer.setResult("{\"head_block_number\":42}");
+        otherStubServer = new WebsocketStubServer();
+        otherStubServer.setResult("{\"head_block_number\":42}");
+
+        steemConfig = new SteemJConfig();
+        List<Pair<URI, Boolean>> endpoints = new ArrayList<>();
+        endpoints.add(new ImmutablePair<>(stubServer.getUri(), false));
+        endpoints.add(new ImmutablePair<>(otherStubServer.getUri(), false));
+        steemConfig.setEndpointURIs(endpoints);
+        steemConfig.setResponseTimeout(5000);
+
+        websocketClient = new WebsocketClient(steemConfig);
+    }
+
+    /**
+     * Close the client and stop the stub servers.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @After
+    public void tearDown() throws Exception {
+        websocketClient.closeConnection();
+        stubServer.close();
+        otherStubServer.close();
+    }
+
+    /**
+     * Test that subsequent requests to the same endpoint are sent through the
+     * same connection.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testConnectionIsReused() throws Exception {
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            JsonRPCRequest request = new JsonRPCRequest(SteemApiType.DATABASE_API,
+                    RequestMethod.GET_DYNAMIC_GLOBAL_PROPERTIES, null);
+            JsonRPCResponse response = websocketClient.invokeAndReadResponse(request, stubServer.getUri(), false);
+
+            assertThat(response.isError(), equalTo(false));
+            assertThat(response.getRawJsonResponse().get(JsonRPCResponse.ID_FIELD_NAME).asLong(),
+                    equalTo(request.getId()));
+        }
+
+        assertThat(stubServer.getNumberOfRequests(), equalTo(NUMBER_OF_REQUESTS));
+        assertThat(stubServer.getNumberOfConnections(), equalTo(1));
+    }
+
+    /**
+     * Test that probing an endpoint after its cool-down neither closes the
+     * connection of the endpoint used by the requests in flight nor lets
+     * those requests fail.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testProbeWhileRequestsAreInFlight() throws Exception {
+        EndpointSelector endpointSelector = new EndpointSelector(steemConfig, COOLDOWN);
+        for (int i = 0; i < 3; i++) {
+            endpointSelector.onFailure(otherStubServer.getUri());
+        }
+        Thread.sleep(COOLDOWN * 2);
+
+        stubServer.setDelay(1000);
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_REQUESTS);
+        try {
+            List<Future<JsonRPCResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+                responses.add(executorService.submit(new Callable<JsonRPCResponse>() {
+                    @Override
+                    public JsonRPCResponse call() throws Exception {
+                        JsonRPCRequest request = new JsonRPCRequest(SteemApiType.DATABASE_API,
+                                RequestMethod.GET_DYNAMIC_GLOBAL_PROPERTIES, null);
+                        return websocketClient.invokeAndReadResponse(request, stubServer.getUri(), false);
+                    }
+                }));
+            }
+            while (stubServer.getNumberOfRequests() < NUMBER_OF_REQUESTS) {
+                Thread.sleep(10);
+            }
+
+            // The ejected endpoint is probed while all other requests are
+            // still waiting for their responses.
+            URI probedEndpoint = endpointSelector.select(null).getLeft();
+            assertThat(probedEndpoint, equalTo(otherStubServer.getUri()));
+            JsonRPCRequest probe = new JsonRPCRequest(SteemApiType.DATABASE_API,
+                    RequestMethod.GET_DYNAMIC_GLOBAL_PROPERTIES, null);
+            assertThat(websocketClient.invokeAndReadResponse(probe, probedEndpoint, false).isError(),
+                    equalTo(false));
+
+            for (Future<JsonRPCResponse> response : responses) {
+                assertThat(response.get().isError(), equalTo(false));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(stubServer.getNumberOfConnections(), equalTo(1));
+        assertThat(otherStubServer.getNumberOfConnections(), equalTo(1));
+    }
+}
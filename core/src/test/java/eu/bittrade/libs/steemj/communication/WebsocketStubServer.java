@@ -0,0 +1,327 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+
+/**
+ * A minimal, local WebSocket server which answers every JSON-RPC request with
+ * a configurable result. Requests are answered in parallel, so a single
+ * connection can carry several requests in flight. It only implements the
+ * parts of the WebSocket protocol needed to test the {@link WebsocketClient}
+ * without connecting to a real Steem Node.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class WebsocketStubServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final AtomicInteger numberOfRequests = new AtomicInteger();
+    private final AtomicInteger numberOfConnections = new AtomicInteger();
+    private volatile JsonNode result = MAPPER.createObjectNode();
+    private volatile long delay;
+
+    /**
+     * Start a new stub server listening on a random local port.
+     * 
+     * @throws IOException
+     *             If the server could not be started.
+     */
+    public WebsocketStubServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 0, InetAddress.getByName("127.0.0.1"));
+        executorService.execute(new Runnable() {
+            @Override
+            public void run() {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        final Socket socket = serverSocket.accept();
+                        executorService.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                handleConnection(socket);
+                            }
+                        });
+                    } catch (IOException e) {
+                        // The server has been closed.
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Perform the handshake and answer the requests of a single connection
+     * until it is closed.
+     * 
+     * @param socket
+     *            The socket of the connection.
+     */
+    private void handleConnection(Socket socket) {
+        try (Socket connection = socket) {
+            DataInputStream input = new DataInputStream(connection.getInputStream());
+            OutputStream output = connection.getOutputStream();
+            handshake(input, output);
+            numberOfConnections.incrementAndGet();
+
+            while (true) {
+                int firstByte = input.readUnsignedByte();
+                int secondByte = input.readUnsignedByte();
+                long length = secondByte & 0x7F;
+                if (length == 126) {
+                    length = input.readUnsignedShort();
+                } else if (length == 127) {
+                    length = input.readLong();
+                }
+                byte[] mask = new byte[4];
+                if ((secondByte & 0x80) != 0) {
+                    input.readFully(mask);
+                }
+                byte[] payload = new byte[(int) length];
+                input.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+
+                int opcode = firstByte & 0x0F;
+                if (opcode == OPCODE_CLOSE) {
+                    writeFrame(output, OPCODE_CLOSE, payload);
+                    return;
+                } else if (opcode == OPCODE_PING) {
+                    writeFrame(output, OPCODE_PONG, payload);
+                } else if (opcode == OPCODE_TEXT) {
+                    numberOfRequests.incrementAndGet();
+                    answerLater(output, new String(payload, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            // The connection has been closed.
+        }
+    }
+
+    /**
+     * Read the HTTP upgrade request and accept it.
+     * 
+     * @param input
+     *            The input of the connection.
+     * @param output
+     *            The output of the connection.
+     * @throws IOException
+     *             If the handshake failed.
+     */
+    private void handshake(DataInputStream input, OutputStream output) throws IOException {
+        // Read byte by byte to not consume the first frame.
+        String key = null;
+        String line;
+        while (!(line = readLine(input)).isEmpty()) {
+            if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                key = line.substring(line.indexOf(':') + 1).trim();
+            }
+        }
+
+        String accept;
+        try {
+            accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        output.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+    }
+
+    /**
+     * @param input
+     *            The input to read from.
+     * @return The next line of the HTTP header without the line break.
+     * @throws IOException
+     *             If the line could not be read.
+     */
+    private static String readLine(DataInputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int character;
+        while ((character = input.read()) != '\n') {
+            if (character == -1) {
+                throw new IOException("The connection has been closed during the handshake.");
+            } else if (character != '\r') {
+                line.append((char) character);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Answer the given <code>request</code> after the configured delay
+     * without blocking the connection.
+     * 
+     * @param output
+     *            The output of the connection.
+     * @param request
+     *            The raw request.
+     */
+    private void answerLater(final OutputStream output, final String request) {
+        executorService.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (delay > 0) {
+                        Thread.sleep(delay);
+                    }
+                    writeFrame(output, OPCODE_TEXT, MAPPER.writeValueAsBytes(answer(MAPPER.readTree(request))));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    // The connection has been closed.
+                }
+            }
+        });
+    }
+
+    /**
+     * Write an unmasked frame.
+     * 
+     * @param output
+     *            The output of the connection.
+     * @param opcode
+     *            The opcode of the frame.
+     * @param payload
+     *            The payload of the frame.
+     * @throws IOException
+     *             If the frame could not be written.
+     */
+    private static void writeFrame(OutputStream output, int opcode, byte[] payload) throws IOException {
+        synchronized (output) {
+            output.write(0x80 | opcode);
+            if (payload.length < 126) {
+                output.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                output.write(126);
+                output.write(payload.length >>> 8);
+                output.write(payload.length);
+            } else {
+                output.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    output.write((int) ((long) payload.length >>> shift));
+                }
+            }
+            output.write(payload);
+            output.flush();
+        }
+    }
+
+    /**
+     * Create the answer for a single request.
+     * 
+     * @param request
+     *            The request to answer.
+     * @return The response object.
+     */
+    protected JsonNode answer(JsonNode request) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set(JsonRPCResponse.RESULT_FIELD_NAME, result);
+        response.set(JsonRPCResponse.ID_FIELD_NAME, request.get(JsonRPCResponse.ID_FIELD_NAME));
+        return response;
+    }
+
+    /**
+     * @return The URI of this server.
+     */
+    public URI getUri() {
+        try {
+            return new URI("ws://127.0.0.1:" + serverSocket.getLocalPort() + "/");
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Define the result returned for all following requests.
+     * 
+     * @param result
+     *            The JSON representation of the result.
+     * @throws IOException
+     *             If the <code>result</code> is no valid JSON.
+     */
+    public void setResult(String result) throws IOException {
+        this.result = MAPPER.readTree(result);
+    }
+
+    /**
+     * Define how long the server waits before it answers a request.
+     * 
+     * @param delay
+     *            The delay in milliseconds.
+     */
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * @return The number of requests this server has received.
+     */
+    public int getNumberOfRequests() {
+        return numberOfRequests.get();
+    }
+
+    /**
+     * @return The number of WebSocket connections this server has accepted.
+     */
+    public int getNumberOfConnections() {
+        return numberOfConnections.get();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Nothing to do, as the server is stopped anyway.
+        }
+        executorService.shutdownNow();
+    }
+}
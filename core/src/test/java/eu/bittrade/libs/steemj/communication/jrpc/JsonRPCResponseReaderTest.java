@@ -0,0 +1,126 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication.jrpc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+
+/**
+ * Test the {@link JsonRPCResponseReader}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class JsonRPCResponseReaderTest extends BaseUT {
+    private static final JavaType STRING_LIST_TYPE = CommunicationHandler.getObjectMapper().getTypeFactory()
+            .constructCollectionType(List.class, String.class);
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that the result is transformed independent of the position of the
+     * id field.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testReadResult() throws Exception {
+        assertThat(readResult("{\"jsonrpc\":\"2.0\",\"result\":\"0.22.0\",\"id\":7}", 7).get(0),
+                equalTo("0.22.0"));
+        assertThat(readResult("{\"id\":7,\"jsonrpc\":\"2.0\",\"result\":[\"a\",\"b\"]}", 7).size(), equalTo(2));
+        assertThat(readResult("{\"jsonrpc\":\"2.0\",\"result\":null,\"id\":7}", 7).isEmpty(), equalTo(true));
+    }
+
+    /**
+     * Test that an error object is transformed into a
+     * {@link SteemResponseException}.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testReadError() throws Exception {
+        try {
+            readResult("{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"Stub error\"},\"id\":7}", 7);
+        } catch (SteemResponseException e) {
+            assertThat(e.getCode(), equalTo(-32000));
+            assertThat(e.getMessage(), equalTo("Stub error"));
+            return;
+        }
+
+        throw new AssertionError("Expected a SteemResponseException.");
+    }
+
+    /**
+     * Test that a response with an unexpected id is rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = SteemCommunicationException.class)
+    public void testReadResultWithUnexpectedId() throws Exception {
+        readResult("{\"jsonrpc\":\"2.0\",\"result\":\"0.22.0\",\"id\":8}", 7);
+    }
+
+    /**
+     * Test that the id can be read without transforming the result.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testReadId() throws Exception {
+        assertThat(JsonRPCResponseReader.readId("{\"result\":{\"a\":[1,2,{\"id\":3}]},\"id\":7}"), equalTo(7L));
+        assertThat(JsonRPCResponseReader.readId("{\"result\":{\"id\":3}}"), equalTo((Long) null));
+    }
+
+    /**
+     * Read the given <code>response</code> as a list of Strings.
+     * 
+     * @param response
+     *            The response to read.
+     * @param expectedId
+     *            The expected id.
+     * @return The result.
+     * @throws Exception
+     *             If something went wrong.
+     */
+    private List<String> readResult(String response, long expectedId) throws Exception {
+        try (JsonParser parser = CommunicationHandler.getObjectMapper().getFactory().createParser(response)) {
+            return JsonRPCResponseReader.readResult(parser, STRING_LIST_TYPE, expectedId);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * Test the {@link PrivateKeyStorage}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PrivateKeyStorageTest {
+    private static final String POSTING_KEY = "5JpbHHrEkoLsxNcddo5YaTgtmgDegTcjk8i7BDPiTbMefrPnjWK";
+    private static final String ACTIVE_KEY = "5J6a9B9H1rBC9XsxHUrv9Eu98cG4MaZPuaMk6LBfMSDGyk5SoiP";
+    private static final String MEMO_KEY = "5Hw3qRsC3f9yLtVazZpA8LyCUozBJq5aQv9tNNnz8fcg8BqoAWw";
+
+    private static final AccountName DEZ = new AccountName("dez1337");
+    private static final AccountName STEEMJ = new AccountName("steemj");
+
+    private PrivateKeyStorage privateKeyStorage;
+
+    /**
+     * Create a new key storage for each test.
+     */
+    @Before
+    public void setUp() {
+        privateKeyStorage = new PrivateKeyStorage();
+
+        List<ImmutablePair<PrivateKeyType, String>> privateKeys = new ArrayList<>();
+        privateKeys.add(new ImmutablePair<>(PrivateKeyType.POSTING, POSTING_KEY));
+        privateKeys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, ACTIVE_KEY));
+        privateKeyStorage.addAccount(DEZ, privateKeys);
+
+        privateKeyStorage.addAccount(STEEMJ);
+        privateKeyStorage.addPrivateKeyToAccount(STEEMJ, new ImmutablePair<>(PrivateKeyType.POSTING, POSTING_KEY));
+    }
+
+    /**
+     * Test the lookup of keys by their account and type.
+     */
+    @Test
+    public void testGetKeyForAccount() {
+        ECKey postingKey = privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, DEZ);
+        assertThat(privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, STEEMJ), equalTo(postingKey));
+        assertThat(privateKeyStorage.getAccounts(), containsInAnyOrder(DEZ, STEEMJ));
+
+        try {
+            privateKeyStorage.getKeyForAccount(PrivateKeyType.ACTIVE, STEEMJ);
+            fail();
+        } catch (InvalidParameterException e) {
+            // Expected.
+        }
+
+        try {
+            privateKeyStorage.addPrivateKeyToAccount(new AccountName("foobar"),
+                    new ImmutablePair<>(PrivateKeyType.MEMO, MEMO_KEY));
+            fail();
+        } catch (InvalidParameterException e) {
+            assertThat(privateKeyStorage.getAccounts().size(), equalTo(2));
+        }
+    }
+
+    /**
+     * Test the reverse lookup of private keys and accounts by a public key.
+     */
+    @Test
+    public void testReverseIndex() {
+        ECKey postingKey = privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, DEZ);
+        PublicKey postingPublicKey = new PublicKey(ECKey.fromPublicOnly(postingKey.getPubKeyPoint()));
+        ECKey activeKey = privateKeyStorage.getKeyForAccount(PrivateKeyType.ACTIVE, DEZ);
+        PublicKey activePublicKey = new PublicKey(ECKey.fromPublicOnly(activeKey.getPubKeyPoint()));
+
+        assertThat(privateKeyStorage.getKeyForPublicKey(postingPublicKey), equalTo(postingKey));
+        assertThat(privateKeyStorage.getAccountsForPublicKey(postingPublicKey), containsInAnyOrder(DEZ, STEEMJ));
+        assertThat(privateKeyStorage.getAccountsForPublicKey(activePublicKey), contains(DEZ));
+
+        privateKeyStorage.removeAccount(DEZ);
+
+        assertThat(privateKeyStorage.getAccountsForPublicKey(postingPublicKey), contains(STEEMJ));
+        assertThat(privateKeyStorage.getAccountsForPublicKey(activePublicKey), empty());
+        assertThat(privateKeyStorage.getKeyForPublicKey(activePublicKey), nullValue());
+    }
+
+    /**
+     * Test that a reload replaces all keys while other threads keep reading
+     * them.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testReload() throws Exception {
+        AtomicBoolean reloading = new AtomicBoolean(true);
+        AtomicInteger failedLookups = new AtomicInteger();
+        Thread signer = new Thread(() -> {
+            while (reloading.get()) {
+                try {
+                    privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, DEZ);
+                } catch (InvalidParameterException e) {
+                    failedLookups.incrementAndGet();
+                }
+            }
+        });
+        signer.start();
+
+        Map<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysPerAccount = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            List<ImmutablePair<PrivateKeyType, String>> privateKeys = new ArrayList<>();
+            privateKeys.add(new ImmutablePair<>(PrivateKeyType.POSTING, i % 2 == 0 ? POSTING_KEY : MEMO_KEY));
+            privateKeysPerAccount.put(DEZ, privateKeys);
+            privateKeyStorage.reload(privateKeysPerAccount);
+        }
+
+        reloading.set(false);
+        signer.join();
+
+        assertThat(failedLookups.get(), equalTo(0));
+        assertThat(privateKeyStorage.getAccounts(), contains(DEZ));
+
+        ECKey memoKey = privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, DEZ);
+        PublicKey memoPublicKey = new PublicKey(ECKey.fromPublicOnly(memoKey.getPubKeyPoint()));
+        assertThat(privateKeyStorage.getAccountsForPublicKey(memoPublicKey), contains(DEZ));
+        assertThat(privateKeyStorage.getKeyForPublicKey(memoPublicKey), equalTo(memoKey));
+    }
+}
@@ -18,8 +18,15 @@ package eu.bittrade.libs.steemj.configuration;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
 
+import java.net.URI;
+import java.util.ArrayList;
+
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -81,6 +88,33 @@ public class SteemJConfigTest {
                 .decompress().getPrivateKeyEncoded(128).toBase58(), equalTo(STEEMJ_KEY_MEMO));
     }
 
+    /**
+     * Test that a snapshot is not affected by later changes of the original
+     * configuration and can't be changed itself.
+     */
+    @Test
+    public void testSnapshot() {
+        SteemJConfig steemJConfig = new SteemJConfig();
+        steemJConfig.setResponseTimeout(2000);
+
+        SteemJConfig snapshot = steemJConfig.snapshot();
+        steemJConfig.setResponseTimeout(3000);
+        steemJConfig.setEndpointURIs(new ArrayList<Pair<URI, Boolean>>());
+
+        assertThat(snapshot.isImmutable(), equalTo(true));
+        assertThat(snapshot.getResponseTimeout(), equalTo(2000));
+        assertThat(snapshot.getEndpointURIs().size(), equalTo(1));
+        assertThat(snapshot.snapshot(), sameInstance(snapshot));
+        assertThat(steemJConfig, not(sameInstance(SteemJConfig.getInstance())));
+
+        try {
+            snapshot.setResponseTimeout(3000);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertThat(snapshot.getResponseTimeout(), equalTo(2000));
+        }
+    }
+
     /**
      * Test if the version and the application name have been set correctly
      * during the build process.
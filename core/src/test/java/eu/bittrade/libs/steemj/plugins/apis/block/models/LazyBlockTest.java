@@ -0,0 +1,160 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.block.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
+
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test that the transactions of a {@link LazyBlock} are only bound when they
+ * are accessed.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class LazyBlockTest extends BaseUT {
+    private static final String BLOCK_ID = "0000000a" + "11111111111111111111111111111111";
+    private static final String FIRST_TRANSACTION_ID = "3333333333333333333333333333333333333333";
+    private static final String SECOND_TRANSACTION_ID = "4444444444444444444444444444444444444444";
+    private static final String VOTE = "{\"type\":\"vote\",\"voter\":\"dez1337\",\"author\":\"steemj\","
+            + "\"permlink\":\"test\",\"weight\":10000}";
+    /** A vote which can't be bound, so it fails the test if it is bound. */
+    private static final String BROKEN_VOTE = "{\"type\":\"vote\",\"weight\":\"not a number\"}";
+
+    private static String signature;
+    private static String signingKey;
+
+    /**
+     * Prepare the environment for this specific test.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @BeforeClass
+    public static void prepareTestClass() throws Exception {
+        setupUnitTestEnvironment();
+
+        byte[] signatureBytes = new byte[65];
+        Arrays.fill(signatureBytes, (byte) 1);
+        signatureBytes[0] = 0x1f;
+        signature = CryptoUtils.HEX.encode(signatureBytes);
+        signingKey = new PublicKey(new ECKey()).getAddressFromPublicKey();
+    }
+
+    /**
+     * Test that the header and the transaction ids can be read without binding
+     * any transaction and that a single transaction can be bound on its own.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransactionsAreBoundOnAccess() throws Exception {
+        LazyBlock block = readBlock(createBlock(BROKEN_VOTE, VOTE));
+
+        assertThat(block.getBlockId().toString(), equalTo(BLOCK_ID));
+        assertThat(block.getWitness().getName(), equalTo("dez1337"));
+        assertThat(block.getTimestamp().getDateTime(), equalTo("2018-01-01T00:00:03"));
+        assertThat(block.getSigningKey().getAddressFromPublicKey(), equalTo(signingKey));
+        assertThat(block.getTransactionIds().get(1).toString(), equalTo(SECOND_TRANSACTION_ID));
+        assertThat(block.getTransactions().size(), equalTo(2));
+        assertThat(block.getNumberOfBoundTransactions(), equalTo(0));
+
+        assertThat(block.getTransactions().get(1).getOperations().get(0), instanceOf(VoteOperation.class));
+        assertThat(block.getTransactions().get(1).getSignatures().get(0), equalTo(signature));
+        assertThat(block.getNumberOfBoundTransactions(), equalTo(1));
+        // The same instance is returned on every access.
+        assertThat(block.getTransactions().get(1) == block.getTransactions().get(1), equalTo(true));
+
+        try {
+            block.getTransactions().get(0);
+            fail("The broken transaction has been bound.");
+        } catch (UncheckedIOException e) {
+            assertThat(block.getNumberOfBoundTransactions(), equalTo(1));
+        }
+    }
+
+    /**
+     * Test that a lazy block contains the same data as a fully bound block.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testLazyBlockEqualsFullBlock() throws Exception {
+        String json = createBlock(VOTE, VOTE);
+
+        ExtendedSignedBlock fullBlock = CommunicationHandler.getObjectMapper()
+                .readValue(json.substring("{\"block\":".length(), json.length() - 1), ExtendedSignedBlock.class);
+        LazyBlock lazyBlock = readBlock(json);
+
+        assertThat(lazyBlock.toByteArray(), equalTo(fullBlock.toByteArray()));
+        assertThat(lazyBlock.getNumberOfBoundTransactions(), equalTo(2));
+    }
+
+    /**
+     * @param json
+     *            The JSON response.
+     * @return The lazy block.
+     * @throws Exception
+     *             If something went wrong.
+     */
+    private static LazyBlock readBlock(String json) throws Exception {
+        return CommunicationHandler.getObjectMapper().readValue(json, GetLazyBlockReturn.class).getBlock().get();
+    }
+
+    /**
+     * @param firstOperation
+     *            The operation of the first transaction.
+     * @param secondOperation
+     *            The operation of the second transaction.
+     * @return The JSON representation of a block with two transactions.
+     */
+    private static String createBlock(String firstOperation, String secondOperation) {
+        return "{\"block\":{\"previous\":\"00000009" + "22222222222222222222222222222222\","
+                + "\"timestamp\":\"2018-01-01T00:00:03\",\"witness\":\"dez1337\","
+                + "\"transaction_merkle_root\":\"5555555555555555555555555555555555555555\",\"extensions\":[],"
+                + "\"witness_signature\":\"" + signature + "\",\"transactions\":["
+                + createTransaction(firstOperation) + "," + createTransaction(secondOperation) + "],\"block_id\":\""
+                + BLOCK_ID + "\",\"signing_key\":\"" + signingKey + "\",\"transaction_ids\":[\""
+                + FIRST_TRANSACTION_ID + "\",\"" + SECOND_TRANSACTION_ID + "\"]}}";
+    }
+
+    /**
+     * @param operation
+     *            The operation of the transaction as JSON.
+     * @return The transaction as JSON.
+     */
+    private static String createTransaction(String operation) {
+        return "{\"ref_block_num\":9,\"ref_block_prefix\":1,\"expiration\":\"2018-01-01T00:01:00\","
+                + "\"operations\":[" + operation + "],\"extensions\":[],\"signatures\":[\"" + signature + "\"]}";
+    }
+}
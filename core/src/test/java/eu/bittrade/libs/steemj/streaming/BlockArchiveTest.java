@@ -0,0 +1,414 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.joou.UShort;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.ChainProperties;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.HardforkVersionVote;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.base.models.Pow2;
+import eu.bittrade.libs.steemj.base.models.Pow2Input;
+import eu.bittrade.libs.steemj.base.models.Pow;
+import eu.bittrade.libs.steemj.base.models.Version;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.HardforkVersion;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.Pow2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ReportOverProductionOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link BlockArchive}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockArchiveTest extends BaseUT {
+    private static final PublicKey SIGNING_KEY = new PublicKey(new ECKey());
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Prepare the environment for this specific test.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @BeforeClass
+    public static void prepareTestClass() throws Exception {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that a stored block is equal to the original block.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksAreStored() throws Exception {
+        ExtendedSignedBlock originalBlock = createBlock(42);
+
+        try (BlockArchive blockArchive = new BlockArchive(temporaryFolder.getRoot().toPath())) {
+            blockArchive.append(originalBlock);
+
+            assertThat(blockArchive.getFirstBlockNumber(), equalTo(42L));
+            assertThat(blockArchive.getNextBlockNumber(), equalTo(43L));
+            assertThat(blockArchive.getBlock(41).isPresent(), equalTo(false));
+            assertThat(blockArchive.getBlock(43).isPresent(), equalTo(false));
+
+            ExtendedSignedBlock storedBlock = blockArchive.getBlock(42).get();
+            assertThat(storedBlock.toByteArray(), equalTo(originalBlock.toByteArray()));
+            assertThat(storedBlock.getBlockId().toString(), equalTo(originalBlock.getBlockId().toString()));
+            assertThat(storedBlock.getSigningKey().getAddressFromPublicKey(),
+                    equalTo(SIGNING_KEY.getAddressFromPublicKey()));
+            assertThat(storedBlock.getTransactionIds().get(1).toString(),
+                    equalTo(originalBlock.getTransactionIds().get(1).toString()));
+            assertThat(storedBlock.getExtensions().get(1), equalTo(null));
+            assertThat(storedBlock.getTransactions().get(1).getSignatures(),
+                    equalTo(originalBlock.getTransactions().get(1).getSignatures()));
+        }
+    }
+
+    /**
+     * Test that blocks spread over several segments can be replayed after the
+     * archive has been opened again.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksAreReplayed() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        int blockSize = createBlock(1).toByteArray().length;
+
+        try (BlockArchive blockArchive = new BlockArchive(directory, 3 * blockSize)) {
+            for (int blockNumber = 1; blockNumber <= 20; blockNumber++) {
+                blockArchive.onBlock(createBlock(blockNumber));
+            }
+        }
+
+        assertThat(listFiles(directory, ".blocks").size() > 1, equalTo(true));
+
+        try (BlockArchive blockArchive = new BlockArchive(directory, 3 * blockSize)) {
+            // Blocks which are already stored are ignored.
+            blockArchive.onBlock(createBlock(20));
+
+            List<Long> replayedBlockNumbers = new ArrayList<>();
+            long numberOfReplayedBlocks = blockArchive.replay(5, 25, block -> replayedBlockNumbers
+                    .add(Integer.toUnsignedLong(block.getBlockId().getNumberFromHash())));
+
+            assertThat(numberOfReplayedBlocks, equalTo(16L));
+            assertThat(replayedBlockNumbers.get(0), equalTo(5L));
+            assertThat(replayedBlockNumbers.get(15), equalTo(20L));
+            assertThat(blockArchive.getNextBlockNumber(), equalTo(21L));
+        }
+    }
+
+    /**
+     * Test that blocks are read correctly from the mapped windows, from the
+     * end of a growing segment and across the borders of the windows.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksAreReadFromMappedWindows() throws Exception {
+        List<ExtendedSignedBlock> originalBlocks = new ArrayList<>();
+        int blockSize = createBlock(1).toByteArray().length;
+
+        try (BlockArchive blockArchive = new BlockArchive(temporaryFolder.getRoot().toPath(), 100 * blockSize,
+                3 * blockSize + 1, 16)) {
+            for (long blockNumber = 1; blockNumber <= 20; blockNumber++) {
+                ExtendedSignedBlock originalBlock = createBlock(blockNumber);
+                originalBlocks.add(originalBlock);
+                blockArchive.append(originalBlock);
+
+                assertThat(blockArchive.getBlock(blockNumber).get().toByteArray(),
+                        equalTo(originalBlock.toByteArray()));
+            }
+
+            for (int i = 0; i < originalBlocks.size(); i++) {
+                assertThat(blockArchive.getBlock(i + 1L).get().toByteArray(),
+                        equalTo(originalBlocks.get(i).toByteArray()));
+            }
+        }
+    }
+
+    /**
+     * Test that a block which has only been written partially is removed when
+     * the archive is opened and that a fork removes the replaced blocks.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testIncompleteBlocksAndForksAreRemoved() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+
+        try (BlockArchive blockArchive = new BlockArchive(directory)) {
+            for (int blockNumber = 1; blockNumber <= 10; blockNumber++) {
+                blockArchive.append(createBlock(blockNumber));
+            }
+        }
+
+        // Simulate a crash while the block 11 has been written.
+        Path segmentFile = listFiles(directory, ".blocks").get(0);
+        Path indexFile = listFiles(directory, ".index").get(0);
+        long segmentSize = Files.size(segmentFile);
+        Files.write(segmentFile, new byte[] { 100, 0, 0, 0, 1, 2, 3 }, StandardOpenOption.APPEND);
+        Files.write(indexFile, ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, segmentSize).array(),
+                StandardOpenOption.APPEND);
+
+        try (BlockArchive blockArchive = new BlockArchive(directory)) {
+            assertThat(blockArchive.getNextBlockNumber(), equalTo(11L));
+            assertThat(Files.size(segmentFile), equalTo(segmentSize));
+
+            blockArchive.onFork(8);
+            assertThat(blockArchive.getNextBlockNumber(), equalTo(8L));
+            assertThat(blockArchive.getBlock(8).isPresent(), equalTo(false));
+
+            blockArchive.append(createBlock(8));
+            assertThat(blockArchive.getBlock(8).get().getBlockId().toString(),
+                    equalTo(createBlock(8).getBlockId().toString()));
+            assertThat(blockArchive.getBlock(7).get().getBlockId().toString(),
+                    equalTo(createBlock(7).getBlockId().toString()));
+        }
+    }
+
+    /**
+     * Test that blocks containing operations which are only part of the early
+     * chain history or which have optional fields can be stored and replayed.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksWithHistoricalOperationsAreReplayed() throws Exception {
+        AccountName dez = new AccountName("dez1337");
+        ChainProperties chainProperties = new ChainProperties(new LegacyAsset(100000L, config.getTokenSymbol()),
+                131072, 1000);
+        Sha256Hash sha256Hash = Sha256Hash.wrap(createHash(1, 'd') + createHash(2, 'd').substring(16));
+
+        PowOperation powOperation = new PowOperation();
+        powOperation.setWorkerAccount(dez);
+        powOperation.setBlockId(new Checksum(createHash(41, 'a')));
+        powOperation.setNonce(ULong.valueOf(1234567890123L));
+        powOperation.setWork(new Pow(SIGNING_KEY, sha256Hash, createSignature(1), sha256Hash));
+        powOperation.setProperties(chainProperties);
+
+        Pow2Operation pow2Operation = new Pow2Operation();
+        pow2Operation.setPow2Work(new Pow2(new Pow2Input(dez, new BlockId(createHash(41, 'a')), ULong.valueOf(42L)),
+                3817912690L));
+        pow2Operation.setNewOwnerPublicKey(SIGNING_KEY);
+        pow2Operation.setProperties(chainProperties);
+
+        // Two different blocks produced by the same witness at the same time.
+        ExtendedSignedBlock firstBlock = createBlock(40);
+        ExtendedSignedBlock secondBlock = createBlock(40);
+        secondBlock.setTransactionMerkleRoot(new Checksum(createHash(40, 'e')));
+
+        Authority authority = new Authority();
+        authority.setWeightThreshold(1);
+        authority.setKeyAuths(Collections.singletonMap(SIGNING_KEY, 1));
+
+        List<Operation> operations = Arrays.asList(powOperation, pow2Operation,
+                new ReportOverProductionOperation(new AccountName("steemj"), toHeader(firstBlock),
+                        toHeader(secondBlock)),
+                new AccountUpdateOperation(dez, null, authority, null, SIGNING_KEY, "{}"));
+
+        ExtendedSignedBlock originalBlock = createBlock(41);
+        SignedTransaction transaction = new SignedTransaction(UShort.valueOf(40), UInteger.valueOf(1234),
+                new TimePointSec(1514764860000L), operations, null);
+        transaction.getSignatures().add(createSignature(3));
+        originalBlock.setTransactions(Collections.singletonList(transaction));
+        originalBlock.setTransactionIds(Collections.singletonList(new TransactionId(createHash(3, 'c'))));
+
+        try (BlockArchive blockArchive = new BlockArchive(temporaryFolder.getRoot().toPath())) {
+            blockArchive.onBlock(originalBlock);
+
+            List<ExtendedSignedBlock> replayedBlocks = new ArrayList<>();
+            assertThat(blockArchive.replay(41, 41, replayedBlocks::add), equalTo(1L));
+
+            ExtendedSignedBlock replayedBlock = replayedBlocks.get(0);
+            assertThat(replayedBlock.toByteArray(), equalTo(originalBlock.toByteArray()));
+
+            List<Operation> replayedOperations = replayedBlock.getTransactions().get(0).getOperations();
+            assertThat(replayedOperations.size(), equalTo(operations.size()));
+            for (int i = 0; i < operations.size(); i++) {
+                assertThat(replayedOperations.get(i).getClass().getName(),
+                        equalTo(operations.get(i).getClass().getName()));
+            }
+            assertThat(((AccountUpdateOperation) replayedOperations.get(3)).getOwner(), nullValue());
+            assertThat(((AccountUpdateOperation) replayedOperations.get(3)).getActive().getWeightThreshold(),
+                    equalTo(1L));
+        }
+    }
+
+    /**
+     * Test that a gap between the stored blocks is not accepted.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlocksNeedToBeContinuous() throws Exception {
+        try (BlockArchive blockArchive = new BlockArchive(temporaryFolder.getRoot().toPath())) {
+            blockArchive.append(createBlock(1));
+            blockArchive.append(createBlock(3));
+        }
+    }
+
+    /**
+     * @param block
+     *            The block to copy the header from.
+     * @return The signed header of the given block.
+     */
+    private static SignedBlockHeader toHeader(SignedBlockHeader block) {
+        SignedBlockHeader blockHeader = new SignedBlockHeader();
+        blockHeader.setPrevious(block.getPrevious());
+        blockHeader.setTimestamp(block.getTimestamp());
+        blockHeader.setWitness(block.getWitness());
+        blockHeader.setTransactionMerkleRoot(block.getTransactionMerkleRoot());
+        blockHeader.setExtensions(block.getExtensions());
+        blockHeader.setWitnessSignature(createSignature(40));
+        return blockHeader;
+    }
+
+    /**
+     * @param directory
+     *            The directory to search.
+     * @param extension
+     *            The file extension.
+     * @return The sorted list of files with the given extension.
+     */
+    private static List<Path> listFiles(Path directory, String extension) {
+        List<Path> files = new ArrayList<>();
+        for (File file : directory.toFile().listFiles()) {
+            if (file.getName().endsWith(extension)) {
+                files.add(file.toPath());
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Create a block with two transactions.
+     * 
+     * @param blockNumber
+     *            The number of the block.
+     * @return The block.
+     * @throws Exception
+     *             If something went wrong.
+     */
+    private static ExtendedSignedBlock createBlock(long blockNumber) throws Exception {
+        ExtendedSignedBlock block = new ExtendedSignedBlock();
+        block.setBlockId(new BlockId(createHash(blockNumber, 'a')));
+        block.setPrevious(new BlockId(createHash(blockNumber - 1, 'a')));
+        block.setTimestamp(new TimePointSec(1514764800000L + blockNumber * 3000));
+        block.setWitness(new AccountName("dez1337"));
+        block.setTransactionMerkleRoot(new Checksum(createHash(blockNumber, 'b')));
+        block.setExtensions(Arrays.<BlockHeaderExtensions>asList(new Version("0.19.2"), null,
+                new HardforkVersionVote(new HardforkVersion("0.20.0"), new TimePointSec(1514764800000L))));
+        block.setWitnessSignature(createSignature(blockNumber));
+        block.setSigningKey(SIGNING_KEY);
+
+        List<SignedTransaction> transactions = new ArrayList<>();
+        List<TransactionId> transactionIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            List<Operation> operations = new ArrayList<>();
+            operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                    new Permlink("block-" + blockNumber), (short) (100 * (i + 1))));
+
+            SignedTransaction transaction = new SignedTransaction(UShort.valueOf((int) blockNumber & 0xFFFF),
+                    UInteger.valueOf(1234), new TimePointSec(1514764860000L + blockNumber * 3000), operations, null);
+            transaction.getSignatures().add(createSignature(blockNumber * 10 + i));
+
+            transactions.add(transaction);
+            transactionIds.add(new TransactionId(createHash(blockNumber * 10 + i, 'c')));
+        }
+        block.setTransactions(transactions);
+        block.setTransactionIds(transactionIds);
+
+        return block;
+    }
+
+    /**
+     * @param number
+     *            The number stored in the first four bytes.
+     * @param filling
+     *            The character used for the remaining bytes.
+     * @return A ripemd160 hash in its HEX representation.
+     */
+    private static String createHash(long number, char filling) {
+        char[] remainingCharacters = new char[32];
+        Arrays.fill(remainingCharacters, filling);
+        return String.format("%08x", number) + new String(remainingCharacters);
+    }
+
+    /**
+     * @param number
+     *            The number used to fill the signature.
+     * @return A signature in its HEX representation.
+     */
+    private static String createSignature(long number) {
+        byte[] signature = new byte[65];
+        Arrays.fill(signature, (byte) number);
+        signature[0] = 0x1f;
+        return CryptoUtils.HEX.encode(signature);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+
+/**
+ * Test the {@link BlockBackfill} against in-memory block sources.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockBackfillTest extends BaseUT {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that all blocks are delivered in order although they are fetched
+     * concurrently from multiple sources of which one fails regularly.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksAreDeliveredInOrder() throws Exception {
+        InMemoryBlockRangeSource healthySource = new InMemoryBlockRangeSource("healthy", 0);
+        InMemoryBlockRangeSource failingSource = new InMemoryBlockRangeSource("failing", 3);
+        Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("backfill.checkpoint");
+
+        BlockBackfill blockBackfill = new BlockBackfill(Arrays.asList(healthySource, failingSource), 1, 1000,
+                checkpointFile, 7, 4);
+
+        List<Long> deliveredBlockNumbers = new ArrayList<>();
+        AtomicInteger errors = new AtomicInteger();
+        blockBackfill.run(new BlockSubscriber() {
+            @Override
+            public void onBlock(ExtendedSignedBlock block) {
+                deliveredBlockNumbers.add((long) block.getBlockId().getNumberFromHash());
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                errors.incrementAndGet();
+            }
+        });
+
+        assertThat(deliveredBlockNumbers.size(), equalTo(1000));
+        for (int i = 0; i < deliveredBlockNumbers.size(); i++) {
+            assertThat(deliveredBlockNumbers.get(i), equalTo(i + 1L));
+        }
+        assertThat(errors.get(), equalTo(failingSource.failures.get()));
+        assertThat(healthySource.requests.get(), greaterThan(0));
+        assertThat(blockBackfill.getNextBlockNumber(), equalTo(1001L));
+        assertThat(blockBackfill.getNumberOfDeliveredBlocks(), equalTo(1000L));
+        assertThat(blockBackfill.getBlocksPerSecond(), greaterThan(0.0));
+        assertThat(new String(Files.readAllBytes(checkpointFile), StandardCharsets.US_ASCII), equalTo("1001"));
+    }
+
+    /**
+     * Test that a backfill continues at the stored checkpoint after the
+     * subscriber failed.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBackfillResumesFromCheckpoint() throws Exception {
+        Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("backfill.checkpoint");
+        List<BlockRangeSource> sources = Arrays.asList(new InMemoryBlockRangeSource("source", 0));
+
+        List<Long> deliveredBlockNumbers = new ArrayList<>();
+        try {
+            new BlockBackfill(sources, 1, 100, checkpointFile, 10, 2).run(block -> {
+                long blockNumber = block.getBlockId().getNumberFromHash();
+                if (blockNumber == 55) {
+                    throw new IllegalStateException("Simulated crash.");
+                }
+                deliveredBlockNumbers.add(blockNumber);
+            });
+        } catch (IllegalStateException e) {
+            // Expected.
+        }
+
+        assertThat(deliveredBlockNumbers.size(), equalTo(54));
+        assertThat(new String(Files.readAllBytes(checkpointFile), StandardCharsets.US_ASCII), equalTo("51"));
+
+        BlockBackfill resumedBlockBackfill = new BlockBackfill(sources, 1, 100, checkpointFile, 10, 2);
+        assertThat(resumedBlockBackfill.getNextBlockNumber(), equalTo(51L));
+
+        List<Long> resumedBlockNumbers = new ArrayList<>();
+        resumedBlockBackfill.run(block -> resumedBlockNumbers.add((long) block.getBlockId().getNumberFromHash()));
+
+        assertThat(resumedBlockNumbers.size(), equalTo(50));
+        assertThat(resumedBlockNumbers.get(0), equalTo(51L));
+        assertThat(resumedBlockNumbers.get(49), equalTo(100L));
+    }
+
+    /**
+     * Test that the backfill gives up on a chunk which can't be fetched from
+     * any source.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = SteemCommunicationException.class)
+    public void testUnavailableBlocksFailTheBackfill() throws Exception {
+        new BlockBackfill(Arrays.asList(new InMemoryBlockRangeSource("broken", 1)), 1, 10, null, 10, 2)
+                .run(block -> {
+                });
+    }
+
+    /**
+     * A {@link BlockRangeSource} which answers with a random delay and fails
+     * every n-th request.
+     */
+    private static class InMemoryBlockRangeSource implements BlockRangeSource {
+        private final String name;
+        private final int failEvery;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        /**
+         * @param name
+         *            The name of the source.
+         * @param failEvery
+         *            Fail every n-th request or never, if <code>0</code>.
+         */
+        private InMemoryBlockRangeSource(String name, int failEvery) {
+            this.name = name;
+            this.failEvery = failEvery;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<ExtendedSignedBlock> getBlocks(long firstBlockNumber, int numberOfBlocks)
+                throws SteemCommunicationException {
+            int request = requests.incrementAndGet();
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failEvery > 0 && request % failEvery == 0) {
+                failures.incrementAndGet();
+                throw new SteemCommunicationException("Simulated failure.");
+            }
+
+            List<ExtendedSignedBlock> blocks = new ArrayList<>(numberOfBlocks);
+            for (long blockNumber = firstBlockNumber; blockNumber < firstBlockNumber + numberOfBlocks; blockNumber++) {
+                ExtendedSignedBlock block = new ExtendedSignedBlock() {
+                };
+                block.setBlockId(new BlockId(String.format("%08x%032x", blockNumber, 0)));
+                blocks.add(block);
+            }
+
+            return blocks;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.streaming.enums.BlockStreamMode;
+
+/**
+ * Test the {@link BlockStream} against an in-memory chain.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockStreamTest extends BaseUT {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that all blocks up to the last irreversible block are delivered in
+     * order, although they are requested concurrently and answered in a random
+     * order.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlocksAreDeliveredInOrder() throws Exception {
+        InMemoryBlockProvider blockProvider = new InMemoryBlockProvider();
+        blockProvider.appendBlocks(1, 100, 0);
+        blockProvider.lastIrreversibleBlockNumber.set(60);
+
+        List<Long> deliveredBlockNumbers = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(60);
+
+        try (BlockStream blockStream = new BlockStream(blockProvider, 1, BlockStreamMode.IRREVERSIBLE, 8, 10)) {
+            blockStream.subscribe(block -> {
+                deliveredBlockNumbers.add((long) block.getBlockId().getNumberFromHash());
+                latch.countDown();
+            });
+            blockStream.start();
+
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+            Thread.sleep(50);
+        }
+
+        List<Long> expectedBlockNumbers = new ArrayList<>();
+        for (long blockNumber = 1; blockNumber <= 60; blockNumber++) {
+            expectedBlockNumbers.add(blockNumber);
+        }
+        assertThat(deliveredBlockNumbers, equalTo(expectedBlockNumbers));
+    }
+
+    /**
+     * Test that a fork is detected in head mode and that the blocks of the new
+     * chain are delivered afterwards.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testForkIsResolved() throws Exception {
+        InMemoryBlockProvider blockProvider = new InMemoryBlockProvider();
+        blockProvider.appendBlocks(1, 10, 0);
+
+        List<String> deliveredBlockIds = Collections.synchronizedList(new ArrayList<>());
+        List<Long> forks = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch initialBlocks = new CountDownLatch(10);
+        CountDownLatch allBlocks = new CountDownLatch(13);
+
+        BlockStream blockStream = new BlockStream(blockProvider, 1, BlockStreamMode.HEAD, 4, 10);
+        try {
+            blockStream.subscribe(new BlockSubscriber() {
+                @Override
+                public void onBlock(ExtendedSignedBlock block) {
+                    deliveredBlockIds.add(block.getBlockId().toString());
+                    initialBlocks.countDown();
+                    allBlocks.countDown();
+                }
+
+                @Override
+                public void onFork(long forkBlockNumber) {
+                    forks.add(forkBlockNumber);
+                }
+            });
+            blockStream.start();
+
+            assertThat(initialBlocks.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+
+            // Replace the blocks 9 and 10 and let the new chain grow by one.
+            blockProvider.appendBlocks(9, 11, 1);
+
+            assertThat(allBlocks.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            // The block number is increased after the subscribers have been
+            // informed, so wait for the stream thread to stop first.
+            blockStream.close();
+        }
+
+        assertThat(blockStream.getNextBlockNumber(), equalTo(12L));
+
+        assertThat(forks, contains(9L));
+        assertThat(deliveredBlockIds.subList(8, 13), contains(createBlockId(9, 0), createBlockId(10, 0),
+                createBlockId(9, 1), createBlockId(10, 1), createBlockId(11, 1)));
+    }
+
+    /**
+     * Test that subscribers are informed about failed requests and that the
+     * stream continues afterwards.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testErrorsAreRetried() throws Exception {
+        InMemoryBlockProvider blockProvider = new InMemoryBlockProvider();
+        blockProvider.appendBlocks(1, 5, 0);
+        blockProvider.remainingFailures.set(2);
+
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstBlock = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(5);
+
+        try (BlockStream blockStream = new BlockStream(blockProvider, 0, BlockStreamMode.HEAD, 2, 10)) {
+            blockStream.subscribe(new BlockSubscriber() {
+                @Override
+                public void onBlock(ExtendedSignedBlock block) {
+                    firstBlock.countDown();
+                    latch.countDown();
+                }
+
+                @Override
+                public void onError(Throwable cause) {
+                    errors.add(cause);
+                }
+            });
+            blockStream.start();
+
+            // Starting at the head block, only block 5 is available.
+            assertThat(firstBlock.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+            Thread.sleep(100);
+            assertThat(latch.getCount(), equalTo(4L));
+
+            blockProvider.appendBlocks(6, 9, 0);
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+        }
+
+        assertThat(errors.size(), equalTo(2));
+        assertThat(errors.get(0), instanceOf(SteemCommunicationException.class));
+    }
+
+    /**
+     * @param blockNumber
+     *            The block number.
+     * @param chain
+     *            A number to distinguish the blocks of different forks.
+     * @return The id of the block.
+     */
+    private static String createBlockId(long blockNumber, int chain) {
+        return String.format("%08x%032x", blockNumber, chain);
+    }
+
+    /**
+     * A {@link BlockProvider} which answers all requests asynchronously with a
+     * random delay.
+     */
+    private static class InMemoryBlockProvider implements BlockProvider {
+        private final Map<Long, ExtendedSignedBlock> blocks = new ConcurrentHashMap<>();
+        private final AtomicLong headBlockNumber = new AtomicLong();
+        private final AtomicLong lastIrreversibleBlockNumber = new AtomicLong();
+        private final AtomicInteger remainingFailures = new AtomicInteger();
+
+        /**
+         * Add or replace the blocks from <code>first</code> to
+         * <code>last</code> and move the head to the last block.
+         */
+        private void appendBlocks(long first, long last, int chain) {
+            for (long blockNumber = last; blockNumber >= first; blockNumber--) {
+                ExtendedSignedBlock block = new ExtendedSignedBlock() {
+                };
+                block.setBlockId(new BlockId(createBlockId(blockNumber, chain)));
+                block.setPrevious(new BlockId(
+                        createBlockId(blockNumber - 1, blockNumber == first ? chainOf(blockNumber - 1) : chain)));
+                blocks.put(blockNumber, block);
+            }
+            headBlockNumber.set(last);
+        }
+
+        private int chainOf(long blockNumber) {
+            ExtendedSignedBlock block = blocks.get(blockNumber);
+            return block == null ? 0 : Integer.parseInt(block.getBlockId().toString().substring(8), 16);
+        }
+
+        @Override
+        public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+            return CompletableFuture.supplyAsync(() -> {
+                sleepRandomly();
+                if (blockNumber > headBlockNumber.get()) {
+                    return Optional.absent();
+                }
+                return Optional.fromNullable(blocks.get(blockNumber));
+            });
+        }
+
+        @Override
+        public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+            CompletableFuture<DynamicGlobalProperty> future = new CompletableFuture<>();
+            if (remainingFailures.getAndDecrement() > 0) {
+                future.completeExceptionally(new SteemCommunicationException("Node not reachable."));
+                return future;
+            }
+
+            try {
+                future.complete(CommunicationHandler.getObjectMapper().readValue(
+                        "{\"head_block_number\":" + headBlockNumber.get() + ",\"last_irreversible_block_num\":"
+                                + lastIrreversibleBlockNumber.get() + "}",
+                        DynamicGlobalProperty.class));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        private static void sleepRandomly() {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
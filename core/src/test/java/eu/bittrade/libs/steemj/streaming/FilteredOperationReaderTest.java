@@ -0,0 +1,231 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.GetOpsInBlockReturn;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.FilteredBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetFilteredBlockReturn;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test that the {@link FilteredOperationReader} only binds the operations
+ * matching an {@link OperationFilter}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class FilteredOperationReaderTest extends BaseUT {
+    private static final String BLOCK_ID = "0000000a" + "11111111111111111111111111111111";
+    private static final String PREVIOUS_BLOCK_ID = "00000009" + "22222222222222222222222222222222";
+    private static final String FIRST_TRANSACTION_ID = "3333333333333333333333333333333333333333";
+    private static final String SECOND_TRANSACTION_ID = "4444444444444444444444444444444444444444";
+    private static final String VOTE = "{\"type\":\"vote\",\"voter\":\"dez1337\",\"author\":\"steemj\","
+            + "\"permlink\":\"test\",\"weight\":10000}";
+    /** A vote which can't be bound, so it fails the test if it is not skipped. */
+    private static final String BROKEN_VOTE = "{\"type\":\"vote\",\"weight\":\"not a number\",\"unknown\":[{}]}";
+    private static final String FOLLOW = "{\"type\":\"custom_json\",\"required_auths\":[],"
+            + "\"required_posting_auths\":[\"dez1337\"],\"id\":\"follow\",\"json\":\"[]\"}";
+    /** A custom json operation with its id in front of the type. */
+    private static final String REBLOG = "{\"id\":\"reblog\",\"type\":\"custom_json\",\"required_auths\":[],"
+            + "\"required_posting_auths\":[\"dez1337\"],\"json\":\"[]\"}";
+
+    private static String transfer;
+
+    /**
+     * Prepare the environment for this specific test.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @BeforeClass
+    public static void prepareTestClass() throws Exception {
+        setupUnitTestEnvironment();
+
+        transfer = CommunicationHandler.getObjectMapper()
+                .writeValueAsString(new TransferOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                        new LegacyAsset(1000, config.getTokenSymbol()), "memo"));
+    }
+
+    /**
+     * Test that only the matching operations of a block are bound and that
+     * their position in the block is kept.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlockOperationsAreFiltered() throws Exception {
+        OperationFilter filter = new OperationFilter(TransferOperation.class).accept(CustomJsonOperation.class, "id",
+                "follow");
+
+        FilteredBlock block = readBlock(filter);
+
+        assertThat(block.getBlockId().toString(), equalTo(BLOCK_ID));
+        assertThat(block.getPrevious().toString(), equalTo(PREVIOUS_BLOCK_ID));
+        assertThat(block.getWitness().getName(), equalTo("dez1337"));
+        assertThat(block.getTransactionIds().size(), equalTo(2));
+
+        List<AppliedOperation> operations = block.getOperations();
+        assertThat(operations.size(), equalTo(2));
+
+        assertThat(operations.get(0).getOp(), instanceOf(TransferOperation.class));
+        assertThat(operations.get(0).getBlock().longValue(), equalTo(10L));
+        assertThat(operations.get(0).getTrxId().toString(), equalTo(FIRST_TRANSACTION_ID));
+        assertThat(operations.get(0).getTrxInBlock().intValue(), equalTo(0));
+        assertThat(operations.get(0).getOpInTrx().intValue(), equalTo(1));
+        assertThat(operations.get(0).getTimestamp().getDateTime(), equalTo("2018-01-01T00:00:03"));
+
+        assertThat(operations.get(1).getOp(), instanceOf(CustomJsonOperation.class));
+        assertThat(((CustomJsonOperation) operations.get(1).getOp()).getId(), equalTo("follow"));
+        assertThat(operations.get(1).getTrxId().toString(), equalTo(SECOND_TRANSACTION_ID));
+        assertThat(operations.get(1).getTrxInBlock().intValue(), equalTo(1));
+        assertThat(operations.get(1).getOpInTrx().intValue(), equalTo(1));
+    }
+
+    /**
+     * Test that a field in front of the type is considered as well.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testFieldInFrontOfTheType() throws Exception {
+        FilteredBlock block = readBlock(new OperationFilter().accept(CustomJsonOperation.class, "id", "reblog"));
+
+        assertThat(block.getOperations().size(), equalTo(1));
+        assertThat(((CustomJsonOperation) block.getOperations().get(0).getOp()).getId(), equalTo("reblog"));
+        assertThat(block.getOperations().get(0).getOpInTrx().intValue(), equalTo(2));
+    }
+
+    /**
+     * Test that accepting all operations of a type overrides the field
+     * restrictions of this type, regardless of the order of the calls.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testUnrestrictedTypeOverridesFieldRestrictions() throws Exception {
+        OperationFilter restrictedFirst = new OperationFilter().accept(CustomJsonOperation.class, "id", "reblog")
+                .accept(CustomJsonOperation.class);
+        OperationFilter restrictedLast = new OperationFilter().accept(CustomJsonOperation.class)
+                .accept(CustomJsonOperation.class, "id", "reblog");
+
+        assertThat(readBlock(restrictedFirst).getOperations().size(), equalTo(2));
+        assertThat(readBlock(restrictedLast).getOperations().size(), equalTo(2));
+    }
+
+    /**
+     * Test that the applied operations returned by the account history API are
+     * filtered, while requests without a filter still return all operations.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAppliedOperationsAreFiltered() throws Exception {
+        String opsInBlock = "{\"ops\":[" + createAppliedOperation(VOTE, 0) + "," + createAppliedOperation(transfer, 1)
+                + "," + createAppliedOperation(FOLLOW, 2) + "]}";
+
+        List<GetOpsInBlockReturn> filteredResult = new OperationFilter(TransferOperation.class)
+                .createResultReader(GetOpsInBlockReturn.class).readValue(opsInBlock);
+        List<AppliedOperation> operations = filteredResult.get(0).getOperations();
+
+        assertThat(operations.size(), equalTo(1));
+        assertThat(operations.get(0).getOp(), instanceOf(TransferOperation.class));
+        assertThat(operations.get(0).getTrxId().toString(), equalTo(FIRST_TRANSACTION_ID));
+        assertThat(operations.get(0).getOpInTrx().intValue(), equalTo(1));
+
+        GetOpsInBlockReturn unfilteredResult = CommunicationHandler.getObjectMapper().readValue(opsInBlock,
+                GetOpsInBlockReturn.class);
+        assertThat(unfilteredResult.getOperations().size(), equalTo(3));
+        assertThat(unfilteredResult.getOperations().get(0).getOp(), instanceOf(VoteOperation.class));
+    }
+
+    /**
+     * Test that the type name is taken from the annotations of the
+     * {@link Operation} class.
+     */
+    @Test
+    public void testGetTypeName() {
+        assertThat(OperationFilter.getTypeName(VoteOperation.class), equalTo("vote"));
+        assertThat(OperationFilter.getTypeName(CustomJsonOperation.class), equalTo("custom_json"));
+    }
+
+    /**
+     * Read the test block using the given <code>filter</code>.
+     * 
+     * @param filter
+     *            The filter to apply.
+     * @return The block.
+     * @throws Exception
+     *             If something went wrong.
+     */
+    private static FilteredBlock readBlock(OperationFilter filter) throws Exception {
+        String block = "{\"block\":{\"previous\":\"" + PREVIOUS_BLOCK_ID + "\",\"timestamp\":\"2018-01-01T00:00:03\","
+                + "\"witness\":\"dez1337\",\"transaction_merkle_root\":\"0000000000000000000000000000000000000000\","
+                + "\"extensions\":[],\"witness_signature\":\"00\",\"transactions\":["
+                + createTransaction(BROKEN_VOTE, transfer) + "," + createTransaction(VOTE, FOLLOW, REBLOG)
+                + "],\"block_id\":\"" + BLOCK_ID + "\",\"signing_key\":\"" + "STM0000"
+                + "\",\"transaction_ids\":[\"" + FIRST_TRANSACTION_ID + "\",\"" + SECOND_TRANSACTION_ID + "\"]}}";
+
+        List<GetFilteredBlockReturn> result = filter.createResultReader(GetFilteredBlockReturn.class)
+                .readValue(block);
+
+        return result.get(0).getBlock().get();
+    }
+
+    /**
+     * @param operations
+     *            The operations of the transaction as JSON.
+     * @return The transaction as JSON.
+     */
+    private static String createTransaction(String... operations) {
+        return "{\"ref_block_num\":9,\"ref_block_prefix\":1,\"expiration\":\"2018-01-01T00:01:00\","
+                + "\"operations\":[" + String.join(",", operations) + "],\"extensions\":[],"
+                + "\"signatures\":[\"00\"]}";
+    }
+
+    /**
+     * @param operation
+     *            The operation as JSON.
+     * @param operationIndex
+     *            The position of the operation in the transaction.
+     * @return The applied operation as JSON.
+     */
+    private static String createAppliedOperation(String operation, int operationIndex) {
+        return "{\"trx_id\":\"" + FIRST_TRANSACTION_ID + "\",\"block\":10,\"trx_in_block\":0,\"op_in_trx\":"
+                + operationIndex + ",\"virtual_op\":0,\"timestamp\":\"2018-01-01T00:00:03\",\"op\":" + operation
+                + "}";
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.streaming;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.joou.UInteger;
+import org.joou.ULong;
+import org.joou.UShort;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.FilteredBlock;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.streaming.enums.BlockStreamMode;
+
+/**
+ * Test the {@link OperationStream} against an in-memory chain of
+ * {@link FilteredBlock FilteredBlocks}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationStreamTest extends BaseUT {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that the operations of all blocks are delivered in the order of the
+     * blocks and of the operations within each block, and that blocks without
+     * matching operations are skipped.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testOperationsAreDeliveredInOrder() throws Exception {
+        FilteredBlockProvider blockProvider = new FilteredBlockProvider();
+        blockProvider.appendBlocks(1, 5, 0);
+        blockProvider.lastIrreversibleBlockNumber.set(5);
+
+        List<String> deliveredOperations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(8);
+
+        try (OperationStream operationStream = new OperationStream(blockProvider, 1, BlockStreamMode.IRREVERSIBLE,
+                4, 10)) {
+            operationStream.subscribe(operation -> {
+                deliveredOperations.add(getPermlink(operation));
+                latch.countDown();
+            });
+            operationStream.start();
+
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+            Thread.sleep(50);
+        }
+
+        // Block 3 does not contain any matching operation.
+        assertThat(deliveredOperations, contains(createPermlink(1, 0, 0), createPermlink(1, 0, 1),
+                createPermlink(2, 0, 0), createPermlink(2, 0, 1), createPermlink(4, 0, 0), createPermlink(4, 0, 1),
+                createPermlink(5, 0, 0), createPermlink(5, 0, 1)));
+    }
+
+    /**
+     * Test that failed requests and forks detected by the underlying
+     * {@link BlockStream} are forwarded to the subscribers and that the
+     * operations of the new chain are delivered afterwards.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testForksAndErrorsAreForwarded() throws Exception {
+        FilteredBlockProvider blockProvider = new FilteredBlockProvider();
+        blockProvider.appendBlocks(1, 6, 0);
+        blockProvider.remainingFailures.set(1);
+
+        List<String> deliveredOperations = Collections.synchronizedList(new ArrayList<>());
+        List<Long> forks = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch initialOperations = new CountDownLatch(10);
+        CountDownLatch allOperations = new CountDownLatch(16);
+
+        try (OperationStream operationStream = new OperationStream(blockProvider, 1, BlockStreamMode.HEAD, 4, 10)) {
+            operationStream.subscribe(new OperationSubscriber() {
+                @Override
+                public void onOperation(AppliedOperation operation) {
+                    deliveredOperations.add(getPermlink(operation));
+                    initialOperations.countDown();
+                    allOperations.countDown();
+                }
+
+                @Override
+                public void onFork(long forkBlockNumber) {
+                    forks.add(forkBlockNumber);
+                }
+
+                @Override
+                public void onError(Throwable cause) {
+                    errors.add(cause);
+                }
+            });
+            operationStream.start();
+
+            assertThat(initialOperations.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+
+            // Replace the blocks 5 and 6 and let the new chain grow by one.
+            blockProvider.appendBlocks(5, 7, 1);
+
+            assertThat(allOperations.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+        }
+
+        assertThat(errors.size(), equalTo(1));
+        assertThat(errors.get(0), instanceOf(SteemCommunicationException.class));
+        assertThat(forks, contains(5L));
+        assertThat(deliveredOperations.subList(6, 16),
+                contains(createPermlink(5, 0, 0), createPermlink(5, 0, 1), createPermlink(6, 0, 0),
+                        createPermlink(6, 0, 1), createPermlink(5, 1, 0), createPermlink(5, 1, 1),
+                        createPermlink(6, 1, 0), createPermlink(6, 1, 1), createPermlink(7, 1, 0),
+                        createPermlink(7, 1, 1)));
+    }
+
+    /**
+     * Test that an exception thrown by a subscriber is handed to its
+     * {@link OperationSubscriber#onError(Throwable) onError} method and does
+     * not stop the delivery of the following operations.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSubscriberErrorsAreReported() throws Exception {
+        FilteredBlockProvider blockProvider = new FilteredBlockProvider();
+        blockProvider.appendBlocks(1, 2, 0);
+        blockProvider.lastIrreversibleBlockNumber.set(2);
+
+        List<String> deliveredOperations = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(4);
+
+        try (OperationStream operationStream = new OperationStream(blockProvider, 1, BlockStreamMode.IRREVERSIBLE,
+                4, 10)) {
+            operationStream.subscribe(new OperationSubscriber() {
+                @Override
+                public void onOperation(AppliedOperation operation) {
+                    deliveredOperations.add(getPermlink(operation));
+                    latch.countDown();
+                    if (deliveredOperations.size() == 1) {
+                        throw new IllegalArgumentException("Subscriber failed.");
+                    }
+                }
+
+                @Override
+                public void onError(Throwable cause) {
+                    errors.add(cause);
+                }
+            });
+            operationStream.start();
+
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), equalTo(true));
+        }
+
+        assertThat(deliveredOperations, contains(createPermlink(1, 0, 0), createPermlink(1, 0, 1),
+                createPermlink(2, 0, 0), createPermlink(2, 0, 1)));
+        assertThat(errors.size(), equalTo(1));
+        assertThat(errors.get(0), instanceOf(IllegalArgumentException.class));
+    }
+
+    /**
+     * @param operation
+     *            The delivered operation.
+     * @return The permlink of the vote.
+     */
+    private static String getPermlink(AppliedOperation operation) {
+        return ((VoteOperation) operation.getOp()).getPermlink().getLink();
+    }
+
+    /**
+     * @param blockNumber
+     *            The block number.
+     * @param chain
+     *            A number to distinguish the blocks of different forks.
+     * @param operationIndex
+     *            The position of the operation in the block.
+     * @return The permlink of the vote used as the operation.
+     */
+    private static String createPermlink(long blockNumber, int chain, int operationIndex) {
+        return "block-" + blockNumber + "-chain-" + chain + "-op-" + operationIndex;
+    }
+
+    /**
+     * @param blockNumber
+     *            The block number.
+     * @param chain
+     *            A number to distinguish the blocks of different forks.
+     * @return The id of the block.
+     */
+    private static String createBlockId(long blockNumber, int chain) {
+        return String.format("%08x%032x", blockNumber, chain);
+    }
+
+    /**
+     * A {@link BlockProvider} which answers all requests asynchronously with
+     * {@link FilteredBlock FilteredBlocks} containing two votes each, except
+     * for block 3, which does not contain any matching operation.
+     */
+    private static class FilteredBlockProvider implements BlockProvider {
+        private final Map<Long, FilteredBlock> blocks = new ConcurrentHashMap<>();
+        private final AtomicLong headBlockNumber = new AtomicLong();
+        private final AtomicLong lastIrreversibleBlockNumber = new AtomicLong();
+        private final AtomicInteger remainingFailures = new AtomicInteger();
+
+        /**
+         * Add or replace the blocks from <code>first</code> to
+         * <code>last</code> and move the head to the last block.
+         */
+        private void appendBlocks(long first, long last, int chain) {
+            for (long blockNumber = last; blockNumber >= first; blockNumber--) {
+                FilteredBlock block = new FilteredBlock();
+                block.setBlockId(new BlockId(createBlockId(blockNumber, chain)));
+                block.setPrevious(new BlockId(
+                        createBlockId(blockNumber - 1, blockNumber == first ? chainOf(blockNumber - 1) : chain)));
+
+                if (blockNumber != 3) {
+                    for (int operationIndex = 0; operationIndex < 2; operationIndex++) {
+                        block.getOperations().add(new AppliedOperation(
+                                new TransactionId(String.format("%040x", blockNumber)),
+                                UInteger.valueOf(blockNumber), UInteger.valueOf(0),
+                                UShort.valueOf(operationIndex), ULong.valueOf(0), new TimePointSec(0L),
+                                new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                                        new Permlink(createPermlink(blockNumber, chain, operationIndex)))));
+                    }
+                }
+                blocks.put(blockNumber, block);
+            }
+            headBlockNumber.set(last);
+        }
+
+        private int chainOf(long blockNumber) {
+            ExtendedSignedBlock block = blocks.get(blockNumber);
+            return block == null ? 0 : Integer.parseInt(block.getBlockId().toString().substring(8), 16);
+        }
+
+        @Override
+        public CompletableFuture<Optional<ExtendedSignedBlock>> getBlock(long blockNumber) {
+            return CompletableFuture.supplyAsync(() -> {
+                if (blockNumber > headBlockNumber.get()) {
+                    return Optional.absent();
+                }
+                return Optional.<ExtendedSignedBlock> fromNullable(blocks.get(blockNumber));
+            });
+        }
+
+        @Override
+        public CompletableFuture<DynamicGlobalProperty> getDynamicGlobalProperties() {
+            CompletableFuture<DynamicGlobalProperty> future = new CompletableFuture<>();
+            if (remainingFailures.getAndDecrement() > 0) {
+                future.completeExceptionally(new SteemCommunicationException("Node not reachable."));
+                return future;
+            }
+
+            try {
+                future.complete(CommunicationHandler.getObjectMapper().readValue(
+                        "{\"head_block_number\":" + headBlockNumber.get() + ",\"last_irreversible_block_num\":"
+                                + lastIrreversibleBlockNumber.get() + "}",
+                        DynamicGlobalProperty.class));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+    }
+}
@@ -28,13 +28,26 @@ import org.junit.Test;
  *
  */
 public class BrainkeyDictionaryManagerTest {
-    private static final int NUMBER_OF_WORDS = 49748;   //earlier 49744
+    // The license header of the file is not part of the dictionary.
+    private static final int NUMBER_OF_WORDS = 49744;
 
     /**
      * Verify that the brain key dictionary has the correct amount of words.
      */
     @Test
     public void testBrainkeyDictionaryManager() {
-        assertThat(BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary().length, equalTo(NUMBER_OF_WORDS));
+        assertThat(BrainkeyDictionaryManager.getInstance().getNumberOfWords(), equalTo(NUMBER_OF_WORDS));
+    }
+
+    /**
+     * Verify that single words can be read from the dictionary.
+     */
+    @Test
+    public void testGetWord() {
+        BrainkeyDictionaryManager brainkeyDictionaryManager = BrainkeyDictionaryManager.getInstance();
+
+        assertThat(brainkeyDictionaryManager.getWord(0), equalTo("a"));
+        assertThat(brainkeyDictionaryManager.getWord(1), equalTo("aa"));
+        assertThat(brainkeyDictionaryManager.getWord(NUMBER_OF_WORDS - 1), equalTo("zythum"));
     }
 }
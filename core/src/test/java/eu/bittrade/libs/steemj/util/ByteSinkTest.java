@@ -0,0 +1,101 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+
+/**
+ * Test the {@link ByteSink}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ByteSinkTest {
+    /**
+     * Test that the sink creates the same bytes as the transformation methods
+     * of {@link SteemJUtils}.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testEquivalenceToSteemJUtils() throws Exception {
+        Random random = new Random(1337);
+        ByteSink sink = new ByteSink(16);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 1000; i++) {
+            int intValue = random.nextInt();
+            long longValue = random.nextLong();
+            long varIntValue = random.nextInt(Integer.MAX_VALUE) >>> random.nextInt(31);
+
+            sink.writeShort(intValue).writeInt(intValue).writeLong(longValue).writeBoolean(i % 2 == 0)
+                    .writeVarInt(varIntValue).writeVarInt(longValue);
+            expected.write(SteemJUtils.transformShortToByteArray(intValue));
+            expected.write(SteemJUtils.transformIntToByteArray(intValue));
+            expected.write(SteemJUtils.transformLongToByteArray(longValue));
+            expected.write(SteemJUtils.transformBooleanToByteArray(i % 2 == 0));
+            expected.write(SteemJUtils.transformIntToVarIntByteArray((int) varIntValue));
+            expected.write(SteemJUtils.transformLongToVarIntByteArray(longValue));
+        }
+
+        for (String value : new String[] { "", "dez1337", "steemj-v0-2-4-has-been-released", "äöü €", null }) {
+            sink.writeString(value);
+            expected.write(SteemJUtils.transformStringToVarIntByteArray(value));
+        }
+
+        assertThat(CryptoUtils.HEX.encode(sink.toByteArray()), equalTo(CryptoUtils.HEX.encode(expected.toByteArray())));
+    }
+
+    /**
+     * Test that nested objects are appended to the same sink and that a sink
+     * can be reused.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testNestedObjects() throws Exception {
+        AccountName accountName = new AccountName("dez1337");
+        LegacyAsset asset = new LegacyAsset(1000L, LegacyAssetSymbolType.STEEM);
+
+        ByteSink sink = new ByteSink();
+        sink.write(accountName).write(asset);
+        int size = sink.size();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(accountName.toByteArray());
+        expected.write(asset.toByteArray());
+
+        assertThat(sink.toByteArray(), equalTo(expected.toByteArray()));
+
+        sink.reset();
+        sink.write(accountName).write(asset);
+        assertThat(sink.size(), equalTo(size));
+        assertThat(sink.toByteArray(), equalTo(expected.toByteArray()));
+    }
+}
@@ -20,9 +20,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Test;
 
+import eu.bittrade.crypto.core.ECKey;
+
 /**
  * Test the key generation. The test are a Java implementation of the
  * steem-python project (see <a href=
@@ -107,4 +111,44 @@ public class KeyGeneratorTest {
             assertThat(keyGenerator.getPrivateKeyAsWIF(), equalTo(EXPECTED_KEYS.get(i)));
         }
     }
+
+    /**
+     * Test that deriving a range of keys in parallel creates the same keys as
+     * deriving them one by one.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDerivePrivateKeys() throws Exception {
+        final String BRAIN_KEY = "COLORER BICORN KASBEKE FAERIE LOCHIA GOMUTI SOVKHOZ Y GERMAL AUNTIE PERFUMY TIME "
+                + "FEATURE GANGAN CELEMIN MATZO";
+
+        List<ECKey> privateKeys = KeyGenerator.derivePrivateKeys(BRAIN_KEY, 5, 50);
+
+        assertThat(privateKeys.size(), equalTo(50));
+        assertThat(SteemJUtils.privateKeyToWIF(KeyGenerator.derivePrivateKeys(BRAIN_KEY, 0, 1).get(0)),
+                equalTo("5JfwDztjHYDDdKnCpjY6cwUQfM4hbtYmSJLjGd9KTpk9J4H2jDZ"));
+        for (int i = 0; i < privateKeys.size(); i++) {
+            assertThat(SteemJUtils.privateKeyToWIF(privateKeys.get(i)),
+                    equalTo(new KeyGenerator(BRAIN_KEY, 5 + i).getPrivateKeyAsWIF()));
+        }
+    }
+
+    /**
+     * Test the generation of multiple brain keys.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSuggestBrainKeys() throws Exception {
+        List<String> brainKeys = KeyGenerator.suggestBrainKeys(20);
+
+        assertThat(brainKeys.size(), equalTo(20));
+        assertThat(new HashSet<>(brainKeys).size(), equalTo(20));
+        for (String brainKey : brainKeys) {
+            assertThat(brainKey.split(" ").length, equalTo(16));
+        }
+    }
 }
@@ -23,6 +23,16 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.security.InvalidParameterException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -78,4 +88,70 @@ public class SteemJUtilsTest {
             assertThat(e.getMessage(), equalTo("Both, the objectToSet and the default value are null."));
         }
     }
+
+    /**
+     * Test that the {@link SteemJUtils#transformTimestampToString(long)} and
+     * {@link SteemJUtils#transformStringToTimestamp(String)} methods produce
+     * the same results as a {@link SimpleDateFormat} using the pattern of the
+     * Steem blockchain.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransformDateTime() throws Exception {
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        assertThat(SteemJUtils.transformTimestampToString(1470659057000L), equalTo("2016-08-08T12:24:17"));
+        assertThat(SteemJUtils.transformStringToTimestamp("2016-08-08T12:24:17"), equalTo(1470659057000L));
+        assertThat(SteemJUtils.transformStringToTimestamp("1970-01-01T00:00:00"), equalTo(0L));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            // Random dates between 1970 and 2100 with second precision.
+            long timestamp = (random.nextLong() & Long.MAX_VALUE) % 4102444800L * 1000L;
+            String dateTime = simpleDateFormat.format(new Date(timestamp));
+
+            assertThat(SteemJUtils.transformTimestampToString(timestamp), equalTo(dateTime));
+            assertThat(SteemJUtils.transformStringToTimestamp(dateTime), equalTo(timestamp));
+        }
+    }
+
+    /**
+     * Test that the
+     * {@link SteemJUtils#transformStringToTimestamp(String)} method can be
+     * used by multiple threads at the same time.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransformDateTimeConcurrently() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final long timestamp = 1470659057000L + i * 86400000L;
+                results.add(executorService.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int j = 0; j < 1000; j++) {
+                            if (SteemJUtils.transformStringToTimestamp(
+                                    SteemJUtils.transformTimestampToString(timestamp)) != timestamp) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,279 @@
+package my.sample.project;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockReturn;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetLazyBlockReturn;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.LazyBlock;
+
+/**
+ * This class compares the time and the memory needed to read a block with all
+ * of its transactions bound and as a {@link LazyBlock}, from which only the
+ * header, the transaction ids and a single transaction are used.
+ * 
+ * The block is read from the file given as the first argument, which needs to
+ * contain the result of a "block_api.get_block" request (e.g.
+ * <code>{"block":{...}}</code>). The argument "generated" uses a generated block
+ * with 5000 small transactions instead.
+ * 
+ * Without an argument, the bundled <code>block-fixture.json</code> is used. It
+ * has the shape of a mainnet "block_api.get_block" response with 60
+ * transactions: votes, follows and reblogs, posts with comment options,
+ * replies, transfers and reward claims, including post bodies of several KiB
+ * and non-ASCII text. Its contents have been generated and not recorded from
+ * a node, so the signatures and transaction ids are not valid and the numbers
+ * should be verified against a recorded block.
+ * 
+ * Please use the parallel or the G1 garbage collector (e.g.
+ * <code>-XX:+UseParallelGC -Xms1g -Xmx1g</code>), as the memory numbers are
+ * not stable with the serial collector.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class LazyBlockComparison {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyBlockComparison.class);
+    private static final String BLOCK_FIXTURE = "/block-fixture.json";
+    private static final String GENERATED_BLOCK = "generated";
+    private static final int NUMBER_OF_GENERATED_TRANSACTIONS = 5000;
+    /**
+     * The number of JSON characters read per measurement, so that small blocks
+     * are read often enough to get stable numbers.
+     */
+    private static final int CHARACTERS_PER_MEASUREMENT = 20_000_000;
+    private static final int MIN_ITERATIONS = 20;
+    private static final int MAX_GARBAGE_COLLECTIONS = 10;
+
+    /**
+     * Called at startup.
+     * 
+     * @param args
+     *            The path of a recorded block or "generated" (optional).
+     * @throws IOException
+     *             If the block could not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        String json;
+        if (args.length == 0) {
+            json = readBlockFixture();
+        } else if (GENERATED_BLOCK.equals(args[0])) {
+            json = createBlock(NUMBER_OF_GENERATED_TRANSACTIONS);
+        } else {
+            json = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        }
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+        // The same number is used for the warm up, the measured iterations
+        // and the number of blocks kept in memory.
+        int iterations = Math.max(MIN_ITERATIONS, CHARACTERS_PER_MEASUREMENT / json.length());
+
+        for (int i = 0; i < iterations; i++) {
+            readFullBlock(mapper, json);
+            readLazyBlock(mapper, json);
+        }
+
+        long fullBlockNanos = 0;
+        long lazyBlockNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            readFullBlock(mapper, json);
+            fullBlockNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            readLazyBlock(mapper, json);
+            lazyBlockNanos += System.nanoTime() - start;
+        }
+
+        long fullBlockKiB = measureRetainedKiB(() -> readFullBlock(mapper, json), iterations);
+        long lazyBlockKiB = measureRetainedKiB(() -> readLazyBlock(mapper, json), iterations);
+
+        LOGGER.info("Block with {} characters of JSON, {} iterations:", json.length(), iterations);
+        LOGGER.info("Full binding: {} ms per block, {} KiB per block.",
+                fullBlockNanos / iterations / 1_000_000.0, fullBlockKiB);
+        LOGGER.info("Lazy binding: {} ms per block, {} KiB per block.",
+                lazyBlockNanos / iterations / 1_000_000.0, lazyBlockKiB);
+    }
+
+    /**
+     * Read the block with all transactions bound and use the same parts as
+     * {@link #readLazyBlock(ObjectMapper, String)}.
+     * 
+     * @param mapper
+     *            The mapper to use.
+     * @param json
+     *            The block.
+     * @return The block.
+     * @throws IOException
+     *             If the block could not be read.
+     */
+    private static ExtendedSignedBlock readFullBlock(ObjectMapper mapper, String json) throws IOException {
+        ExtendedSignedBlock block = mapper.readValue(json, GetBlockReturn.class).getBlock().get();
+        useBlock(block);
+        return block;
+    }
+
+    /**
+     * Read the block as a {@link LazyBlock} and only use its header, its
+     * transaction ids and its first transaction.
+     * 
+     * @param mapper
+     *            The mapper to use.
+     * @param json
+     *            The block.
+     * @return The block.
+     * @throws IOException
+     *             If the block could not be read.
+     */
+    private static ExtendedSignedBlock readLazyBlock(ObjectMapper mapper, String json) throws IOException {
+        LazyBlock block = mapper.readValue(json, GetLazyBlockReturn.class).getBlock().get();
+        useBlock(block);
+        return block;
+    }
+
+    /**
+     * @param block
+     *            The block to use.
+     */
+    private static void useBlock(ExtendedSignedBlock block) {
+        if (block.getBlockId() == null || block.getTransactionIds().size() != block.getTransactions().size()) {
+            throw new IllegalStateException("The block is not complete.");
+        }
+
+        if (!block.getTransactions().isEmpty()) {
+            block.getTransactions().get(0).getOperations();
+        }
+    }
+
+    /**
+     * Measure the average heap size of the blocks created by the given
+     * <code>reader</code>.
+     * 
+     * @param reader
+     *            The reader creating the blocks.
+     * @param numberOfBlocks
+     *            The number of blocks to keep in memory.
+     * @return The average size of a block in KiB.
+     * @throws IOException
+     *             If a block could not be read.
+     */
+    private static long measureRetainedKiB(BlockReader reader, int numberOfBlocks) throws IOException {
+        List<ExtendedSignedBlock> blocks = new ArrayList<>(numberOfBlocks);
+        long usedMemoryBefore = getUsedMemory();
+
+        for (int i = 0; i < numberOfBlocks; i++) {
+            blocks.add(reader.read());
+        }
+
+        long usedMemoryAfter = getUsedMemory();
+        if (blocks.size() != numberOfBlocks) {
+            throw new IllegalStateException("The blocks have not been retained.");
+        }
+
+        return (usedMemoryAfter - usedMemoryBefore) / numberOfBlocks / 1024;
+    }
+
+    /**
+     * @return The used heap memory after the garbage collection does not free
+     *         any more memory.
+     */
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemory = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_GARBAGE_COLLECTIONS; i++) {
+            System.gc();
+            long currentlyUsedMemory = runtime.totalMemory() - runtime.freeMemory();
+            if (currentlyUsedMemory >= usedMemory) {
+                break;
+            }
+            usedMemory = currentlyUsedMemory;
+        }
+
+        return usedMemory;
+    }
+
+    /**
+     * @return The bundled block fixture.
+     * @throws IOException
+     *             If the fixture could not be read.
+     */
+    private static String readBlockFixture() throws IOException {
+        try (InputStream fixture = LazyBlockComparison.class.getResourceAsStream(BLOCK_FIXTURE)) {
+            if (fixture == null) {
+                throw new IOException("The block fixture " + BLOCK_FIXTURE + " is missing.");
+            }
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = fixture.read(buffer); read != -1; read = fixture.read(buffer)) {
+                json.write(buffer, 0, read);
+            }
+
+            return new String(json.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Generate the JSON of a block with the given number of transactions.
+     * 
+     * @param numberOfTransactions
+     *            The number of transactions.
+     * @return The block.
+     */
+    private static String createBlock(int numberOfTransactions) {
+        StringBuilder signature = new StringBuilder("1f");
+        for (int i = 1; i < 65; i++) {
+            signature.append("01");
+        }
+
+        StringBuilder transactions = new StringBuilder();
+        StringBuilder transactionIds = new StringBuilder();
+        for (int i = 0; i < numberOfTransactions; i++) {
+            if (i > 0) {
+                transactions.append(',');
+                transactionIds.append(',');
+            }
+
+            transactions.append("{\"ref_block_num\":9,\"ref_block_prefix\":1,\"expiration\":\"2018-01-01T00:01:00\","
+                    + "\"operations\":[{\"type\":\"vote\",\"voter\":\"voter").append(i)
+                    .append("\",\"author\":\"steemj\",\"permlink\":\"post-").append(i)
+                    .append("\",\"weight\":10000},{\"type\":\"custom_json\",\"required_auths\":[],"
+                            + "\"required_posting_auths\":[\"voter")
+                    .append(i).append("\"],\"id\":\"follow\",\"json\":\"[\\\"follow\\\",{}]\"}],\"extensions\":[],"
+                            + "\"signatures\":[\"")
+                    .append(signature).append("\"]}");
+            transactionIds.append('"').append(String.format("%040x", i)).append('"');
+        }
+
+        return "{\"block\":{\"previous\":\"00000009" + "22222222222222222222222222222222\","
+                + "\"timestamp\":\"2018-01-01T00:00:03\",\"witness\":\"steemj\","
+                + "\"transaction_merkle_root\":\"5555555555555555555555555555555555555555\",\"extensions\":[],"
+                + "\"witness_signature\":\"" + signature + "\",\"transactions\":[" + transactions
+                + "],\"block_id\":\"0000000a11111111111111111111111111111111\",\"transaction_ids\":["
+                + transactionIds + "]}}";
+    }
+
+    /**
+     * Creates a block.
+     */
+    @FunctionalInterface
+    private interface BlockReader {
+        /**
+         * @return The block.
+         * @throws IOException
+         *             If the block could not be read.
+         */
+        ExtendedSignedBlock read() throws IOException;
+    }
+}